@@ -0,0 +1,74 @@
+package co.edu.uniquindio.proyecto.benchmark;
+
+import co.edu.uniquindio.proyecto.configuration.EmailTemplateConfig;
+import co.edu.uniquindio.proyecto.repository.EmailOutboxRepository;
+import co.edu.uniquindio.proyecto.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link EmailService} de punta a punta hasta la bandeja de salida: renderizado de las plantillas
+ * precompiladas, escapado y construcción del mensaje. El repositorio solo guarda el último mensaje para
+ * devolverlo, así que no se mide la persistencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailServiceBenchmark {
+
+    private EmailService emailService;
+    private Object lastMessage;
+
+    private final String email = "maria.perez@example.com";
+    private final String username = "María Pérez";
+    private final String reportTitle = "Hueco en la carrera 14 con calle 20";
+    private final String reportDescription = "Ya lleva dos semanas así y anoche se cayó un motociclista <b>de nuevo</b>.";
+    private final List<String> digestLines = List.of(
+            "Nuevo reporte cerca de ti: Hueco en la carrera 14 con calle 20",
+            "Nuevo reporte cerca de ti: Semáforo dañado en la avenida Bolívar",
+            "Nuevo reporte cerca de ti: Árbol caído <frente> al parque \"Sucre\"");
+
+    @Setup
+    public void setUp() {
+        EmailOutboxRepository repository = Stubs.repository(EmailOutboxRepository.class, (method, args) -> {
+            if (!method.equals("save")) {
+                throw new UnsupportedOperationException(method);
+            }
+            lastMessage = args[0];
+            return args[0];
+        });
+        EmailTemplateConfig templates = new EmailTemplateConfig();
+        emailService = new EmailService(repository,
+                templates.verificationEmailTemplate(),
+                templates.resetPasswordEmailTemplate(),
+                templates.commentNotificationEmailTemplate(),
+                templates.reportNotificationEmailTemplate(),
+                templates.digestNotificationEmailTemplate());
+    }
+
+    @Benchmark
+    public Object verificationEmail() {
+        emailService.sendVerificationEmail(email, "482913");
+        return lastMessage;
+    }
+
+    @Benchmark
+    public Object nearbyReportEmail() {
+        emailService.sendNearbyReportEmail(email, username, reportTitle, reportDescription);
+        return lastMessage;
+    }
+
+    @Benchmark
+    public Object digestEmail() {
+        emailService.sendDigestEmail(email, username, "Tienes 3 reportes nuevos cerca", digestLines);
+        return lastMessage;
+    }
+}
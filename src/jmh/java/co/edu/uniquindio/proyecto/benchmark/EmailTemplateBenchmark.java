@@ -0,0 +1,62 @@
+package co.edu.uniquindio.proyecto.benchmark;
+
+import co.edu.uniquindio.proyecto.util.HtmlTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el renderizado de la plantilla de comentarios con {@code String.replace} encadenado
+ * (implementación anterior de {@code EmailService}) frente a {@link HtmlTemplate} precompilada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailTemplateBenchmark {
+
+    private String source;
+    private HtmlTemplate compiled;
+
+    private final String username = "María Pérez";
+    private final String reportTitle = "Hueco en la carrera 14 con calle 20";
+    private final String commentContent = "Ya lleva dos semanas así y anoche se cayó un motociclista <b>de nuevo</b>.";
+
+    @Setup
+    public void setUp() throws IOException {
+        ClassPathResource resource = new ClassPathResource("templates/comment_notification.html");
+        source = FileCopyUtils.copyToString(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+        compiled = HtmlTemplate.compile(source, "username", "reportTitle", "commentContent");
+    }
+
+    @Benchmark
+    public String chainedReplace() {
+        return source
+                .replace("${username}", username)
+                .replace("${reportTitle}", reportTitle)
+                .replace("${commentContent}", commentContent);
+    }
+
+    @Benchmark
+    public String chainedReplaceEscaped() {
+        return source
+                .replace("${username}", HtmlTemplate.escapeHtml(username))
+                .replace("${reportTitle}", HtmlTemplate.escapeHtml(reportTitle))
+                .replace("${commentContent}", HtmlTemplate.escapeHtml(commentContent));
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return compiled.render(username, reportTitle, commentContent);
+    }
+}
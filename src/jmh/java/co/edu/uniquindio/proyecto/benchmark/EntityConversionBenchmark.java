@@ -0,0 +1,130 @@
+package co.edu.uniquindio.proyecto.benchmark;
+
+import co.edu.uniquindio.proyecto.entity.category.CategoryRef;
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatusHistory;
+import co.edu.uniquindio.proyecto.repository.converter.EntityCodecMongoConverter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por documento de leer ({@code decode}) y escribir ({@code encode}) las entidades más usadas con el
+ * mapeo reflexivo de {@link MappingMongoConverter} ({@code converter=reflective}) frente a los codecs
+ * escritos a mano de {@link EntityCodecMongoConverter} ({@code converter=codec}). Solo mide la
+ * conversión entre entidad y {@link Document}, sin driver ni red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityConversionBenchmark {
+
+    @Param({"report", "notification", "history"})
+    private String entity;
+
+    @Param({"reflective", "codec"})
+    private String converter;
+
+    private MappingMongoConverter mongoConverter;
+    private Object source;
+    private Class<?> type;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.afterPropertiesSet();
+        mongoConverter = "codec".equals(converter)
+                ? new EntityCodecMongoConverter(NoOpDbRefResolver.INSTANCE, context)
+                : new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        mongoConverter.afterPropertiesSet();
+
+        source = switch (entity) {
+            case "report" -> report();
+            case "notification" -> notification();
+            case "history" -> history();
+            default -> throw new IllegalArgumentException(entity);
+        };
+        type = source.getClass();
+        document = new Document();
+        mongoConverter.write(source, document);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return mongoConverter.read(type, document);
+    }
+
+    @Benchmark
+    public Document encode() {
+        Document target = new Document();
+        mongoConverter.write(source, target);
+        return target;
+    }
+
+    private static Report report() {
+        CategoryRef category = new CategoryRef("Infraestructura");
+        category.setId(new ObjectId().toHexString());
+        Set<ObjectId> liked = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            liked.add(new ObjectId());
+        }
+        Report report = new Report();
+        report.setId(new ObjectId());
+        report.setTitle("Hueco en la vía principal");
+        report.setDescription("Descripción del reporte con algo de detalle adicional sobre la ubicación");
+        report.setCategoryList(List.of(category));
+        report.setLocation(new GeoJsonPoint(-75.68, 4.53));
+        report.setUserEmail("ana@example.com");
+        report.setReportStatus(ReportStatus.VERIFIED);
+        report.setImportantVotes(liked.size());
+        report.setUserId(new ObjectId());
+        report.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 30));
+        report.setLikedUserIds(liked);
+        return report;
+    }
+
+    private static Notification notification() {
+        return Notification.builder()
+                .id(new ObjectId())
+                .userId(new ObjectId().toHexString())
+                .title("Nuevo comentario en tu reporte")
+                .message("Ana: ya pasé por ahí y sigue igual")
+                .reportId(new ObjectId().toHexString())
+                .type(NotificationType.COMMENT)
+                .location(new GeoJsonPoint(-75.68, 4.53))
+                .createdAt(LocalDateTime.of(2025, 3, 14, 9, 30))
+                .build();
+    }
+
+    private static ReportStatusHistory history() {
+        ReportStatusHistory history = new ReportStatusHistory();
+        history.setId(new ObjectId());
+        history.setReportId(new ObjectId());
+        history.setUserId(new ObjectId());
+        history.setPreviousStatus(ReportStatus.PENDING);
+        history.setNewStatus(ReportStatus.VERIFIED);
+        history.setChangedAt(LocalDateTime.of(2025, 3, 14, 9, 30));
+        return history;
+    }
+}
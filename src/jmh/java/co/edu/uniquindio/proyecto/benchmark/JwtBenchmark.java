@@ -0,0 +1,80 @@
+package co.edu.uniquindio.proyecto.benchmark;
+
+import co.edu.uniquindio.proyecto.entity.auth.JwtSigningKey;
+import co.edu.uniquindio.proyecto.entity.user.Rol;
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.repository.JwtSigningKeyRepository;
+import co.edu.uniquindio.proyecto.util.JwtAlgorithm;
+import co.edu.uniquindio.proyecto.util.JwtKeyManager;
+import co.edu.uniquindio.proyecto.util.JwtKeyWrapper;
+import co.edu.uniquindio.proyecto.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la emisión y verificación de access tokens con {@link JwtUtils} para cada algoritmo de firma
+ * soportado. Las claves se generan en memoria con {@link JwtKeyManager}, sin Mongo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String WRAPPING_KEY = "am1oLWJlbmNobWFyay13cmFwcGluZy1rZXktMzJiISE=";
+
+    @Param({"ES256", "RS256"})
+    private JwtAlgorithm algorithm;
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        List<JwtSigningKey> keys = new CopyOnWriteArrayList<>();
+        JwtSigningKeyRepository repository = Stubs.repository(JwtSigningKeyRepository.class, (method, args) ->
+                switch (method) {
+                    case "findAll" -> List.copyOf(keys);
+                    case "save" -> {
+                        keys.add((JwtSigningKey) args[0]);
+                        yield args[0];
+                    }
+                    case "deleteByCreatedAtBefore" -> 0L;
+                    default -> throw new UnsupportedOperationException(method);
+                });
+        JwtKeyWrapper keyWrapper = new JwtKeyWrapper(WRAPPING_KEY, new StandardEnvironment());
+        JwtKeyManager keyManager = new JwtKeyManager(repository, keyWrapper, algorithm, 30, 65, 5000);
+        keyManager.refresh();
+        jwtUtils = new JwtUtils(keyManager);
+
+        user = new User();
+        user.setId(new ObjectId());
+        user.setEmail("maria.perez@example.com");
+        user.setRol(Rol.USER);
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Jws<Claims> parseToken() {
+        return jwtUtils.parseToken(token);
+    }
+}
@@ -0,0 +1,67 @@
+package co.edu.uniquindio.proyecto.benchmark;
+
+import co.edu.uniquindio.proyecto.dto.report.ReportResponse;
+import co.edu.uniquindio.proyecto.entity.category.CategoryRef;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import co.edu.uniquindio.proyecto.service.mapper.ReportMapper;
+import co.edu.uniquindio.proyecto.service.mapper.ReportMapperImpl;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link ReportMapper#toResponseList(List)} con la implementación generada por MapStruct, sobre
+ * páginas del tamaño que devuelve el listado de reportes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportMapperBenchmark {
+
+    @Param({"30", "1000"})
+    private int size;
+
+    private ReportMapper mapper;
+    private List<Report> reports;
+
+    @Setup
+    public void setUp() {
+        mapper = new ReportMapperImpl();
+        ObjectId owner = new ObjectId();
+        CategoryRef category = new CategoryRef("Infraestructura");
+        category.setId(new ObjectId().toHexString());
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 30);
+        reports = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Report report = new Report();
+            report.setId(new ObjectId());
+            report.setTitle("Reporte " + i);
+            report.setDescription("Descripción del reporte número " + i + " con algo de detalle adicional");
+            report.setCategoryList(List.of(category));
+            report.setLocation(new GeoJsonPoint(-75.68 - i * 1e-4, 4.53 + i * 1e-4));
+            report.setReportStatus(ReportStatus.PENDING);
+            report.setImportantVotes(i % 7);
+            report.setUserId(owner);
+            report.setCreatedAt(createdAt.plusMinutes(i));
+            reports.add(report);
+        }
+    }
+
+    @Benchmark
+    public List<ReportResponse> toResponseList() {
+        return mapper.toResponseList(reports);
+    }
+}
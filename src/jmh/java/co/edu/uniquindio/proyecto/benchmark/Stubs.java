@@ -0,0 +1,32 @@
+package co.edu.uniquindio.proyecto.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+
+/**
+ * Implementaciones mínimas de repositorios para los benchmarks, sin Mongo ni Mockito.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Crea un proxy de la interfaz que resuelve cada llamada con {@code handler}
+     * (nombre del método y argumentos); los métodos de {@link Object} se resuelven sobre el propio proxy.
+     *
+     * @param type    Interfaz a implementar.
+     * @param handler Respuesta para cada método.
+     * @return Implementación de la interfaz.
+     */
+    static <T> T repository(Class<T> type, BiFunction<String, Object[], Object> handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> type.getSimpleName() + "Stub";
+                    default -> handler.apply(method.getName(), args);
+                });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el filtrado por cercanía de {@link NearbyNotificationService} sobre usuarios sintéticos repartidos
+ * alrededor de Armenia: el recorrido completo con {@code filterNearby} (el que se ejecuta tras
+ * {@code findAll()}) y solo el cálculo de Haversine sobre arreglos primitivos, como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class NearbyFilterBenchmark {
+
+    private static final double CENTER_LAT = 4.5339;
+    private static final double CENTER_LON = -75.6811;
+
+    @Param({"1000000"})
+    private int users;
+
+    private NearbyNotificationService service;
+    private List<User> candidates;
+    private Report report;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] radii;
+
+    @Setup
+    public void setUp() {
+        service = new NearbyNotificationService(null, null, null, null, null, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        candidates = new ArrayList<>(users);
+        latitudes = new double[users];
+        longitudes = new double[users];
+        radii = new double[users];
+        for (int i = 0; i < users; i++) {
+            // ±0.5° (~55 km) alrededor del centro; radios de 1 a 20 km.
+            double lat = CENTER_LAT + random.nextDouble(-0.5, 0.5);
+            double lon = CENTER_LON + random.nextDouble(-0.5, 0.5);
+            double radius = random.nextDouble(1, 20);
+            User user = new User();
+            user.setId(new ObjectId());
+            // Un 5 % sin ubicación registrada.
+            user.setLocation(random.nextInt(20) == 0 ? null : new GeoJsonPoint(lon, lat));
+            user.setNotificationRadiusKm(radius);
+            candidates.add(user);
+            latitudes[i] = lat;
+            longitudes[i] = lon;
+            radii[i] = radius;
+        }
+        report = new Report();
+        report.setId(new ObjectId());
+        report.setUserId(new ObjectId());
+        report.setLocation(new GeoJsonPoint(CENTER_LON, CENTER_LAT));
+    }
+
+    @Benchmark
+    public List<User> filterNearby() {
+        return service.filterNearby(candidates, report);
+    }
+
+    @Benchmark
+    public int haversineOnly() {
+        int within = 0;
+        for (int i = 0; i < latitudes.length; i++) {
+            if (NearbyNotificationService.haversine(latitudes[i], longitudes[i], CENTER_LAT, CENTER_LON) <= radii[i]) {
+                within++;
+            }
+        }
+        return within;
+    }
+}
@@ -0,0 +1,70 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.dto.report.PaginatedReportSummaryResponse;
+import co.edu.uniquindio.proyecto.dto.report.ReportSummaryDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la construcción del HTML del PDF de resumen de {@link ReportSummaryServiceImpl} (sin el render a
+ * PDF) y el escapado de textos con y sin caracteres especiales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportSummaryHtmlBenchmark {
+
+    @Param({"20", "500"})
+    private int rows;
+
+    private ReportSummaryServiceImpl service;
+    private PaginatedReportSummaryResponse page;
+
+    private final String plain = "Hueco profundo en la carrera 14 con calle 20, frente a la panadería";
+    private final String special = "Poste caído <b>\"peligro\"</b> & cables sueltos en la 'esquina' norte";
+
+    @Setup
+    public void setUp() {
+        service = new ReportSummaryServiceImpl(null, null);
+        List<ReportSummaryDTO> content = new ArrayList<>(rows);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 30);
+        for (int i = 0; i < rows; i++) {
+            content.add(new ReportSummaryDTO(
+                    Integer.toHexString(0x6600_0000 + i),
+                    "Reporte " + i,
+                    i % 4 == 0 ? special : plain,
+                    List.of("Infraestructura", "Seguridad"),
+                    "PENDING",
+                    createdAt.plusMinutes(i),
+                    4.53 + i * 1e-4,
+                    -75.68 - i * 1e-4));
+        }
+        page = new PaginatedReportSummaryResponse(content, 1, rows, rows * 10L, 10);
+    }
+
+    @Benchmark
+    public String buildHtmlTable() {
+        return service.buildHtmlTable(page);
+    }
+
+    @Benchmark
+    public String escapeHtmlPlain() {
+        return service.escapeHtml(plain);
+    }
+
+    @Benchmark
+    public String escapeHtmlSpecial() {
+        return service.escapeHtml(special);
+    }
+}
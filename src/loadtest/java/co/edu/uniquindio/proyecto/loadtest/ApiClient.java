@@ -0,0 +1,193 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import co.edu.uniquindio.proyecto.loadtest.OpenApiCatalog.Operation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente HTTP de la prueba de carga: resuelve las operaciones del catálogo contra la URL base y
+ * registra la latencia y el código de cada respuesta en {@link EndpointStats}.
+ */
+final class ApiClient {
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^}]+}");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Respuesta recibida.
+     *
+     * @param status Código HTTP, o {@code -1} si la petición falló sin respuesta.
+     * @param body   Cuerpo de la respuesta.
+     */
+    record Response(int status, String body) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final EndpointStats stats;
+    private final ObjectMapper mapper;
+
+    ApiClient(HttpClient http, URI baseUrl, EndpointStats stats, ObjectMapper mapper) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Ejecuta una operación.
+     *
+     * @param operation Operación del catálogo.
+     * @param token     Access token, o {@code null} para una petición anónima.
+     * @param query     Parámetros de consulta; puede ser vacío.
+     * @param body      Objeto a serializar como JSON, o {@code null} si no hay cuerpo.
+     * @param variables Valores de las variables de ruta, en el orden en que aparecen.
+     * @return Respuesta recibida.
+     * @throws InterruptedException si se interrumpe el hilo durante la petición.
+     */
+    Response send(Operation operation, String token, Map<String, ?> query, Object body, String... variables)
+            throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(operation, query, variables))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(operation.method(), HttpRequest.BodyPublishers.ofString(json(body)));
+        } else {
+            request.method(operation.method(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(operation.key(), System.nanoTime() - start, response.statusCode());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            stats.record(operation.key(), System.nanoTime() - start, -1);
+            return new Response(-1, e.toString());
+        }
+    }
+
+    /**
+     * Abre una suscripción SSE, registra el tiempo hasta recibir las cabeceras y la mantiene abierta
+     * durante {@code hold} antes de cerrarla, como haría un cliente que cambia de pantalla.
+     *
+     * @param operation Operación SSE del catálogo.
+     * @param token     Access token.
+     * @param hold      Tiempo que se mantiene abierta la conexión.
+     * @return Código HTTP de la suscripción, o {@code -1} si falló.
+     * @throws InterruptedException si se interrumpe el hilo.
+     */
+    int subscribe(Operation operation, String token, Duration hold) throws InterruptedException {
+        return subscribe(operation, token, hold, () -> {
+        });
+    }
+
+    /**
+     * Variante de {@link #subscribe(Operation, String, Duration)} que avisa en cuanto la suscripción queda
+     * abierta. Si se interrumpe el hilo mientras la mantiene, la conexión se cierra igualmente.
+     *
+     * @param operation Operación SSE del catálogo.
+     * @param token     Access token.
+     * @param hold      Tiempo máximo que se mantiene abierta la conexión.
+     * @param onOpen    Acción a ejecutar al recibir un 200.
+     * @return Código HTTP de la suscripción, o {@code -1} si falló.
+     * @throws InterruptedException si se interrumpe el hilo.
+     */
+    int subscribe(Operation operation, String token, Duration hold, Runnable onOpen) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(operation, Map.of()))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            stats.record(operation.key(), System.nanoTime() - start, response.statusCode());
+            InputStream events = response.body();
+            try {
+                if (response.statusCode() == 200) {
+                    onOpen.run();
+                    Thread.sleep(hold);
+                }
+            } finally {
+                // Cerrar el cuerpo corta la conexión, como un cliente que abandona la suscripción.
+                events.close();
+            }
+            return response.statusCode();
+        } catch (IOException e) {
+            stats.record(operation.key(), System.nanoTime() - start, -1);
+            return -1;
+        }
+    }
+
+    /**
+     * Lee un cuerpo JSON.
+     *
+     * @param body Texto de la respuesta.
+     * @return Árbol JSON, o un nodo vacío si el cuerpo no es JSON válido.
+     */
+    JsonNode parse(String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            return mapper.missingNode();
+        }
+    }
+
+    private URI uri(Operation operation, Map<String, ?> query, String... variables) {
+        Matcher matcher = PATH_VARIABLE.matcher(operation.path());
+        StringBuilder path = new StringBuilder();
+        int index = 0;
+        while (matcher.find()) {
+            if (index >= variables.length) {
+                throw new IllegalArgumentException("Faltan variables de ruta para " + operation.key());
+            }
+            matcher.appendReplacement(path, Matcher.quoteReplacement(encode(variables[index++])));
+        }
+        matcher.appendTail(path);
+
+        StringBuilder uri = new StringBuilder(baseUrl.toString()).append(path);
+        char separator = '?';
+        for (Map.Entry<String, ?> parameter : query.entrySet()) {
+            uri.append(separator).append(encode(parameter.getKey())).append('=')
+                    .append(encode(String.valueOf(parameter.getValue())));
+            separator = '&';
+        }
+        return URI.create(uri.toString());
+    }
+
+    private String json(Object body) {
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,110 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suscripciones SSE que se mantienen abiertas de fondo mientras los usuarios virtuales generan carga,
+ * una por cuenta y cada una en su propio hilo virtual.
+ * <p>
+ * Las sesiones se inician antes con concurrencia acotada, porque el servidor limita los cifrados BCrypt
+ * simultáneos y rechazaría una avalancha de logins. Después se abren todas las suscripciones a la vez y se
+ * espera a que respondan o fallen; el tiempo hasta las cabeceras de cada una queda en sus propias
+ * estadísticas, separado del de las peticiones medidas.
+ * </p>
+ */
+final class BackgroundSubscriptions {
+
+    private static final int LOGIN_CONCURRENCY = 32;
+    private static final Duration OPEN_TIMEOUT = Duration.ofMinutes(2);
+
+    private final ExecutorService holders;
+    private final int requested;
+    private final AtomicInteger opened;
+    private final AtomicInteger failed;
+    private final double openSeconds;
+
+    private BackgroundSubscriptions(ExecutorService holders, int requested, AtomicInteger opened, AtomicInteger failed,
+                                    double openSeconds) {
+        this.holders = holders;
+        this.requested = requested;
+        this.opened = opened;
+        this.failed = failed;
+        this.openSeconds = openSeconds;
+    }
+
+    /**
+     * Inicia sesión con cada cuenta y abre su suscripción.
+     *
+     * @param scenarios Escenarios, para el login y la operación de suscripción.
+     * @param holder    Cliente con el que se abren las suscripciones.
+     * @param users     Cuentas de las suscripciones.
+     * @param hold      Tiempo máximo que se mantiene abierta cada una.
+     * @return Suscripciones abiertas (o fallidas) al terminar la espera.
+     * @throws InterruptedException si se interrumpe el hilo.
+     */
+    static BackgroundSubscriptions open(Scenarios scenarios, ApiClient holder, List<VirtualUser> users, Duration hold)
+            throws InterruptedException {
+        System.out.printf("Iniciando sesión con %d cuentas para las suscripciones SSE…%n", users.size());
+        Semaphore permits = new Semaphore(LOGIN_CONCURRENCY);
+        try (ExecutorService logins = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (VirtualUser user : users) {
+                logins.submit(() -> {
+                    permits.acquire();
+                    try {
+                        scenarios.login(user);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService holders = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        for (VirtualUser user : users) {
+            holders.submit(() -> {
+                if (scenarios.holdSubscription(holder, user, hold, opened::incrementAndGet) != 200) {
+                    failed.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        long deadline = start + OPEN_TIMEOUT.toNanos();
+        while (opened.get() + failed.get() < users.size() && System.nanoTime() < deadline) {
+            Thread.sleep(1_000);
+            System.out.printf("Suscripciones SSE: %d abiertas, %d fallidas de %d%n", opened.get(), failed.get(), users.size());
+        }
+        return new BackgroundSubscriptions(holders, users.size(), opened, failed, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Cierra todas las suscripciones y resume cómo se abrieron.
+     *
+     * @param stats Estadísticas del cliente con el que se abrieron.
+     * @return Resumen para el informe.
+     */
+    Map<String, Object> close(EndpointStats stats) {
+        // Interrumpir a los hilos que las mantienen cierra cada conexión.
+        holders.shutdownNow();
+        holders.close();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requested", requested);
+        summary.put("opened", opened.get());
+        summary.put("failed", failed.get());
+        summary.put("openSeconds", openSeconds);
+        summary.put("connect", stats.summarize(openSeconds));
+        return summary;
+    }
+}
@@ -0,0 +1,125 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y códigos de respuesta por endpoint.
+ * <p>
+ * Cada endpoint tiene un {@link Recorder} de HdrHistogram, que admite escrituras concurrentes sin
+ * bloqueo y con precisión de tres dígitos significativos en microsegundos, de modo que los percentiles
+ * altos (p99, p99.9) son exactos y no una media de muestras.
+ * </p>
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    /**
+     * Resumen de un endpoint al terminar la medición.
+     *
+     * @param endpoint       Método y plantilla de ruta.
+     * @param requests       Peticiones completadas (con cualquier código).
+     * @param throughput     Peticiones por segundo.
+     * @param meanMs         Latencia media.
+     * @param p50Ms          Mediana.
+     * @param p90Ms          Percentil 90.
+     * @param p99Ms          Percentil 99.
+     * @param p999Ms         Percentil 99.9.
+     * @param maxMs          Latencia máxima.
+     * @param success        Respuestas 2xx y 3xx.
+     * @param clientErrors   Respuestas 4xx distintas de 429.
+     * @param rateLimited    Respuestas 429.
+     * @param serverErrors   Respuestas 5xx.
+     * @param failures       Errores de red o de conexión.
+     */
+    record Summary(String endpoint, long requests, double throughput, double meanMs, double p50Ms, double p90Ms,
+                   double p99Ms, double p999Ms, double maxMs, long success, long clientErrors, long rateLimited,
+                   long serverErrors, long failures) {
+    }
+
+    private static final class Endpoint {
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder success = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder rateLimited = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Registra una respuesta.
+     *
+     * @param endpoint     Clave del endpoint.
+     * @param latencyNanos Tiempo hasta recibir la respuesta.
+     * @param status       Código HTTP, o un valor negativo si la petición falló sin respuesta.
+     */
+    void record(String endpoint, long latencyNanos, int status) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, latencyNanos / 1_000)));
+        if (status < 0) {
+            stats.failures.increment();
+        } else if (status == 429) {
+            stats.rateLimited.increment();
+        } else if (status >= 500) {
+            stats.serverErrors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        } else {
+            stats.success.increment();
+        }
+    }
+
+    /**
+     * Descarta lo registrado hasta ahora; se usa al terminar el calentamiento.
+     */
+    void reset() {
+        for (Endpoint stats : endpoints.values()) {
+            stats.recorder.reset();
+            stats.success.reset();
+            stats.clientErrors.reset();
+            stats.rateLimited.reset();
+            stats.serverErrors.reset();
+            stats.failures.reset();
+        }
+    }
+
+    /**
+     * Resume lo registrado desde el último {@link #reset()}.
+     *
+     * @param elapsedSeconds Duración de la medición, para calcular el rendimiento.
+     * @return Un resumen por endpoint, ordenado por nombre.
+     */
+    List<Summary> summarize(double elapsedSeconds) {
+        List<Summary> summaries = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint stats = entry.getValue();
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            summaries.add(new Summary(entry.getKey(), requests, requests / elapsedSeconds,
+                    histogram.getMean() / 1_000.0,
+                    millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1_000.0,
+                    stats.success.sum(), stats.clientErrors.sum(), stats.rateLimited.sum(),
+                    stats.serverErrors.sum(), stats.failures.sum()));
+        }
+        summaries.sort((a, b) -> a.endpoint().compareTo(b.endpoint()));
+        return summaries;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,223 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga por escenarios contra una instancia local de la aplicación.
+ * <p>
+ * Pasos:
+ * <ol>
+ *     <li>Siembra las cuentas de los usuarios virtuales en el Mongo local ({@link UserSeeder}).</li>
+ *     <li>Carga la especificación OpenAPI (por defecto la que publica la aplicación en {@code /v3/api-docs};
+ *     con {@code --spec} se pueden indicar archivos o URLs) y resuelve en ella todas las operaciones de los
+ *     escenarios.</li>
+ *     <li>Con {@code --sse-clients=N} abre antes N suscripciones SSE con cuentas propias y las mantiene
+ *     abiertas toda la prueba ({@link BackgroundSubscriptions}), para medir la API con miles de clientes
+ *     conectados.</li>
+ *     <li>Cada usuario virtual, en su propio hilo virtual, elige escenarios al azar según {@code --weights}
+ *     hasta que termina la prueba. Lo medido durante el calentamiento se descarta.</li>
+ *     <li>Imprime por endpoint el rendimiento, los percentiles de latencia y los códigos de respuesta, y los
+ *     guarda en JSON ({@code --output}) para comparar ejecuciones.</li>
+ * </ol>
+ * <p>
+ * Uso: {@code ./gradlew loadTest -PloadTestArgs="--users=100 --duration=120"}. La aplicación debe
+ * arrancarse aparte; para medir capacidad y no los límites por cliente conviene hacerlo con
+ * {@code --rate-limit.enabled=false}, ya que todos los usuarios virtuales comparten IP (las respuestas
+ * 429 se cuentan por separado).
+ * </p>
+ *
+ * <p>Para comparar hilos de plataforma y virtuales con 10 000 clientes SSE se lanza dos veces contra la
+ * aplicación arrancada con {@code VIRTUAL_THREADS_ENABLED=false} y {@code true}, cambiando
+ * {@code --output}, por ejemplo
+ * {@code -PloadTestArgs="--users=100 --sse-clients=10000 --weights=nearby:60,vote:20,comment:20
+ * --output=build/results/loadtest/sse-virtual.json"}. El límite de descriptores de archivo del sistema
+ * ({@code ulimit -n}) debe permitir las conexiones en ambos extremos.</p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        EndpointStats stats = new EndpointStats();
+        ApiClient client = new ApiClient(http, config.baseUrl(), stats, mapper);
+
+        List<VirtualUser> users = new UserSeeder(config).seed();
+        System.out.printf("Sembrados %d usuarios de prueba%n", users.size());
+
+        OpenApiCatalog catalog = loadCatalog(config, http, client, users.get(0));
+        System.out.printf("Especificación cargada: %d operaciones%n", catalog.size());
+
+        Scenarios scenarios = new Scenarios(catalog, client, config);
+        Map<String, Scenario> available = scenarios.byName();
+        List<Scenario> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> weight : config.weights().entrySet()) {
+            Scenario scenario = available.get(weight.getKey());
+            if (scenario == null) {
+                throw new IllegalArgumentException("Escenario desconocido '" + weight.getKey()
+                        + "'; disponibles: " + available.keySet());
+            }
+            total += weight.getValue();
+            weighted.add(scenario);
+            cumulative.add(total);
+        }
+
+        List<VirtualUser> active = users.subList(0, config.users());
+        List<VirtualUser> background = users.subList(config.users(), users.size());
+        for (VirtualUser user : active) {
+            scenarios.login(user);
+        }
+        scenarios.loadCategories(users.get(0));
+
+        EndpointStats sseStats = new EndpointStats();
+        BackgroundSubscriptions subscriptions = background.isEmpty() ? null
+                : BackgroundSubscriptions.open(scenarios, new ApiClient(sseHttpClient(), config.baseUrl(), sseStats, mapper),
+                background, config.warmup().plus(config.duration()).plusMinutes(1));
+
+        long end = System.nanoTime() + config.warmup().plus(config.duration()).toNanos();
+        int totalWeight = total;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (VirtualUser user : active) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+                        int index = 0;
+                        while (cumulative.get(index) <= pick) {
+                            index++;
+                        }
+                        try {
+                            weighted.get(index).run(user);
+                        } catch (RuntimeException e) {
+                            System.err.printf("Error en el usuario virtual %s: %s%n", user.email(), e);
+                        }
+                        if (!config.thinkTime().isZero()) {
+                            Thread.sleep(config.thinkTime());
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            System.out.printf("Calentando %d s con %d usuarios virtuales…%n", config.warmup().toSeconds(), active.size());
+            Thread.sleep(config.warmup());
+            stats.reset();
+            long measureStart = System.nanoTime();
+            System.out.printf("Midiendo %d s…%n", config.duration().toSeconds());
+            executor.shutdown();
+            executor.awaitTermination(config.duration().toSeconds() + 60, TimeUnit.SECONDS);
+            double elapsed = (System.nanoTime() - measureStart) / 1e9;
+
+            List<EndpointStats.Summary> summaries = stats.summarize(elapsed);
+            print(summaries);
+            Map<String, Object> sse = null;
+            if (subscriptions != null) {
+                sse = subscriptions.close(sseStats);
+                System.out.printf("%nSuscripciones SSE de fondo: %s%n", sse);
+            }
+            write(config, mapper, summaries, elapsed, sse);
+        }
+    }
+
+    /**
+     * Cliente HTTP aparte para las suscripciones de fondo, para que sus miles de conexiones no compartan
+     * pool con las peticiones medidas.
+     */
+    private static HttpClient sseHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static OpenApiCatalog loadCatalog(LoadTestConfig config, HttpClient http, ApiClient client,
+                                              VirtualUser bootstrap) throws IOException, InterruptedException {
+        OpenApiCatalog catalog = new OpenApiCatalog();
+        if (!config.specs().isEmpty()) {
+            for (String spec : config.specs()) {
+                String text = spec.startsWith("http://") || spec.startsWith("https://")
+                        ? fetch(http, URI.create(spec), null)
+                        : Files.readString(Path.of(spec));
+                catalog.add(spec, text);
+            }
+            return catalog;
+        }
+        // /v3/api-docs requiere autenticación: se inicia sesión con la ruta conocida antes de tener el catálogo.
+        OpenApiCatalog.Operation login = new OpenApiCatalog.Operation("POST", Scenarios.LOGIN_PATH, null);
+        ApiClient.Response response = client.send(login, null, Map.of(),
+                Map.of("userName", bootstrap.email(), "password", bootstrap.password()));
+        if (!response.ok()) {
+            throw new IllegalStateException("No se pudo iniciar sesión para descargar la especificación: "
+                    + response.status() + " " + response.body());
+        }
+        String token = client.parse(response.body()).path("token").asText();
+        catalog.add("/v3/api-docs", fetch(http, URI.create(config.baseUrl() + "/v3/api-docs"), token));
+        return catalog;
+    }
+
+    private static String fetch(HttpClient http, URI uri, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo obtener la especificación " + uri + ": " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static void print(List<EndpointStats.Summary> summaries) {
+        System.out.printf("%n%-48s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Endpoint", "Pet.", "Pet./s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms", "2xx/4xx/429/5xx/err");
+        for (EndpointStats.Summary s : summaries) {
+            System.out.printf("%-48s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %d/%d/%d/%d/%d%n",
+                    s.endpoint(), s.requests(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs(),
+                    s.success(), s.clientErrors(), s.rateLimited(), s.serverErrors(), s.failures());
+        }
+    }
+
+    private static void write(LoadTestConfig config, ObjectMapper mapper, List<EndpointStats.Summary> summaries,
+                              double elapsed, Map<String, Object> sse) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("baseUrl", config.baseUrl().toString());
+        result.put("users", config.users());
+        result.put("durationSeconds", elapsed);
+        result.put("weights", config.weights());
+        if (sse != null) {
+            result.put("sseClients", sse);
+        }
+        result.put("endpoints", summaries);
+        Path output = config.output().toAbsolutePath();
+        Files.createDirectories(output.getParent());
+        mapper.writeValue(output.toFile(), result);
+        System.out.printf("%nResultados en %s%n", output);
+    }
+}
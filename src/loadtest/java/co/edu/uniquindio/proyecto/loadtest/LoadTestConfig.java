@@ -0,0 +1,124 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parámetros de una ejecución de carga, leídos de argumentos {@code --nombre=valor}.
+ *
+ * @param baseUrl    URL de la aplicación.
+ * @param specs      Especificaciones OpenAPI (rutas de archivo o URLs); vacío para usar {@code /v3/api-docs}.
+ * @param mongoUri   Conexión a la base de datos local donde se siembran los usuarios de prueba.
+ * @param users      Usuarios virtuales concurrentes.
+ * @param warmup     Calentamiento, excluido de las estadísticas.
+ * @param duration   Duración de la medición.
+ * @param thinkTime  Pausa entre escenarios de un mismo usuario virtual.
+ * @param weights    Peso relativo de cada escenario.
+ * @param sseHold    Tiempo que se mantiene abierta cada suscripción SSE.
+ * @param sseClients Suscripciones SSE, con cuentas propias, que se mantienen abiertas durante toda la prueba.
+ * @param bcryptCost Coste BCrypt de la contraseña sembrada.
+ * @param latitude   Latitud del centro de la zona de prueba.
+ * @param longitude  Longitud del centro de la zona de prueba.
+ * @param radiusKm   Radio de la zona de prueba y de las búsquedas por cercanía.
+ * @param output     Archivo JSON con los resultados.
+ */
+record LoadTestConfig(URI baseUrl,
+                      List<String> specs,
+                      String mongoUri,
+                      int users,
+                      Duration warmup,
+                      Duration duration,
+                      Duration thinkTime,
+                      Map<String, Integer> weights,
+                      Duration sseHold,
+                      int sseClients,
+                      int bcryptCost,
+                      double latitude,
+                      double longitude,
+                      double radiusKm,
+                      Path output) {
+
+    /** Pesos por defecto: mayoría de lecturas, con escrituras y suscripciones en menor proporción. */
+    static final String DEFAULT_WEIGHTS = "login:5,nearby:40,create-report:10,vote:20,comment:15,sse:10";
+
+    /**
+     * Construye la configuración a partir de los argumentos de línea de comandos.
+     *
+     * @param args Argumentos {@code --nombre=valor}; los no indicados toman su valor por defecto.
+     * @return Configuración validada.
+     * @throws IllegalArgumentException si algún argumento es desconocido o inválido.
+     */
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --nombre=valor): " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String mongoUri = values.remove("mongo-uri");
+        if (mongoUri == null) {
+            mongoUri = System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017/proyecto");
+        }
+        String specs = values.remove("spec");
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(stripTrailingSlash(values.getOrDefault("base-url", "http://localhost:8080"))),
+                specs == null || specs.isBlank() ? List.of() : List.of(specs.split(",")),
+                mongoUri,
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("think-ms", "0"))),
+                parseWeights(values.getOrDefault("weights", DEFAULT_WEIGHTS)),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("sse-hold-ms", "2000"))),
+                Integer.parseInt(values.getOrDefault("sse-clients", "0")),
+                Integer.parseInt(values.getOrDefault("bcrypt-cost", "10")),
+                Double.parseDouble(values.getOrDefault("latitude", "4.5339")),
+                Double.parseDouble(values.getOrDefault("longitude", "-75.6811")),
+                Double.parseDouble(values.getOrDefault("radius-km", "5")),
+                Path.of(values.getOrDefault("output", "build/results/loadtest/results.json")));
+        for (String key : List.of("base-url", "users", "warmup", "duration", "think-ms", "weights", "sse-hold-ms",
+                "sse-clients", "bcrypt-cost", "latitude", "longitude", "radius-km", "output")) {
+            values.remove(key);
+        }
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Argumentos desconocidos: " + values.keySet());
+        }
+        if (config.users() <= 0 || config.duration().isZero()) {
+            throw new IllegalArgumentException("--users y --duration deben ser positivos");
+        }
+        if (config.sseClients() < 0) {
+            throw new IllegalArgumentException("--sse-clients no puede ser negativo");
+        }
+        return config;
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Peso inválido (se espera escenario:peso): " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Al menos un escenario debe tener peso positivo");
+        }
+        return weights;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
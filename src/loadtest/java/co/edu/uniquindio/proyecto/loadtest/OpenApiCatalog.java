@@ -0,0 +1,110 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Operaciones declaradas en una o varias especificaciones OpenAPI.
+ * <p>
+ * Los escenarios no construyen rutas a mano: piden cada operación al catálogo por método y plantilla de
+ * ruta, de modo que si la API cambia y la especificación deja de declararla, la prueba falla al arrancar
+ * en lugar de medir respuestas 404. Acepta YAML y JSON (la salida de springdoc en {@code /v3/api-docs}).
+ * </p>
+ */
+final class OpenApiCatalog {
+
+    private static final Set<String> METHODS = Set.of("get", "put", "post", "delete", "patch", "head", "options");
+
+    /**
+     * Operación de la API.
+     *
+     * @param method      Método HTTP en mayúsculas.
+     * @param path        Plantilla de ruta completa, con el prefijo de {@code servers[0]} si lo hay.
+     * @param operationId Identificador de la operación, o {@code null} si la especificación no lo declara.
+     */
+    record Operation(String method, String path, String operationId) {
+
+        /**
+         * @return Clave con la que se agrupan las estadísticas, por ejemplo {@code GET /api/v1/reports}.
+         */
+        String key() {
+            return method + " " + path;
+        }
+    }
+
+    private final Map<String, Operation> operations = new TreeMap<>();
+
+    /**
+     * Añade las operaciones de una especificación.
+     *
+     * @param source Nombre de la especificación, para los mensajes de error.
+     * @param text   Contenido YAML o JSON.
+     * @throws IllegalArgumentException si el documento no tiene la sección {@code paths}.
+     */
+    void add(String source, String text) {
+        Object root = new Yaml(new SafeConstructor(new LoaderOptions())).load(text);
+        if (!(root instanceof Map<?, ?> document) || !(document.get("paths") instanceof Map<?, ?> paths)) {
+            throw new IllegalArgumentException("La especificación " + source + " no declara 'paths'");
+        }
+        String prefix = serverPrefix(document.get("servers"));
+        for (Map.Entry<?, ?> path : paths.entrySet()) {
+            if (!(path.getValue() instanceof Map<?, ?> item)) {
+                continue;
+            }
+            for (Map.Entry<?, ?> entry : item.entrySet()) {
+                String method = entry.getKey().toString().toLowerCase(Locale.ROOT);
+                if (!METHODS.contains(method)) {
+                    continue;
+                }
+                Object operationId = entry.getValue() instanceof Map<?, ?> op ? op.get("operationId") : null;
+                Operation operation = new Operation(method.toUpperCase(Locale.ROOT), prefix + path.getKey(),
+                        operationId == null ? null : operationId.toString());
+                operations.put(operation.key(), operation);
+            }
+        }
+    }
+
+    /**
+     * Obtiene una operación declarada.
+     *
+     * @param method Método HTTP.
+     * @param path   Plantilla de ruta, con las variables tal como las declara la especificación.
+     * @return Operación encontrada.
+     * @throws IllegalStateException si ninguna especificación la declara.
+     */
+    Operation require(String method, String path) {
+        Operation operation = operations.get(method.toUpperCase(Locale.ROOT) + " " + path);
+        if (operation == null) {
+            throw new IllegalStateException("La especificación no declara " + method + " " + path
+                    + "; operaciones disponibles: " + operations.keySet());
+        }
+        return operation;
+    }
+
+    /**
+     * @return Número de operaciones conocidas.
+     */
+    int size() {
+        return operations.size();
+    }
+
+    private static String serverPrefix(Object servers) {
+        if (!(servers instanceof List<?> list) || list.isEmpty() || !(list.get(0) instanceof Map<?, ?> server)
+                || !(server.get("url") instanceof String url)) {
+            return "";
+        }
+        String path = URI.create(url).getPath();
+        if (path == null || path.isEmpty() || path.equals("/")) {
+            return "";
+        }
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -0,0 +1,16 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+/**
+ * Flujo de negocio que ejecuta un usuario virtual en cada iteración.
+ */
+@FunctionalInterface
+interface Scenario {
+
+    /**
+     * Ejecuta el escenario.
+     *
+     * @param user Usuario virtual que lo ejecuta.
+     * @throws InterruptedException si la prueba se detiene durante una petición.
+     */
+    void run(VirtualUser user) throws InterruptedException;
+}
@@ -0,0 +1,208 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import co.edu.uniquindio.proyecto.loadtest.OpenApiCatalog.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Escenarios de la prueba de carga sobre las operaciones del {@link OpenApiCatalog}.
+ * <p>
+ * Todas las operaciones se resuelven en el constructor, así que una especificación que no las declare
+ * detiene la prueba antes de empezar. Los reportes creados o encontrados en búsquedas se comparten entre
+ * usuarios virtuales en un anillo acotado, del que salen los destinos de votos y comentarios.
+ * </p>
+ */
+final class Scenarios {
+
+    /** Ruta del login, usada también para obtener el token con el que se descarga la especificación. */
+    static final String LOGIN_PATH = "/api/v1/auth/sessions";
+
+    private static final int REPORT_POOL_SIZE = 1024;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final ApiClient client;
+    private final LoadTestConfig config;
+
+    private final Operation login;
+    private final Operation nearby;
+    private final Operation createReport;
+    private final Operation vote;
+    private final Operation comment;
+    private final Operation subscribe;
+    private final Operation categories;
+
+    private final AtomicReferenceArray<String> reportPool = new AtomicReferenceArray<>(REPORT_POOL_SIZE);
+    private final AtomicLong reportCursor = new AtomicLong();
+    private volatile List<Map<String, String>> categoryRefs = List.of(Map.of("name", "Infraestructura"));
+
+    Scenarios(OpenApiCatalog catalog, ApiClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+        this.login = catalog.require("POST", LOGIN_PATH);
+        this.nearby = catalog.require("GET", "/api/v1/reports");
+        this.createReport = catalog.require("POST", "/api/v1/reports");
+        this.vote = catalog.require("PATCH", "/api/v1/reports/{reportId}/votes");
+        this.comment = catalog.require("POST", "/api/v1/comments");
+        this.subscribe = catalog.require("GET", "/api/v1/notifications/subscribe");
+        this.categories = catalog.require("GET", "/api/v1/categories");
+    }
+
+    /**
+     * Escenarios por nombre, tal como se referencian en {@code --weights}.
+     *
+     * @return Mapa ordenado nombre → escenario.
+     */
+    Map<String, Scenario> byName() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("login", this::login);
+        scenarios.put("nearby", this::nearbySearch);
+        scenarios.put("create-report", this::createReport);
+        scenarios.put("vote", this::vote);
+        scenarios.put("comment", this::comment);
+        scenarios.put("sse", this::subscribe);
+        return scenarios;
+    }
+
+    /**
+     * Carga las categorías activas para usarlas al crear reportes.
+     *
+     * @param user Usuario ya autenticado.
+     * @throws InterruptedException si se interrumpe el hilo.
+     */
+    void loadCategories(VirtualUser user) throws InterruptedException {
+        ApiClient.Response response = client.send(categories, user.token(), Map.of(), null);
+        List<Map<String, String>> refs = new ArrayList<>();
+        for (JsonNode category : client.parse(response.body())) {
+            refs.add(Map.of("id", category.path("id").asText(), "name", category.path("name").asText()));
+        }
+        if (!refs.isEmpty()) {
+            categoryRefs = List.copyOf(refs);
+        }
+    }
+
+    /**
+     * Inicia sesión y guarda el access token en el usuario virtual.
+     *
+     * @param user Usuario virtual.
+     * @throws InterruptedException si se interrumpe el hilo.
+     */
+    void login(VirtualUser user) throws InterruptedException {
+        ApiClient.Response response = client.send(login, null, Map.of(),
+                Map.of("userName", user.email(), "password", user.password()));
+        if (response.ok()) {
+            user.token(client.parse(response.body()).path("token").asText(null));
+        }
+    }
+
+    private void nearbySearch(VirtualUser user) throws InterruptedException {
+        ApiClient.Response response = send(user, nearby, Map.of(
+                "latitud", user.latitude(),
+                "longitud", user.longitude(),
+                "radio", config.radiusKm(),
+                "page", 1,
+                "size", 30), null);
+        if (response.ok()) {
+            for (JsonNode report : client.parse(response.body()).path("content")) {
+                remember(report.path("id").asText(null));
+            }
+        }
+    }
+
+    private void createReport(VirtualUser user) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", "Carga " + UUID.randomUUID());
+        body.put("description", "Reporte generado por la prueba de carga");
+        body.put("categoryList", List.of(categoryRefs.get(random.nextInt(categoryRefs.size()))));
+        body.put("latitude", user.latitude() + offsetDegrees(random));
+        body.put("longitude", user.longitude() + offsetDegrees(random));
+        ApiClient.Response response = send(user, createReport, Map.of(), body);
+        if (response.ok()) {
+            remember(client.parse(response.body()).path("id").asText(null));
+        }
+    }
+
+    private void vote(VirtualUser user) throws InterruptedException {
+        String reportId = anyReport();
+        if (reportId == null) {
+            nearbySearch(user);
+            return;
+        }
+        send(user, vote, Map.of(), null, reportId);
+    }
+
+    private void comment(VirtualUser user) throws InterruptedException {
+        String reportId = anyReport();
+        if (reportId == null) {
+            nearbySearch(user);
+            return;
+        }
+        send(user, comment, Map.of(), Map.of(
+                "comment", "Comentario de carga " + ThreadLocalRandom.current().nextInt(1_000_000),
+                "reportId", reportId));
+    }
+
+    /**
+     * Mantiene abierta una suscripción SSE sin más actividad, como un ciudadano con la aplicación abierta.
+     *
+     * @param holder Cliente con el que se abre la suscripción, con sus propias estadísticas.
+     * @param user   Usuario virtual; se inicia sesión si aún no tiene token.
+     * @param hold   Tiempo máximo que se mantiene abierta.
+     * @param onOpen Acción a ejecutar en cuanto queda abierta.
+     * @return Código HTTP de la suscripción, o {@code -1} si falló.
+     * @throws InterruptedException si se interrumpe el hilo; la conexión se cierra igualmente.
+     */
+    int holdSubscription(ApiClient holder, VirtualUser user, Duration hold, Runnable onOpen) throws InterruptedException {
+        ensureToken(user);
+        return holder.subscribe(subscribe, user.token(), hold, onOpen);
+    }
+
+    private void subscribe(VirtualUser user) throws InterruptedException {
+        ensureToken(user);
+        client.subscribe(subscribe, user.token(), config.sseHold());
+    }
+
+    private void ensureToken(VirtualUser user) throws InterruptedException {
+        if (user.token() == null) {
+            login(user);
+        }
+    }
+
+    /**
+     * Ejecuta una operación autenticada; si el token caducó, lo descarta para que la siguiente
+     * iteración vuelva a iniciar sesión.
+     */
+    private ApiClient.Response send(VirtualUser user, Operation operation, Map<String, ?> query, Object body,
+                                    String... variables) throws InterruptedException {
+        ensureToken(user);
+        ApiClient.Response response = client.send(operation, user.token(), query, body, variables);
+        if (response.status() == 401) {
+            user.token(null);
+        }
+        return response;
+    }
+
+    private void remember(String reportId) {
+        if (reportId != null && !reportId.isEmpty()) {
+            reportPool.set((int) (reportCursor.getAndIncrement() % REPORT_POOL_SIZE), reportId);
+        }
+    }
+
+    private String anyReport() {
+        long filled = Math.min(reportCursor.get(), REPORT_POOL_SIZE);
+        return filled == 0 ? null : reportPool.get(ThreadLocalRandom.current().nextInt((int) filled));
+    }
+
+    private double offsetDegrees(ThreadLocalRandom random) {
+        return random.nextDouble(-1, 1) * config.radiusKm() / KM_PER_DEGREE;
+    }
+}
@@ -0,0 +1,227 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mide el arranque de la aplicación empaquetada de varias formas (jar ejecutable, jar extraído, con
+ * archivo CDS, con AOT, ejecutable nativo…) para comparar el efecto de cada una.
+ * <p>
+ * Cada modo se arranca {@code --runs} veces contra el Mongo indicado, en puertos libres, hasta que Spring
+ * Boot registra {@code Started … in X seconds (process running for Y)}; entonces se anota ese tiempo, el
+ * tiempo de reloj desde que se lanzó el proceso y su memoria residente, y se detiene. Se imprime la
+ * mediana por modo y el detalle queda en JSON ({@code --output}).
+ * </p>
+ * <p>
+ * Uso: {@code ./gradlew startupBenchmark -Paot [-Pnative]}; la tarea arma los modos a partir del jar y
+ * del ejecutable construidos. Los modos se pasan como {@code --mode=nombre|directorio|comando|arg|…}.
+ * </p>
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+    private static final String THROWAWAY_SECRET =
+            Base64.getEncoder().encodeToString("startup-benchmark-secret".getBytes(StandardCharsets.UTF_8));
+    private static final String THROWAWAY_WRAPPING_KEY =
+            Base64.getEncoder().encodeToString("startup-benchmark-wrapping-key!!".getBytes(StandardCharsets.UTF_8));
+    private static final List<String> APP_ARGS = List.of("--server.port=0", "--notifications.reactive.port=0",
+            "--management.server.port=0");
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Modo de arranque.
+     *
+     * @param name      Nombre en el informe.
+     * @param directory Directorio de trabajo.
+     * @param command   Comando, sin los argumentos de la aplicación.
+     */
+    record Mode(String name, Path directory, List<String> command) {
+
+        static Mode parse(String value) {
+            String[] parts = value.split("\\|");
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Modo inválido (se espera nombre|directorio|comando…): " + value);
+            }
+            return new Mode(parts[0], Path.of(parts[1]), List.of(Arrays.copyOfRange(parts, 2, parts.length)));
+        }
+    }
+
+    /**
+     * Un arranque medido.
+     *
+     * @param startedSeconds Tiempo de arranque del contexto que registra Spring Boot.
+     * @param processSeconds Tiempo desde que arrancó la JVM (o el ejecutable) que registra Spring Boot.
+     * @param wallSeconds    Tiempo de reloj desde que se lanzó el proceso hasta el registro.
+     * @param rssMb          Memoria residente al terminar el arranque, o -1 si no se pudo leer.
+     */
+    record Run(double startedSeconds, double processSeconds, double wallSeconds, double rssMb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Mode> modes = new ArrayList<>();
+        int runs = 5;
+        long timeoutSeconds = 180;
+        String mongoUri = System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:27017/proyecto");
+        Path output = Path.of("build/results/startup/startup.json");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --nombre=valor): " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "mode" -> modes.add(Mode.parse(value));
+                case "runs" -> runs = Integer.parseInt(value);
+                case "timeout" -> timeoutSeconds = Long.parseLong(value);
+                case "mongo-uri" -> mongoUri = value;
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Argumento desconocido: " + arg);
+            }
+        }
+        if (modes.isEmpty() || runs < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un --mode y --runs >= 1");
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            List<Run> measured = new ArrayList<>(runs);
+            for (int i = 0; i < runs; i++) {
+                Run run = measure(mode, mongoUri, timeoutSeconds);
+                System.out.printf("%-24s arranque %d/%d: %.2f s (proceso %.2f s, RSS %.0f MB)%n",
+                        mode.name(), i + 1, runs, run.wallSeconds(), run.processSeconds(), run.rssMb());
+                measured.add(run);
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode.name());
+            result.put("command", mode.command());
+            result.put("medianStartedSeconds", median(measured.stream().mapToDouble(Run::startedSeconds).toArray()));
+            result.put("medianProcessSeconds", median(measured.stream().mapToDouble(Run::processSeconds).toArray()));
+            result.put("medianWallSeconds", median(measured.stream().mapToDouble(Run::wallSeconds).toArray()));
+            result.put("medianRssMb", median(measured.stream().mapToDouble(Run::rssMb).toArray()));
+            result.put("runs", measured);
+            results.add(result);
+        }
+
+        System.out.printf("%n%-24s %12s %12s %12s %10s%n", "Modo", "Contexto s", "Proceso s", "Reloj s", "RSS MB");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-24s %12.2f %12.2f %12.2f %10.0f%n", result.get("mode"),
+                    result.get("medianStartedSeconds"), result.get("medianProcessSeconds"),
+                    result.get("medianWallSeconds"), result.get("medianRssMb"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("runsPerMode", runs);
+        report.put("modes", results);
+        Path file = output.toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.printf("%nResultados en %s%n", file);
+    }
+
+    private static Run measure(Mode mode, String mongoUri, long timeoutSeconds)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(mode.command());
+        command.addAll(APP_ARGS);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(mode.directory().toFile())
+                .redirectErrorStream(true);
+        builder.environment().put("MONGODB_URI", mongoUri);
+        // Obligatorios al arrancar; para medir bastan unos desechables
+        builder.environment().putIfAbsent("VERIFICATION_CODE_SECRET", THROWAWAY_SECRET);
+        builder.environment().putIfAbsent("JWT_KEY_WRAPPING_KEY", THROWAWAY_WRAPPING_KEY);
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        CompletableFuture<Matcher> started = new CompletableFuture<>();
+        List<String> tail = new ArrayList<>();
+        // La salida se sigue leyendo tras el registro para que el proceso no se bloquee escribiendo.
+        Thread.ofVirtual().start(() -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!started.isDone()) {
+                        Matcher matcher = STARTED.matcher(line);
+                        if (matcher.find()) {
+                            started.complete(matcher);
+                        } else {
+                            synchronized (tail) {
+                                tail.add(line);
+                                if (tail.size() > 40) {
+                                    tail.remove(0);
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                started.completeExceptionally(e);
+            }
+            started.completeExceptionally(new IllegalStateException("El proceso terminó sin arrancar"));
+        });
+
+        try {
+            Matcher matcher = started.get(timeoutSeconds, TimeUnit.SECONDS);
+            double wall = (System.nanoTime() - start) / 1e9;
+            return new Run(Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)), wall,
+                    rssMb(process.pid()));
+        } catch (TimeoutException | ExecutionException e) {
+            synchronized (tail) {
+                tail.forEach(System.err::println);
+            }
+            throw new IllegalStateException("No arrancó el modo " + mode.name() + ": " + e.getMessage(), e);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Memoria residente del proceso según {@code /proc} (solo Linux).
+     */
+    private static double rssMb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Sin /proc (macOS, Windows) no se informa
+        }
+        return -1;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
@@ -0,0 +1,81 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Siembra en la base de datos local las cuentas de los usuarios virtuales, ya activadas y con ubicación
+ * dentro de la zona de prueba, para no depender del correo de activación.
+ * <p>
+ * Las cuentas se identifican por correo ({@code loadtest-0001@example.com}, …) y se reemplazan en cada
+ * ejecución, así que repetir la prueba no acumula usuarios. Todas comparten la contraseña, que se cifra
+ * una sola vez.
+ * </p>
+ */
+final class UserSeeder {
+
+    static final String PASSWORD = "LoadTest#2025";
+
+    private static final String USER_CLASS = "co.edu.uniquindio.proyecto.entity.user.User";
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final LoadTestConfig config;
+
+    UserSeeder(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Crea o reemplaza las cuentas de prueba: las de los usuarios virtuales y, a continuación, las de las
+     * suscripciones SSE de fondo.
+     *
+     * @return Un usuario virtual por cuenta, en ese orden.
+     * @throws IllegalArgumentException si la cadena de conexión no indica la base de datos.
+     */
+    List<VirtualUser> seed() {
+        ConnectionString connection = new ConnectionString(config.mongoUri());
+        if (connection.getDatabase() == null) {
+            throw new IllegalArgumentException("--mongo-uri debe incluir la base de datos: " + config.mongoUri());
+        }
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(config.bcryptCost()));
+        SplittableRandom random = new SplittableRandom(7);
+        int accounts = config.users() + config.sseClients();
+        List<VirtualUser> users = new ArrayList<>(accounts);
+
+        try (MongoClient mongo = MongoClients.create(connection)) {
+            MongoCollection<Document> collection = mongo.getDatabase(connection.getDatabase()).getCollection("users");
+            Date now = new Date();
+            for (int i = 1; i <= accounts; i++) {
+                String email = "loadtest-%04d@example.com".formatted(i);
+                double radiusDegrees = config.radiusKm() / KM_PER_DEGREE;
+                double latitude = config.latitude() + random.nextDouble(-radiusDegrees, radiusDegrees);
+                double longitude = config.longitude() + random.nextDouble(-radiusDegrees, radiusDegrees);
+                Document user = new Document("email", email)
+                        .append("password", hash)
+                        .append("fullName", "Usuario de carga " + i)
+                        .append("dateBirth", now)
+                        .append("createdAt", now)
+                        .append("rol", "USER")
+                        .append("accountStatus", "ACTIVATED")
+                        .append("cityOfResidence", "Armenia")
+                        .append("notificationRadiusKm", config.radiusKm())
+                        .append("location", new Document("type", "Point").append("coordinates", List.of(longitude, latitude)))
+                        .append("_class", USER_CLASS);
+                collection.replaceOne(Filters.eq("email", email), user, new ReplaceOptions().upsert(true));
+                users.add(new VirtualUser(email, PASSWORD, latitude, longitude));
+            }
+        }
+        return users;
+    }
+}
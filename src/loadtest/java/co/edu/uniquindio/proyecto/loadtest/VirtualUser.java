@@ -0,0 +1,45 @@
+package co.edu.uniquindio.proyecto.loadtest;
+
+/**
+ * Usuario virtual: una cuenta sembrada que ejecuta escenarios en su propio hilo.
+ * <p>No es seguro entre hilos; cada usuario virtual lo usa un único hilo.</p>
+ */
+final class VirtualUser {
+
+    private final String email;
+    private final String password;
+    private final double latitude;
+    private final double longitude;
+    private String token;
+
+    VirtualUser(String email, String password, double latitude, double longitude) {
+        this.email = email;
+        this.password = password;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String password() {
+        return password;
+    }
+
+    double latitude() {
+        return latitude;
+    }
+
+    double longitude() {
+        return longitude;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void token(String token) {
+        this.token = token;
+    }
+}
@@ -11,7 +11,7 @@ public @interface CheckOwnerOrAdmin {
 
     /**
      * Clase de la entidad que se quiere proteger.
-     * Debe tener un campo llamado "userId".
+     * Debe implementar {@code Ownable} y tener un campo llamado "userId".
      *
      * @return clase de la entidad
      */
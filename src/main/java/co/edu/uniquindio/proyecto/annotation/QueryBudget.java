@@ -0,0 +1,25 @@
+package co.edu.uniquindio.proyecto.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de comandos a Mongo que puede lanzar una petición atendida por el endpoint anotado.
+ * <p>
+ * Lo comprueba {@code MongoQueryTraceFilter} al terminar la petición: si se supera se registra un aviso y,
+ * con {@code mongo.trace.fail-on-budget-exceeded=true} (perfil de tests), la petición responde 500.
+ * Anotar la clase del controlador fija el presupuesto de todos sus endpoints.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+
+    /**
+     * @return número máximo de comandos por petición
+     */
+    int value();
+
+}
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.proyecto.configuration;
 
+import co.edu.uniquindio.proyecto.util.HtmlTemplate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +16,8 @@ import java.nio.charset.StandardCharsets;
  * <p>
  * Esta clase registra cada plantilla como un bean de Spring, permitiendo su inyección donde se requiera.
  * Las plantillas se cargan desde el classpath (ubicadas en la carpeta <code>resources/templates</code>)
- * y se almacenan en memoria para mejorar el rendimiento durante el envío de correos frecuentes.
+ * y se compilan una sola vez como {@link HtmlTemplate}, de modo que cada envío solo concatena segmentos
+ * ya separados y escapa los valores recibidos.
  * </p>
  */
 @Configuration
@@ -25,36 +27,54 @@ public class EmailTemplateConfig {
     /**
      * Carga la plantilla HTML para verificación de cuenta.
      *
-     * @return Contenido de la plantilla como cadena de texto.
+     * @return Plantilla compilada con los parámetros {@code email} y {@code code}.
      */
     @Bean
-    public String verificationEmailTemplate() {
-        return cargarPlantilla("templates/verification-email.html");
+    public HtmlTemplate verificationEmailTemplate() {
+        return HtmlTemplate.compile(cargarPlantilla("templates/verification-email.html"), "email", "code");
     }
 
     /**
      * Carga la plantilla HTML para recuperación de contraseña.
      *
-     * @return Contenido de la plantilla como cadena de texto.
+     * @return Plantilla compilada con los parámetros {@code email} y {@code code}.
      */
     @Bean
-    public String resetPasswordEmailTemplate() {
-        return cargarPlantilla("templates/reset-password-email.html");
+    public HtmlTemplate resetPasswordEmailTemplate() {
+        return HtmlTemplate.compile(cargarPlantilla("templates/reset-password-email.html"), "email", "code");
     }
 
     /**
      * Carga la plantilla HTML para notificaciones de comentarios en reportes.
      *
-     * @return Contenido de la plantilla como cadena de texto.
+     * @return Plantilla compilada con los parámetros {@code username}, {@code reportTitle} y {@code commentContent}.
      */
     @Bean
-    public String commentNotificationEmailTemplate() {
-        return cargarPlantilla("templates/comment_notification.html");
+    public HtmlTemplate commentNotificationEmailTemplate() {
+        return HtmlTemplate.compile(cargarPlantilla("templates/comment_notification.html"),
+                "username", "reportTitle", "commentContent");
     }
 
+    /**
+     * Carga la plantilla HTML para notificaciones de reportes cercanos.
+     *
+     * @return Plantilla compilada con los parámetros {@code username}, {@code reportTitle} y {@code reportDescription}.
+     */
+    @Bean
+    public HtmlTemplate reportNotificationEmailTemplate() {
+        return HtmlTemplate.compile(cargarPlantilla("templates/report-notification.html"),
+                "username", "reportTitle", "reportDescription");
+    }
+
+    /**
+     * Carga la plantilla HTML del resumen de notificaciones agrupadas.
+     *
+     * @return Plantilla compilada con los parámetros {@code summary}, {@code greeting} e {@code items} (HTML ya escapado).
+     */
     @Bean
-    public String reportNotificationEmailTemplate() {
-        return cargarPlantilla("templates/report-notification.html");
+    public HtmlTemplate digestNotificationEmailTemplate() {
+        return HtmlTemplate.compile(cargarPlantilla("templates/digest-notification.html"),
+                "summary", "greeting", "items");
     }
 
     /**
@@ -0,0 +1,50 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import com.mongodb.event.CommandEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuración de métricas de Micrometer.
+ * <p>
+ * Actuator ya registra un {@code MongoMetricsCommandListener} en el cliente de Mongo, que publica la
+ * duración de cada comando como {@code mongodb.driver.commands}. Aquí solo se ajustan sus etiquetas:
+ * se conservan {@code command}, {@code collection} y {@code status}, y se descartan {@code cluster.id}
+ * (aleatoria en cada arranque) y {@code server.address}, que multiplican las series sin aportar al
+ * diagnóstico de una sola base de datos.
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Set<String> DROPPED_MONGO_TAGS = Set.of("cluster.id", "server.address");
+
+    /**
+     * Etiquetas de baja cardinalidad para las métricas de comandos de Mongo.
+     *
+     * @return Proveedor que filtra las etiquetas del proveedor por defecto.
+     */
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new DefaultMongoCommandTagsProvider() {
+            @Override
+            public Iterable<Tag> commandTags(CommandEvent event) {
+                List<Tag> tags = new ArrayList<>(4);
+                for (Tag tag : super.commandTags(event)) {
+                    if (!DROPPED_MONGO_TAGS.contains(tag.getKey())) {
+                        tags.add(tag);
+                    }
+                }
+                return Tags.of(tags);
+            }
+        };
+    }
+}
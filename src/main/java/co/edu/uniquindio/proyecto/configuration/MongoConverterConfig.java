@@ -0,0 +1,38 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import co.edu.uniquindio.proyecto.repository.converter.EntityCodecMongoConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Sustituye el {@link MappingMongoConverter} que crea Spring Boot por {@link EntityCodecMongoConverter},
+ * que usan tanto {@code MongoTemplate} y los repositorios como {@code ReactiveMongoTemplate}. El formato
+ * de los documentos no cambia; con {@code mongo.converters.enabled=false} se vuelve al mapeo reflexivo
+ * para comparar.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mongo.converters.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoConverterConfig {
+
+    /**
+     * Se construye igual que el de Spring Boot, con las mismas conversiones y contexto de mapeo.
+     *
+     * @param factory     Factoría de bases de datos, para resolver {@code DBRef}.
+     * @param context     Contexto de mapeo.
+     * @param conversions Conversiones personalizadas.
+     * @return Conversor de entidades.
+     */
+    @Bean
+    public MappingMongoConverter mappingMongoConverter(MongoDatabaseFactory factory, MongoMappingContext context,
+                                                       MongoCustomConversions conversions) {
+        MappingMongoConverter converter = new EntityCodecMongoConverter(new DefaultDbRefResolver(factory), context);
+        converter.setCustomConversions(conversions);
+        return converter;
+    }
+}
@@ -0,0 +1,48 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamaño del pool de conexiones del cliente de Mongo.
+ * <p>
+ * Con el pool de hilos de Tomcat, los hilos ({@code server.tomcat.threads.max}) limitan cuántas peticiones
+ * consultan Mongo a la vez, y un pool del mismo tamaño evita que un hilo espere conexión. Con hilos
+ * virtuales ({@code spring.threads.virtual.enabled=true}) ese límite desaparece y el pool pasa a ser el
+ * que acota la concurrencia contra la base de datos: por eso el tamaño por defecto sigue al de Tomcat y
+ * la espera máxima por una conexión es corta, para fallar rápido en lugar de acumular miles de hilos
+ * virtuales esperando los dos minutos que espera el driver por defecto.
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class MongoPoolConfig {
+
+    /**
+     * Aplica los límites del pool a la configuración del cliente que crea Spring Boot.
+     *
+     * @param maxSize       Conexiones máximas por servidor.
+     * @param minSize       Conexiones que se mantienen abiertas aunque estén ociosas.
+     * @param maxConnecting Conexiones que pueden estar estableciéndose a la vez.
+     * @param maxWaitMs     Espera máxima por una conexión libre antes de fallar.
+     * @return Personalizador de la configuración del cliente de Mongo.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            @Value("${mongo.pool.max-size:${server.tomcat.threads.max:200}}") int maxSize,
+            @Value("${mongo.pool.min-size:0}") int minSize,
+            @Value("${mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${mongo.pool.max-wait-ms:2000}") long maxWaitMs) {
+        log.info("Pool de Mongo: máximo {} conexiones (mínimo {}), espera máxima {} ms", maxSize, minSize, maxWaitMs);
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
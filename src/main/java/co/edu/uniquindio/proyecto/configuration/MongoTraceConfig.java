@@ -0,0 +1,27 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import co.edu.uniquindio.proyecto.util.MongoQueryTracer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra {@link MongoQueryTracer} en el cliente de Mongo que crea Spring Boot, junto al listener de
+ * métricas de Actuator. Se desactiva con {@code mongo.trace.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mongo.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoTraceConfig {
+
+    /**
+     * Añade el trazador de comandos a la configuración del cliente.
+     *
+     * @param tracer Trazador de comandos.
+     * @return Personalizador de la configuración del cliente de Mongo.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryTracerCustomizer(MongoQueryTracer tracer) {
+        return settings -> settings.addCommandListener(tracer);
+    }
+}
@@ -0,0 +1,121 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import co.edu.uniquindio.proyecto.annotation.CheckOwnerOrAdmin;
+import co.edu.uniquindio.proyecto.annotation.CheckSelfOrAdminPermission;
+import co.edu.uniquindio.proyecto.annotation.CheckSelfPermission;
+import co.edu.uniquindio.proyecto.annotation.QueryBudget;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.dto.response.ErrorResponse;
+import co.edu.uniquindio.proyecto.entity.comment.Comment;
+import co.edu.uniquindio.proyecto.entity.image.Image;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.service.implementations.AuthorizationServiceImplements;
+import co.edu.uniquindio.proyecto.service.interfaces.CommentService;
+import co.edu.uniquindio.proyecto.service.interfaces.ImageService;
+import co.edu.uniquindio.proyecto.service.interfaces.ReportService;
+import co.edu.uniquindio.proyecto.service.interfaces.UserService;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Registra lo que la imagen nativa de GraalVM ({@code ./gradlew nativeCompile -Pnative}) necesita y el
+ * procesamiento AOT de Spring no puede deducir de las definiciones de beans: recursos del classpath que
+ * se leen al arrancar y tipos a los que se accede por reflexión desde el código propio o desde librerías.
+ * <p>
+ * En la JVM estas sugerencias no tienen efecto.
+ * </p>
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+public class NativeImageConfig {
+
+    /**
+     * Sugerencias de ejecución para la imagen nativa.
+     */
+    public static class Hints implements RuntimeHintsRegistrar {
+
+        /**
+         * Clases de jjwt-impl que la API de jjwt instancia por nombre ({@code Jwts.builder()},
+         * {@code Jwts.parser()}, {@code Jwts.SIG}…) y serializadores que carga con {@code ServiceLoader}.
+         */
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardCurves",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        /**
+         * Registrador de logs de openhtmltopdf, que se elige por nombre de clase.
+         */
+        private static final List<String> OPENHTMLTOPDF_TYPES = List.of(
+                "com.openhtmltopdf.slf4j.Slf4jLogger",
+                "com.openhtmltopdf.util.JDKXRLogger");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // KeyUtils: claves RSA en PEM; EmailTemplateConfig y ReportSummaryServiceImpl: plantillas HTML
+            hints.resources()
+                    .registerPattern("keys/*.pem")
+                    .registerPattern("templates/*.html");
+
+            // openhtmltopdf/PDFBox: hoja de estilos por defecto, métricas de las fuentes estándar, lista de
+            // glifos, perfiles de color y CMaps que se leen del classpath al generar el PDF
+            hints.resources()
+                    .registerPattern("resources/css/*.css")
+                    .registerPattern("resources/conf/*")
+                    .registerPattern("org/apache/pdfbox/resources/**")
+                    .registerPattern("org/apache/fontbox/cmap/**")
+                    .registerPattern("org/apache/fontbox/unicode/**");
+            OPENHTMLTOPDF_TYPES.forEach(type -> hints.reflection()
+                    .registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+            JJWT_TYPES.forEach(type -> hints.reflection()
+                    .registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources()
+                    .registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer")
+                    .registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+
+            // AuthorizationAspect: el punto de corte @annotation(checkOwnerOrAdmin) se evalúa sobre los
+            // métodos de las interfaces de servicio, y el atributo entityClass apunta a entidades Ownable
+            // que se cargan completas a través del mapa de identidad
+            for (Class<?> service : List.of(CommentService.class, ImageService.class, ReportService.class)) {
+                hints.reflection().registerType(service, MemberCategory.INTROSPECT_PUBLIC_METHODS);
+            }
+            for (Class<?> entity : List.of(Report.class, Comment.class, Image.class)) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (Class<?> annotation : List.of(CheckOwnerOrAdmin.class, CheckSelfPermission.class,
+                    CheckSelfOrAdminPermission.class, QueryBudget.class)) {
+                hints.reflection().registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            // @CheckSelfPermission / @CheckSelfOrAdminPermission: la expresión SpEL llama a
+            // @authorizationService con los parámetros del método por nombre (#id, #userId)
+            hints.reflection().registerType(AuthorizationServiceImplements.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(UserService.class, MemberCategory.INTROSPECT_PUBLIC_METHODS);
+
+            // JSON que no pasa por un @RestController: SSE reactivo y STOMP (NotificationDTO) y las respuestas
+            // de error que escriben los filtros (ErrorResponse)
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(), NotificationDTO.class, ErrorResponse.class);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import co.edu.uniquindio.proyecto.util.RateLimitRule;
+import co.edu.uniquindio.proyecto.util.RateLimitRule.KeySource;
+import co.edu.uniquindio.proyecto.util.StripedRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reglas de limitación de tasa de la API.
+ * <p>
+ * Cada regla es un bean {@link RateLimitRule} que {@code RateLimitFilter} recibe como lista, así que
+ * añadir una regla es declarar otro método aquí. Los valores por defecto pueden cambiarse por regla con
+ * {@code rate-limit.rules.<nombre>.limit}, {@code .period-seconds} y {@code .burst}.
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class RateLimitConfig {
+
+    private static final String[] EMAIL_CODE_ROUTES = {
+            "/api/v1/auth/activations/{email}",
+            "/api/v1/auth/users/password-codes/{email}",
+            "/api/v1/auth/passwordCodes"
+    };
+
+    private final Environment environment;
+    private final int stripes;
+    private final int slotsPerStripe;
+
+    public RateLimitConfig(Environment environment,
+                           @Value("${rate-limit.stripes:32}") int stripes,
+                           @Value("${rate-limit.slots-per-stripe:512}") int slotsPerStripe) {
+        this.environment = environment;
+        this.stripes = stripes;
+        this.slotsPerStripe = slotsPerStripe;
+    }
+
+    /**
+     * Intentos de login por IP.
+     */
+    @Bean
+    public RateLimitRule loginRateLimit() {
+        return rule("login", HttpMethod.POST, KeySource.IP, 10, 60, 10, "/api/v1/auth/sessions");
+    }
+
+    /**
+     * Envío de códigos (activación y recuperación) a un mismo correo, para no usar la API como
+     * generador de spam hacia terceros.
+     */
+    @Bean
+    public RateLimitRule emailCodesByEmailRateLimit() {
+        return rule("email-codes-by-email", HttpMethod.POST, KeySource.EMAIL, 3, 600, 3, EMAIL_CODE_ROUTES);
+    }
+
+    /**
+     * Envío de códigos desde una misma IP, aunque vaya rotando de correo.
+     */
+    @Bean
+    public RateLimitRule emailCodesByIpRateLimit() {
+        return rule("email-codes-by-ip", HttpMethod.POST, KeySource.IP, 20, 600, 10, EMAIL_CODE_ROUTES);
+    }
+
+    /**
+     * Confirmación de códigos por IP, para frenar la fuerza bruta sobre códigos de seis dígitos.
+     */
+    @Bean
+    public RateLimitRule codeConfirmationRateLimit() {
+        return rule("code-confirmation", HttpMethod.PATCH, KeySource.IP, 10, 600, 10,
+                "/api/v1/auth/activations", "/api/v1/auth/users/password");
+    }
+
+    /**
+     * Creación de reportes por usuario.
+     */
+    @Bean
+    public RateLimitRule reportCreationRateLimit() {
+        return rule("report-creation", HttpMethod.POST, KeySource.USER, 30, 3600, 10, "/api/v1/reports");
+    }
+
+    /**
+     * Creación de comentarios por usuario.
+     */
+    @Bean
+    public RateLimitRule commentCreationRateLimit() {
+        return rule("comment-creation", HttpMethod.POST, KeySource.USER, 120, 3600, 20, "/api/v1/comments");
+    }
+
+    private RateLimitRule rule(String name, HttpMethod method, KeySource key,
+                               int defaultLimit, long defaultPeriodSeconds, int defaultBurst, String... paths) {
+        String prefix = "rate-limit.rules." + name + ".";
+        int limit = environment.getProperty(prefix + "limit", Integer.class, defaultLimit);
+        long periodSeconds = environment.getProperty(prefix + "period-seconds", Long.class, defaultPeriodSeconds);
+        int burst = environment.getProperty(prefix + "burst", Integer.class, defaultBurst);
+
+        List<PathPattern> patterns = Arrays.stream(paths).map(PathPatternParser.defaultInstance::parse).toList();
+        log.info("Límite de tasa '{}': {} peticiones cada {}s (ráfaga {}) por {} en {} {}",
+                name, limit, periodSeconds, burst, key, method, Arrays.toString(paths));
+        return new RateLimitRule(name, method, patterns, key,
+                new StripedRateLimiter(limit, Duration.ofSeconds(periodSeconds), burst, stripes, slotsPerStripe));
+    }
+}
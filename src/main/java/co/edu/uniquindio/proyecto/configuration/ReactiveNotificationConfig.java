@@ -0,0 +1,74 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import co.edu.uniquindio.proyecto.controller.NotificationStreamHandler;
+import co.edu.uniquindio.proyecto.util.ReactiveNotificationServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * Entrega reactiva de notificaciones por SSE, junto a la API MVC.
+ * <p>
+ * Las rutas funcionales de WebFlux se sirven en un {@link ReactiveNotificationServer} con su propio
+ * puerto ({@code notifications.reactive.port}); la API, la seguridad y el SSE de
+ * {@code NotificationSseController} siguen en Tomcat. Los eventos se serializan con el
+ * {@link ObjectMapper} de la aplicación, para que el JSON sea idéntico al de la API, y se aplican las
+ * mismas reglas de CORS.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "notifications.reactive.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveNotificationConfig {
+
+    /**
+     * Rutas del servidor reactivo.
+     *
+     * @param handler Manejador de la suscripción.
+     * @return Rutas funcionales.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> notificationStreamRoutes(NotificationStreamHandler handler) {
+        return RouterFunctions.route(GET("/api/v1/notifications/stream"), handler::stream);
+    }
+
+    /**
+     * Servidor Reactor Netty que sirve las rutas reactivas.
+     *
+     * @param routes       Rutas a servir.
+     * @param objectMapper Mapper JSON de la aplicación.
+     * @param host         Dirección en la que escuchar.
+     * @param port         Puerto (0 = uno libre).
+     * @return Servidor, arrancado y detenido con el contexto.
+     */
+    @Bean
+    public ReactiveNotificationServer reactiveNotificationServer(
+            RouterFunction<ServerResponse> routes,
+            ObjectMapper objectMapper,
+            @Value("${notifications.reactive.host:0.0.0.0}") String host,
+            @Value("${notifications.reactive.port:8081}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+
+        UrlBasedCorsConfigurationSource cors = new UrlBasedCorsConfigurationSource();
+        cors.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+
+        HttpHandler handler = WebHttpHandlerBuilder.webHandler(RouterFunctions.toWebHandler(routes, strategies))
+                .filter(new CorsWebFilter(cors))
+                .build();
+        return new ReactiveNotificationServer(handler, host, port);
+    }
+}
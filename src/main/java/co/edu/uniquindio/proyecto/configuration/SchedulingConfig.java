@@ -0,0 +1,17 @@
+package co.edu.uniquindio.proyecto.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita la ejecución de tareas programadas ({@code @Scheduled}), usadas por los procesos
+ * en segundo plano como el despachador de la bandeja de salida de correos.
+ * <p>
+ * El tamaño del planificador se fija con {@code spring.task.scheduling.pool.size}; las tareas largas
+ * (como los ciclos de envío de correos) deben correr en su propio ejecutor para no retrasar al resto.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,10 +1,18 @@
 package co.edu.uniquindio.proyecto.configuration;
 
 import co.edu.uniquindio.proyecto.exceptionhandler.auth.SecurityErrorHandler;
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
+import co.edu.uniquindio.proyecto.util.BoundedPasswordEncoder;
+import co.edu.uniquindio.proyecto.util.CachingJwtDecoder;
+import co.edu.uniquindio.proyecto.util.JwtKeyManager;
+import co.edu.uniquindio.proyecto.util.CurrentUserFilter;
 import co.edu.uniquindio.proyecto.util.JwtTokenFromCookieFilter;
-import co.edu.uniquindio.proyecto.util.KeyUtils;
+import co.edu.uniquindio.proyecto.util.KeyManagerJwtDecoder;
+import co.edu.uniquindio.proyecto.util.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,10 +22,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
@@ -26,6 +31,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -37,30 +43,47 @@ public class SecurityConfig {
 
     private final SecurityErrorHandler     securityErrorHandler;
     private final JwtTokenFromCookieFilter jwtTokenFromCookieFilter;
+    private final RateLimitFilter          rateLimitFilter;
+    private final CurrentUserFilter        currentUserFilter;
 
     /**
      * Configuración de CORS para que Spring Security la aplique al inicio del filter chain.
      */
    @Bean
 public CorsConfigurationSource corsConfigurationSource() {
-    CorsConfiguration config = new CorsConfiguration();
-    config.setAllowedOrigins(Collections.singletonList("https://mariamarmolejo.github.io"));
-    config.setAllowCredentials(true);
-    config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-    config.setAllowedHeaders(Collections.singletonList("*"));
-
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-    source.registerCorsConfiguration("/**", config);
+    source.registerCorsConfiguration("/**", corsConfiguration());
     return source;
 }
 
+    /**
+     * Reglas de CORS de la API, compartidas con el servidor SSE reactivo ({@link ReactiveNotificationConfig}).
+     */
+    static CorsConfiguration corsConfiguration() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(Collections.singletonList("https://mariamarmolejo.github.io"));
+        config.setAllowCredentials(true);
+        config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
+        config.setAllowedHeaders(Collections.singletonList("*"));
+        return config;
+    }
+
 
     /**
      * Única cadena de seguridad: CORS, CSRF off, stateless, autorización, filtros y resource server.
+     * <p>
+     * Actuator escucha por defecto en un puerto interno ({@code management.server.port}) distinto del de la
+     * API. {@code /actuator/health} es público; {@code /actuator/prometheus} solo se sirve sin credenciales en
+     * ese puerto interno y, si se configura el mismo puerto que la API, exige el rol ADMIN.
+     * </p>
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:${server.port:8080}}") int managementPort)
+            throws Exception {
         log.info("Configurando SecurityFilterChain");
+        boolean internalManagementPort = managementPort != serverPort;
 
         http
             // 1) Aplica CORS según corsConfigurationSource()
@@ -79,15 +102,25 @@ public CorsConfigurationSource corsConfigurationSource() {
                 .requestMatchers(HttpMethod.POST, "/api/v1/users", "/api/v1/users/").permitAll()
                 // Endpoints de auth también públicos
                 .requestMatchers("/api/v1/auth/**").permitAll()
+                // Salud para el balanceador
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                // Métricas para Prometheus solo en el puerto interno de gestión; en el de la API, solo ADMIN
+                .requestMatchers(request -> internalManagementPort && request.getLocalPort() == managementPort)
+                    .permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // El resto requiere autenticación
                 .anyRequest().authenticated()
             )
             // 5) Filtro que traslada el JWT desde cookie al header Authorization
             .addFilterBefore(jwtTokenFromCookieFilter, BearerTokenAuthenticationFilter.class)
+            // 5b) Identidad del usuario calculada una vez por petición, justo tras validar el JWT
+            .addFilterAfter(currentUserFilter, BearerTokenAuthenticationFilter.class)
+            // 5c) Limitación de tasa, ya con el usuario autenticado y antes de llegar a los controladores
+            .addFilterAfter(rateLimitFilter, CurrentUserFilter.class)
             // 6) Resource Server JWT (solo en rutas autenticadas)
             .oauth2ResourceServer(oauth2 -> oauth2
                 .jwt(jwt -> jwt
-                    .decoder(jwtDecoder())
+                    .decoder(jwtDecoder)
                     .jwtAuthenticationConverter(jwtAuthenticationConverter())
                 )
                 .authenticationEntryPoint(securityErrorHandler)
@@ -113,14 +146,36 @@ public CorsConfigurationSource corsConfigurationSource() {
         return converter;
     }
 
+    /**
+     * Codificador BCrypt que ejecuta el hashing en un pool acotado (rechaza con 503 al saturarse) y cuyo
+     * coste se fija por configuración o se calibra al arrancar. Con {@code hash-threads=0} se usa un hilo
+     * por procesador disponible.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password.bcrypt.cost:0}") int cost,
+                                                  @Value("${security.password.bcrypt.target-ms:250}") long targetMs,
+                                                  @Value("${security.password.hash-threads:0}") int threads,
+                                                  @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                                  @Value("${security.password.timeout-ms:5000}") long timeoutMs,
+                                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(cost, targetMs, poolSize, queueCapacity, Duration.ofMillis(timeoutMs),
+                meterRegistry);
     }
 
+    /**
+     * Decodificador JWT con caché de tokens ya verificados, para no repetir la verificación de firma
+     * en cada petición con el mismo access token. La verificación real usa las claves rotativas de
+     * {@link JwtKeyManager} (por {@code kid}) y cada petición se contrasta con la {@link AccessTokenDenylist}.
+     */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(KeyUtils.getPublicKey()).build();
+    public CachingJwtDecoder jwtDecoder(JwtKeyManager keyManager,
+                                        AccessTokenDenylist denylist,
+                                        @Value("${security.jwt.cache.max-size:10000}") long maxSize,
+                                        @Value("${security.jwt.cache.max-ttl-ms:3600000}") long maxTtlMs,
+                                        MeterRegistry meterRegistry) {
+        return new CachingJwtDecoder(new KeyManagerJwtDecoder(keyManager), maxSize, Duration.ofMillis(maxTtlMs),
+                denylist, meterRegistry);
     }
 
     @Bean
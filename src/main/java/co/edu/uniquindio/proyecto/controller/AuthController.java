@@ -42,13 +42,14 @@ public class AuthController {
   /**
    * Verifica la cuenta del usuario mediante el código recibido por correo electrónico.
    *
-   * @param code Código de verificación enviado previamente al correo del usuario.
+   * @param email Correo de la cuenta a verificar.
+   * @param code  Código de verificación enviado previamente al correo del usuario.
    * @return Respuesta con mensaje de éxito si el código es válido.
    */
   @PatchMapping("/activations")
-  public ResponseEntity<String> verifyAccount(@RequestParam String code) {
-    log.info("🛂 Verificando cuenta con código: {}", code);
-    verificationService.validateCodeActivation(code);
+  public ResponseEntity<String> verifyAccount(@RequestParam String email, @RequestParam String code) {
+    log.info("🛂 Verificando cuenta de: {}", email);
+    verificationService.validateCodeActivation(email, code);
     return ResponseEntity.ok("Cuenta verificada exitosamente");
   }
 
@@ -125,8 +126,8 @@ public class AuthController {
    */
   @PatchMapping("/users/password")
   public ResponseEntity<SuccessResponse> confirmReset(@Valid @RequestBody PasswordResetRequest request) {
-    log.info("🔄 Confirmando restablecimiento de contraseña con código: {}", request.code());
-    verificationService.resetPasswordWithCode(request.code(), request.newPassword());
+    log.info("🔄 Confirmando restablecimiento de contraseña para: {}", request.email());
+    verificationService.resetPasswordWithCode(request.email(), request.code(), request.newPassword());
     return ResponseEntity.ok(new SuccessResponse("Contraseña actualizada exitosamente"));
   }
 
@@ -148,10 +149,14 @@ public class AuthController {
         resp.accessToken(),
         Duration.ofHours(1)
     );
-    // no tocamos el refresh_token, sigue siendo el mismo
-    return ResponseEntity.ok()
-        .header(HttpHeaders.SET_COOKIE, accessTokenCookie.toString())
-        .build();
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .header(HttpHeaders.SET_COOKIE, accessTokenCookie.toString());
+    // el refresh_token es de un solo uso: se sustituye por el rotado
+    if (resp.refreshToken() != null) {
+      response.header(HttpHeaders.SET_COOKIE,
+          buildCookie("refresh_token", resp.refreshToken(), Duration.ofDays(7)).toString());
+    }
+    return response.build();
   }
 
 
@@ -0,0 +1,81 @@
+package co.edu.uniquindio.proyecto.controller;
+
+import co.edu.uniquindio.proyecto.dto.notification.NotificationInboxResponse;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationReadRequest;
+import co.edu.uniquindio.proyecto.dto.notification.UnreadCountResponse;
+import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
+import co.edu.uniquindio.proyecto.util.SecurityUtils;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST de la bandeja de notificaciones del usuario autenticado.
+ * <p>
+ * Complementa a {@link NotificationSseController} (entrega en tiempo real) con la consulta del
+ * historial, el marcado como leídas y el indicador de no leídas.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Obtiene la bandeja de notificaciones, de la más reciente a la más antigua.
+     *
+     * @param before Cursor devuelto en {@code nextCursor} por la página anterior (opcional).
+     * @param size   Tamaño de página (por defecto 20, máximo 100).
+     * @return Página de notificaciones.
+     */
+    @GetMapping
+    public ResponseEntity<NotificationInboxResponse> getInbox(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("📥 Consultando bandeja de notificaciones del usuario {}", userId);
+        return ResponseEntity.ok(notificationService.getInbox(userId, before, size));
+    }
+
+    /**
+     * Devuelve el número de notificaciones no leídas.
+     *
+     * @return Contador de no leídas.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount() {
+        String userId = securityUtils.getCurrentUserId();
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.getUnreadCount(userId)));
+    }
+
+    /**
+     * Marca como leídas las notificaciones indicadas.
+     *
+     * @param request IDs de las notificaciones.
+     * @return Contador de no leídas actualizado.
+     */
+    @PatchMapping("/read")
+    public ResponseEntity<UnreadCountResponse> markAsRead(@Valid @RequestBody NotificationReadRequest request) {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("✅ Marcando {} notificaciones como leídas para el usuario {}", request.ids().size(), userId);
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.markAsRead(userId, request.ids())));
+    }
+
+    /**
+     * Marca como leídas todas las notificaciones del usuario.
+     *
+     * @return Contador de no leídas actualizado.
+     */
+    @PatchMapping("/read-all")
+    public ResponseEntity<UnreadCountResponse> markAllAsRead() {
+        String userId = securityUtils.getCurrentUserId();
+        log.info("✅ Marcando todas las notificaciones como leídas para el usuario {}", userId);
+        return ResponseEntity.ok(new UnreadCountResponse(notificationService.markAllAsRead(userId)));
+    }
+}
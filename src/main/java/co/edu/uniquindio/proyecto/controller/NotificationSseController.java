@@ -4,6 +4,9 @@ import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
 import co.edu.uniquindio.proyecto.entity.notification.Notification;
 import co.edu.uniquindio.proyecto.repository.NotificationRepository;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -22,12 +25,22 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequestMapping("/api/v1/notifications")
 @RequiredArgsConstructor
 @Slf4j
-public class NotificationSseController {
+public class NotificationSseController implements MeterBinder {
 
     private final Map<String, SseEmitter> clients = new ConcurrentHashMap<>();
     private final SecurityUtils securityUtils;
     private final NotificationRepository notificationRepository;
 
+    /**
+     * Publica el número de suscripciones SSE abiertas como {@code notification.sse.connections}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.sse.connections", clients, Map::size)
+                .description("Suscripciones SSE de notificaciones abiertas en esta instancia")
+                .register(registry);
+    }
+
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
 public SseEmitter subscribe() {
     String userId = securityUtils.getCurrentUserId();
@@ -115,7 +128,8 @@ private void sendPendingNotifications(String userId, SseEmitter emitter) {
                 notification.getMessage(),
                 notification.getReportId(),
                 notification.getType(),
-                notification.getCreatedAt()
+                notification.getCreatedAt(),
+                notification.isRead()
         );
     }
 }
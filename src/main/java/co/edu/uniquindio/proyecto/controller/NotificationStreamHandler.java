@@ -0,0 +1,160 @@
+package co.edu.uniquindio.proyecto.controller;
+
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationStreamHub;
+import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suscripción SSE reactiva a las notificaciones del usuario autenticado
+ * ({@code GET /api/v1/notifications/stream} en el servidor de {@code ReactiveNotificationConfig}).
+ * <p>
+ * Equivale a {@link NotificationSseController#subscribe()}, pero una conexión abierta no ocupa ningún
+ * hilo: solo su búfer en {@link NotificationStreamHub} y el socket. Al conectar se reenvían las
+ * notificaciones pendientes (no entregadas) con el driver reactivo de Mongo, marcándolas como entregadas,
+ * y después las nuevas a medida que se publican. Cada cierto tiempo se envía un comentario para que los
+ * proxies no cierren la conexión por inactividad.
+ * </p>
+ *
+ * <p>El token se toma del encabezado {@code Authorization} o, como en {@code JwtTokenFromCookieFilter},
+ * de la cookie {@code access_token}, y se valida con el mismo {@link JwtDecoder} que la API.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class NotificationStreamHandler {
+
+    private static final String ACCESS_TOKEN_COOKIE_NAME = "access_token";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String EVENT_NAME = "new-notification";
+
+    private final JwtDecoder jwtDecoder;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final NotificationMapper notificationMapper;
+    private final NotificationStreamHub hub;
+    private final Duration heartbeat;
+
+    public NotificationStreamHandler(JwtDecoder jwtDecoder,
+                                     ReactiveMongoTemplate reactiveMongoTemplate,
+                                     NotificationMapper notificationMapper,
+                                     NotificationStreamHub hub,
+                                     @Value("${notifications.reactive.heartbeat-seconds:30}") long heartbeatSeconds) {
+        this.jwtDecoder = jwtDecoder;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.notificationMapper = notificationMapper;
+        this.hub = hub;
+        this.heartbeat = Duration.ofSeconds(heartbeatSeconds);
+    }
+
+    /**
+     * Abre la suscripción del usuario autenticado.
+     *
+     * @param request Petición.
+     * @return Flujo de eventos {@code new-notification}, o 401 si el token falta o no es válido.
+     */
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        return authenticate(request)
+                .flatMap(userId -> ServerResponse.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(BodyInserters.fromServerSentEvents(events(userId))))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                        .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                        .build()));
+    }
+
+    private Flux<ServerSentEvent<NotificationDTO>> events(String userId) {
+        // La conexión se registra antes de leer las pendientes para no perder las que lleguen mientras tanto.
+        Flux<ServerSentEvent<NotificationDTO>> notifications = Flux.using(
+                () -> hub.register(userId),
+                connection -> {
+                    Set<String> replayed = ConcurrentHashMap.newKeySet();
+                    Flux<NotificationDTO> pending = pending(userId).doOnNext(dto -> replayed.add(dto.id()));
+                    // Una notificación publicada durante la lectura puede llegar también como pendiente.
+                    Flux<NotificationDTO> live = connection.notifications().filter(dto -> !replayed.remove(dto.id()));
+                    return Flux.concat(pending, live).map(this::toEvent);
+                },
+                NotificationStreamHub.Connection::close);
+
+        Flux<ServerSentEvent<NotificationDTO>> keepAlive = Flux.interval(heartbeat, heartbeat)
+                .map(tick -> ServerSentEvent.<NotificationDTO>builder().comment("keep-alive").build());
+
+        return Flux.merge(notifications, keepAlive)
+                .doOnSubscribe(subscription -> log.debug("Usuario {} suscrito a notificaciones SSE reactivas", userId))
+                .doFinally(signal -> log.debug("Conexión SSE reactiva cerrada para usuario {} ({})", userId, signal));
+    }
+
+    /**
+     * Notificaciones no entregadas del usuario, en orden de creación, marcando cada una como entregada.
+     */
+    private Flux<NotificationDTO> pending(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("delivered").is(false))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        return reactiveMongoTemplate.find(query, Notification.class)
+                .concatMap(notification -> reactiveMongoTemplate.updateFirst(
+                                Query.query(Criteria.where("_id").is(notification.getId())),
+                                Update.update("delivered", true),
+                                Notification.class)
+                        .thenReturn(notification))
+                .map(notificationMapper::toDTO);
+    }
+
+    private ServerSentEvent<NotificationDTO> toEvent(NotificationDTO notification) {
+        return ServerSentEvent.builder(notification)
+                .id(notification.id())
+                .event(EVENT_NAME)
+                .build();
+    }
+
+    /**
+     * Valida el token de la petición. La verificación suele resolverse en la caché del decodificador,
+     * pero si hay que recargar las claves consulta Mongo de forma bloqueante, por eso va fuera del event loop.
+     */
+    private Mono<String> authenticate(ServerRequest request) {
+        String token = token(request);
+        if (token == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> jwtDecoder.decode(token).getClaimAsString(USER_ID_CLAIM))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(JwtException.class, e -> {
+                    log.debug("Token rechazado en la suscripción SSE reactiva: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static String token(ServerRequest request) {
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        HttpCookie cookie = request.cookies().getFirst(ACCESS_TOKEN_COOKIE_NAME);
+        return cookie != null ? cookie.getValue() : null;
+    }
+}
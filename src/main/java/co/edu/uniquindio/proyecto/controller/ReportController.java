@@ -1,5 +1,6 @@
 package co.edu.uniquindio.proyecto.controller;
 
+import co.edu.uniquindio.proyecto.annotation.QueryBudget;
 import co.edu.uniquindio.proyecto.dto.comment.CommentPaginatedResponse;
 import co.edu.uniquindio.proyecto.dto.image.ImageResponse;
 import co.edu.uniquindio.proyecto.dto.report.*;
@@ -91,6 +92,7 @@ public class ReportController {
      * @return Reporte encontrado.
      */
     @GetMapping("/{reportId}")
+    @QueryBudget(1)
     public ResponseEntity<ReportResponse> getReport(@PathVariable String reportId) {
         log.info("🔍 Buscando reporte con ID: {}", reportId);
         ReportResponse response = reportService.getReportById(reportId);
@@ -192,6 +194,7 @@ public class ReportController {
      * @return Lista de imágenes.
      */
     @GetMapping("/{reportId}/images")
+    @QueryBudget(2)
     public ResponseEntity<List<ImageResponse>> getAllImagesByReport(@PathVariable String reportId) {
         log.info("🖼️ Consultando imágenes del reporte ID: {}", reportId);
         return ResponseEntity.ok(reportService.getAllImagesByReport(reportId));
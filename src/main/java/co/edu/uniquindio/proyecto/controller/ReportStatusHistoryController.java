@@ -1,5 +1,6 @@
 package co.edu.uniquindio.proyecto.controller;
 
+import co.edu.uniquindio.proyecto.annotation.QueryBudget;
 import co.edu.uniquindio.proyecto.dto.report.PaginatedHistoryResponse;
 import co.edu.uniquindio.proyecto.dto.report.ReportStatusHistoryResponse;
 import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
@@ -54,6 +55,7 @@ public class ReportStatusHistoryController {
      * @return Lista paginada de {@link ReportStatusHistoryResponse}.
      */
     @GetMapping("/by-report")
+    @QueryBudget(3)
     public ResponseEntity<PaginatedHistoryResponse> getByReportId(
             @RequestParam String reportId,
             @RequestParam(defaultValue = "1") int page,
@@ -13,6 +13,7 @@ public record NotificationDTO(
         String message,
         String reportId,
         NotificationType type,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        boolean read
 ) {}
 
@@ -0,0 +1,33 @@
+package co.edu.uniquindio.proyecto.dto.notification;
+
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+
+/**
+ * Evento de notificación candidato a agruparse en un resumen.
+ * Se agrupa por destinatario y por reporte (comentarios) o por tipo (reportes cercanos).
+ *
+ * @param userId        ID del usuario destinatario.
+ * @param type          Tipo de notificación.
+ * @param reportId      Reporte asociado, si aplica.
+ * @param toEmail       Correo del destinatario.
+ * @param recipientName Nombre del destinatario para el saludo del resumen; puede ser {@code null}.
+ * @param line          Línea de texto que describe el evento dentro del resumen.
+ */
+public record NotificationDigestItem(
+        String userId,
+        NotificationType type,
+        String reportId,
+        String toEmail,
+        String recipientName,
+        String line
+) {
+
+    /**
+     * Clave de agrupación: los comentarios se agrupan por reporte y el resto por tipo.
+     *
+     * @return Grupo al que pertenece el evento para un mismo usuario.
+     */
+    public String group() {
+        return type == NotificationType.COMMENT ? reportId : type.name();
+    }
+}
@@ -0,0 +1,16 @@
+package co.edu.uniquindio.proyecto.dto.notification;
+
+import java.util.List;
+
+/**
+ * Página de la bandeja de notificaciones paginada por cursor.
+ *
+ * @param content    Notificaciones de la página, de la más reciente a la más antigua.
+ * @param nextCursor Cursor para pedir la siguiente página (parámetro {@code before}); {@code null} si no hay más.
+ * @param hasMore    Indica si existen notificaciones más antiguas.
+ */
+public record NotificationInboxResponse(
+        List<NotificationDTO> content,
+        String nextCursor,
+        boolean hasMore
+) {}
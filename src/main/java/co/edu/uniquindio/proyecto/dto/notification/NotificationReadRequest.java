@@ -0,0 +1,17 @@
+package co.edu.uniquindio.proyecto.dto.notification;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Solicitud para marcar varias notificaciones como leídas.
+ *
+ * @param ids IDs de las notificaciones a marcar.
+ */
+public record NotificationReadRequest(
+        @NotEmpty(message = "Debe indicar al menos una notificación")
+        @Size(max = 500, message = "No se pueden marcar más de 500 notificaciones a la vez")
+        List<String> ids
+) {}
@@ -0,0 +1,8 @@
+package co.edu.uniquindio.proyecto.dto.notification;
+
+/**
+ * Número de notificaciones no leídas del usuario autenticado.
+ *
+ * @param unread Cantidad de notificaciones sin leer.
+ */
+public record UnreadCountResponse(long unread) {}
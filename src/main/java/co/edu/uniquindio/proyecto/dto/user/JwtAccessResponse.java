@@ -1,6 +1,13 @@
 package co.edu.uniquindio.proyecto.dto.user;
 
+/**
+ * DTO con el nuevo access token y, si hubo rotación, el refresh token que sustituye al presentado.
+ */
 public record JwtAccessResponse(
-        String accessToken
+        String accessToken,
+        String refreshToken
 ) {
+    public JwtAccessResponse(String accessToken) {
+        this(accessToken, null);
+    }
 }
@@ -1,5 +1,6 @@
 package co.edu.uniquindio.proyecto.dto.user;
 
+import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
@@ -7,6 +8,9 @@ import jakarta.validation.constraints.Pattern;
  * DTO utilizado para confirmar el restablecimiento de contraseña mediante un código.
  */
 public record PasswordResetRequest(
+        @NotBlank(message = "El correo es obligatorio")
+        @Email(message = "El correo no es válido")
+        String email,
         @NotBlank(message = "el código de verificación es obligatorio")
         String code,
         @NotBlank(message = "La contraseña es obligatoria")
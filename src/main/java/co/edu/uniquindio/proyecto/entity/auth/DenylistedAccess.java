@@ -0,0 +1,40 @@
+package co.edu.uniquindio.proyecto.entity.auth;
+
+import co.edu.uniquindio.proyecto.util.DenylistEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revocación de access tokens publicada para el resto de nodos. Se elimina sola al vencer
+ * {@code expiresAt}, cuando ya no puede quedar ningún token afectado sin expirar.
+ */
+@Document(collection = "access_token_denylist")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DenylistedAccess {
+
+    @Id
+    private ObjectId id;
+
+    private DenylistEntry.Type type;
+
+    private String subject;
+
+    private long epochSeconds;
+
+    @Indexed
+    private LocalDateTime createdAt;
+
+    @Indexed(expireAfter = "0s")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,45 @@
+package co.edu.uniquindio.proyecto.entity.auth;
+
+import co.edu.uniquindio.proyecto.util.JwtAlgorithm;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clave de firma de JWT identificada por su {@code kid}.
+ * <p>
+ * Se persiste para que todas las instancias compartan las mismas claves y para que los tokens
+ * sigan siendo verificables tras un reinicio. La clave pública va en Base64 (X.509); la privada solo
+ * se guarda cifrada con la clave de envoltura de {@link co.edu.uniquindio.proyecto.util.JwtKeyWrapper},
+ * que no está en la base de datos.
+ * </p>
+ */
+@Document(collection = "jwt_signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    @Id
+    private String kid;
+
+    private JwtAlgorithm algorithm;
+
+    private String publicKey;
+
+    private String wrappedPrivateKey;
+
+    /**
+     * Clave privada en claro (PKCS#8 en Base64) de los documentos anteriores al cifrado. Al cargarlos se
+     * cifra en {@link #wrappedPrivateKey} y se elimina.
+     */
+    private String privateKey;
+
+    private LocalDateTime createdAt;
+}
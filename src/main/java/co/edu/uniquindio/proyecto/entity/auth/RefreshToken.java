@@ -0,0 +1,48 @@
+package co.edu.uniquindio.proyecto.entity.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token emitido, identificado por el {@code jti} del JWT.
+ * <p>
+ * Todos los tokens obtenidos por rotación a partir de un mismo login comparten {@code familyId}. Un token
+ * solo puede usarse una vez: al rotarlo se marca {@code usedAt}. Si un token ya usado vuelve a
+ * presentarse, se asume que fue robado y se revoca la familia completa. Los documentos se eliminan
+ * automáticamente al vencer {@code expiresAt}.
+ * </p>
+ */
+@Document(collection = "refresh_tokens")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String familyId;
+
+    @Indexed
+    private String userId;
+
+    private LocalDateTime issuedAt;
+
+    @Indexed(expireAfter = "0s")
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime usedAt;
+
+    private String replacedBy;
+
+    private LocalDateTime revokedAt;
+}
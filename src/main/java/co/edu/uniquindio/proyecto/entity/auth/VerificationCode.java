@@ -3,19 +3,33 @@ package co.edu.uniquindio.proyecto.entity.auth;
 import lombok.Data;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+
 import java.time.LocalDateTime;
-import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.Field;
 
+/**
+ * Código de verificación pendiente (activación o recuperación de contraseña).
+ * <p>
+ * El código no se guarda en claro sino su hash, calculado con el correo como sal (ver
+ * {@code VerificationCodeHasher}). La validación es una búsqueda puntual por {@code (email, codeHash)},
+ * cubierta por un índice único que además impide que dos códigos iguales de un mismo correo convivan.
+ * Mongo elimina los documentos al vencer {@code expiresAt}.
+ * </p>
+ */
 @Document(collection = "verification_codes")
+@CompoundIndex(name = "email_code", def = "{'email': 1, 'codeHash': 1}", unique = true, sparse = true)
 @Data
 public class VerificationCode {
     @Id
     private ObjectId id;
-    private String code;
+    private String email;
+    private String codeHash;
+    @Indexed
     private ObjectId userId;
     private LocalDateTime createdAt;
+    @Indexed(expireAfter = "0s")
     private LocalDateTime expiresAt;
     private VerificationCodeType verificationCodeType;
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package co.edu.uniquindio.proyecto.entity.email;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Correo encolado en la bandeja de salida persistente.
+ * <p>
+ * Los servicios de negocio solo insertan documentos en esta colección; un despachador en segundo plano
+ * los reclama, los envía respetando la tasa configurada y reprograma los fallos con backoff exponencial.
+ * Los correos enviados se eliminan automáticamente mediante un índice TTL sobre {@code sentAt}.
+ * </p>
+ */
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxMessage {
+
+    @Id
+    private ObjectId id;
+
+    private String toEmail;
+    private String subject;
+    private String html;
+    private EmailTemplateType template;
+
+    private EmailOutboxStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedUntil;
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @Indexed(name = "sent_ttl", expireAfter = "7d")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,14 @@
+package co.edu.uniquindio.proyecto.entity.email;
+
+/**
+ * Estados por los que pasa un correo dentro de la bandeja de salida persistente.
+ * <ul>
+ *     <li>{@code PENDING}: en espera de ser enviado (o reintentado).</li>
+ *     <li>{@code SENDING}: reclamado por un despachador; si el bloqueo vence vuelve a estar disponible.</li>
+ *     <li>{@code SENT}: entregado al servidor SMTP.</li>
+ *     <li>{@code DEAD}: agotó los reintentos y queda para revisión manual.</li>
+ * </ul>
+ */
+public enum EmailOutboxStatus {
+    PENDING, SENDING, SENT, DEAD
+}
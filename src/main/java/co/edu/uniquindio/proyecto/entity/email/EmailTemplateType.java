@@ -0,0 +1,9 @@
+package co.edu.uniquindio.proyecto.entity.email;
+
+/**
+ * Plantillas de correo que maneja la aplicación. Se usa como etiqueta en la bandeja de salida
+ * para llevar métricas por tipo de correo.
+ */
+public enum EmailTemplateType {
+    VERIFICATION, PASSWORD_RESET, COMMENT, NEARBY_REPORT, DIGEST
+}
@@ -6,6 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -14,6 +17,12 @@ import org.springframework.data.mongodb.core.mapping.FieldType;
 import java.time.LocalDateTime;
 
 @Document(collection = "notifications")
+@CompoundIndexes({
+        // Bandeja de entrada paginada por cursor (_id descendente)
+        @CompoundIndex(name = "user_inbox", def = "{'userId': 1, '_id': -1}"),
+        // Marcar todo como leído y depuración de no leídas antiguas
+        @CompoundIndex(name = "user_unread", def = "{'userId': 1, 'read': 1, 'createdAt': 1}")
+})
 @Data
 @Builder
 @NoArgsConstructor  // Constructor sin parámetros (por si lo necesitas)
@@ -38,6 +47,10 @@ public class Notification {
 
     private boolean read; // Indica si la notificación ha sido leída
 
+    // Las notificaciones leídas se eliminan automáticamente 30 días después de leerse
+    @Indexed(name = "read_ttl", expireAfter = "30d")
+    private LocalDateTime readAt;
+
     private LocalDateTime createdAt;
 
 }
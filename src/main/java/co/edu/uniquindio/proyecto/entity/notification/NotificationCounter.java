@@ -0,0 +1,36 @@
+package co.edu.uniquindio.proyecto.entity.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Contador de notificaciones no leídas por usuario.
+ * <p>
+ * Se mantiene de forma incremental al crear notificaciones y al marcarlas como leídas,
+ * para que el indicador de no leídas no requiera un {@code count} sobre la colección.
+ * {@code inFlight} y {@code version} solo se usan hasta que el contador se inicializa a partir del
+ * recuento de las notificaciones existentes.
+ * </p>
+ */
+@Document(collection = "notification_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter {
+
+    @Id
+    private String userId;
+
+    private long unread;
+
+    private boolean initialized;
+
+    private long inFlight;
+
+    private long version;
+}
@@ -48,6 +48,6 @@ public class Report implements Ownable {
 
     @Override
     public String getUserId() {
-        return this.userId.toString();
+        return this.userId == null ? null : this.userId.toString();
     }
 }
@@ -0,0 +1,22 @@
+package co.edu.uniquindio.proyecto.repository;
+
+import co.edu.uniquindio.proyecto.entity.auth.DenylistedAccess;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de revocaciones de access tokens ({@link DenylistedAccess}).
+ */
+public interface DenylistedAccessRepository extends MongoRepository<DenylistedAccess, ObjectId> {
+
+    /**
+     * Revocaciones publicadas después de la fecha indicada.
+     *
+     * @param since Fecha desde la que buscar.
+     * @return Revocaciones publicadas desde entonces.
+     */
+    List<DenylistedAccess> findByCreatedAtAfter(LocalDateTime since);
+}
@@ -0,0 +1,24 @@
+package co.edu.uniquindio.proyecto.repository;
+
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxMessage;
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repositorio para la bandeja de salida de correos ({@link EmailOutboxMessage}).
+ * <p>
+ * La reclamación atómica de mensajes la realiza el despachador con {@code findAndModify};
+ * este repositorio cubre la inserción y las consultas de soporte.
+ * </p>
+ */
+public interface EmailOutboxRepository extends MongoRepository<EmailOutboxMessage, ObjectId> {
+
+    /**
+     * Cuenta los mensajes que se encuentran en un estado dado.
+     *
+     * @param status Estado a contar.
+     * @return Número de mensajes en ese estado.
+     */
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -0,0 +1,20 @@
+package co.edu.uniquindio.proyecto.repository;
+
+import co.edu.uniquindio.proyecto.entity.auth.JwtSigningKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio de las claves de firma de JWT ({@link JwtSigningKey}).
+ */
+public interface JwtSigningKeyRepository extends MongoRepository<JwtSigningKey, String> {
+
+    /**
+     * Elimina las claves creadas antes de la fecha indicada.
+     *
+     * @param cutoff Fecha límite.
+     * @return Número de claves eliminadas.
+     */
+    long deleteByCreatedAtBefore(LocalDateTime cutoff);
+}
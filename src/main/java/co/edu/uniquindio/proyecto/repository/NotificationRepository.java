@@ -2,6 +2,7 @@ package co.edu.uniquindio.proyecto.repository;
 
 import co.edu.uniquindio.proyecto.entity.notification.Notification;
 import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
@@ -17,5 +18,18 @@ public interface NotificationRepository extends MongoRepository<Notification, Ob
 
     @Query(value = "{ 'userId': ?0, 'delivered': false }", count = true)
     long countPendingByUserId(String userId);
+
+    @Query(value = "{ 'userId': ?0, 'read': false }", count = true)
+    long countUnreadByUserId(String userId);
+
+    /**
+     * Primera página de la bandeja del usuario, de la más reciente a la más antigua.
+     */
+    List<Notification> findByUserIdOrderByIdDesc(String userId, Pageable pageable);
+
+    /**
+     * Página siguiente de la bandeja: notificaciones anteriores al cursor {@code before}.
+     */
+    List<Notification> findByUserIdAndIdLessThanOrderByIdDesc(String userId, ObjectId before, Pageable pageable);
 }
 
@@ -0,0 +1,10 @@
+package co.edu.uniquindio.proyecto.repository;
+
+import co.edu.uniquindio.proyecto.entity.auth.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repositorio de refresh tokens emitidos ({@link RefreshToken}).
+ */
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+}
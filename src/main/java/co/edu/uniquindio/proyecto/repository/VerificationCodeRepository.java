@@ -1,7 +1,6 @@
 package co.edu.uniquindio.proyecto.repository;
 
 import co.edu.uniquindio.proyecto.entity.auth.VerificationCode;
-import io.micrometer.observation.ObservationFilter;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
@@ -29,12 +28,14 @@ import java.util.Optional;
 public interface VerificationCodeRepository extends MongoRepository<VerificationCode, String> {
 
     /**
-     * Busca un código de verificación específico.
+     * Busca un código de verificación de un correo por su hash. Usa el índice único
+     * {@code (email, codeHash)}.
      *
-     * @param code El código de verificación.
+     * @param email    Correo normalizado.
+     * @param codeHash Hash del código.
      * @return Un {@link Optional} con el objeto {@link VerificationCode} si existe.
      */
-    Optional<VerificationCode> findByCode(String code);
+    Optional<VerificationCode> findByEmailAndCodeHash(String email, String codeHash);
 
     /**
      * Elimina todos los códigos de verificación asociados a un usuario.
@@ -0,0 +1,87 @@
+package co.edu.uniquindio.proyecto.repository.converter;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Conversiones de valores sueltos compartidas por los {@link EntityDocumentCodec}, con el mismo formato
+ * en Mongo que escribe {@code MappingMongoConverter}: fechas locales como {@link Date} en la zona del
+ * sistema, puntos como GeoJSON, enums por nombre e identificadores {@code String} como {@link ObjectId}
+ * cuando son válidos. Así los documentos son intercambiables con los ya guardados.
+ */
+final class DocumentValues {
+
+    private static final String GEO_TYPE = "type";
+    private static final String GEO_COORDINATES = "coordinates";
+    private static final String POINT = "Point";
+
+    private DocumentValues() {
+    }
+
+    /**
+     * Añade el valor solo si no es nulo, como hace Spring Data con las propiedades sin valor.
+     */
+    static void put(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+
+    static Date toDate(LocalDateTime value) {
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Date date ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    static String toName(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    static <E extends Enum<E>> E toEnum(Class<E> type, Object value) {
+        return value instanceof String name ? Enum.valueOf(type, name) : null;
+    }
+
+    static Document toGeoJson(GeoJsonPoint point) {
+        if (point == null) {
+            return null;
+        }
+        Document document = new Document(GEO_TYPE, POINT);
+        document.put(GEO_COORDINATES, List.of(point.getX(), point.getY()));
+        return document;
+    }
+
+    static GeoJsonPoint toPoint(Object value) {
+        if (value instanceof Document document && document.get(GEO_COORDINATES) instanceof List<?> coordinates
+                && coordinates.size() == 2) {
+            return new GeoJsonPoint(((Number) coordinates.get(0)).doubleValue(), ((Number) coordinates.get(1)).doubleValue());
+        }
+        return null;
+    }
+
+    /**
+     * Identificador {@code String} tal como lo guarda Spring Data: {@link ObjectId} si es válido.
+     */
+    static Object toStoredId(String id) {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    static String toIdString(Object value) {
+        return value instanceof ObjectId objectId ? objectId.toHexString() : (String) value;
+    }
+
+    static int toInt(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    static boolean toBoolean(Object value) {
+        return value instanceof Boolean bool && bool;
+    }
+}
@@ -0,0 +1,67 @@
+package co.edu.uniquindio.proyecto.repository.converter;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.util.TypeInformation;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link MappingMongoConverter} que lee y escribe las entidades de las rutas más usadas ({@code Report},
+ * {@code Notification} y {@code ReportStatusHistory}) con un {@link EntityDocumentCodec} escrito a mano.
+ * <p>
+ * El mapeo por defecto recorre las propiedades con accesores reflexivos y pasa cada {@code LocalDateTime}
+ * o {@code GeoJsonPoint} por el servicio de conversión; aquí cada campo se copia directamente. El resto
+ * de tipos, y las consultas, actualizaciones e índices (que usan el contexto de mapeo), siguen igual.
+ * </p>
+ *
+ * <p>No se registran como convertidores de {@code MongoCustomConversions} porque un convertidor de
+ * escritura a {@link Document} convierte la entidad en un tipo simple y deja sin metadatos a los
+ * repositorios y al mapeo de consultas.</p>
+ */
+public class EntityCodecMongoConverter extends MappingMongoConverter {
+
+    private static final Map<Class<?>, EntityDocumentCodec<?>> CODECS = Stream.of(
+                    ReportDocumentCodec.INSTANCE,
+                    NotificationDocumentCodec.INSTANCE,
+                    ReportStatusHistoryDocumentCodec.INSTANCE)
+            .collect(Collectors.toUnmodifiableMap(EntityDocumentCodec::type, Function.identity()));
+
+    public EntityCodecMongoConverter(DbRefResolver dbRefResolver,
+                                     MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+        super(dbRefResolver, mappingContext);
+    }
+
+    /**
+     * Punto por el que pasan todas las lecturas de entidades raíz: {@code read(Class, Bson)} (findById,
+     * findOne, findAndModify) y las proyecciones de {@code find}, las consultas derivadas y paginadas de
+     * los repositorios y {@code ReactiveMongoTemplate}.
+     */
+    @Override
+    protected <S> S read(TypeInformation<S> type, Bson bson) {
+        EntityDocumentCodec<?> codec = CODECS.get(type.getType());
+        if (codec != null && bson instanceof Document document) {
+            return type.getType().cast(codec.decode(document));
+        }
+        return super.read(type, bson);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(Object source, Bson bson) {
+        EntityDocumentCodec<Object> codec = (EntityDocumentCodec<Object>) CODECS.get(source.getClass());
+        if (codec != null && bson instanceof Document document) {
+            codec.encode(source, document);
+            return;
+        }
+        super.write(source, bson);
+    }
+}
@@ -0,0 +1,33 @@
+package co.edu.uniquindio.proyecto.repository.converter;
+
+import org.bson.Document;
+
+/**
+ * Conversión escrita a mano entre una entidad y su documento de Mongo, que {@link EntityCodecMongoConverter}
+ * usa en lugar del mapeo reflexivo de {@code MappingMongoConverter}.
+ *
+ * @param <T> Tipo de la entidad.
+ */
+interface EntityDocumentCodec<T> {
+
+    /**
+     * @return Clase exacta de la entidad.
+     */
+    Class<T> type();
+
+    /**
+     * Lee la entidad de un documento tal como lo devuelve el driver.
+     *
+     * @param document Documento leído.
+     * @return Entidad.
+     */
+    T decode(Document document);
+
+    /**
+     * Escribe la entidad en el documento que se enviará al driver; las propiedades nulas se omiten.
+     *
+     * @param entity   Entidad.
+     * @param document Documento destino, vacío.
+     */
+    void encode(T entity, Document document);
+}
@@ -0,0 +1,52 @@
+package co.edu.uniquindio.proyecto.repository.converter;
+
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import org.bson.Document;
+
+import static co.edu.uniquindio.proyecto.repository.converter.DocumentValues.*;
+
+/**
+ * {@link Notification} en la colección {@code notifications}. {@code userId} y {@code reportId} se guardan
+ * como texto.
+ */
+enum NotificationDocumentCodec implements EntityDocumentCodec<Notification> {
+    INSTANCE;
+
+    @Override
+    public Class<Notification> type() {
+        return Notification.class;
+    }
+
+    @Override
+    public Notification decode(Document document) {
+        Notification notification = new Notification();
+        notification.setId(document.getObjectId("_id"));
+        notification.setUserId(toIdString(document.get("userId")));
+        notification.setTitle(document.getString("title"));
+        notification.setDelivered(toBoolean(document.get("delivered")));
+        notification.setMessage(document.getString("message"));
+        notification.setReportId(toIdString(document.get("reportId")));
+        notification.setType(toEnum(NotificationType.class, document.get("type")));
+        notification.setLocation(toPoint(document.get("location")));
+        notification.setRead(toBoolean(document.get("read")));
+        notification.setReadAt(toLocalDateTime(document.get("readAt")));
+        notification.setCreatedAt(toLocalDateTime(document.get("createdAt")));
+        return notification;
+    }
+
+    @Override
+    public void encode(Notification notification, Document document) {
+        put(document, "_id", notification.getId());
+        put(document, "userId", notification.getUserId());
+        put(document, "title", notification.getTitle());
+        document.put("delivered", notification.isDelivered());
+        put(document, "message", notification.getMessage());
+        put(document, "reportId", notification.getReportId());
+        put(document, "type", toName(notification.getType()));
+        put(document, "location", toGeoJson(notification.getLocation()));
+        document.put("read", notification.isRead());
+        put(document, "readAt", toDate(notification.getReadAt()));
+        put(document, "createdAt", toDate(notification.getCreatedAt()));
+    }
+}
@@ -0,0 +1,96 @@
+package co.edu.uniquindio.proyecto.repository.converter;
+
+import co.edu.uniquindio.proyecto.entity.category.CategoryRef;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static co.edu.uniquindio.proyecto.repository.converter.DocumentValues.*;
+
+/**
+ * {@link Report} en la colección {@code reports}. Las categorías embebidas guardan su ID en {@code _id}.
+ */
+enum ReportDocumentCodec implements EntityDocumentCodec<Report> {
+    INSTANCE;
+
+    @Override
+    public Class<Report> type() {
+        return Report.class;
+    }
+
+    @Override
+    public Report decode(Document document) {
+        Report report = new Report();
+        report.setId(document.getObjectId("_id"));
+        report.setTitle(document.getString("title"));
+        report.setDescription(document.getString("description"));
+        if (document.get("categoryList") instanceof List<?> categories) {
+            List<CategoryRef> refs = new ArrayList<>(categories.size());
+            for (Object item : categories) {
+                Document category = (Document) item;
+                CategoryRef ref = new CategoryRef(category.getString("name"));
+                ref.setId(toIdString(category.get("_id")));
+                refs.add(ref);
+            }
+            report.setCategoryList(refs);
+        }
+        report.setLocation(toPoint(document.get("location")));
+        report.setUserEmail(document.getString("userEmail"));
+        report.setReportStatus(toEnum(ReportStatus.class, document.get("reportStatus")));
+        report.setImportantVotes(toInt(document.get("importantVotes")));
+        report.setUserId(document.getObjectId("userId"));
+        report.setCreatedAt(toLocalDateTime(document.get("createdAt")));
+        if (document.get("likedUserIds") instanceof List<?> liked) {
+            Set<ObjectId> ids = new HashSet<>(liked.size() * 2);
+            for (Object id : liked) {
+                ids.add((ObjectId) id);
+            }
+            report.setLikedUserIds(ids);
+        }
+        return report;
+    }
+
+    @Override
+    public void encode(Report report, Document document) {
+        put(document, "_id", report.getId());
+        put(document, "title", report.getTitle());
+        put(document, "description", report.getDescription());
+        put(document, "categoryList", categories(report.getCategoryList()));
+        put(document, "location", toGeoJson(report.getLocation()));
+        put(document, "userEmail", report.getUserEmail());
+        put(document, "reportStatus", toName(report.getReportStatus()));
+        document.put("importantVotes", report.getImportantVotes());
+        put(document, "userId", ownerId(report));
+        put(document, "createdAt", toDate(report.getCreatedAt()));
+        Set<ObjectId> liked = report.getLikedUserIds();
+        put(document, "likedUserIds", liked == null ? null : new ArrayList<>(liked));
+    }
+
+    private static List<Document> categories(List<CategoryRef> categories) {
+        if (categories == null) {
+            return null;
+        }
+        List<Document> documents = new ArrayList<>(categories.size());
+        for (CategoryRef category : categories) {
+            Document document = new Document();
+            put(document, "_id", toStoredId(category.getId()));
+            put(document, "name", category.getName());
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    /**
+     * El campo no tiene getter propio: {@link Report#getUserId()} (de {@code Ownable}) lo devuelve como texto.
+     */
+    private static ObjectId ownerId(Report report) {
+        String owner = report.getUserId();
+        return owner == null ? null : new ObjectId(owner);
+    }
+}
@@ -0,0 +1,41 @@
+package co.edu.uniquindio.proyecto.repository.converter;
+
+import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatusHistory;
+import org.bson.Document;
+
+import static co.edu.uniquindio.proyecto.repository.converter.DocumentValues.*;
+
+/**
+ * {@link ReportStatusHistory} en la colección {@code report_status_histories}.
+ */
+enum ReportStatusHistoryDocumentCodec implements EntityDocumentCodec<ReportStatusHistory> {
+    INSTANCE;
+
+    @Override
+    public Class<ReportStatusHistory> type() {
+        return ReportStatusHistory.class;
+    }
+
+    @Override
+    public ReportStatusHistory decode(Document document) {
+        ReportStatusHistory history = new ReportStatusHistory();
+        history.setId(document.getObjectId("_id"));
+        history.setReportId(document.getObjectId("reportId"));
+        history.setUserId(document.getObjectId("userId"));
+        history.setPreviousStatus(toEnum(ReportStatus.class, document.get("previousStatus")));
+        history.setNewStatus(toEnum(ReportStatus.class, document.get("newStatus")));
+        history.setChangedAt(toLocalDateTime(document.get("changedAt")));
+        return history;
+    }
+
+    @Override
+    public void encode(ReportStatusHistory history, Document document) {
+        put(document, "_id", history.getId());
+        put(document, "reportId", history.getReportId());
+        put(document, "userId", history.getUserId());
+        put(document, "previousStatus", toName(history.getPreviousStatus()));
+        put(document, "newStatus", toName(history.getNewStatus()));
+        put(document, "changedAt", toDate(history.getChangedAt()));
+    }
+}
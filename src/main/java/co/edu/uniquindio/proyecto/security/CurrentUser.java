@@ -0,0 +1,97 @@
+package co.edu.uniquindio.proyecto.security;
+
+import co.edu.uniquindio.proyecto.entity.user.Rol;
+import org.bson.types.ObjectId;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Identidad del usuario autenticado en la petición en curso.
+ * <p>
+ * Se construye una sola vez por petición a partir del {@link Authentication} (ver
+ * {@code CurrentUserFilter}) y es inmutable: el ID ya viene convertido a {@link ObjectId} y los roles
+ * se guardan como un conjunto de bits indexado por {@link Rol}, de modo que consultar la identidad o
+ * un rol no recorre el contexto de seguridad ni las autoridades.
+ * </p>
+ *
+ * @param id       ID del usuario (claim {@code userId}), o {@code null} si la petición es anónima.
+ * @param objectId ID ya convertido, o {@code null} si falta o no es un {@link ObjectId} válido.
+ * @param username Nombre de usuario (subject del JWT).
+ * @param roles    Bit {@code 1 << rol.ordinal()} por cada rol del usuario.
+ */
+public record CurrentUser(String id, ObjectId objectId, String username, long roles) {
+
+    /** Atributo de la petición donde se guarda la identidad ya calculada. */
+    public static final String ATTRIBUTE = CurrentUser.class.getName();
+
+    /** Identidad de una petición sin autenticar. */
+    public static final CurrentUser ANONYMOUS = new CurrentUser(null, null, null, 0L);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final String USER_ID_CLAIM = "userId";
+    private static final Rol[] ROLES = Rol.values();
+
+    /**
+     * Construye la identidad a partir de la autenticación actual.
+     *
+     * @param authentication Autenticación del contexto de seguridad; puede ser {@code null}.
+     * @return Identidad del usuario, o {@link #ANONYMOUS} si no hay un JWT autenticado.
+     */
+    public static CurrentUser from(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return ANONYMOUS;
+        }
+        String id = jwt.getClaimAsString(USER_ID_CLAIM);
+        ObjectId objectId = id != null && ObjectId.isValid(id) ? new ObjectId(id) : null;
+        long roles = 0L;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            roles |= bit(authority.getAuthority());
+        }
+        return new CurrentUser(id, objectId, jwt.getSubject(), roles);
+    }
+
+    /**
+     * @return {@code true} si la petición tiene un usuario autenticado.
+     */
+    public boolean isAuthenticated() {
+        return id != null;
+    }
+
+    /**
+     * @param rol Rol a comprobar.
+     * @return {@code true} si el usuario tiene el rol.
+     */
+    public boolean hasRole(Rol rol) {
+        return (roles & (1L << rol.ordinal())) != 0;
+    }
+
+    /**
+     * @param authority Autoridad con prefijo (por ejemplo, {@code "ROLE_ADMIN"}).
+     * @return {@code true} si el usuario tiene el rol; {@code false} para roles desconocidos.
+     */
+    public boolean hasRole(String authority) {
+        long bit = bit(authority);
+        return bit != 0 && (roles & bit) != 0;
+    }
+
+    /**
+     * @return {@code true} si el usuario es administrador.
+     */
+    public boolean isAdmin() {
+        return hasRole(Rol.ADMIN);
+    }
+
+    private static long bit(String authority) {
+        if (authority == null || !authority.startsWith(ROLE_PREFIX)) {
+            return 0L;
+        }
+        for (Rol rol : ROLES) {
+            if (authority.regionMatches(ROLE_PREFIX.length(), rol.name(), 0, rol.name().length())
+                    && authority.length() == ROLE_PREFIX.length() + rol.name().length()) {
+                return 1L << rol.ordinal();
+            }
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,145 @@
+package co.edu.uniquindio.proyecto.security;
+
+import co.edu.uniquindio.proyecto.util.Ownable;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resuelve el propietario de un recurso {@link Ownable} para las comprobaciones de autorización.
+ * <p>
+ * Al arrancar se calcula, para cada entidad {@code Ownable} conocida por el contexto de mapeo de Mongo,
+ * la colección y el nombre en Mongo del campo {@code userId}. Resolver el propietario es entonces una
+ * consulta por {@code _id} que solo proyecta ese campo, sin cargar ni mapear la entidad completa y sin
+ * reflexión.
+ * </p>
+ *
+ * <p>Dentro de una petición HTTP, las entidades que pasan por {@link RequestIdentityMap} (reportes,
+ * comentarios, imágenes) se cargan completas a través del mapa, porque el servicio protegido las va a
+ * leer justo después: así el recurso se lee una sola vez entre el aspecto y el servicio. Para el resto
+ * de entidades el propietario se guarda en los atributos de la petición, de modo que varias
+ * comprobaciones sobre el mismo recurso hacen una sola consulta. Fuera de una petición (tareas en segundo
+ * plano) no se cachea nada.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OwnershipResolver {
+
+    private static final String OWNER_FIELD = "userId";
+    private static final String REQUEST_CACHE = OwnershipResolver.class.getName() + ".CACHE";
+
+    /**
+     * Colección y campo de propietario de una entidad.
+     *
+     * @param collection Nombre de la colección.
+     * @param ownerField Nombre en Mongo del campo con el ID del propietario.
+     */
+    record OwnershipMetadata(String collection, String ownerField) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    private final Map<Class<?>, OwnershipMetadata> metadata = new ConcurrentHashMap<>();
+
+    /**
+     * Precalcula los metadatos de las entidades {@code Ownable} registradas.
+     */
+    @PostConstruct
+    public void init() {
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (Ownable.class.isAssignableFrom(entity.getType())) {
+                metadata.put(entity.getType(), buildMetadata(entity.getType()));
+            }
+        }
+        log.info("Metadatos de propiedad precalculados para {} entidades", metadata.size());
+    }
+
+    /**
+     * Obtiene el ID del propietario de un recurso.
+     *
+     * @param entityClass Clase de la entidad.
+     * @param id          ID del recurso.
+     * @return ID del propietario en hexadecimal, o vacío si el recurso no existe.
+     * @throws IllegalArgumentException si el ID no es un {@link ObjectId} válido.
+     */
+    public Optional<String> ownerOf(Class<?> entityClass, String id) {
+        ObjectId objectId = new ObjectId(id);
+        if (RequestIdentityMap.isActive() && RequestIdentityMap.supports(entityClass)) {
+            return ownerFromIdentityMap(entityClass, objectId);
+        }
+
+        Map<String, Optional<String>> cache = requestCache();
+        String key = entityClass.getName() + '#' + id;
+        if (cache != null) {
+            Optional<String> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        OwnershipMetadata meta = metadata.computeIfAbsent(entityClass, this::buildMetadata);
+        Query query = new Query(Criteria.where("_id").is(objectId));
+        query.fields().include(meta.ownerField());
+        Document document = mongoTemplate.findOne(query, Document.class, meta.collection());
+
+        Optional<String> owner = Optional.ofNullable(document)
+                .map(doc -> doc.get(meta.ownerField()))
+                .map(value -> value instanceof ObjectId oid ? oid.toHexString() : value.toString());
+        if (cache != null) {
+            cache.put(key, owner);
+        }
+        return owner;
+    }
+
+    /**
+     * El servicio protegido va a cargar la entidad completa: se carga aquí una vez a través del mapa de
+     * identidad y el servicio la reutiliza, en lugar de hacer una consulta proyectada y otra completa.
+     */
+    private <T> Optional<String> ownerFromIdentityMap(Class<T> entityClass, ObjectId id) {
+        return RequestIdentityMap.findById(entityClass, id, oid -> Optional.ofNullable(mongoTemplate.findById(oid, entityClass)))
+                .map(entity -> entity instanceof Ownable ownable ? ownable.getUserId() : null);
+    }
+
+    private OwnershipMetadata buildMetadata(Class<?> entityClass) {
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityClass);
+        MongoPersistentProperty owner = entity.getPersistentProperty(OWNER_FIELD);
+        if (owner == null) {
+            throw new IllegalStateException("La entidad " + entityClass.getSimpleName()
+                    + " no tiene el campo '" + OWNER_FIELD + "' requerido para comprobar la propiedad");
+        }
+        return new OwnershipMetadata(entity.getCollection(), owner.getFieldName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Optional<String>> requestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object cache = attributes.getAttribute(REQUEST_CACHE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<String, Optional<String>>();
+            attributes.setAttribute(REQUEST_CACHE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, Optional<String>>) cache;
+    }
+}
@@ -1,16 +1,16 @@
 package co.edu.uniquindio.proyecto.security.aspect;
 
 import co.edu.uniquindio.proyecto.annotation.CheckOwnerOrAdmin;
+import co.edu.uniquindio.proyecto.security.OwnershipResolver;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.*;
-import org.bson.types.ObjectId;
-import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
+import java.util.Optional;
+
 /**
  * Aspecto que intercepta métodos anotados con {@link CheckOwnerOrAdmin}
  * para validar que el usuario autenticado sea el propietario del recurso
@@ -18,6 +18,9 @@ import java.lang.reflect.Field;
  *
  * <p>Este mecanismo permite aplicar reglas de seguridad reutilizables
  * sin necesidad de replicar lógica en cada método de servicio o controlador.</p>
+ *
+ * <p>Los administradores no generan ninguna consulta; para el resto, el propietario se obtiene con
+ * {@link OwnershipResolver}, que solo lee el campo {@code userId} del recurso.</p>
  */
 @Aspect
 @Component
@@ -25,14 +28,15 @@ import java.lang.reflect.Field;
 @RequiredArgsConstructor
 public class AuthorizationAspect {
 
-    private final MongoTemplate mongoTemplate;
+    private final OwnershipResolver ownershipResolver;
     private final SecurityUtils securityUtils;
 
     /**
      * Interceptor AOP que se ejecuta antes de los métodos anotados con {@code @CheckOwnerOrAdmin}.
      * <p>
      * Valida que el usuario sea el dueño del recurso (según el campo <code>userId</code> en la entidad)
-     * o que posea el rol de administrador.
+     * o que posea el rol de administrador. Si el recurso no existe se deja continuar para que el
+     * servicio responda con su propio error.
      * </p>
      *
      * @param checkOwnerOrAdmin Anotación con la clase de entidad objetivo.
@@ -43,31 +47,24 @@ public class AuthorizationAspect {
     public void checkOwnerOrAdminAccess(CheckOwnerOrAdmin checkOwnerOrAdmin, String id) {
         Class<?> entityClass = checkOwnerOrAdmin.entityClass();
 
-        log.info("Autorización: verificando acceso a {} con ID {}", entityClass.getSimpleName(), id);
-
-        Object entity = mongoTemplate.findById(new ObjectId((id)), entityClass);
+        if (securityUtils.hasRole("ROLE_ADMIN")) {
+            log.debug("Autorización: acceso de administrador a {} con ID {}", entityClass.getSimpleName(), id);
+            return;
+        }
 
+        log.info("Autorización: verificando acceso a {} con ID {}", entityClass.getSimpleName(), id);
         String currentUserId = securityUtils.getCurrentUserId();
-        boolean isAdmin = securityUtils.hasRole("ROLE_ADMIN");
-
-        try {
-            Field userIdField = entityClass.getDeclaredField("userId");
-            userIdField.setAccessible(true);
-            String ownerId = userIdField.get(entity).toString();
-
-            log.info("Usuario actual: {}, Propietario del recurso: {}, ¿Es admin?: {}", currentUserId, ownerId, isAdmin);
+        Optional<String> ownerId = ownershipResolver.ownerOf(entityClass, id);
 
-            if (!currentUserId.equals(ownerId) && !isAdmin) {
-                log.warn("Acceso denegado: el usuario {} no tiene permisos sobre este recurso", currentUserId);
-                throw new AccessDeniedException("No tienes permisos para acceder a este recurso.");
-            }
-
-        }catch(NullPointerException ex){
+        if (ownerId.isEmpty()) {
             log.info("Entidad no encontrada, validando con el controlador....");
+            return;
         }
-        catch (NoSuchFieldException | IllegalAccessException e) {
-            log.error("Error accediendo al campo 'userId' en {}", entityClass.getSimpleName(), e);
-            throw new RuntimeException("Error al verificar permisos.");
+
+        log.info("Usuario actual: {}, Propietario del recurso: {}", currentUserId, ownerId.get());
+        if (!ownerId.get().equals(currentUserId)) {
+            log.warn("Acceso denegado: el usuario {} no tiene permisos sobre este recurso", currentUserId);
+            throw new AccessDeniedException("No tienes permisos para acceder a este recurso.");
         }
     }
-}
\ No newline at end of file
+}
@@ -1,82 +1,117 @@
 package co.edu.uniquindio.proyecto.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxMessage;
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxStatus;
+import co.edu.uniquindio.proyecto.entity.email.EmailTemplateType;
+import co.edu.uniquindio.proyecto.exception.notification.EmailNotificationException;
+import co.edu.uniquindio.proyecto.repository.EmailOutboxRepository;
+import co.edu.uniquindio.proyecto.util.HtmlTemplate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio de correo de la aplicación.
+ * <p>
+ * Renderiza las plantillas precompiladas ({@link HtmlTemplate}, que escapan los valores) y encola el resultado en la bandeja de salida persistente
+ * ({@link EmailOutboxMessage}). El envío SMTP real lo realiza el despachador en segundo plano,
+ * de modo que ningún hilo de petición queda esperando al servidor de correo.
+ * </p>
+ */
 @Service
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final String verificationTemplate;
-    private final String resetPasswordTemplate;
-    private final String commentTemplate;
-    private final String reportTemplate;
+    private final EmailOutboxRepository outboxRepository;
+    private final HtmlTemplate verificationTemplate;
+    private final HtmlTemplate resetPasswordTemplate;
+    private final HtmlTemplate commentTemplate;
+    private final HtmlTemplate reportTemplate;
+    private final HtmlTemplate digestTemplate;
 
-    public EmailService(JavaMailSender mailSender,
-                        @Value("#{@verificationEmailTemplate}") String verificationTemplate,
-                        @Value("#{@resetPasswordEmailTemplate}") String resetPasswordTemplate,
-                        @Value("#{@commentNotificationEmailTemplate}") String commentTemplate,
-                        @Value("#{@reportNotificationEmailTemplate}") String reportTemplate) {
-        this.mailSender = mailSender;
+    public EmailService(EmailOutboxRepository outboxRepository,
+                        @Value("#{@verificationEmailTemplate}") HtmlTemplate verificationTemplate,
+                        @Value("#{@resetPasswordEmailTemplate}") HtmlTemplate resetPasswordTemplate,
+                        @Value("#{@commentNotificationEmailTemplate}") HtmlTemplate commentTemplate,
+                        @Value("#{@reportNotificationEmailTemplate}") HtmlTemplate reportTemplate,
+                        @Value("#{@digestNotificationEmailTemplate}") HtmlTemplate digestTemplate) {
+        this.outboxRepository = outboxRepository;
         this.verificationTemplate = verificationTemplate;
         this.resetPasswordTemplate = resetPasswordTemplate;
         this.commentTemplate = commentTemplate;
         this.reportTemplate = reportTemplate;
+        this.digestTemplate = digestTemplate;
     }
 
     public void sendVerificationEmail(String toEmail, String code) {
-        String content = verificationTemplate
-                .replace("{{email}}", toEmail)
-                .replace("{{code}}", code);
-        sendHtmlEmail(toEmail, "Verificación de cuenta", content);
+        String content = verificationTemplate.render(toEmail, code);
+        enqueue(EmailTemplateType.VERIFICATION, toEmail, "Verificación de cuenta", content);
     }
 
     public void sendPasswordResetEmail(String toEmail, String code) {
-        String content = resetPasswordTemplate
-                .replace("{{email}}", toEmail)
-                .replace("{{code}}", code);
-        sendHtmlEmail(toEmail, "Restablecimiento de contraseña", content);
+        String content = resetPasswordTemplate.render(toEmail, code);
+        enqueue(EmailTemplateType.PASSWORD_RESET, toEmail, "Restablecimiento de contraseña", content);
     }
 
     public void sendCommentEmail(String toEmail, String username, String reportTitle, String commentContent) {
-        String content = commentTemplate
-                .replace("${username}", username)
-                .replace("${reportTitle}", reportTitle)
-                .replace("${commentContent}", commentContent);
-        sendHtmlEmail(toEmail, "Nuevo comentario en tu reporte", content);
+        String content = commentTemplate.render(username, reportTitle, commentContent);
+        enqueue(EmailTemplateType.COMMENT, toEmail, "Nuevo comentario en tu reporte", content);
     }
 
     public void sendNearbyReportEmail(String toEmail, String username, String reportTitle,String reportDescription) {
-        String content = reportTemplate
-                .replace("${username}", username)
-                .replace("${reportTitle}", reportTitle)
-                .replace("${reportDescription}", reportDescription);
+        String content = reportTemplate.render(username, reportTitle, reportDescription);
+        enqueue(EmailTemplateType.NEARBY_REPORT, toEmail, "Nuevo reporte cerca de ti", content);
+    }
 
-        sendHtmlEmail(toEmail, "Nuevo reporte cerca de ti", content);
+    /**
+     * Encola un correo de resumen con varias notificaciones agrupadas.
+     *
+     * @param toEmail  Destinatario.
+     * @param username Nombre del destinatario; si es {@code null} se usa un saludo genérico.
+     * @param summary  Título del resumen, usado también como asunto.
+     * @param lines    Líneas del resumen en texto plano; se escapan al renderizar.
+     */
+    public void sendDigestEmail(String toEmail, String username, String summary, List<String> lines) {
+        StringBuilder items = new StringBuilder(lines.size() * 64);
+        for (String line : lines) {
+            items.append("<li>").append(HtmlTemplate.escapeHtml(line)).append("</li>");
+        }
+        String greeting = username == null || username.isBlank() ? "¡Hola!" : "¡Hola " + username + "!";
+        String content = digestTemplate.render(summary, greeting, items);
+        enqueue(EmailTemplateType.DIGEST, toEmail, summary, content);
     }
 
-    private void sendHtmlEmail(String toEmail, String subject, String html) {
+    /**
+     * Inserta el correo ya renderizado en la bandeja de salida como {@code PENDING}.
+     *
+     * @param template Tipo de plantilla, usado para métricas.
+     * @param toEmail  Destinatario.
+     * @param subject  Asunto.
+     * @param html     Cuerpo HTML renderizado.
+     * @throws EmailNotificationException si no se pudo persistir el mensaje.
+     */
+    private void enqueue(EmailTemplateType template, String toEmail, String subject, String html) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .toEmail(toEmail)
+                .subject(subject)
+                .html(html)
+                .template(template)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(html, true);
-
-            mailSender.send(message);
-            log.info("Correo enviado a {}", toEmail);
-        } catch (MessagingException e) {
-            log.error("Error al enviar correo a {}", toEmail, e);
-            throw new RuntimeException("Error al enviar correo", e);
+            outboxRepository.save(message);
+            log.info("Correo {} encolado para {}", template, toEmail);
+        } catch (DataAccessException e) {
+            log.error("Error al encolar correo {} para {}", template, toEmail, e);
+            throw new EmailNotificationException("Error al encolar correo", e);
         }
     }
 }
-
-
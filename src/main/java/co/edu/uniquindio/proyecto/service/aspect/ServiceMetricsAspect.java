@@ -0,0 +1,90 @@
+package co.edu.uniquindio.proyecto.service.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspecto que mide con Micrometer cada método de los servicios declarados en
+ * {@code service.interfaces}, publicado como {@code service.method}.
+ *
+ * <p>Las etiquetas son {@code class} (interfaz o clase del servicio), {@code method} y {@code exception}
+ * (nombre simple de la excepción, o {@code none}); ninguna depende de los argumentos, así que el número
+ * de series está acotado por el código. Los {@link Timer} se resuelven una vez por método y excepción y
+ * se guardan en un mapa, de modo que cada llamada solo añade dos lecturas del reloj y un registro.</p>
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METRIC = "service.method";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Temporizadores de un método: el de éxito y uno por tipo de excepción lanzada.
+     */
+    private final class MethodTimers {
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            this.success = timer(NO_EXCEPTION);
+        }
+
+        private Timer failure(Class<?> exception) {
+            return failures.computeIfAbsent(exception, type -> timer(type.getSimpleName()));
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(METRIC)
+                    .description("Duración de los métodos de servicio")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Mide la ejecución de un método de servicio, incluida la que termina con excepción.
+     *
+     * @param joinPoint Llamada interceptada.
+     * @return Resultado del método.
+     * @throws Throwable La excepción original del método, sin envolver.
+     */
+    @Around("execution(* co.edu.uniquindio.proyecto.service.interfaces..*.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, MethodTimers::new);
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.failure(e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+}
@@ -5,11 +5,15 @@ import co.edu.uniquindio.proyecto.dto.user.JwtResponse;
 import co.edu.uniquindio.proyecto.dto.user.LoginRequest;
 import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exception.auth.AccountDisabledException;
+import co.edu.uniquindio.proyecto.exception.global.ServiceUnavailableException;
 import co.edu.uniquindio.proyecto.exception.user.InvalidPasswordException;
 import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
-import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.AuthService;
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
 import co.edu.uniquindio.proyecto.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -36,10 +40,15 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class AuthServiceImpl implements AuthService {
 
+    private static final String ACCESS_COOKIE = "access_token";
+    private static final String REFRESH_COOKIE = "refresh_token";
+
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImplements userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final AccessTokenDenylist accessTokenDenylist;
 
     /**
      * Autentica a un usuario y genera un token JWT si la autenticación es exitosa.
@@ -49,6 +58,7 @@ public class AuthServiceImpl implements AuthService {
      * @throws InvalidPasswordException      Si las credenciales son incorrectas.
      * @throws AccountDisabledException      Si la cuenta del usuario está deshabilitada.
      * @throws UserNotFoundException         Si el usuario no es encontrado.
+     * @throws ServiceUnavailableException   Si no hay capacidad para verificar la contraseña.
      * @throws AuthenticationServiceException Para otros errores inesperados durante la autenticación.
      */
     @Override
@@ -81,6 +91,9 @@ public class AuthServiceImpl implements AuthService {
         } catch (UsernameNotFoundException ex) {
             log.warn("No se encontró el usuario '{}'", request.userName(), ex);
             throw new UserNotFoundException(request.userName());
+        } catch (ServiceUnavailableException ex) {
+            // Cola de verificación de contraseñas llena (BoundedPasswordEncoder): se responde 503, no 500
+            throw ex;
         } catch (Exception ex) {
             log.error("Error inesperado durante la autenticación del usuario '{}'", request.userName(), ex);
             throw new AuthenticationServiceException("Error interno durante la autenticación", ex);
@@ -97,23 +110,66 @@ public class AuthServiceImpl implements AuthService {
         //2. Extraer UserId
         String userId = jwtUtils.extractUserId(refreshToken);
 
-        // 3. Buscar usuario
-        User user = userRepository.findById(new ObjectId(userId))
+        // 3. Buscar usuario (normalmente en caché)
+        User user = userDetailsCache.findById(new ObjectId(userId))
                 .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado con ID: " + userId));
 
-        // 4. Generar nuevo access token
+        // 4. Rotar el refresh token (un solo uso) y generar nuevo access token
+        String newRefreshToken = refreshTokenService.rotate(refreshToken, user);
         String newAccessToken = jwtUtils.generateToken(user);
-        return new JwtAccessResponse(newAccessToken);
+        return new JwtAccessResponse(newAccessToken, newRefreshToken);
     }
 
+    /**
+     * Cierra la sesión: revoca la familia del refresh token de la cookie {@code refresh_token} y añade el
+     * access token de la cookie {@code access_token} a la lista de revocación.
+     *
+     * @param request Petición HTTP con las cookies del cliente.
+     * @return {@code true} si se revocó algún token o se invalidó una sesión HTTP.
+     */
     @Override
     public boolean logout(HttpServletRequest request) {
+        boolean revoked = false;
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookie.getValue() == null || cookie.getValue().isBlank()) {
+                    continue;
+                }
+                if (REFRESH_COOKIE.equals(cookie.getName())) {
+                    revoked |= refreshTokenService.revoke(cookie.getValue());
+                } else if (ACCESS_COOKIE.equals(cookie.getName())) {
+                    revoked |= revokeAccessToken(cookie.getValue());
+                }
+            }
+        }
         HttpSession session = request.getSession(false); // Get the current session, if it exists
         if (session != null) {
             session.invalidate(); // Invalidate the session
             return true;
         }
-        return false;
+        return revoked;
+    }
+
+    /**
+     * Añade un access token a la lista de revocación. Los tokens ilegibles, expirados o sin {@code jti}
+     * se ignoran.
+     *
+     * @param accessToken Access token presentado por el cliente.
+     * @return {@code true} si se revocó.
+     */
+    private boolean revokeAccessToken(String accessToken) {
+        try {
+            Claims claims = jwtUtils.parseToken(accessToken).getPayload();
+            if (claims.getId() == null || claims.getExpiration() == null) {
+                return false;
+            }
+            accessTokenDenylist.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Access token ilegible al cerrar sesión: {}", e.getMessage());
+            return false;
+        }
     }
 
     /**
@@ -169,7 +225,7 @@ public class AuthServiceImpl implements AuthService {
      */
     private JwtResponse generateJwtToken(User user) {
         log.debug("Generando JWT para el usuario '{}'", user.getUsername());
-        return new JwtResponse(jwtUtils.generateToken(user), jwtUtils.generateRefreshToken(user));
+        return new JwtResponse(jwtUtils.generateToken(user), refreshTokenService.issue(user));
     }
 
 
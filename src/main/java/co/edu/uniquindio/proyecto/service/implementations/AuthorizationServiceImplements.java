@@ -1,8 +1,10 @@
 package co.edu.uniquindio.proyecto.service.implementations;
 
+import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.AuthorizationService;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +39,7 @@ public class AuthorizationServiceImplements implements AuthorizationService {
     @Override
     public boolean isSelfOrAdmin(String userId) {
 
-        userRepository.findById(new ObjectId(userId)).orElseThrow(() -> new UserNotFoundException(userId));
+        RequestIdentityMap.findById(User.class, new ObjectId(userId), userRepository::findById).orElseThrow(() -> new UserNotFoundException(userId));
 
         log.info("Verificando si el usuario actual es el mismo o tiene permisos de administrador. userId: {}", userId);
         boolean result = securityUtils.isSelfOrAdmin(userId);
@@ -62,7 +64,7 @@ public class AuthorizationServiceImplements implements AuthorizationService {
     @Override
     public boolean isSelf(String userId) {
 
-        userRepository.findById(new ObjectId(userId)).orElseThrow(() -> new UserNotFoundException(userId));
+        RequestIdentityMap.findById(User.class, new ObjectId(userId), userRepository::findById).orElseThrow(() -> new UserNotFoundException(userId));
 
         log.info("Verificando coincidencia con usuario autenticado. userId objetivo: {}", userId);
         String currentUserId = securityUtils.getCurrentUserId();
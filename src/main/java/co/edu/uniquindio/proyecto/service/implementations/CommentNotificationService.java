@@ -1,7 +1,9 @@
 package co.edu.uniquindio.proyecto.service.implementations;
 
 import co.edu.uniquindio.proyecto.dto.notification.NotificationCreateDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDigestItem;
 import co.edu.uniquindio.proyecto.entity.comment.Comment;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
 import co.edu.uniquindio.proyecto.entity.report.Report;
 import co.edu.uniquindio.proyecto.exception.notification.EmailNotificationException;
 import co.edu.uniquindio.proyecto.exception.notification.SseNotificationException;
@@ -16,7 +18,9 @@ import org.springframework.stereotype.Service;
  * Servicio encargado de notificar al autor de un reporte cuando un nuevo comentario es creado por otro usuario.
  *
  * <p>Este servicio combina el uso de WebSockets y correo electrónico para enviar notificaciones.
- * Si el comentario es realizado por el mismo usuario que creó el reporte, no se realiza ninguna notificación.</p>
+ * Si el comentario es realizado por el mismo usuario que creó el reporte, no se realiza ninguna notificación.
+ * Los comentarios seguidos sobre un mismo reporte se agrupan con {@link NotificationCoalescer}: solo el primero
+ * de cada ventana se notifica al instante y el resto llega como un resumen.</p>
  *
  * <p>En caso de errores al enviar la notificación, se lanzan excepciones personalizadas:
  * <ul>
@@ -29,6 +33,7 @@ import org.springframework.stereotype.Service;
  *     <li>{@link NotificationService} para notificación en tiempo real.</li>
  *     <li>{@link EmailService} para envío de correos electrónicos.</li>
  *     <li>{@link NotificationMapper} para mapear el comentario a un DTO de notificación.</li>
+ *     <li>{@link NotificationCoalescer} para agrupar comentarios repetidos.</li>
  * </ul>
  * </p>
  */
@@ -40,6 +45,7 @@ public class CommentNotificationService {
     private final NotificationService notificationService;
     private final EmailService emailService;
     private final NotificationMapper notificationMapper;
+    private final NotificationCoalescer notificationCoalescer;
 
     /**
      * Notifica al autor del reporte cuando otro usuario comenta.
@@ -57,7 +63,26 @@ public class CommentNotificationService {
             return;
         }
 
+        NotificationDigestItem digestItem = new NotificationDigestItem(
+                report.getUserId(),
+                NotificationType.COMMENT,
+                report.getId() != null ? report.getId().toString() : null,
+                report.getUserEmail(),
+                null,
+                commenterName + ": " + comment.getComment()
+        );
         NotificationCreateDTO dto = notificationMapper.buildFromComment(comment, report, commenterName);
+        if (!notificationCoalescer.admit(digestItem)) {
+            // Queda en la bandeja ya; solo el aviso en tiempo real y el correo van en el resumen
+            try {
+                notificationService.store(dto);
+            } catch (Exception e) {
+                throw new SseNotificationException(
+                        "Error al guardar la notificación del usuario con ID: " + report.getUserId(), e);
+            }
+            log.debug("Comentario agrupado en el resumen del reporte {} para el usuario {}", report.getId(), report.getUserId());
+            return;
+        }
 
         try {
             notificationService.notifyUser(dto);
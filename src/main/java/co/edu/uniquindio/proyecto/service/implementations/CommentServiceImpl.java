@@ -14,6 +14,7 @@ import co.edu.uniquindio.proyecto.repository.ReportRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.CommentService;
 import co.edu.uniquindio.proyecto.service.mapper.CommentMapper;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
@@ -58,7 +59,7 @@ public class CommentServiceImpl implements CommentService {
     public CommentResponse createComment(CommentRequest request) {
         log.info("Iniciando creación de comentario para el reporte con ID: {}", request.reportId());
 
-        Report report = reportRepository.findById(new ObjectId(request.reportId()))
+        Report report = RequestIdentityMap.findById(Report.class, new ObjectId(request.reportId()), reportRepository::findById)
                 .orElseThrow(() -> {
                     log.error("No se encontró el reporte con ID: {}", request.reportId());
                     return new ReportNotFoundException(request.reportId());
@@ -88,7 +89,7 @@ public class CommentServiceImpl implements CommentService {
     public CommentResponse getCommentById(String commentId) {
         log.info("Buscando comentario con ID: {}", commentId);
 
-        Comment comment = commentRepository.findById(new ObjectId(commentId))
+        Comment comment = RequestIdentityMap.findById(Comment.class, new ObjectId(commentId), commentRepository::findById)
                 .orElseThrow(() -> {
                     log.error("No se encontró el comentario con ID: {}", commentId);
                     return new CommentNotFoundException("Comentario no encontrado con ID: " + commentId);
@@ -147,7 +148,7 @@ public class CommentServiceImpl implements CommentService {
 
         ObjectId commentObjectId = parseObjectId(commentId, "ID de comentario inválido: " + commentId);
 
-        Comment comment = commentRepository.findById(commentObjectId)
+        Comment comment = RequestIdentityMap.findById(Comment.class, commentObjectId, commentRepository::findById)
                 .orElseThrow(() -> {
                     log.error("No se encontró el comentario con ID: {}", commentId);
                     return new CommentNotFoundException("Comentario no encontrado con ID: " + commentId);
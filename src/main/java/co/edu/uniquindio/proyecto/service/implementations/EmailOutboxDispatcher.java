@@ -0,0 +1,324 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxMessage;
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxStatus;
+import co.edu.uniquindio.proyecto.repository.EmailOutboxRepository;
+import co.edu.uniquindio.proyecto.util.EmailOutboxMetrics;
+import co.edu.uniquindio.proyecto.util.SmtpTransportPool;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Despachador en segundo plano de la bandeja de salida de correos.
+ * <p>
+ * En cada ciclo reclama atómicamente (con {@code findAndModify}) hasta {@code batchSize} mensajes
+ * pendientes cuyo {@code nextAttemptAt} ya venció, y los envía respetando la tasa máxima configurada.
+ * El lote se reparte entre tantos trabajadores como sesiones tenga el {@link SmtpTransportPool}; cada
+ * trabajador envía su parte por una misma conexión SMTP ya autenticada.
+ * Un fallo reprograma el mensaje con backoff exponencial; al agotar {@code maxAttempts} el mensaje
+ * pasa a {@link EmailOutboxStatus#DEAD}. Los mensajes reclamados por un nodo que murió vuelven a estar
+ * disponibles cuando vence su {@code lockedUntil}.
+ * </p>
+ *
+ * <p>Los ciclos corren en un hilo propio del despachador: la tarea programada solo los lanza (si no hay
+ * uno en curso) y vuelve enseguida, para no retener el planificador compartido con las demás tareas
+ * {@code @Scheduled} mientras se espera al SMTP o a la tasa de envío.</p>
+ *
+ * <p>Se desactiva con {@code email.outbox.dispatcher.enabled=false} (por ejemplo, en pruebas).</p>
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "email.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxRepository outboxRepository;
+    private final SmtpTransportPool transportPool;
+    private final EmailOutboxMetrics metrics;
+    private final ExecutorService workers;
+    private final ExecutorService cycleExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("email-outbox-dispatcher").daemon().factory());
+    private final AtomicBoolean cycleRunning = new AtomicBoolean();
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lockTimeout;
+    private final long minNanosBetweenSends;
+
+    private final AtomicLong nextSendAtNanos = new AtomicLong(System.nanoTime());
+
+    public EmailOutboxDispatcher(MongoTemplate mongoTemplate,
+                                 EmailOutboxRepository outboxRepository,
+                                 SmtpTransportPool transportPool,
+                                 EmailOutboxMetrics metrics,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.rate-per-second:5}") double ratePerSecond,
+                                 @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${email.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                                 @Value("${email.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                 @Value("${email.outbox.lock-timeout-ms:300000}") long lockTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxRepository = outboxRepository;
+        this.transportPool = transportPool;
+        this.metrics = metrics;
+        this.workers = Executors.newFixedThreadPool(transportPool.capacity());
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lockTimeout = Duration.ofMillis(lockTimeoutMs);
+        this.minNanosBetweenSends = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0L;
+    }
+
+    /**
+     * Lanza un ciclo de despacho en el hilo del despachador, salvo que ya haya uno en curso, y vuelve sin
+     * esperar a que termine.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void scheduleDispatch() {
+        if (!cycleRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            cycleExecutor.execute(() -> {
+                try {
+                    dispatchPending();
+                } catch (RuntimeException e) {
+                    log.error("Error en el ciclo de despacho de correos", e);
+                } finally {
+                    cycleRunning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            cycleRunning.set(false);
+        }
+    }
+
+    /**
+     * Ciclo de despacho: reclama un lote de mensajes vencidos y lo envía en paralelo por el pool SMTP.
+     * Bloquea hasta terminar el lote.
+     */
+    public void dispatchPending() {
+        List<EmailOutboxMessage> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int workerCount = Math.min(transportPool.capacity(), batch.size());
+        List<List<EmailOutboxMessage>> slices = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            slices.add(new ArrayList<>());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            slices.get(i % workerCount).add(batch.get(i));
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(workerCount);
+        for (List<EmailOutboxMessage> slice : slices) {
+            tasks.add(() -> {
+                sendSlice(slice);
+                return null;
+            });
+        }
+
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Despacho de correos interrumpido; los mensajes reclamados se liberarán al vencer su bloqueo");
+        }
+        log.debug("Ciclo de despacho de correos completado: {} mensajes procesados", batch.size());
+    }
+
+    /**
+     * Detiene el ciclo en curso y los trabajadores al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        cycleExecutor.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Reclama hasta {@code batchSize} mensajes disponibles.
+     *
+     * @return Mensajes reclamados (posiblemente vacío).
+     */
+    private List<EmailOutboxMessage> claimBatch() {
+        List<EmailOutboxMessage> batch = new ArrayList<>();
+        EmailOutboxMessage message;
+        while (batch.size() < batchSize && (message = claimNext()) != null) {
+            batch.add(message);
+        }
+        return batch;
+    }
+
+    /**
+     * Envía secuencialmente una porción del lote reutilizando una sola sesión SMTP.
+     * Si un envío falla, la sesión se descarta y el siguiente mensaje usa una nueva.
+     *
+     * @param slice Mensajes asignados a este trabajador.
+     */
+    private void sendSlice(List<EmailOutboxMessage> slice) {
+        SmtpTransportPool.Lease lease = null;
+        try {
+            for (EmailOutboxMessage message : slice) {
+                if (lease == null) {
+                    try {
+                        lease = transportPool.borrow();
+                    } catch (MessagingException e) {
+                        markFailed(message, e);
+                        continue;
+                    }
+                }
+                throttle();
+                try {
+                    lease.send(toMimeMessage(message));
+                    markSent(message);
+                    log.info("Correo {} enviado a {}", message.getTemplate(), message.getToEmail());
+                } catch (MessagingException | RuntimeException e) {
+                    markFailed(message, e);
+                    transportPool.release(lease, true);
+                    lease = null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (lease != null) {
+                transportPool.release(lease, false);
+            }
+        }
+    }
+
+    /**
+     * Reclama atómicamente el siguiente mensaje disponible: pendiente y vencido, o en envío con bloqueo expirado.
+     *
+     * @return Mensaje reclamado, o {@code null} si no hay trabajo.
+     */
+    private EmailOutboxMessage claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(EmailOutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(EmailOutboxStatus.SENDING).and("lockedUntil").lte(now)
+        )).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+
+        Update update = new Update()
+                .set("status", EmailOutboxStatus.SENDING)
+                .set("lockedUntil", now.plus(lockTimeout));
+
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+    }
+
+    /**
+     * Espera lo necesario para no superar la tasa de envío configurada. Cada llamada reserva el
+     * siguiente turno libre, por lo que la tasa se respeta entre todos los trabajadores.
+     */
+    private void throttle() {
+        if (minNanosBetweenSends == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = nextSendAtNanos.getAndUpdate(prev -> Math.max(prev, now) + minNanosBetweenSends);
+        long wait = slot - now;
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    /**
+     * Construye el mensaje MIME a partir del documento de la bandeja de salida.
+     *
+     * @param message Documento de la bandeja de salida.
+     * @return Mensaje listo para enviar.
+     * @throws MessagingException si alguno de los campos es inválido.
+     */
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mime = transportPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+        helper.setTo(message.getToEmail());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getHtml(), true);
+        return mime;
+    }
+
+    private void markSent(EmailOutboxMessage message) {
+        message.setStatus(EmailOutboxStatus.SENT);
+        message.setSentAt(LocalDateTime.now());
+        message.setLockedUntil(null);
+        message.setLastError(null);
+        outboxRepository.save(message);
+        metrics.recordSent(message.getTemplate());
+    }
+
+    /**
+     * Registra un fallo: reprograma con backoff exponencial o envía el mensaje a la cola de muertos.
+     *
+     * @param message Mensaje que falló.
+     * @param error   Causa del fallo.
+     */
+    private void markFailed(EmailOutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLockedUntil(null);
+        message.setLastError(error.getMessage());
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.DEAD);
+            metrics.recordDead(message.getTemplate());
+            log.error("Correo {} a {} descartado tras {} intentos", message.getTemplate(), message.getToEmail(), attempts, error);
+        } else {
+            Duration delay = backoffFor(attempts);
+            message.setStatus(EmailOutboxStatus.PENDING);
+            message.setNextAttemptAt(LocalDateTime.now().plus(delay));
+            metrics.recordRetry(message.getTemplate());
+            log.warn("Error al enviar correo {} a {} (intento {}). Reintento en {} s",
+                    message.getTemplate(), message.getToEmail(), attempts, delay.toSeconds());
+        }
+        outboxRepository.save(message);
+    }
+
+    /**
+     * Calcula el retardo del siguiente intento: {@code initialBackoff * 2^(attempts-1)}, acotado por
+     * {@code maxBackoff} y con un 20 % de variación aleatoria para no sincronizar reintentos.
+     *
+     * @param attempts Número de intentos fallidos hasta ahora (mínimo 1).
+     * @return Retardo hasta el siguiente intento.
+     */
+    private Duration backoffFor(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        long jitter = (long) (capped * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(capped - jitter);
+    }
+}
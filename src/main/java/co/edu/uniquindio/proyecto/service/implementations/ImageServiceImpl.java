@@ -3,6 +3,7 @@ package co.edu.uniquindio.proyecto.service.implementations;
 import co.edu.uniquindio.proyecto.dto.image.ImageResponse;
 import co.edu.uniquindio.proyecto.dto.image.ImageUploadRequest;
 import co.edu.uniquindio.proyecto.entity.image.Image;
+import co.edu.uniquindio.proyecto.entity.report.Report;
 import co.edu.uniquindio.proyecto.exception.global.IdInvalidException;
 import co.edu.uniquindio.proyecto.exception.image.ImageNotFoundException;
 import co.edu.uniquindio.proyecto.exception.image.InvalidImageException;
@@ -12,6 +13,7 @@ import co.edu.uniquindio.proyecto.repository.ReportRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.ImageService;
 import co.edu.uniquindio.proyecto.service.mapper.ImageMapper;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
@@ -50,7 +52,7 @@ public class ImageServiceImpl implements ImageService {
     public ImageResponse getImageById(String id) {
         ObjectId objectId = parseObjectId(id);
         log.debug("Buscando imagen con ID: {}", id);
-        Image image = imageRepository.findById(objectId)
+        Image image = RequestIdentityMap.findById(Image.class, objectId, imageRepository::findById)
                 .orElseThrow(() -> {
                     log.warn("Imagen no encontrada para ID: {}", id);
                     return new ImageNotFoundException("Imagen no encontrada ID: " + id);
@@ -88,13 +90,14 @@ public class ImageServiceImpl implements ImageService {
     public void deleteImage(String id) {
         ObjectId objectId = parseObjectId(id);
         log.debug("Buscando imagen con ID: {}", id);
-        Image image = imageRepository.findById(objectId)
+        Image image = RequestIdentityMap.findById(Image.class, objectId, imageRepository::findById)
                 .orElseThrow(() -> {
                     log.warn("Imagen no encontrada para ID: {}", id);
                     return new ImageNotFoundException("Imagen no encontrada ID: " + id);
                 });
         log.debug("Eliminando imagen con ID: {}", id);
         imageRepository.delete(image);
+        RequestIdentityMap.evict(Image.class, objectId);
         log.info("Imagen con ID: {} eliminada exitosamente", id);
     }
 
@@ -121,7 +124,7 @@ public class ImageServiceImpl implements ImageService {
     @Override
     public List<ImageResponse> getAllImagesByReport(ObjectId reportId) {
         // Verifica que el reporte existe.
-        reportRepository.findById(reportId)
+        RequestIdentityMap.findById(Report.class, reportId, reportRepository::findById)
                 .orElseThrow(() -> new ReportNotFoundException(reportId.toString()));
         log.info("Recuperando imágenes para el reporte con ID: {}", reportId);
         return imageRepository.findAllByReportId(reportId).stream()
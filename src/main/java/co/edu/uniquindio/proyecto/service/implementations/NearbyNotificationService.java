@@ -1,18 +1,24 @@
 package co.edu.uniquindio.proyecto.service.implementations;
 
 import co.edu.uniquindio.proyecto.dto.notification.NotificationCreateDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDigestItem;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
 import co.edu.uniquindio.proyecto.entity.report.Report;
 import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.EmailService;
 import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
 import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio encargado de notificar a los usuarios que se encuentran dentro del radio de proximidad
@@ -20,9 +26,12 @@ import java.util.List;
  *
  * Este servicio cumple con el principio de responsabilidad única (SRP), ya que se enfoca
  * únicamente en la lógica de notificación por cercanía.
+ * Los reportes cercanos que recibe un mismo usuario se agrupan con {@link NotificationCoalescer}.
+ *
+ * <p>Publica el histograma {@code notification.nearby.fanout} (usuarios a notificar por reporte) y el
+ * temporizador {@code notification.nearby.duration} (duración total del envío).</p>
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NearbyNotificationService {
 
@@ -30,6 +39,34 @@ public class NearbyNotificationService {
     private final NotificationService notificationService;
     private final NotificationMapper notificationMapper;
     private final EmailService emailService;
+    private final NotificationCoalescer notificationCoalescer;
+    private final DistributionSummary fanoutSize;
+    private final Timer fanoutDuration;
+
+    public NearbyNotificationService(UserRepository userRepository,
+                                     NotificationService notificationService,
+                                     NotificationMapper notificationMapper,
+                                     EmailService emailService,
+                                     NotificationCoalescer notificationCoalescer,
+                                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.notificationMapper = notificationMapper;
+        this.emailService = emailService;
+        this.notificationCoalescer = notificationCoalescer;
+        this.fanoutSize = DistributionSummary.builder("notification.nearby.fanout")
+                .description("Usuarios dentro del radio de cada reporte nuevo")
+                .baseUnit("users")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(meterRegistry);
+        this.fanoutDuration = Timer.builder("notification.nearby.duration")
+                .description("Duración de la notificación por cercanía de un reporte")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry);
+    }
 
     /**
      * Notifica a todos los usuarios que estén dentro del radio definido respecto al nuevo reporte.
@@ -38,24 +75,45 @@ public class NearbyNotificationService {
      * @param report Reporte recién creado que se usará como referencia para calcular cercanía.
      */
     public void notifyUsersNearby(Report report) {
+        long start = System.nanoTime();
+        try {
+            notifyNearby(report);
+        } finally {
+            fanoutDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void notifyNearby(Report report) {
         log.info("Iniciando notificación por cercanía para el reporte con ID: {}", report.getId());
 
         List<User> allUsers = userRepository.findAll();
         log.debug("Total de usuarios en base de datos: {}", allUsers.size());
 
-        List<User> nearbyUsers = allUsers.stream()
-                .filter(user -> user.getLocation() != null)
-                .filter(user -> !user.getId().toString().equals(report.getUserId()))
-                .filter(user -> isWithinRadius(user.getLocation(), report.getLocation(), user.getNotificationRadiusKm()))
-                .toList();
+        List<User> nearbyUsers = filterNearby(allUsers, report);
 
         log.info("Usuarios a notificar por cercanía: {}", nearbyUsers.size());
+        fanoutSize.record(nearbyUsers.size());
 
 
         for (User user : nearbyUsers) {
             try {
-                // Notificación SSE
+                NotificationDigestItem digestItem = new NotificationDigestItem(
+                        user.getId().toString(),
+                        NotificationType.NEW_REPORT,
+                        report.getId().toString(),
+                        user.getEmail(),
+                        user.getFullName(),
+                        report.getTitle()
+                );
                 NotificationCreateDTO dto = notificationMapper.buildFromReportForNearbyUser(report, user.getId().toString());
+                if (!notificationCoalescer.admit(digestItem)) {
+                    // Queda en la bandeja ya; solo el aviso en tiempo real y el correo van en el resumen
+                    notificationService.store(dto);
+                    log.debug("Reporte {} agrupado en el resumen del usuario {}", report.getId(), user.getId());
+                    continue;
+                }
+
+                // Notificación SSE
                 notificationService.notifyUser(dto);
                 log.debug("Notificación SSE enviada al usuario con ID: {}", user.getId());
 
@@ -78,6 +136,23 @@ public class NearbyNotificationService {
     }
 
 
+    /**
+     * Selecciona los usuarios a notificar: con ubicación registrada, distintos del creador del reporte
+     * y dentro de su radio de notificación.
+     * <p>Visible en el paquete para medirlo con JMH ({@code NearbyFilterBenchmark}).</p>
+     *
+     * @param users  Usuarios candidatos.
+     * @param report Reporte de referencia.
+     * @return Usuarios dentro del radio.
+     */
+    List<User> filterNearby(List<User> users, Report report) {
+        return users.stream()
+                .filter(user -> user.getLocation() != null)
+                .filter(user -> !user.getId().toString().equals(report.getUserId()))
+                .filter(user -> isWithinRadius(user.getLocation(), report.getLocation(), user.getNotificationRadiusKm()))
+                .toList();
+    }
+
     /**
      * Determina si una ubicación se encuentra dentro del radio especificado.
      *
@@ -86,7 +161,7 @@ public class NearbyNotificationService {
      * @param radiusKm  Radio en kilómetros dentro del cual se debe estar para considerar la cercanía.
      * @return true si está dentro del radio; false en caso contrario.
      */
-    private boolean isWithinRadius(GeoJsonPoint userLoc, GeoJsonPoint reportLoc, double radiusKm) {
+    static boolean isWithinRadius(GeoJsonPoint userLoc, GeoJsonPoint reportLoc, double radiusKm) {
         double distanceKm = haversine(userLoc.getY(), userLoc.getX(), reportLoc.getY(), reportLoc.getX());
         return distanceKm <= radiusKm;
     }
@@ -100,7 +175,7 @@ public class NearbyNotificationService {
      * @param lon2 Longitud del punto B.
      * @return Distancia en kilómetros entre los dos puntos.
      */
-    private double haversine(double lat1, double lon1, double lat2, double lon2) {
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
         final double R = 6371.0; // Radio de la Tierra en km
         double dLat = Math.toRadians(lat2 - lat1);
         double dLon = Math.toRadians(lon2 - lon1);
@@ -0,0 +1,177 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.dto.notification.NotificationCreateDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDigestItem;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.service.EmailService;
+import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Agrupa notificaciones repetidas por destinatario dentro de una ventana de tiempo.
+ * <p>
+ * El primer evento de un grupo (usuario + reporte para comentarios, usuario + tipo para el resto) se
+ * entrega de inmediato y abre una ventana de {@code windowMs}. Los eventos que llegan mientras la ventana
+ * está abierta se guardan en la bandeja al momento ({@link NotificationService#store}), pero no se avisan
+ * individualmente: se acumulan y, al cerrar la ventana, se envía un único evento SSE (sin nueva fila en la
+ * bandeja) y un único correo de resumen. Si hubo resumen, se abre otra ventana para que un flujo sostenido
+ * produzca como máximo un resumen por ventana.
+ * </p>
+ *
+ * <p>Solo el aviso agrupado es en memoria y por instancia: un reinicio o una caída no pierde notificaciones
+ * de la bandeja, a lo sumo el resumen pendiente (al cerrar la aplicación se envían todos los pendientes), y
+ * con varios nodos un usuario puede recibir un resumen por nodo. Con {@code notification.coalesce.window-ms=0}
+ * se desactiva la agrupación y todos los eventos se entregan de inmediato.</p>
+ */
+@Service
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final long windowMs;
+    private final int maxLines;
+
+    private final ConcurrentMap<GroupKey, Window> windows = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(NotificationService notificationService,
+                                 EmailService emailService,
+                                 @Value("${notification.coalesce.window-ms:300000}") long windowMs,
+                                 @Value("${notification.coalesce.max-lines:20}") int maxLines) {
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.windowMs = windowMs;
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Decide si un evento se entrega de inmediato o se acumula para el resumen.
+     *
+     * @param item Evento a notificar.
+     * @return {@code true} si el llamador debe entregarlo ahora; {@code false} si quedó en el resumen.
+     */
+    public boolean admit(NotificationDigestItem item) {
+        if (windowMs <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        boolean[] admitted = {false};
+        windows.compute(new GroupKey(item.userId(), item.group()), (key, window) -> {
+            if (window == null || (window.closesAt <= now && window.count == 0)) {
+                admitted[0] = true;
+                return new Window(now + windowMs);
+            }
+            window.add(item, maxLines);
+            return window;
+        });
+        return admitted[0];
+    }
+
+    /**
+     * Cierra las ventanas vencidas y envía un resumen por cada una que haya acumulado eventos.
+     */
+    @Scheduled(fixedDelayString = "${notification.coalesce.flush-interval-ms:5000}")
+    public void flushExpired() {
+        long now = System.currentTimeMillis();
+        for (GroupKey key : windows.keySet()) {
+            List<Window> ready = new ArrayList<>(1);
+            windows.computeIfPresent(key, (k, window) -> {
+                if (window.closesAt > now) {
+                    return window;
+                }
+                if (window.count == 0) {
+                    return null;
+                }
+                ready.add(window);
+                return new Window(now + windowMs);
+            });
+            if (!ready.isEmpty()) {
+                sendDigest(ready.get(0));
+            }
+        }
+    }
+
+    /**
+     * Envía los resúmenes pendientes, aunque su ventana no haya cerrado, para no perderlos al detener la
+     * aplicación.
+     */
+    @PreDestroy
+    public void flushAll() {
+        for (GroupKey key : windows.keySet()) {
+            Window window = windows.remove(key);
+            if (window != null && window.count > 0) {
+                sendDigest(window);
+            }
+        }
+    }
+
+    private void sendDigest(Window window) {
+        NotificationDigestItem first = window.items.get(0);
+        String summary = summaryFor(first.type(), window.count);
+        List<String> lines = window.items.stream().map(NotificationDigestItem::line).toList();
+        if (window.count > lines.size()) {
+            lines = new ArrayList<>(lines);
+            lines.add("… y " + (window.count - window.items.size()) + " más");
+        }
+
+        try {
+            notificationService.push(new NotificationCreateDTO(
+                    first.userId(),
+                    summary,
+                    String.join("\n", lines),
+                    first.type() == NotificationType.COMMENT ? first.reportId() : null,
+                    first.type(),
+                    null
+            ));
+        } catch (Exception e) {
+            log.error("Error al enviar resumen SSE al usuario {}", first.userId(), e);
+        }
+
+        try {
+            emailService.sendDigestEmail(first.toEmail(), first.recipientName(), summary, lines);
+        } catch (Exception e) {
+            log.error("Error al encolar correo de resumen para {}", first.toEmail(), e);
+        }
+        log.info("Resumen de {} notificaciones {} enviado al usuario {}", window.count, first.type(), first.userId());
+    }
+
+    private String summaryFor(NotificationType type, int count) {
+        return switch (type) {
+            case COMMENT -> count + " nuevos comentarios en tu reporte";
+            case NEW_REPORT, NEARBY_REPORT -> count + " nuevos reportes cerca de ti";
+            default -> count + " nuevas notificaciones";
+        };
+    }
+
+    private record GroupKey(String userId, String group) {
+    }
+
+    /**
+     * Ventana abierta para un grupo. Solo se modifica dentro de {@code compute}, bajo el bloqueo del mapa.
+     */
+    private static final class Window {
+        private final long closesAt;
+        private final List<NotificationDigestItem> items = new ArrayList<>();
+        private int count;
+
+        private Window(long closesAt) {
+            this.closesAt = closesAt;
+        }
+
+        private void add(NotificationDigestItem item, int maxLines) {
+            count++;
+            if (items.size() < maxLines) {
+                items.add(item);
+            }
+        }
+    }
+}
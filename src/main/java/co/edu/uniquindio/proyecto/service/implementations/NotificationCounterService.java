@@ -0,0 +1,136 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.entity.notification.NotificationCounter;
+import co.edu.uniquindio.proyecto.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mantiene el contador de notificaciones no leídas de cada usuario ({@link NotificationCounter}).
+ * <p>
+ * Toda escritura que cambia las no leídas pasa por {@link #update}, que aplica su efecto con un
+ * {@code $inc} con upsert: ningún cambio se pierde aunque el contador aún no exista.
+ * </p>
+ *
+ * <p>Un usuario con notificaciones anteriores al contador necesita un punto de partida, que se calcula con
+ * un {@code count} en la primera consulta. Para que ese recuento no cuente dos veces ni omita una escritura
+ * concurrente, mientras el contador no está inicializado cada escritura se marca como en curso
+ * ({@code inFlight}) y sube la {@code version}. La inicialización solo se confirma si al fijar el valor no
+ * había escrituras en curso y la versión no cambió desde antes del recuento; si no, se reintenta. Una vez
+ * inicializado, las escrituras vuelven a ser un único {@code $inc}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCounterService {
+
+    private static final int INIT_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationRepository notificationRepository;
+
+    // Usuarios cuyo contador ya está inicializado (nunca deja de estarlo): se ahorra el marcado de escrituras
+    private final Set<String> initialized = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Ejecuta una escritura sobre las notificaciones del usuario y aplica su efecto en el contador.
+     *
+     * @param userId      ID del usuario.
+     * @param write       Escritura (guardar, marcar como leídas, eliminar...).
+     * @param unreadDelta Cambio en las no leídas según el resultado de la escritura.
+     * @param <T>         Tipo del resultado de la escritura.
+     * @return Resultado de la escritura.
+     */
+    public <T> T update(String userId, Supplier<T> write, ToLongFunction<? super T> unreadDelta) {
+        if (initialized.contains(userId)) {
+            T result = write.get();
+            long delta = unreadDelta.applyAsLong(result);
+            if (delta != 0) {
+                upsert(userId, new Update().inc("unread", delta));
+            }
+            return result;
+        }
+
+        upsert(userId, new Update().inc("inFlight", 1).inc("version", 1));
+        long delta = 0;
+        try {
+            T result = write.get();
+            delta = unreadDelta.applyAsLong(result);
+            return result;
+        } finally {
+            Update done = new Update().inc("inFlight", -1);
+            if (delta != 0) {
+                done.inc("unread", delta);
+            }
+            upsert(userId, done);
+        }
+    }
+
+    /**
+     * Devuelve el número de notificaciones no leídas del usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Cantidad de no leídas (nunca negativa).
+     */
+    public long unreadCount(String userId) {
+        for (int attempt = 0; attempt < INIT_ATTEMPTS; attempt++) {
+            NotificationCounter counter = mongoTemplate.findById(userId, NotificationCounter.class);
+            if (counter != null && counter.isInitialized()) {
+                initialized.add(userId);
+                return Math.max(0, counter.getUnread());
+            }
+            if (counter != null && counter.getInFlight() > 0) {
+                break;
+            }
+            long unread = notificationRepository.countUnreadByUserId(userId);
+            if (initialize(userId, counter, unread)) {
+                initialized.add(userId);
+                log.debug("Contador de no leídas inicializado para {}: {}", userId, unread);
+                return unread;
+            }
+        }
+        // Escrituras en curso: el recuento es correcto ahora y el contador se inicializará en otra consulta
+        log.debug("Contador de no leídas de {} sin inicializar por escrituras concurrentes", userId);
+        return notificationRepository.countUnreadByUserId(userId);
+    }
+
+    /**
+     * Fija el contador al recuento si nada cambió desde que se leyó: sin documento, lo inserta (falla si
+     * otra escritura lo creó); con documento, exige la misma versión y ninguna escritura en curso.
+     */
+    private boolean initialize(String userId, NotificationCounter seen, long unread) {
+        if (seen == null) {
+            try {
+                mongoTemplate.insert(NotificationCounter.builder().userId(userId).unread(unread).initialized(true).build());
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        Query unchanged = Query.query(Criteria.where("_id").is(userId)
+                .and("initialized").ne(true)
+                .and("version").in(seen.getVersion() == 0 ? new Object[]{0L, null} : new Object[]{seen.getVersion()})
+                .and("inFlight").in(0L, null));
+        NotificationCounter updated = mongoTemplate.findAndModify(unchanged,
+                new Update().set("unread", unread).set("initialized", true),
+                FindAndModifyOptions.options().returnNew(true),
+                NotificationCounter.class);
+        return updated != null;
+    }
+
+    private void upsert(String userId, Update update) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)), update, NotificationCounter.class);
+    }
+}
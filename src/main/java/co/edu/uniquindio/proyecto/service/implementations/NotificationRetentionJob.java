@@ -0,0 +1,60 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import com.mongodb.client.result.DeleteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Política de retención de la colección {@code notifications}.
+ * <p>
+ * Las notificaciones leídas las elimina MongoDB mediante el índice TTL sobre {@code readAt}.
+ * Este proceso se encarga de las que nunca se leen: borra las no leídas con más de
+ * {@code notification.retention.unread-days} días y descuenta cada borrado del contador del usuario.
+ * </p>
+ */
+@Service
+@Slf4j
+public class NotificationRetentionJob {
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationCounterService counterService;
+    private final long unreadRetentionDays;
+
+    public NotificationRetentionJob(MongoTemplate mongoTemplate,
+                                    NotificationCounterService counterService,
+                                    @Value("${notification.retention.unread-days:180}") long unreadRetentionDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.counterService = counterService;
+        this.unreadRetentionDays = unreadRetentionDays;
+    }
+
+    /**
+     * Elimina las notificaciones no leídas que superan el periodo de retención.
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void purgeStaleUnread() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(unreadRetentionDays);
+        Criteria stale = Criteria.where("read").is(false).and("createdAt").lt(cutoff);
+
+        List<String> userIds = mongoTemplate.findDistinct(Query.query(stale), "userId", Notification.class, String.class);
+        long total = 0;
+        for (String userId : userIds) {
+            DeleteResult result = counterService.update(userId,
+                    () -> mongoTemplate.remove(
+                            Query.query(Criteria.where("userId").is(userId).and("read").is(false).and("createdAt").lt(cutoff)),
+                            Notification.class),
+                    r -> -r.getDeletedCount());
+            total += result.getDeletedCount();
+        }
+        log.info("Depuración de notificaciones: {} no leídas eliminadas de {} usuarios", total, userIds.size());
+    }
+}
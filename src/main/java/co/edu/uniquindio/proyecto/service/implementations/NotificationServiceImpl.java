@@ -3,16 +3,26 @@ package co.edu.uniquindio.proyecto.service.implementations;
 import co.edu.uniquindio.proyecto.controller.NotificationSseController;
 import co.edu.uniquindio.proyecto.dto.notification.NotificationCreateDTO;
 import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationInboxResponse;
 import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.exception.global.IdInvalidException;
 import co.edu.uniquindio.proyecto.exception.notification.SseNotificationException;
 import co.edu.uniquindio.proyecto.repository.NotificationRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
 import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.mongodb.client.result.UpdateResult;
 import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -26,7 +36,14 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final NotificationSseController notificationSseController;
+    // Nulo con notifications.reactive.enabled=false: no hay conexiones reactivas a las que publicar
+    @Nullable
+    private final NotificationStreamHub notificationStreamHub;
     private final NotificationMapper notificationMapper;
+    private final NotificationCounterService counterService;
+    private final MongoTemplate mongoTemplate;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
      * Crea y envía una notificación al usuario especificado.
@@ -42,15 +59,19 @@ public class NotificationServiceImpl implements NotificationService {
             // Mapear DTO a entidad
             Notification notification = notificationMapper.fromCreateDTO(createDTO);
 
-            // Guardar en base de datos
-            Notification saved = notificationRepository.save(notification);
+            // Guardar en base de datos y contarla como no leída
+            Notification saved = counterService.update(createDTO.userId(),
+                    () -> notificationRepository.save(notification), n -> 1);
             log.debug("Notificación persistida con ID: {}", saved.getId());
 
             // Mapear a DTO para envío
             NotificationDTO dto = notificationMapper.toDTO(saved);
 
-            // Intentar enviar por SSE
-            boolean delivered = notificationSseController.sendNotification(createDTO.userId(), dto);
+            // Intentar enviar por SSE, a la conexión MVC y a las reactivas que tenga abiertas el usuario
+            boolean deliveredMvc = notificationSseController.sendNotification(createDTO.userId(), dto);
+            boolean deliveredReactive = notificationStreamHub != null
+                    && notificationStreamHub.publish(createDTO.userId(), dto);
+            boolean delivered = deliveredMvc || deliveredReactive;
 
             if (delivered) {
                 saved.setDelivered(true);
@@ -66,4 +87,114 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    /**
+     * Guarda la notificación en la bandeja y la cuenta como no leída. Se marca como entregada porque su
+     * envío en tiempo real lo cubre el resumen: no debe reenviarse al reconectar.
+     *
+     * @param createDTO Información de la notificación.
+     */
+    @Override
+    public void store(NotificationCreateDTO createDTO) {
+        Notification notification = notificationMapper.fromCreateDTO(createDTO);
+        notification.setDelivered(true);
+        Notification saved = counterService.update(createDTO.userId(),
+                () -> notificationRepository.save(notification), n -> 1);
+        log.debug("Notificación {} guardada en la bandeja del usuario {} para el resumen", saved.getId(), createDTO.userId());
+    }
+
+    /**
+     * Envía la notificación por SSE (MVC y reactivo) sin persistirla.
+     *
+     * @param createDTO Información de la notificación.
+     * @return {@code true} si alguna conexión la recibió.
+     */
+    @Override
+    public boolean push(NotificationCreateDTO createDTO) {
+        NotificationDTO dto = notificationMapper.toDTO(notificationMapper.fromCreateDTO(createDTO));
+        boolean deliveredMvc = notificationSseController.sendNotification(createDTO.userId(), dto);
+        boolean deliveredReactive = notificationStreamHub != null
+                && notificationStreamHub.publish(createDTO.userId(), dto);
+        return deliveredMvc || deliveredReactive;
+    }
+
+    /**
+     * Obtiene una página de la bandeja usando el {@code _id} como cursor, de modo que el costo
+     * no crece con la profundidad de la página (sin {@code skip} ni {@code count}).
+     *
+     * @param userId ID del usuario.
+     * @param before Cursor de la página anterior, o {@code null} para la primera página.
+     * @param size   Tamaño de página (acotado a {@value #MAX_PAGE_SIZE}).
+     * @return Página de notificaciones y cursor de la siguiente.
+     * @throws IdInvalidException si el cursor no es un ObjectId válido.
+     */
+    @Override
+    public NotificationInboxResponse getInbox(String userId, String before, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Se pide un elemento extra para saber si hay más páginas
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Notification> rows = (before == null || before.isBlank())
+                ? notificationRepository.findByUserIdOrderByIdDesc(userId, limit)
+                : notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, parseObjectId(before), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? page.get(page.size() - 1).getId().toHexString() : null;
+
+        return new NotificationInboxResponse(notificationMapper.toDTOList(page), nextCursor, hasMore);
+    }
+
+    /**
+     * Marca como leídas las notificaciones indicadas en una sola actualización y descuenta del
+     * contador solo las que realmente cambiaron de estado.
+     *
+     * @param userId ID del usuario.
+     * @param ids    IDs de las notificaciones.
+     * @return Número de no leídas restantes.
+     * @throws IdInvalidException si algún ID no es un ObjectId válido.
+     */
+    @Override
+    public long markAsRead(String userId, List<String> ids) {
+        List<ObjectId> objectIds = ids.stream().map(this::parseObjectId).toList();
+        long modified = markRead(userId, Criteria.where("userId").is(userId).and("_id").in(objectIds).and("read").is(false));
+        log.info("{} notificaciones marcadas como leídas para el usuario {}", modified, userId);
+        return counterService.unreadCount(userId);
+    }
+
+    /**
+     * Marca como leídas todas las notificaciones pendientes del usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Número de no leídas restantes.
+     */
+    @Override
+    public long markAllAsRead(String userId) {
+        long modified = markRead(userId, Criteria.where("userId").is(userId).and("read").is(false));
+        log.info("{} notificaciones marcadas como leídas para el usuario {}", modified, userId);
+        return counterService.unreadCount(userId);
+    }
+
+    @Override
+    public long getUnreadCount(String userId) {
+        return counterService.unreadCount(userId);
+    }
+
+    private long markRead(String userId, Criteria criteria) {
+        UpdateResult result = counterService.update(userId,
+                () -> mongoTemplate.updateMulti(
+                        Query.query(criteria),
+                        new Update().set("read", true).set("readAt", LocalDateTime.now()),
+                        Notification.class),
+                r -> -r.getModifiedCount());
+        return result.getModifiedCount();
+    }
+
+    private ObjectId parseObjectId(String id) {
+        try {
+            return new ObjectId(id);
+        } catch (IllegalArgumentException ex) {
+            log.error("Formato inválido de ObjectId: {}", id);
+            throw new IdInvalidException("ID de notificación inválido: " + id);
+        }
+    }
 }
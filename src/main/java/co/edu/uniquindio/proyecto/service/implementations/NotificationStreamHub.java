@@ -0,0 +1,149 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conexiones SSE reactivas abiertas en esta instancia, por usuario.
+ * <p>
+ * Cada conexión tiene su propio {@link Sinks.Many} con un búfer acotado: publicar una notificación no
+ * bloquea ni ocupa un hilo por cliente, y si un cliente lento llena su búfer la notificación simplemente
+ * no se le entrega y queda pendiente para la próxima conexión. A diferencia de
+ * {@code NotificationSseController}, un usuario puede tener varias conexiones a la vez (varias pestañas o
+ * dispositivos) y todas reciben la notificación.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class NotificationStreamHub implements MeterBinder {
+
+    private final Map<String, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final int bufferSize;
+
+    public NotificationStreamHub(@Value("${notifications.reactive.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Publica el número de conexiones reactivas abiertas como {@code notification.sse.reactive.connections}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.sse.reactive.connections", open, AtomicInteger::get)
+                .description("Suscripciones SSE reactivas de notificaciones abiertas en esta instancia")
+                .register(registry);
+    }
+
+    /**
+     * Registra una conexión nueva del usuario. Las notificaciones publicadas desde este momento quedan en
+     * su búfer hasta que alguien se suscriba a {@link Connection#notifications()}.
+     *
+     * @param userId ID del usuario.
+     * @return Conexión, que debe cerrarse cuando el cliente se desconecte.
+     */
+    public Connection register(String userId) {
+        Connection connection = new Connection(userId,
+                Sinks.many().unicast().onBackpressureBuffer(Queues.<NotificationDTO>get(bufferSize).get()));
+        connections.computeIfAbsent(userId, key -> new CopyOnWriteArrayList<>()).add(connection);
+        open.incrementAndGet();
+        return connection;
+    }
+
+    /**
+     * Entrega una notificación a todas las conexiones reactivas del usuario.
+     *
+     * @param userId       ID del usuario.
+     * @param notification Notificación a entregar.
+     * @return {@code true} si al menos una conexión la aceptó.
+     */
+    public boolean publish(String userId, NotificationDTO notification) {
+        List<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return false;
+        }
+        boolean delivered = false;
+        for (Connection connection : userConnections) {
+            delivered |= connection.emit(notification);
+        }
+        return delivered;
+    }
+
+    /**
+     * @return Conexiones reactivas abiertas.
+     */
+    public int openConnections() {
+        return open.get();
+    }
+
+    private void unregister(Connection connection) {
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.userId, (key, list) -> {
+            removed[0] = list.remove(connection);
+            return list.isEmpty() ? null : list;
+        });
+        if (removed[0]) {
+            open.decrementAndGet();
+        }
+    }
+
+    /**
+     * Conexión SSE reactiva de un usuario.
+     */
+    public final class Connection implements AutoCloseable {
+
+        private final String userId;
+        private final Sinks.Many<NotificationDTO> sink;
+
+        private Connection(String userId, Sinks.Many<NotificationDTO> sink) {
+            this.userId = userId;
+            this.sink = sink;
+        }
+
+        /**
+         * @return Notificaciones publicadas para el usuario desde que se registró la conexión.
+         */
+        public Flux<NotificationDTO> notifications() {
+            return sink.asFlux();
+        }
+
+        /**
+         * Quita la conexión del registro y completa su flujo.
+         */
+        @Override
+        public void close() {
+            unregister(this);
+            synchronized (this) {
+                sink.tryEmitComplete();
+            }
+        }
+
+        private boolean emit(NotificationDTO notification) {
+            Sinks.EmitResult result;
+            // El sink no admite emisiones concurrentes; la sección crítica solo encola en memoria.
+            synchronized (this) {
+                result = sink.tryEmitNext(notification);
+            }
+            if (result.isFailure() && log.isDebugEnabled()) {
+                log.debug("Notificación {} no entregada por SSE reactivo al usuario {}: {}", notification.id(), userId, result);
+            }
+            return result.isSuccess();
+        }
+    }
+}
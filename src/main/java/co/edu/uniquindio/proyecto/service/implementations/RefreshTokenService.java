@@ -0,0 +1,219 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.entity.auth.RefreshToken;
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.exception.user.InvalidRefreshTokenException;
+import co.edu.uniquindio.proyecto.repository.RefreshTokenRepository;
+import co.edu.uniquindio.proyecto.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+/**
+ * Almacén de refresh tokens con rotación en cada uso y detección de reutilización.
+ * <p>
+ * Cada login abre una familia de tokens. Al refrescar, el token presentado se marca como usado de
+ * forma atómica y se emite otro de la misma familia. Si un token ya usado se presenta de nuevo
+ * (típico de un token robado), o al cerrar sesión, se revoca la familia completa.
+ * </p>
+ *
+ * <p>La comprobación de revocación va en el mismo {@code findAndModify} que consume el token (solo
+ * coincide si no está usado ni revocado), así que rotar cuesta una única operación atómica en Mongo y no
+ * hay estado en memoria que sincronizar entre nodos. Solo cuando no coincide se lee el token para
+ * distinguir si estaba revocado, ya usado o no existe.</p>
+ *
+ * <p>Los tokens emitidos antes de la rotación (sin {@code jti} ni familia) se aceptan una sola vez: al
+ * migrarlos se guarda un marcador con el hash del token, ya usado y enlazado a la familia nueva, de modo
+ * que presentarlo otra vez se trata como una reutilización y cerrar sesión con él revoca esa familia.</p>
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final String LEGACY_PREFIX = "legacy-";
+
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtils jwtUtils;
+    private final boolean acceptLegacy;
+
+    public RefreshTokenService(MongoTemplate mongoTemplate,
+                               RefreshTokenRepository refreshTokenRepository,
+                               JwtUtils jwtUtils,
+                               @Value("${security.refresh.accept-legacy:true}") boolean acceptLegacy) {
+        this.mongoTemplate = mongoTemplate;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtils = jwtUtils;
+        this.acceptLegacy = acceptLegacy;
+    }
+
+    /**
+     * Abre una nueva familia de tokens para un login.
+     *
+     * @param user Usuario autenticado.
+     * @return Refresh token firmado.
+     */
+    public String issue(User user) {
+        return issueWithId(user, new ObjectId().toHexString(), new ObjectId().toHexString());
+    }
+
+    /**
+     * Rota un refresh token ya validado (firma y expiración): lo marca como usado y emite el siguiente
+     * de su familia.
+     *
+     * @param refreshToken Token presentado por el cliente.
+     * @param user         Usuario dueño del token.
+     * @return Nuevo refresh token.
+     * @throws InvalidRefreshTokenException si el token fue revocado, ya se usó o no se reconoce.
+     */
+    public String rotate(String refreshToken, User user) {
+        Claims claims = jwtUtils.parseToken(refreshToken).getPayload();
+        String tokenId = claims.getId();
+        String familyId = claims.get(JwtUtils.FAMILY_CLAIM, String.class);
+
+        if (tokenId == null || familyId == null) {
+            if (!acceptLegacy) {
+                throw new InvalidRefreshTokenException("El refresh token es inválido");
+            }
+            return migrateLegacy(refreshToken, claims, user);
+        }
+
+        String nextId = new ObjectId().toHexString();
+        Query unused = new Query(Criteria.where("_id").is(tokenId).and("usedAt").isNull().and("revokedAt").isNull());
+        Update markUsed = new Update().set("usedAt", LocalDateTime.now()).set("replacedBy", nextId);
+        RefreshToken consumed = mongoTemplate.findAndModify(unused, markUsed, FindAndModifyOptions.options(), RefreshToken.class);
+
+        if (consumed == null) {
+            RefreshToken stored = refreshTokenRepository.findById(tokenId).orElse(null);
+            if (stored != null && stored.getRevokedAt() != null) {
+                log.warn("Se presentó un refresh token revocado de la familia {}", familyId);
+                throw new InvalidRefreshTokenException("El refresh token fue revocado");
+            }
+            if (stored != null) {
+                log.warn("Reutilización del refresh token {}; se revoca la familia {}", tokenId, familyId);
+                revokeFamily(familyId);
+                throw new InvalidRefreshTokenException("El refresh token ya fue utilizado; la sesión se ha revocado");
+            }
+            throw new InvalidRefreshTokenException("El refresh token es inválido");
+        }
+        return issueWithId(user, familyId, nextId);
+    }
+
+    /**
+     * Revoca la familia del refresh token indicado (cierre de sesión). Un token ilegible se ignora.
+     *
+     * @param refreshToken Token presentado por el cliente.
+     * @return {@code true} si se revocó una familia.
+     */
+    public boolean revoke(String refreshToken) {
+        String familyId;
+        try {
+            familyId = jwtUtils.parseToken(refreshToken).getPayload().get(JwtUtils.FAMILY_CLAIM, String.class);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Refresh token ilegible al cerrar sesión: {}", e.getMessage());
+            return false;
+        }
+        if (familyId == null) {
+            // Token anterior a la rotación: se revoca la familia a la que se migró, si se migró
+            familyId = refreshTokenRepository.findById(legacyId(refreshToken))
+                    .map(RefreshToken::getFamilyId)
+                    .orElse(null);
+            if (familyId == null) {
+                return false;
+            }
+        }
+        revokeFamily(familyId);
+        return true;
+    }
+
+    /**
+     * Revoca todas las familias de un usuario (por ejemplo, al eliminar su cuenta).
+     *
+     * @param userId ID del usuario.
+     */
+    public void revokeAllForUser(String userId) {
+        long revokedCount = mongoTemplate.updateMulti(
+                new Query(Criteria.where("userId").is(userId).and("revokedAt").isNull()),
+                new Update().set("revokedAt", LocalDateTime.now()),
+                RefreshToken.class).getModifiedCount();
+        log.info("Revocados {} refresh tokens del usuario {}", revokedCount, userId);
+    }
+
+    private String issueWithId(User user, String familyId, String tokenId) {
+        LocalDateTime now = LocalDateTime.now();
+        Duration lifetime = jwtUtils.refreshTokenLifetime();
+        refreshTokenRepository.insert(RefreshToken.builder()
+                .id(tokenId)
+                .familyId(familyId)
+                .userId(user.getId().toHexString())
+                .issuedAt(now)
+                .expiresAt(now.plus(lifetime))
+                .build());
+        return jwtUtils.generateRefreshToken(user, familyId, tokenId);
+    }
+
+    /**
+     * Migra un token sin identificador a una familia nueva. El marcador se inserta con el hash del token
+     * como ID, así que la segunda vez que se presenta la inserción falla y se revoca la familia migrada.
+     */
+    private String migrateLegacy(String refreshToken, Claims claims, User user) {
+        String markerId = legacyId(refreshToken);
+        String familyId = new ObjectId().toHexString();
+        String nextId = new ObjectId().toHexString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = claims.getExpiration() != null
+                ? LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault())
+                : now.plus(jwtUtils.refreshTokenLifetime());
+        try {
+            refreshTokenRepository.insert(RefreshToken.builder()
+                    .id(markerId)
+                    .familyId(familyId)
+                    .userId(user.getId().toHexString())
+                    .issuedAt(now)
+                    .expiresAt(expiresAt)
+                    .usedAt(now)
+                    .replacedBy(nextId)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            log.warn("Reutilización de un refresh token sin identificador del usuario {}", user.getId());
+            refreshTokenRepository.findById(markerId).map(RefreshToken::getFamilyId).ifPresent(this::revokeFamily);
+            throw new InvalidRefreshTokenException("El refresh token ya fue utilizado; la sesión se ha revocado");
+        }
+        log.info("Refresh token sin identificador del usuario {} migrado a la familia {}", user.getId(), familyId);
+        return issueWithId(user, familyId, nextId);
+    }
+
+    private static String legacyId(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return LEGACY_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private void revokeFamily(String familyId) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("familyId").is(familyId).and("revokedAt").isNull()),
+                new Update().set("revokedAt", LocalDateTime.now()),
+                RefreshToken.class);
+        log.info("Familia de refresh tokens {} revocada", familyId);
+    }
+}
@@ -14,6 +14,7 @@ import co.edu.uniquindio.proyecto.service.interfaces.ImageService;
 import co.edu.uniquindio.proyecto.service.interfaces.ReportService;
 import co.edu.uniquindio.proyecto.service.interfaces.ReportStatusHistoryService;
 import co.edu.uniquindio.proyecto.service.mapper.ReportMapper;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
 import co.edu.uniquindio.proyecto.validator.ReportStatusChangeRequestValidator;
 import lombok.RequiredArgsConstructor;
@@ -240,8 +241,8 @@ public class ReportServiceImpl implements ReportService {
         log.info("Obteniendo todas las imágenes del reporte con ID: {}", reportId);
         ObjectId objectId = parseObjectId(reportId);
 
-        // Validar la existencia del reporte antes de proceder
-        findReportById(parseObjectId(reportId));
+        // Validar la existencia del reporte antes de proceder; ImageService reutiliza la misma lectura
+        findReportById(objectId);
 
         List<ImageResponse> images = imageService.getAllImagesByReport(objectId);
         log.info("Se encontraron {} imágenes para el reporte {}", images.size(), reportId);
@@ -444,6 +445,7 @@ public class ReportServiceImpl implements ReportService {
 
     /**
      * Busca un reporte por su ID. Lanza una excepción si el reporte no se encuentra.
+     * Dentro de una petición reutiliza el reporte si ya se cargó (ver {@link RequestIdentityMap}).
      *
      * @param reportId ID del reporte a buscar.
      * @return El reporte encontrado.
@@ -452,7 +454,7 @@ public class ReportServiceImpl implements ReportService {
     private Report findReportById(ObjectId reportId) {
         log.info("Buscando reporte con ID: {}", reportId);
 
-        return reportRepository.findById(reportId)
+        return RequestIdentityMap.findById(Report.class, reportId, reportRepository::findById)
                 .orElseThrow(() -> {
                     log.warn("Reporte no encontrado con ID: {}", reportId);
                     return new ReportNotFoundException(reportId.toString());
@@ -3,7 +3,9 @@ package co.edu.uniquindio.proyecto.service.implementations;
 import co.edu.uniquindio.proyecto.dto.report.PaginatedHistoryResponse;
 import co.edu.uniquindio.proyecto.dto.report.ReportStatusHistoryResponse;
 import co.edu.uniquindio.proyecto.entity.report.ReportStatusHistory;
+import co.edu.uniquindio.proyecto.entity.report.Report;
 import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exception.report.HistoryNotFoundException;
 import co.edu.uniquindio.proyecto.exception.report.ReportNotFoundException;
 import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
@@ -12,6 +14,7 @@ import co.edu.uniquindio.proyecto.repository.ReportStatusHistoryRepository;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.ReportStatusHistoryService;
 import co.edu.uniquindio.proyecto.service.mapper.ReportStatusHistoryMapper;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
@@ -92,7 +95,7 @@ public class ReportStatusHistoryServiceImpl implements ReportStatusHistoryServic
     @Override
     public PaginatedHistoryResponse getHistoryByReportId(String reportId, int page, int size) {
         log.info("Consultando si existe el reporte {} ....", reportId);
-        reportRepository.findById(new ObjectId(reportId)).orElseThrow(() -> new ReportNotFoundException(reportId));
+        RequestIdentityMap.findById(Report.class, new ObjectId(reportId), reportRepository::findById).orElseThrow(() -> new ReportNotFoundException(reportId));
         log.info("Solicitando historial completo para el reporte {}. Página: {}, Tamaño: {}", reportId, page, size);
         Pageable pageable = PageRequest.of(page - 1, size);
         Page<ReportStatusHistory> result =
@@ -111,7 +114,7 @@ public class ReportStatusHistoryServiceImpl implements ReportStatusHistoryServic
     @Override
     public PaginatedHistoryResponse getHistoryByUserId(String userId, int page, int size) {
         log.info("Consultando si existe el usuario con id: {} ...", userId);
-        userRepository.findById(new ObjectId(userId)).orElseThrow(() -> new UserNotFoundException(userId));
+        RequestIdentityMap.findById(User.class, new ObjectId(userId), userRepository::findById).orElseThrow(() -> new UserNotFoundException(userId));
         log.info("Obteniendo historial de cambios realizados por el usuario {}. Página: {}, Tamaño: {}", userId, page, size);
         Pageable pageable = PageRequest.of(page - 1, size);
         Page<ReportStatusHistory> result =
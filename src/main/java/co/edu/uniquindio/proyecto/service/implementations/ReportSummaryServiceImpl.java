@@ -188,7 +188,7 @@ public class ReportSummaryServiceImpl implements ReportSummaryService {
     private static final DateTimeFormatter DATE_FORMATTER =
         DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm a", Locale.ENGLISH);
 
-    private String buildHtmlTable(PaginatedReportSummaryResponse paginated) {
+    String buildHtmlTable(PaginatedReportSummaryResponse paginated) {
         String template = loadHtmlTemplate();
         StringBuilder rowsBuilder = new StringBuilder();
 
@@ -234,8 +234,9 @@ public class ReportSummaryServiceImpl implements ReportSummaryService {
      *
      * @param input Texto a escapar.
      * @return Cadena escapada lista para ser insertada en un documento HTML.
+     * <p>Visible en el paquete, como {@link #buildHtmlTable}, para medirlo con JMH.</p>
      */
-    private String escapeHtml(String input) {
+    String escapeHtml(String input) {
         if (input == null) return "";
         return input.replace("&", "&amp;")
                 .replace("<", "&lt;")
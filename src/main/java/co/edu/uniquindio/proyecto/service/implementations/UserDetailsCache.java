@@ -0,0 +1,135 @@
+package co.edu.uniquindio.proyecto.service.implementations;
+
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché de corta duración de usuarios para la autenticación, indexada por correo y por ID.
+ * <p>
+ * En un login, {@code AuthServiceImpl} y el {@code DaoAuthenticationProvider} cargan el mismo usuario por
+ * correo, y cada refresh del access token lo buscaba por ID. Con esta caché un login hace como máximo una
+ * lectura a Mongo y los refresh consecutivos ninguna. Las operaciones que cambian datos relevantes para
+ * la autenticación (actualizar perfil, cambiar o restablecer contraseña, eliminar y activar cuenta)
+ * invalidan la entrada. La invalidación es local a cada nodo, por lo que el TTL acota cuánto puede
+ * durar un dato obsoleto en un despliegue con varias instancias.
+ * </p>
+ *
+ * <p>Las entidades devueltas se comparten entre peticiones y deben tratarse como de solo lectura; quien
+ * necesite modificarlas debe leerlas del repositorio. Con {@code security.user-cache.ttl-ms=0} la caché se
+ * desactiva y cada consulta va directamente a Mongo.</p>
+ */
+@Service
+@Slf4j
+public class UserDetailsCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> byEmail;
+    private final Cache<String, User> byId;
+
+    public UserDetailsCache(UserRepository userRepository,
+                            @Value("${security.user-cache.ttl-ms:60000}") long ttlMs,
+                            @Value("${security.user-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        if (ttlMs > 0) {
+            this.byEmail = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(ttlMs)).maximumSize(maxSize).build();
+            this.byId = Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(ttlMs)).maximumSize(maxSize).build();
+        } else {
+            this.byEmail = null;
+            this.byId = null;
+        }
+    }
+
+    /**
+     * Busca un usuario por correo, primero en caché y luego en Mongo.
+     *
+     * @param email Correo del usuario.
+     * @return Usuario encontrado, si existe.
+     */
+    public Optional<User> findByEmail(String email) {
+        if (byEmail != null) {
+            User cached = byEmail.getIfPresent(email);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    /**
+     * Busca un usuario por ID, primero en caché y luego en Mongo.
+     *
+     * @param id ID del usuario.
+     * @return Usuario encontrado, si existe.
+     */
+    public Optional<User> findById(ObjectId id) {
+        if (byId != null) {
+            User cached = byId.getIfPresent(id.toHexString());
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    /**
+     * Guarda o reemplaza un usuario en ambos índices.
+     *
+     * @param user Usuario recién leído o guardado.
+     */
+    public void put(User user) {
+        if (byId == null || user.getId() == null) {
+            return;
+        }
+        byId.put(user.getId().toHexString(), user);
+        if (user.getEmail() != null) {
+            byEmail.put(user.getEmail(), user);
+        }
+    }
+
+    /**
+     * Invalida la entrada de un usuario por ID y por cada uno de los correos indicados (por ejemplo, el
+     * correo anterior y el nuevo tras una actualización de perfil).
+     *
+     * @param id     ID del usuario.
+     * @param emails Correos asociados al usuario.
+     */
+    public void evict(String id, String... emails) {
+        if (byId == null) {
+            return;
+        }
+        User removed = byId.asMap().remove(id);
+        if (removed != null && removed.getEmail() != null) {
+            byEmail.invalidate(removed.getEmail());
+        }
+        for (String email : emails) {
+            if (email != null) {
+                byEmail.invalidate(email);
+            }
+        }
+        log.debug("Caché de usuario invalidada para {}", id);
+    }
+
+    /**
+     * Invalida la entrada de un usuario por su ID y su correo actual.
+     *
+     * @param user Usuario modificado.
+     */
+    public void evict(User user) {
+        if (user.getId() != null) {
+            evict(user.getId().toHexString(), user.getEmail());
+        }
+    }
+}
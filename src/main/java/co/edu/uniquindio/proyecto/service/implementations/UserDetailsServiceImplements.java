@@ -1,22 +1,32 @@
 package co.edu.uniquindio.proyecto.service.implementations;
 
+import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 /**
  * Implementación de {@link UserDetailsService} para cargar los detalles de usuario a partir del correo electrónico.
+ * Las consultas pasan por {@link UserDetailsCache}.
+ * <p>
+ * También implementa {@link UserDetailsPasswordService}: cuando el {@code PasswordEncoder} indica que un hash
+ * almacenado usa un coste BCrypt desactualizado, Spring Security invoca {@link #updatePassword} tras un login
+ * correcto para guardar el hash recalculado.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class UserDetailsServiceImplements implements UserDetailsService {
+public class UserDetailsServiceImplements implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Carga los detalles del usuario a partir del correo electrónico.
@@ -28,8 +38,28 @@ public class UserDetailsServiceImplements implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String email) {
         log.debug("Cargando detalles del usuario para el email: {}", email);
-        return userRepository.findByEmail(email)
+        return userDetailsCache.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException(email));
     }
-}
 
+    /**
+     * Guarda el hash recalculado de la contraseña de un usuario que acaba de autenticarse.
+     *
+     * @param user        Usuario autenticado.
+     * @param newPassword Nuevo hash de la contraseña.
+     * @return Usuario con el hash actualizado.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (!(user instanceof User entity)) {
+            return user;
+        }
+        entity.setPassword(newPassword);
+        log.debug("Actualizando hash de contraseña del usuario {}", entity.getEmail());
+        User saved = userRepository.save(entity);
+        userDetailsCache.put(saved);
+        // La instancia viene de la caché de usuarios, no del mapa de la petición: se descarta la que tenga
+        RequestIdentityMap.evict(User.class, saved.getId());
+        return saved;
+    }
+}
@@ -5,6 +5,7 @@ import co.edu.uniquindio.proyecto.dto.user.*;
 import co.edu.uniquindio.proyecto.entity.auth.VerificationCodeType;
 import co.edu.uniquindio.proyecto.entity.user.AccountStatus;
 import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
 import co.edu.uniquindio.proyecto.util.SecurityUtils;
 import co.edu.uniquindio.proyecto.exception.user.EmailAlreadyExistsException;
 import co.edu.uniquindio.proyecto.exception.user.InvalidPasswordException;
@@ -14,6 +15,7 @@ import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.interfaces.UserService;
 import co.edu.uniquindio.proyecto.service.interfaces.VerificationService;
 import co.edu.uniquindio.proyecto.service.mapper.UserMapper;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -25,6 +27,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 
 /**
  * Servicio que gestiona operaciones relacionadas con usuarios, como registro,
@@ -40,6 +44,9 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final VerificationService verificationService;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final AccessTokenDenylist accessTokenDenylist;
 
     /**
      * Recupera una lista paginada de usuarios.
@@ -80,7 +87,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponse getCurrentUser() {
         String userId = securityUtils.getCurrentUserId();
-        User user = userRepository.findById(userId)
+        User user = RequestIdentityMap.findById(User.class, userId, userRepository::findById)
                 .orElseThrow(() -> {
                     log.info("Usuario no encontrado id: {}", userId);
                     return new UserNotFoundException(userId);
@@ -107,6 +114,7 @@ public class UserServiceImpl implements UserService {
 
         log.info("Registrando usuario: {}", userRegistration.email());
         User user = userMapper.toUserEntity(userRegistration);
+        user.setPassword(passwordEncoder.encode(userRegistration.password()));
         try {
             User savedUser = userRepository.save(user);
             log.info("Usuario registrado exitosamente: {}", savedUser.getEmail());
@@ -129,7 +137,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponse getUser(String userId) {
         log.info("Consultando usuario con ID: {}", userId);
-        User user = userRepository.findById(userId)
+        User user = RequestIdentityMap.findById(User.class, userId, userRepository::findById)
                 .orElseThrow(() -> {
                     log.info("Usuario no encontrado id: {}", userId);
                     return new UserNotFoundException(userId);
@@ -151,7 +159,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponse updateUser(String id, UserUpdateRequest userUpdateRequest) {
         log.info("Consultando usuario con ID: {}", id);
-        User user = userRepository.findById(id)
+        User user = RequestIdentityMap.findById(User.class, id, userRepository::findById)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
         log.info("Verificando disponibilidad del correo: {}", userUpdateRequest.email());
@@ -162,8 +170,10 @@ public class UserServiceImpl implements UserService {
         }
 
         log.info("Actualizando datos del usuario con correo: {}", userUpdateRequest.email());
+        String previousEmail = user.getEmail();
         userMapper.updateUserFromRequest(userUpdateRequest, user);
         User updatedUser = userRepository.save(user);
+        userDetailsCache.evict(id, previousEmail, updatedUser.getEmail());
         log.info("Usuario actualizado exitosamente: {}", updatedUser.getEmail());
         return userMapper.toUserResponse(updatedUser);
     }
@@ -181,7 +191,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public SuccessResponse updateUserPassword(String id, PasswordUpdate passwordUpdate) {
         log.info("Consultando usuario con ID: {}", id);
-        User user = userRepository.findById(id)
+        User user = RequestIdentityMap.findById(User.class, id, userRepository::findById)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
         if (!passwordEncoder.matches(passwordUpdate.currentPassword(), user.getPassword())) {
@@ -192,6 +202,7 @@ public class UserServiceImpl implements UserService {
         log.info("Actualizando contraseña para el usuario: {}", user.getEmail());
         user.setPassword(passwordEncoder.encode(passwordUpdate.newPassword()));
         userRepository.save(user);
+        userDetailsCache.evict(id, user.getEmail());
         log.info("Contraseña actualizada exitosamente para el usuario: {}", user.getEmail());
         return new SuccessResponse("Contraseña actualizada exitosamente");
     }
@@ -207,10 +218,14 @@ public class UserServiceImpl implements UserService {
     @Override
     public SuccessResponse deleteUser(String id) {
         log.info("Eliminando usuario con ID: {}", id);
-        User user = userRepository.findById(id)
+        User user = RequestIdentityMap.findById(User.class, id, userRepository::findById)
                 .orElseThrow(() -> new UserNotFoundException(id));
         user.setAccountStatus(AccountStatus.DELETED);
         userRepository.save(user);
+        userDetailsCache.evict(id, user.getEmail());
+        // Las sesiones abiertas dejan de valer de inmediato, sin esperar a que expiren los tokens
+        accessTokenDenylist.revokeUser(id, Instant.now());
+        refreshTokenService.revokeAllForUser(id);
         log.info("Usuario con ID: {} eliminado exitosamente", id);
         return new SuccessResponse("Usuario eliminado exitosamente");
     }
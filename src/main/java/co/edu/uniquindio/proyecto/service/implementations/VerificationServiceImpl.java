@@ -12,9 +12,11 @@ import co.edu.uniquindio.proyecto.repository.VerificationCodeRepository;
 import co.edu.uniquindio.proyecto.service.EmailService;
 import co.edu.uniquindio.proyecto.service.interfaces.VerificationService;
 import co.edu.uniquindio.proyecto.service.mapper.VerificationCodeMapper;
+import co.edu.uniquindio.proyecto.util.VerificationCodeHasher;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +27,10 @@ import java.time.LocalDateTime;
 /**
  * Servicio responsable de generar, enviar, validar y procesar códigos de verificación.
  * Se utiliza para activación de cuentas y recuperación de contraseñas.
+ * <p>
+ * Los códigos se guardan como hash ligado al correo ({@link VerificationCodeHasher}) y se validan con una
+ * única búsqueda por {@code (email, codeHash)}. Los vencidos los elimina Mongo mediante el índice TTL.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -36,8 +42,12 @@ public class VerificationServiceImpl implements VerificationService {
     private final UserRepository userRepository;
     private final VerificationCodeMapper verificationCodeMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final VerificationCodeHasher codeHasher;
 
     private static final int EXPIRATION_MINUTES = 15;
+    private static final int MAX_GENERATION_ATTEMPTS = 3;
+    private static final SecureRandom RANDOM = new SecureRandom();
 
     /**
      * Genera un código de verificación y lo envía por correo electrónico al usuario,
@@ -48,11 +58,24 @@ public class VerificationServiceImpl implements VerificationService {
      */
     @Override
     public void generateAndSendCode(User user, VerificationCodeType type) {
-        String code = generateRandomCode();
-        VerificationCode verificationCode = verificationCodeMapper.toVerificationCode(code, user, EXPIRATION_MINUTES);
-        verificationCode.setVerificationCodeType(type);
-
-        codeRepository.save(verificationCode);
+        String email = VerificationCodeHasher.normalizeEmail(user.getEmail());
+        String code = null;
+        for (int attempt = 1; code == null; attempt++) {
+            String candidate = generateRandomCode();
+            VerificationCode verificationCode = verificationCodeMapper.toVerificationCode(
+                    codeHasher.hash(email, candidate), user, EXPIRATION_MINUTES);
+            verificationCode.setEmail(email);
+            verificationCode.setVerificationCodeType(type);
+            try {
+                codeRepository.save(verificationCode);
+                code = candidate;
+            } catch (DuplicateKeyException e) {
+                // El correo ya tiene un código pendiente con el mismo valor; se genera otro.
+                if (attempt >= MAX_GENERATION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
         log.info("Código de verificación generado y guardado para el usuario: {} (tipo: {})", user.getEmail(), type);
 
         switch (type) {
@@ -68,13 +91,14 @@ public class VerificationServiceImpl implements VerificationService {
     /**
      * Valida el código de activación y activa la cuenta del usuario si es válido.
      *
+     * @param email el correo de la cuenta.
      * @param code el código recibido por el usuario.
      * @throws InvalidCodeException si el código no existe.
      * @throws CodeExpiredException si el código ha expirado.
      */
     @Override
-    public void validateCodeActivation(String code) {
-        VerificationCode verificationCode = validateCode(code);
+    public void validateCodeActivation(String email, String code) {
+        VerificationCode verificationCode = validateCode(email, code);
         validateUserAccount(verificationCode);
     }
 
@@ -89,6 +113,7 @@ public class VerificationServiceImpl implements VerificationService {
     public void resendCode(String email, VerificationCodeType type) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException(email));
+        codeRepository.deleteAllByUserId(user.getId());
         generateAndSendCode(user, type);
     }
 
@@ -114,6 +139,7 @@ public class VerificationServiceImpl implements VerificationService {
     /**
      * Restablece la contraseña de un usuario si el código de recuperación es válido.
      *
+     * @param email el correo de la cuenta.
      * @param code el código recibido por correo.
      * @param newPassword la nueva contraseña del usuario.
      * @throws InvalidCodeException si el código no es de tipo PASSWORD_RESET.
@@ -121,20 +147,21 @@ public class VerificationServiceImpl implements VerificationService {
      */
     @Transactional
     @Override
-    public void resetPasswordWithCode(String code, String newPassword) {
+    public void resetPasswordWithCode(String email, String code, String newPassword) {
         log.info("Procesando restablecimiento de contraseña con código");
 
-        VerificationCode verificationCode = validateCode(code);
+        VerificationCode verificationCode = validateCode(email, code);
         if (verificationCode.getVerificationCodeType() != VerificationCodeType.PASSWORD_RESET) {
-            log.warn("Código no válido para recuperación de contraseña: {}", code);
+            log.warn("Código no válido para recuperación de contraseña de: {}", email);
             throw new InvalidCodeException("El código no es válido para recuperar contraseña");
         }
 
-        User user = userRepository.findById(verificationCode.getUserId())
+        User user = RequestIdentityMap.findById(User.class, verificationCode.getUserId(), userRepository::findById)
                 .orElseThrow(() -> new UserNotFoundException(verificationCode.getUserId().toString()));
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsCache.evict(user);
         codeRepository.delete(verificationCode);
 
         log.info("Contraseña restablecida y código eliminado para el usuario: {}", user.getEmail());
@@ -146,34 +173,42 @@ public class VerificationServiceImpl implements VerificationService {
      * @return código de verificación generado.
      */
     private String generateRandomCode() {
-        SecureRandom random = new SecureRandom();
-        return String.format("%06d", random.nextInt(999999));
+        return String.format("%06d", RANDOM.nextInt(1_000_000));
     }
 
     /**
-     * Valida que el código exista y no haya expirado.
+     * Valida que el código exista para el correo y no haya expirado.
+     * <p>
+     * El índice TTL elimina los códigos vencidos con hasta un minuto de retraso, por lo que la
+     * expiración se comprueba igualmente.
+     * </p>
      *
+     * @param email el correo de la cuenta.
      * @param code el código a validar.
      * @return la entidad de código validado.
      * @throws InvalidCodeException si no se encuentra el código.
      * @throws CodeExpiredException si ha expirado.
      */
-    private VerificationCode validateCode(String code) {
-        log.info("Validando código de verificación: {}", code);
+    private VerificationCode validateCode(String email, String code) {
+        log.info("Validando código de verificación de: {}", email);
+        if (email == null || code == null) {
+            throw new InvalidCodeException("Código inválido");
+        }
 
-        VerificationCode verificationCode = codeRepository.findByCode(code)
+        String normalized = VerificationCodeHasher.normalizeEmail(email);
+        VerificationCode verificationCode = codeRepository.findByEmailAndCodeHash(normalized, codeHasher.hash(normalized, code))
                 .orElseThrow(() -> {
-                    log.warn("Código inválido: {}", code);
+                    log.warn("Código inválido para: {}", normalized);
                     return new InvalidCodeException("Código inválido");
                 });
 
         if (LocalDateTime.now().isAfter(verificationCode.getExpiresAt())) {
-            log.warn("Código expirado: {}", code);
+            log.warn("Código expirado para: {}", normalized);
             codeRepository.delete(verificationCode);
             throw new CodeExpiredException("El código ha expirado");
         }
 
-        log.debug("Código válido: {} con expiración: {}", code, verificationCode.getExpiresAt());
+        log.debug("Código válido para {} con expiración: {}", normalized, verificationCode.getExpiresAt());
         return verificationCode;
     }
 
@@ -184,7 +219,7 @@ public class VerificationServiceImpl implements VerificationService {
      * @throws UserNotFoundException si no se encuentra el usuario.
      */
     private void validateUserAccount(VerificationCode verificationCode) {
-        User user = userRepository.findById(verificationCode.getUserId())
+        User user = RequestIdentityMap.findById(User.class, verificationCode.getUserId(), userRepository::findById)
                 .orElseThrow(() -> {
                     log.warn("Usuario no encontrado con ID: {}", verificationCode.getUserId());
                     return new UserNotFoundException(verificationCode.getUserId().toString());
@@ -192,6 +227,7 @@ public class VerificationServiceImpl implements VerificationService {
 
         user.setAccountStatus(AccountStatus.ACTIVATED);
         userRepository.save(user);
+        userDetailsCache.evict(user);
         codeRepository.deleteAllByUserId(user.getId());
 
         log.info("Cuenta activada y código eliminado para usuario: {}", user.getEmail());
@@ -1,9 +1,12 @@
 package co.edu.uniquindio.proyecto.service.interfaces;
 
 import co.edu.uniquindio.proyecto.dto.notification.NotificationCreateDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationInboxResponse;
 import co.edu.uniquindio.proyecto.entity.comment.Comment;
 import co.edu.uniquindio.proyecto.entity.report.Report;
 
+import java.util.List;
+
 /**
  * Servicio para enviar notificaciones a los usuarios.
  */
@@ -16,4 +19,56 @@ public interface NotificationService {
      */
     void notifyUser(NotificationCreateDTO createDTO);
 
+    /**
+     * Guarda la notificación en la bandeja del usuario sin enviarla en tiempo real, para los eventos que
+     * se entregarán agrupados en un resumen.
+     *
+     * @param createDTO información de la notificación a guardar.
+     */
+    void store(NotificationCreateDTO createDTO);
+
+    /**
+     * Envía una notificación en tiempo real a las conexiones abiertas del usuario sin guardarla en su
+     * bandeja (por ejemplo, un resumen de notificaciones ya guardadas).
+     *
+     * @param createDTO información de la notificación a enviar.
+     * @return {@code true} si alguna conexión la recibió.
+     */
+    boolean push(NotificationCreateDTO createDTO);
+
+    /**
+     * Obtiene una página de la bandeja del usuario, paginada por cursor.
+     *
+     * @param userId ID del usuario.
+     * @param before Cursor devuelto por la página anterior, o {@code null} para la primera página.
+     * @param size   Tamaño de página.
+     * @return Página de notificaciones y cursor de la siguiente.
+     */
+    NotificationInboxResponse getInbox(String userId, String before, int size);
+
+    /**
+     * Marca como leídas las notificaciones indicadas que pertenezcan al usuario.
+     *
+     * @param userId ID del usuario.
+     * @param ids    IDs de las notificaciones.
+     * @return Número de no leídas restantes.
+     */
+    long markAsRead(String userId, List<String> ids);
+
+    /**
+     * Marca como leídas todas las notificaciones del usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Número de no leídas restantes.
+     */
+    long markAllAsRead(String userId);
+
+    /**
+     * Número de notificaciones no leídas del usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Cantidad de no leídas.
+     */
+    long getUnreadCount(String userId);
+
 }
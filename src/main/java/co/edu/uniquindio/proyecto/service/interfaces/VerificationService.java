@@ -19,9 +19,10 @@ public interface VerificationService {
     /**
      * Valida un código de activación de cuenta.
      *
-     * @param code código a validar.
+     * @param email correo de la cuenta.
+     * @param code  código a validar.
      */
-    void validateCodeActivation(String code);
+    void validateCodeActivation(String email, String code);
 
     /**
      * Reenvía un código de verificación al usuario.
@@ -41,9 +42,10 @@ public interface VerificationService {
     /**
      * Restablece la contraseña con un código válido.
      *
+     * @param email       correo de la cuenta.
      * @param code        código de recuperación.
      * @param newPassword nueva contraseña.
      */
-    void resetPasswordWithCode(String code, String newPassword);
+    void resetPasswordWithCode(String email, String code, String newPassword);
 }
 
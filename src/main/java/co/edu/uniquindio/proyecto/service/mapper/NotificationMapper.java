@@ -30,6 +30,7 @@ public interface NotificationMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "read", constant = "false")
+    @Mapping(target = "readAt", ignore = true)
     @Mapping(target = "delivered", constant = "false")
     @Mapping(target = "createdAt", expression = "java(LocalDateTime.now())")
     Notification fromCreateDTO(NotificationCreateDTO dto);
@@ -38,8 +38,7 @@ public interface UserMapper {
 
     // Mapeo desde UserRegistration (nuevo)
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "password", expression = "java( new org.springframework.security.crypto.bcrypt." +
-            "BCryptPasswordEncoder().encode(request.password()) )")
+    @Mapping(target = "password", ignore = true) // Se codifica en el servicio con el PasswordEncoder compartido
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "rol", expression = "java(Rol.USER)")
     @Mapping(target = "accountStatus", expression = "java(AccountStatus.REGISTERED)")
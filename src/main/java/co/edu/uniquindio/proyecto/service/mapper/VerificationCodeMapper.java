@@ -16,10 +16,10 @@ import java.time.LocalDate;
         unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface VerificationCodeMapper {
 
-    @Mapping(target = "code", source = "code")
+    @Mapping(target = "codeHash", source = "codeHash")
     @Mapping(target = "userId", source = "user.id")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "expiresAt", expression = "java(java.time.LocalDateTime.now().plusMinutes(expirationMinutes))")
-    VerificationCode toVerificationCode(String code, User user, int expirationMinutes);
+    VerificationCode toVerificationCode(String codeHash, User user, int expirationMinutes);
 
 }
\ No newline at end of file
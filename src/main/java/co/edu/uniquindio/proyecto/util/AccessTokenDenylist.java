@@ -0,0 +1,133 @@
+package co.edu.uniquindio.proyecto.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revocación de access tokens consultada en cada petición autenticada.
+ * <p>
+ * Admite dos tipos de entrada: un token concreto por su {@code jti} (cierre de sesión) y todos los tokens
+ * de un usuario emitidos hasta un instante (eliminación de la cuenta). Ambas se guardan en mapas en
+ * memoria de {@code String} a segundos epoch, de modo que {@link #isRevoked(Jwt)} son como mucho dos
+ * búsquedas en un {@link ConcurrentHashMap}, sin E/S ni creación de objetos; si no hay revocaciones
+ * vigentes ni siquiera se consultan los mapas.
+ * </p>
+ *
+ * <p>Cada entrada caduca cuando ya no puede quedar ningún token afectado sin expirar, por lo que el tamaño
+ * está acotado por las revocaciones de la última hora. Las revocaciones se replican entre nodos mediante
+ * un {@link DenylistChannel}.</p>
+ */
+@Component
+@Slf4j
+public class AccessTokenDenylist {
+
+    private static final String USER_ID_CLAIM = "userId";
+
+    /** jti → expiración del token (segundos epoch). */
+    private final ConcurrentHashMap<String, Long> tokens = new ConcurrentHashMap<>();
+    /** userId → instante de corte (segundos epoch); se revocan los tokens con {@code iat <= corte}. */
+    private final ConcurrentHashMap<String, Long> users = new ConcurrentHashMap<>();
+    /** userId → segundos epoch a partir de los cuales la entrada de usuario puede descartarse. */
+    private final ConcurrentHashMap<String, Long> userExpiry = new ConcurrentHashMap<>();
+
+    private final DenylistChannel channel;
+    private final long accessTokenLifetimeSeconds;
+
+    public AccessTokenDenylist(DenylistChannel channel, JwtUtils jwtUtils) {
+        this.channel = channel;
+        this.accessTokenLifetimeSeconds = jwtUtils.accessTokenLifetime().toSeconds();
+        channel.subscribe(this::apply);
+    }
+
+    /**
+     * Revoca un access token concreto.
+     *
+     * @param jti       Identificador del token.
+     * @param expiresAt Expiración del token.
+     */
+    public void revokeToken(String jti, Instant expiresAt) {
+        long exp = expiresAt.getEpochSecond();
+        DenylistEntry entry = new DenylistEntry(DenylistEntry.Type.TOKEN, jti, exp, exp);
+        apply(entry);
+        channel.publish(entry);
+    }
+
+    /**
+     * Revoca todos los access tokens de un usuario emitidos hasta el instante indicado.
+     *
+     * @param userId       ID del usuario.
+     * @param issuedBefore Instante de corte (inclusive).
+     */
+    public void revokeUser(String userId, Instant issuedBefore) {
+        long cutoff = issuedBefore.getEpochSecond();
+        DenylistEntry entry = new DenylistEntry(DenylistEntry.Type.USER, userId, cutoff, cutoff + accessTokenLifetimeSeconds);
+        apply(entry);
+        channel.publish(entry);
+    }
+
+    /**
+     * Indica si un token decodificado está revocado.
+     *
+     * @param jwt Token ya verificado.
+     * @return {@code true} si debe rechazarse.
+     */
+    public boolean isRevoked(Jwt jwt) {
+        if (!tokens.isEmpty()) {
+            String jti = jwt.getId();
+            if (jti != null && tokens.containsKey(jti)) {
+                return true;
+            }
+        }
+        if (!users.isEmpty()) {
+            Object userId = jwt.getClaims().get(USER_ID_CLAIM);
+            Instant issuedAt = jwt.getIssuedAt();
+            if (userId instanceof String id && issuedAt != null) {
+                Long cutoff = users.get(id);
+                return cutoff != null && issuedAt.getEpochSecond() <= cutoff;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Descarta las entradas que ya no pueden afectar a ningún token vigente.
+     */
+    @Scheduled(fixedDelayString = "${security.denylist.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        tokens.values().removeIf(exp -> exp < now);
+        userExpiry.forEach((userId, expiry) -> {
+            if (expiry < now) {
+                userExpiry.remove(userId, expiry);
+                users.remove(userId);
+            }
+        });
+    }
+
+    /**
+     * Número de entradas vigentes (tokens y usuarios).
+     *
+     * @return Tamaño de la lista.
+     */
+    public int size() {
+        return tokens.size() + users.size();
+    }
+
+    private void apply(DenylistEntry entry) {
+        if (entry.expiresAt() < Instant.now().getEpochSecond()) {
+            return;
+        }
+        switch (entry.type()) {
+            case TOKEN -> tokens.put(entry.subject(), entry.expiresAt());
+            case USER -> {
+                users.merge(entry.subject(), entry.epochSeconds(), Math::max);
+                userExpiry.merge(entry.subject(), entry.expiresAt(), Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.exception.global.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PasswordEncoder} BCrypt que ejecuta el hashing en un pool dedicado y acotado.
+ * <p>
+ * BCrypt es deliberadamente costoso en CPU. Ejecutarlo en los hilos de Tomcat permite que una ráfaga de
+ * logins acapare todo el pool de peticiones. Aquí como máximo {@code threads} hashes corren a la vez,
+ * hasta {@code queueCapacity} esperan turno y el resto se rechaza de inmediato con
+ * {@link ServiceUnavailableException} (HTTP 503), en lugar de encolar peticiones sin límite.
+ * </p>
+ *
+ * <p>El coste se fija por configuración o, si no se indica, se calibra al arrancar para que un hash tarde
+ * cerca del objetivo configurado. {@link #upgradeEncoding(String)} indica a Spring Security que rehaga
+ * el hash al iniciar sesión cuando el coste almacenado es menor que el vigente (o distinto, si el
+ * coste se fijó explícitamente).</p>
+ *
+ * <p>La duración de cada hash se publica en el {@link MeterRegistry} como {@code security.password.hash}
+ * (etiqueta {@code operation=encode|match}, con histograma de percentiles) y las tareas en espera como
+ * {@code security.password.hash.queued}.</p>
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final int cost;
+    private final boolean explicitCost;
+
+    private final Timer encodeLatency;
+    private final Timer matchLatency;
+
+    /**
+     * @param configuredCost Coste BCrypt; {@code 0} o negativo para calibrarlo al arrancar.
+     * @param targetMs       Tiempo objetivo por hash usado en la calibración.
+     * @param threads        Hilos dedicados al hashing.
+     * @param queueCapacity  Peticiones que pueden esperar turno antes de rechazar.
+     * @param timeout        Espera máxima de quien solicita el hash.
+     * @param meterRegistry  Registro donde se publican la latencia y la cola de hashing.
+     */
+    public BoundedPasswordEncoder(int configuredCost, long targetMs, int threads, int queueCapacity, Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.explicitCost = configuredCost > 0;
+        this.cost = explicitCost ? configuredCost : calibrate(targetMs);
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.timeout = timeout;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeLatency = hashTimer("encode", meterRegistry);
+        this.matchLatency = hashTimer("match", meterRegistry);
+        Gauge.builder("security.password.hash.queued", executor, e -> e.getQueue().size())
+                .description("Hashes de contraseña en espera de un hilo")
+                .register(meterRegistry);
+        log.info("Hashing de contraseñas: BCrypt coste {} ({}), {} hilos, cola de {}",
+                cost, explicitCost ? "configurado" : "calibrado", threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeLatency);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchLatency);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = costOf(encodedPassword);
+        if (stored < 0) {
+            return false;
+        }
+        return explicitCost ? stored != cost : stored < cost;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("security.password.hash")
+                .description("Duración de un hash BCrypt en el pool de hashing")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private <T> T submit(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Pool de hashing saturado ({} en cola); se rechaza la petición", executor.getQueue().size());
+            throw new ServiceUnavailableException("El servicio de autenticación está saturado, intenta de nuevo en unos segundos");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Tiempo de espera agotado al verificar la contraseña");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Hashing de contraseña interrumpido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Busca el mayor coste cuyo hash no supere el tiempo objetivo. Cada punto de coste duplica el tiempo.
+     */
+    private static int calibrate(long targetMs) {
+        int chosen = MIN_COST;
+        for (int candidate = MIN_COST; candidate <= MAX_COST; candidate++) {
+            BCryptPasswordEncoder probe = new BCryptPasswordEncoder(candidate);
+            long start = System.nanoTime();
+            probe.encode("calibracion");
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = candidate;
+            if (elapsedMs * 2 > targetMs) {
+                break;
+            }
+        }
+        return chosen;
+    }
+
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
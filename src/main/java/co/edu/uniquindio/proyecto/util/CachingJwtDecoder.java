@@ -0,0 +1,152 @@
+package co.edu.uniquindio.proyecto.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtDecoder} que recuerda los tokens ya verificados.
+ * <p>
+ * Un mismo access token se presenta en cada petición durante su hora de vida, y verificar su firma
+ * es la parte más costosa de la autenticación. Este decorador guarda el {@link Jwt} decodificado en una
+ * caché acotada, indexada por el SHA-256 del token (nunca el token en claro), y la entrada expira como
+ * tarde en el {@code exp} del propio token. Los tokens inválidos no se cachean: siempre pasan por el
+ * decodificador real.
+ * </p>
+ *
+ * <p>Si se configura una {@link AccessTokenDenylist}, se consulta en cada llamada (también en los aciertos
+ * de caché), de modo que un token revocado deja de aceptarse de inmediato.</p>
+ *
+ * <p>La caché se publica en el {@link MeterRegistry} con {@link CaffeineCacheMetrics}
+ * ({@code cache.gets}, {@code cache.size}, {@code cache.evictions}... con {@code cache=jwt-decoder}) y
+ * cada verificación completa en el timer {@code security.jwt.verification}, etiquetado con
+ * {@code outcome=success|failure}.</p>
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final AccessTokenDenylist denylist;
+    private final Timer verified;
+    private final Timer rejected;
+
+    /**
+     * @param delegate      Decodificador que verifica la firma y los claims.
+     * @param maxSize       Número máximo de tokens en caché.
+     * @param maxTtl        Tiempo máximo de permanencia de un token, aunque su {@code exp} sea posterior.
+     * @param meterRegistry Registro donde se publican la caché y las verificaciones.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl, MeterRegistry meterRegistry) {
+        this(delegate, maxSize, maxTtl, null, meterRegistry);
+    }
+
+    /**
+     * @param delegate      Decodificador que verifica la firma y los claims.
+     * @param maxSize       Número máximo de tokens en caché.
+     * @param maxTtl        Tiempo máximo de permanencia de un token, aunque su {@code exp} sea posterior.
+     * @param denylist      Lista de revocación a consultar en cada petición; {@code null} para no usarla.
+     * @param meterRegistry Registro donde se publican la caché y las verificaciones.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl, AccessTokenDenylist denylist,
+                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.denylist = denylist;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(maxTtl))
+                .recordStats()
+                .<String, Jwt>build(), "jwt-decoder");
+        this.verified = verificationTimer("success", meterRegistry);
+        this.rejected = verificationTimer("failure", meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null && (cached.getExpiresAt() == null || cached.getExpiresAt().isAfter(Instant.now()))) {
+            return checkNotRevoked(cached);
+        }
+
+        long start = System.nanoTime();
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verified.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        cache.put(key, jwt);
+        return checkNotRevoked(jwt);
+    }
+
+    private static Timer verificationTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("security.jwt.verification")
+                .description("Verificación completa de firma y claims de un access token (fallo de caché)")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+    }
+
+    private Jwt checkNotRevoked(Jwt jwt) {
+        if (denylist != null && denylist.isRevoked(jwt)) {
+            throw new BadJwtException("El token ha sido revocado");
+        }
+        return jwt;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Cada entrada vive hasta el {@code exp} del token, acotado por {@code maxTtl}.
+     */
+    private record UntilTokenExpiry(Duration maxTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            long max = maxTtl.toNanos();
+            if (jwt.getExpiresAt() == null) {
+                return max;
+            }
+            long untilExp = TimeUnit.MILLISECONDS.toNanos(jwt.getExpiresAt().toEpochMilli() - System.currentTimeMillis());
+            return Math.max(0, Math.min(max, untilExp));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
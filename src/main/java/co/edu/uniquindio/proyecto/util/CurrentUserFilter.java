@@ -0,0 +1,27 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.security.CurrentUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro que calcula una única vez por petición el {@link CurrentUser}, justo después de validar el JWT,
+ * y lo deja en los atributos de la petición para {@link SecurityUtils} y el resto de la cadena.
+ */
+@Component
+public class CurrentUserFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(CurrentUser.ATTRIBUTE, CurrentUser.from(SecurityContextHolder.getContext().getAuthentication()));
+        filterChain.doFilter(request, response);
+    }
+}
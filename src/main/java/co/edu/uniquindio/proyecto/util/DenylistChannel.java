@@ -0,0 +1,29 @@
+package co.edu.uniquindio.proyecto.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal que replica entre nodos las entradas de la lista de revocación de access tokens.
+ * <p>
+ * La implementación por defecto ({@link MongoDenylistChannel}) usa una colección de Mongo con TTL y
+ * consulta periódica; puede sustituirse por otra (por ejemplo, un pub/sub) declarando otro bean de este tipo.
+ * Los suscriptores deben tolerar recibir la misma entrada más de una vez, incluidas las publicadas por el
+ * propio nodo.
+ * </p>
+ */
+public interface DenylistChannel {
+
+    /**
+     * Publica una entrada para el resto de nodos.
+     *
+     * @param entry Entrada a replicar.
+     */
+    void publish(DenylistEntry entry);
+
+    /**
+     * Registra un receptor de las entradas publicadas por cualquier nodo.
+     *
+     * @param listener Receptor de entradas.
+     */
+    void subscribe(Consumer<DenylistEntry> listener);
+}
@@ -0,0 +1,20 @@
+package co.edu.uniquindio.proyecto.util;
+
+/**
+ * Entrada de la lista de revocación de access tokens.
+ *
+ * @param type         Tipo de entrada.
+ * @param subject      {@code jti} del token o ID del usuario, según el tipo.
+ * @param epochSeconds Para {@link Type#TOKEN}, la expiración del token; para {@link Type#USER}, el instante
+ *                     hasta el que (inclusive) se revocan los tokens emitidos al usuario.
+ * @param expiresAt    Instante (segundos epoch) a partir del cual la entrada ya no afecta a ningún token vigente.
+ */
+public record DenylistEntry(Type type, String subject, long epochSeconds, long expiresAt) {
+
+    public enum Type {
+        /** Un access token concreto, identificado por su {@code jti}. */
+        TOKEN,
+        /** Todos los access tokens de un usuario emitidos hasta un instante. */
+        USER
+    }
+}
@@ -0,0 +1,83 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.entity.email.EmailTemplateType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria de la bandeja de salida de correos, agrupados por plantilla.
+ * <p>
+ * Registra envíos exitosos, reintentos programados y mensajes enviados a la cola de muertos.
+ * Los contadores son {@link LongAdder} para que el despachador no compita por un mismo valor.
+ * </p>
+ *
+ * <p>Se publican en Micrometer como {@code email.outbox.sent} y {@code email.outbox.failures} (con la
+ * etiqueta {@code outcome}: {@code retry} o {@code dead}), etiquetados por plantilla.</p>
+ */
+@Component
+public class EmailOutboxMetrics implements MeterBinder {
+
+    private final Map<EmailTemplateType, LongAdder> sent = newCounters();
+    private final Map<EmailTemplateType, LongAdder> retried = newCounters();
+    private final Map<EmailTemplateType, LongAdder> dead = newCounters();
+
+    public void recordSent(EmailTemplateType template) {
+        sent.get(template).increment();
+    }
+
+    public void recordRetry(EmailTemplateType template) {
+        retried.get(template).increment();
+    }
+
+    public void recordDead(EmailTemplateType template) {
+        dead.get(template).increment();
+    }
+
+    public long sentCount(EmailTemplateType template) {
+        return sent.get(template).sum();
+    }
+
+    public long retryCount(EmailTemplateType template) {
+        return retried.get(template).sum();
+    }
+
+    public long deadCount(EmailTemplateType template) {
+        return dead.get(template).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (EmailTemplateType type : EmailTemplateType.values()) {
+            String template = type.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("email.outbox.sent", sent.get(type), LongAdder::sum)
+                    .description("Correos entregados al servidor SMTP")
+                    .tag("template", template)
+                    .register(registry);
+            FunctionCounter.builder("email.outbox.failures", retried.get(type), LongAdder::sum)
+                    .description("Envíos fallidos de correos")
+                    .tag("template", template)
+                    .tag("outcome", "retry")
+                    .register(registry);
+            FunctionCounter.builder("email.outbox.failures", dead.get(type), LongAdder::sum)
+                    .description("Envíos fallidos de correos")
+                    .tag("template", template)
+                    .tag("outcome", "dead")
+                    .register(registry);
+        }
+    }
+
+    private static Map<EmailTemplateType, LongAdder> newCounters() {
+        Map<EmailTemplateType, LongAdder> counters = new EnumMap<>(EmailTemplateType.class);
+        for (EmailTemplateType type : EmailTemplateType.values()) {
+            counters.put(type, new LongAdder());
+        }
+        return counters;
+    }
+}
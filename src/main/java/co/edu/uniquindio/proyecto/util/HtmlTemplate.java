@@ -0,0 +1,177 @@
+package co.edu.uniquindio.proyecto.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plantilla HTML precompilada.
+ * <p>
+ * Al compilarse, el texto fuente se divide una única vez en segmentos literales y marcadores
+ * ({@code {{nombre}}} o {@code ${nombre}}). Cada marcador se resuelve a la posición de su parámetro,
+ * de modo que renderizar es solo concatenar los segmentos en un {@link StringBuilder} con el tamaño
+ * ya estimado, sin volver a recorrer la plantilla ni crear cadenas intermedias.
+ * </p>
+ *
+ * <p>Los valores se escapan para HTML; un valor {@code null} se renderiza como cadena vacía. Un marcador
+ * con triple llave ({@code {{{nombre}}}}) inserta el valor sin escapar y solo debe usarse con HTML
+ * que la aplicación ya generó y escapó.</p>
+ *
+ * <pre>
+ *     HtmlTemplate t = HtmlTemplate.compile(html, "username", "reportTitle");
+ *     String body = t.render("Ana", "Bache en la calle 5");
+ * </pre>
+ */
+public final class HtmlTemplate {
+
+    /** Holgura por valor para absorber las entidades generadas al escapar. */
+    private static final int ESCAPE_SLACK = 16;
+
+    private final String[] literals;
+    private final int[] slots;
+    private final boolean[] raw;
+    private final String[] parameters;
+    private final int literalLength;
+
+    private HtmlTemplate(String[] literals, int[] slots, boolean[] raw, String[] parameters) {
+        this.literals = literals;
+        this.slots = slots;
+        this.raw = raw;
+        this.parameters = parameters;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila una plantilla.
+     *
+     * @param source     Texto HTML con marcadores {@code {{nombre}}}, {@code ${nombre}} o {@code {{{nombre}}}} (sin escapar).
+     * @param parameters Nombres de los parámetros, en el orden en que se pasarán a {@link #render(Object...)}.
+     * @return Plantilla lista para renderizar.
+     * @throws IllegalArgumentException si la plantilla usa un marcador no declarado o está mal formada.
+     */
+    public static HtmlTemplate compile(String source, String... parameters) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+        List<String> names = Arrays.asList(parameters);
+
+        int cursor = 0;
+        int i = 0;
+        while (i < source.length() - 1) {
+            String close;
+            int open;
+            if (source.startsWith("{{{", i)) {
+                close = "}}}";
+                open = 3;
+            } else if (source.startsWith("{{", i)) {
+                close = "}}";
+                open = 2;
+            } else if (source.startsWith("${", i)) {
+                close = "}";
+                open = 2;
+            } else {
+                i++;
+                continue;
+            }
+            int end = source.indexOf(close, i + open);
+            if (end < 0) {
+                throw new IllegalArgumentException("Marcador sin cerrar en la posición " + i);
+            }
+            String name = source.substring(i + open, end).trim();
+            int slot = names.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Marcador no declarado en la plantilla: " + name);
+            }
+            literals.add(source.substring(cursor, i));
+            slots.add(slot);
+            raw.add(open == 3);
+            i = end + close.length();
+            cursor = i;
+        }
+        literals.add(source.substring(cursor));
+
+        boolean[] rawSlots = new boolean[raw.size()];
+        for (int r = 0; r < rawSlots.length; r++) {
+            rawSlots[r] = raw.get(r);
+        }
+        return new HtmlTemplate(
+                literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                rawSlots,
+                parameters.clone()
+        );
+    }
+
+    /**
+     * Renderiza la plantilla escapando cada valor para HTML (salvo los marcadores de triple llave).
+     *
+     * @param values Valores en el mismo orden que los parámetros declarados al compilar.
+     * @return HTML resultante.
+     * @throws IllegalArgumentException si el número de valores no coincide con el de parámetros.
+     */
+    public String render(Object... values) {
+        if (values.length != parameters.length) {
+            throw new IllegalArgumentException("Se esperaban " + parameters.length
+                    + " valores y se recibieron " + values.length);
+        }
+        int capacity = literalLength;
+        for (int slot : slots) {
+            Object value = values[slot];
+            capacity += value == null ? 0 : value.toString().length() + ESCAPE_SLACK;
+        }
+
+        StringBuilder out = new StringBuilder(capacity);
+        for (int s = 0; s < slots.length; s++) {
+            out.append(literals[s]);
+            Object value = values[slots[s]];
+            if (value == null) {
+                continue;
+            }
+            if (raw[s]) {
+                out.append(value);
+            } else {
+                escapeHtml(value.toString(), out);
+            }
+        }
+        out.append(literals[literals.length - 1]);
+        return out.toString();
+    }
+
+    /**
+     * Escapa los caracteres especiales de HTML ({@code & < > " '}).
+     *
+     * @param input Texto a escapar; {@code null} se trata como vacío.
+     * @return Texto seguro para insertar en contenido o atributos HTML.
+     */
+    public static String escapeHtml(String input) {
+        if (input == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(input.length() + ESCAPE_SLACK);
+        escapeHtml(input, out);
+        return out.toString();
+    }
+
+    private static void escapeHtml(String input, StringBuilder out) {
+        int start = 0;
+        for (int i = 0; i < input.length(); i++) {
+            String entity = switch (input.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#x27;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(input, start, i).append(entity);
+                start = i + 1;
+            }
+        }
+        out.append(input, start, input.length());
+    }
+}
@@ -0,0 +1,85 @@
+package co.edu.uniquindio.proyecto.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+
+/**
+ * Algoritmos de firma soportados para los JWT emitidos por la aplicación.
+ * <p>
+ * ES256 y EdDSA (Ed25519) firman bastante más rápido que RS256 y producen tokens más cortos;
+ * RS256 se mantiene para compatibilidad con los tokens ya emitidos.
+ * </p>
+ */
+public enum JwtAlgorithm {
+
+    RS256("RSA"),
+    ES256("EC"),
+    EdDSA("Ed25519");
+
+    private final String keyAlgorithm;
+
+    JwtAlgorithm(String keyAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    /**
+     * Algoritmo de firma de jjwt equivalente.
+     *
+     * @return Algoritmo para {@code JwtBuilder.signWith}.
+     */
+    public SignatureAlgorithm signatureAlgorithm() {
+        return switch (this) {
+            case RS256 -> Jwts.SIG.RS256;
+            case ES256 -> Jwts.SIG.ES256;
+            case EdDSA -> Jwts.SIG.EdDSA;
+        };
+    }
+
+    /**
+     * Genera un nuevo par de claves para este algoritmo.
+     *
+     * @return Par de claves.
+     * @throws GeneralSecurityException si la JVM no soporta el algoritmo.
+     */
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        switch (this) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case EdDSA -> { /* Ed25519 no requiere parámetros */ }
+        }
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * Reconstruye una clave pública a partir de su codificación X.509.
+     *
+     * @param encoded Bytes X.509.
+     * @return Clave pública.
+     * @throws GeneralSecurityException si la codificación no es válida.
+     */
+    public PublicKey decodePublicKey(byte[] encoded) throws GeneralSecurityException {
+        return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(encoded));
+    }
+
+    /**
+     * Reconstruye una clave privada a partir de su codificación PKCS#8.
+     *
+     * @param encoded Bytes PKCS#8.
+     * @return Clave privada.
+     * @throws GeneralSecurityException si la codificación no es válida.
+     */
+    public PrivateKey decodePrivateKey(byte[] encoded) throws GeneralSecurityException {
+        return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+    }
+}
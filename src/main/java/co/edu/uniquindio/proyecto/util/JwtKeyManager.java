@@ -0,0 +1,302 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.entity.auth.JwtSigningKey;
+import co.edu.uniquindio.proyecto.repository.JwtSigningKeyRepository;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gestiona las claves de firma de los JWT y su rotación.
+ * <p>
+ * Los tokens se firman con la clave activa del algoritmo configurado ({@code security.jwt.algorithm})
+ * y llevan su {@code kid} en la cabecera. Para verificar se usa un único {@link JwtParser} construido
+ * al arrancar cuyo localizador resuelve el {@code kid} contra un mapa inmutable de claves públicas;
+ * rotar solo reemplaza ese mapa, sin reconstruir el parser ni reiniciar la aplicación.
+ * </p>
+ *
+ * <ul>
+ *     <li>Cada {@code security.jwt.keys.rotation-days} se genera una clave nueva que pasa a ser la activa.</li>
+ *     <li>Las claves anteriores se conservan para verificar hasta {@code security.jwt.keys.retention-days}
+ *     (debe superar la vida del refresh token).</li>
+ *     <li>Las claves se guardan en {@code jwt_signing_keys}, la privada cifrada con {@link JwtKeyWrapper},
+ *     y se recargan periódicamente, de modo que una
+ *     rotación hecha por una instancia llega a las demás. Un token con un {@code kid} desconocido provoca
+ *     además una recarga inmediata (como mucho una cada {@code security.jwt.keys.unknown-kid-reload-ms}),
+ *     para no rechazar los tokens de otra instancia que acaba de rotar.</li>
+ *     <li>La clave RSA de {@link KeyUtils} sigue registrada como {@value #LEGACY_KID} para los tokens
+ *     emitidos antes de la rotación (que no llevan {@code kid}).</li>
+ * </ul>
+ */
+@Component
+// La clave heredada se lee de KeyUtils, que la carga al construirse
+@DependsOn("keyUtils")
+@Slf4j
+public class JwtKeyManager {
+
+    public static final String LEGACY_KID = "rsa-legacy";
+
+    private final JwtSigningKeyRepository keyRepository;
+    private final JwtKeyWrapper keyWrapper;
+    private final JwtAlgorithm algorithm;
+    private final Duration rotationPeriod;
+    private final Duration retention;
+    private final long unknownKidReloadNanos;
+    private final AtomicLong lastUnknownKidReload;
+    private final JwtParser parser;
+    // Lock y no synchronized: refresh y rotate hacen E/S contra Mongo y, en un hilo virtual, un monitor
+    // retenido durante una espera bloqueante ancla el hilo a su portador (JDK 21).
+    private final ReentrantLock keysLock = new ReentrantLock();
+
+    private volatile ActiveKey activeKey;
+    private volatile Map<String, PublicKey> verificationKeys = Map.of();
+
+    public JwtKeyManager(JwtSigningKeyRepository keyRepository,
+                         JwtKeyWrapper keyWrapper,
+                         @Value("${security.jwt.algorithm:ES256}") JwtAlgorithm algorithm,
+                         @Value("${security.jwt.keys.rotation-days:30}") long rotationDays,
+                         @Value("${security.jwt.keys.retention-days:65}") long retentionDays,
+                         @Value("${security.jwt.keys.unknown-kid-reload-ms:5000}") long unknownKidReloadMs) {
+        this.keyRepository = keyRepository;
+        this.keyWrapper = keyWrapper;
+        this.algorithm = algorithm;
+        this.rotationPeriod = Duration.ofDays(rotationDays);
+        this.retention = Duration.ofDays(retentionDays);
+        this.unknownKidReloadNanos = Duration.ofMillis(unknownKidReloadMs).toNanos();
+        this.lastUnknownKidReload = new AtomicLong(System.nanoTime() - unknownKidReloadNanos);
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos.
+     *
+     * @return Clave activa.
+     */
+    public ActiveKey activeKey() {
+        return activeKey;
+    }
+
+    /**
+     * Parser compartido que verifica tokens firmados con cualquiera de las claves vigentes.
+     *
+     * @return Parser reutilizable y seguro entre hilos.
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Recarga las claves desde la base de datos, elimina las vencidas y genera una nueva
+     * si la activa superó el periodo de rotación.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.keys.refresh-interval-ms:60000}",
+            initialDelayString = "${security.jwt.keys.refresh-interval-ms:60000}")
+    public void refresh() {
+        keysLock.lock();
+        try {
+            refreshLocked();
+        } finally {
+            keysLock.unlock();
+        }
+    }
+
+    private void refreshLocked() {
+        LocalDateTime now = LocalDateTime.now();
+        long pruned = keyRepository.deleteByCreatedAtBefore(now.minus(retention));
+        if (pruned > 0) {
+            log.info("Eliminadas {} claves de firma JWT vencidas", pruned);
+        }
+
+        List<JwtSigningKey> stored = keyRepository.findAll();
+        stored.forEach(this::wrapPlaintextKey);
+        JwtSigningKey newest = stored.stream()
+                .filter(k -> k.getAlgorithm() == algorithm)
+                .max(Comparator.comparing(JwtSigningKey::getCreatedAt))
+                .orElse(null);
+
+        ActiveKey nextActive = null;
+        if (newest != null && !newest.getCreatedAt().isBefore(now.minus(rotationPeriod))) {
+            nextActive = activeKey != null && activeKey.kid().equals(newest.getKid()) ? activeKey : unwrap(newest);
+        }
+        if (nextActive == null) {
+            nextActive = generate();
+            stored = keyRepository.findAll();
+        }
+        install(stored, nextActive);
+    }
+
+    /**
+     * Fuerza la generación de una nueva clave activa.
+     */
+    public void rotate() {
+        keysLock.lock();
+        try {
+            ActiveKey created = generate();
+            install(keyRepository.findAll(), created);
+        } finally {
+            keysLock.unlock();
+        }
+    }
+
+    private void install(List<JwtSigningKey> stored, ActiveKey nextActive) {
+        verificationKeys = decodeVerificationKeys(stored);
+        if (activeKey == null || !activeKey.kid().equals(nextActive.kid())) {
+            log.info("Clave de firma JWT activa: {} ({})", nextActive.kid(), nextActive.algorithm());
+        }
+        activeKey = nextActive;
+    }
+
+    /**
+     * Descifra la clave privada de un documento.
+     *
+     * @return Clave activa, o {@code null} si no puede descifrarse (otra clave de envoltura o documento
+     * alterado); en ese caso se genera una clave nueva en lugar de dejar de emitir tokens.
+     */
+    private ActiveKey unwrap(JwtSigningKey key) {
+        if (key.getWrappedPrivateKey() == null) {
+            log.error("La clave de firma JWT {} no tiene clave privada cifrada", key.getKid());
+            return null;
+        }
+        try {
+            byte[] encoded = keyWrapper.unwrap(key.getKid(), key.getWrappedPrivateKey());
+            return new ActiveKey(key.getKid(), key.getAlgorithm(), key.getAlgorithm().decodePrivateKey(encoded));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            log.error("No se pudo descifrar la clave privada de firma JWT {}; se generará una nueva", key.getKid(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Cifra y elimina la clave privada en claro de los documentos guardados antes del cifrado.
+     */
+    private void wrapPlaintextKey(JwtSigningKey key) {
+        if (key.getPrivateKey() == null) {
+            return;
+        }
+        try {
+            key.setWrappedPrivateKey(keyWrapper.wrap(key.getKid(), Base64.getDecoder().decode(key.getPrivateKey())));
+        } catch (IllegalArgumentException e) {
+            log.error("Clave privada de firma JWT {} ilegible; se descarta", key.getKid(), e);
+        }
+        key.setPrivateKey(null);
+        keyRepository.save(key);
+        log.info("Cifrada la clave privada de firma JWT {}", key.getKid());
+    }
+
+    private static Map<String, PublicKey> decodeVerificationKeys(List<JwtSigningKey> stored) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        if (KeyUtils.getPublicKey() != null) {
+            keys.put(LEGACY_KID, KeyUtils.getPublicKey());
+        }
+        for (JwtSigningKey key : stored) {
+            try {
+                keys.put(key.getKid(), key.getAlgorithm().decodePublicKey(Base64.getDecoder().decode(key.getPublicKey())));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.error("Clave de firma JWT {} ilegible; se ignora", key.getKid(), e);
+            }
+        }
+        return Map.copyOf(keys);
+    }
+
+    private ActiveKey generate() {
+        try {
+            KeyPair pair = algorithm.generateKeyPair();
+            String kid = algorithm.name().toLowerCase() + "-" + UUID.randomUUID();
+            JwtSigningKey key = JwtSigningKey.builder()
+                    .kid(kid)
+                    .algorithm(algorithm)
+                    .publicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()))
+                    .wrappedPrivateKey(keyWrapper.wrap(kid, pair.getPrivate().getEncoded()))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            keyRepository.save(key);
+            log.info("Generada nueva clave de firma JWT {} ({})", kid, algorithm);
+            return new ActiveKey(kid, algorithm, pair.getPrivate());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo generar una clave " + algorithm, e);
+        }
+    }
+
+    private Key verificationKey(String kid) {
+        PublicKey key = verificationKeys.get(kid == null ? LEGACY_KID : kid);
+        if (key == null && kid != null && reloadVerificationKeys()) {
+            key = verificationKeys.get(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Clave de firma desconocida: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Recarga solo las claves de verificación, sin podar ni rotar, cuando llega un {@code kid} desconocido:
+     * lo normal es que otra instancia acabe de generar la clave. Como un {@code kid} inventado también
+     * llega aquí, la recarga se limita a una por intervalo para todo el proceso.
+     *
+     * @return {@code true} si se recargaron las claves.
+     */
+    private boolean reloadVerificationKeys() {
+        long now = System.nanoTime();
+        long last = lastUnknownKidReload.get();
+        if (now - last < unknownKidReloadNanos || !lastUnknownKidReload.compareAndSet(last, now)) {
+            return false;
+        }
+        keysLock.lock();
+        try {
+            verificationKeys = decodeVerificationKeys(keyRepository.findAll());
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron recargar las claves de firma JWT: {}", e.getMessage());
+            return false;
+        } finally {
+            keysLock.unlock();
+        }
+    }
+
+    /**
+     * Clave privada activa junto con su identificador y algoritmo.
+     *
+     * @param kid        Identificador que se publica en la cabecera del token.
+     * @param algorithm  Algoritmo de firma.
+     * @param privateKey Clave privada.
+     */
+    public record ActiveKey(String kid, JwtAlgorithm algorithm, PrivateKey privateKey) {
+    }
+}
@@ -0,0 +1,108 @@
+package co.edu.uniquindio.proyecto.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Cifra las claves privadas de firma JWT antes de guardarlas en {@code jwt_signing_keys}.
+ * <p>
+ * Se usa AES-256-GCM con una clave de envoltura que no se guarda en la base de datos
+ * ({@code security.jwt.keys.wrapping-key}, 32 bytes en Base64, normalmente inyectada desde el gestor de
+ * secretos). El {@code kid} va como dato autenticado, de modo que una clave cifrada no puede copiarse a
+ * otro documento. Quien solo tenga acceso a Mongo o a una copia de seguridad no puede firmar tokens.
+ * </p>
+ *
+ * <p>La clave de envoltura es obligatoria: sin ella la aplicación no arranca. Solo con el perfil
+ * {@code dev} o {@code test} se admite una clave aleatoria por proceso; las claves de firma cifradas con
+ * ella dejan de poder usarse al reiniciar y se genera una nueva.</p>
+ */
+@Component
+@Slf4j
+public class JwtKeyWrapper {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final Profiles RANDOM_KEY_PROFILES = Profiles.of("dev", "test");
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public JwtKeyWrapper(@Value("${security.jwt.keys.wrapping-key:}") String wrappingKey,
+                         Environment environment) {
+        byte[] bytes;
+        if (wrappingKey == null || wrappingKey.isBlank()) {
+            if (!environment.acceptsProfiles(RANDOM_KEY_PROFILES)) {
+                throw new IllegalStateException("security.jwt.keys.wrapping-key (JWT_KEY_WRAPPING_KEY) es "
+                        + "obligatorio: sin él las claves privadas de firma quedarían legibles en la base de datos. "
+                        + "Solo los perfiles dev y test admiten una clave aleatoria.");
+            }
+            log.warn("security.jwt.keys.wrapping-key no está definido; se usa una clave aleatoria de proceso");
+            bytes = new byte[KEY_BYTES];
+            random.nextBytes(bytes);
+        } else {
+            bytes = Base64.getDecoder().decode(wrappingKey.trim());
+            if (bytes.length != KEY_BYTES) {
+                throw new IllegalStateException("security.jwt.keys.wrapping-key debe tener " + KEY_BYTES
+                        + " bytes (AES-256) codificados en Base64; tiene " + bytes.length);
+            }
+        }
+        this.key = new SecretKeySpec(bytes, "AES");
+    }
+
+    /**
+     * Cifra una clave privada.
+     *
+     * @param kid     Identificador de la clave, que se autentica junto con el cifrado.
+     * @param encoded Clave privada en PKCS#8.
+     * @return Vector de inicialización seguido del texto cifrado, en Base64.
+     */
+    public String wrap(String kid, byte[] encoded) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(encoded);
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo cifrar la clave de firma " + kid, e);
+        }
+    }
+
+    /**
+     * Descifra una clave privada guardada con {@link #wrap(String, byte[])}.
+     *
+     * @param kid     Identificador de la clave.
+     * @param wrapped Clave cifrada en Base64.
+     * @return Clave privada en PKCS#8.
+     * @throws GeneralSecurityException si se cifró con otra clave de envoltura, para otro {@code kid} o
+     *                                  el contenido fue alterado.
+     */
+    public byte[] unwrap(String kid, String wrapped) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(wrapped);
+        if (bytes.length <= IV_BYTES) {
+            throw new GeneralSecurityException("Clave cifrada demasiado corta");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, Arrays.copyOf(bytes, IV_BYTES)));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES);
+    }
+}
@@ -4,11 +4,13 @@ import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exception.user.InvalidRefreshTokenException;
 import co.edu.uniquindio.proyecto.exception.user.RefreshTokenExpiredException;
 import io.jsonwebtoken.*;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.oauth2.jwt.JwtException;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.GrantedAuthority;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
@@ -23,15 +25,25 @@ import java.util.stream.Collectors;
  * (como username, userId y roles) y configurando la expiración. Además, proporciona métodos para parsear
  * y validar tokens.
  * </p>
+ *
+ * <p>La firma y la verificación se delegan en {@link JwtKeyManager}: los tokens se firman con la clave
+ * activa (con su {@code kid} en la cabecera) y se verifican con un parser compartido, sin construir
+ * uno nuevo en cada llamada.</p>
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtils {
 
+    private final JwtKeyManager keyManager;
+
     private static final long EXPIRATION_TIME = 3600000; // 1 hora en milisegundos
     // Tiempo de expiración del refresh token: 30 días (en milisegundos)
     private static final long REFRESH_EXPIRATION_TIME = 30L * 24 * 3600 * 1000; // 30 días
 
+    /** Claim con la familia de rotación del refresh token. */
+    public static final String FAMILY_CLAIM = "fid";
+
     /**
      * Genera un token JWT para el usuario proporcionado.
      *
@@ -56,16 +68,57 @@ public class JwtUtils {
      * @return Refresh token JWT generado.
      */
     public String generateRefreshToken(User user) {
+        return generateRefreshToken(user, null, null);
+    }
+
+    /**
+     * Genera un refresh token con identificador ({@code jti}) y familia de rotación ({@code fid}).
+     *
+     * @param user     Usuario para el cual se genera el refresh token.
+     * @param familyId Familia a la que pertenece el token; {@code null} para omitir el claim.
+     * @param tokenId  Identificador único del token; {@code null} para omitir el claim.
+     * @return Refresh token JWT generado.
+     */
+    public String generateRefreshToken(User user, String familyId, String tokenId) {
         log.debug("Generando refresh token para el usuario: {}", user.getUsername());
         // En el refresh token se incluye sólo el 'userId' (además del subject que es el username)
         TokenData tokenData = new TokenData(user.getUsername(), user.getId().toString(), Collections.emptyList());
         Instant now = getCurrentInstant();
         Instant expiration = now.plusMillis(REFRESH_EXPIRATION_TIME);
-        String token = buildJwtToken(tokenData, now, expiration);
+        JwtKeyManager.ActiveKey signingKey = keyManager.activeKey();
+        String token = Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(tokenId)
+                .subject(tokenData.username())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(expiration))
+                .claim("roles", tokenData.roles())
+                .claim("userId", tokenData.userId())
+                .claim(FAMILY_CLAIM, familyId)
+                .signWith(signingKey.privateKey(), signingKey.algorithm().signatureAlgorithm())
+                .compact();
         log.info("Refresh token generado para el usuario {} (expira a las {})", user.getUsername(), expiration);
         return token;
     }
 
+    /**
+     * Vigencia de los access tokens.
+     *
+     * @return Duración desde la emisión hasta la expiración.
+     */
+    public Duration accessTokenLifetime() {
+        return Duration.ofMillis(EXPIRATION_TIME);
+    }
+
+    /**
+     * Vigencia de los refresh tokens.
+     *
+     * @return Duración desde la emisión hasta la expiración.
+     */
+    public Duration refreshTokenLifetime() {
+        return Duration.ofMillis(REFRESH_EXPIRATION_TIME);
+    }
+
     /**
      * Extrae los datos necesarios del usuario para la generación del token.
      *
@@ -116,6 +169,7 @@ public class JwtUtils {
 
     /**
      * Construye y firma el token JWT utilizando los datos proporcionados, el instante de emisión y expiración.
+     * Cada token lleva un {@code jti} propio para poder revocarlo individualmente.
      *
      * @param tokenData Datos extraídos del usuario.
      * @param issuedAt  Instante en el que se emite el token.
@@ -123,13 +177,16 @@ public class JwtUtils {
      * @return Token JWT firmado.
      */
     private String buildJwtToken(TokenData tokenData, Instant issuedAt, Instant expiration) {
+        JwtKeyManager.ActiveKey signingKey = keyManager.activeKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(new ObjectId().toHexString())
                 .subject(tokenData.username())
                 .issuedAt(Date.from(issuedAt))
                 .expiration(Date.from(expiration))
                 .claim("roles", tokenData.roles())
                 .claim("userId", tokenData.userId())
-                .signWith(KeyUtils.getPrivateKey(), Jwts.SIG.RS256)
+                .signWith(signingKey.privateKey(), signingKey.algorithm().signatureAlgorithm())
                 .compact();
     }
 
@@ -142,10 +199,7 @@ public class JwtUtils {
      */
     public Jws<Claims> parseToken(String token) {
         log.debug("Parseando token JWT");
-        return Jwts.parser()
-                .verifyWith(KeyUtils.getPublicKey())
-                .build()
-                .parseSignedClaims(token);
+        return keyManager.parser().parseSignedClaims(token);
     }
 
 
@@ -159,16 +213,13 @@ public class JwtUtils {
      */
     public void validateRefreshToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(KeyUtils.getPublicKey())
-                    .build()
-                    .parseSignedClaims(token);
+            keyManager.parser().parseSignedClaims(token);
 
             log.info("Refresh token válido.");
         } catch (ExpiredJwtException ex) {
             log.warn("Refresh token expirado.");
             throw new RefreshTokenExpiredException("El refresh token ha expirado");
-        } catch (JwtException | MalformedJwtException ex) {
+        } catch (JwtException | IllegalArgumentException ex) {
             log.warn("Refresh token inválido.");
             throw new InvalidRefreshTokenException("El refresh token es inválido");
         }
@@ -182,10 +233,7 @@ public class JwtUtils {
      * @throws JwtException si el token es inválido o no puede parsearse.
      */
     public String extractUserId(String refreshToken) {
-        Jws<Claims> jwsClaims = Jwts.parser()
-                .verifyWith(KeyUtils.getPublicKey())
-                .build()
-                .parseSignedClaims(refreshToken);
+        Jws<Claims> jwsClaims = keyManager.parser().parseSignedClaims(refreshToken);
 
         return jwsClaims.getPayload().get("userId", String.class);
     }
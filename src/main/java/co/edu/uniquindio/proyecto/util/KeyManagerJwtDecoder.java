@@ -0,0 +1,54 @@
+package co.edu.uniquindio.proyecto.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link JwtDecoder} del resource server que verifica con las claves de {@link JwtKeyManager},
+ * de modo que acepta cualquier algoritmo soportado y cualquier {@code kid} vigente.
+ */
+public class KeyManagerJwtDecoder implements JwtDecoder {
+
+    private final JwtKeyManager keyManager;
+
+    public KeyManagerJwtDecoder(JwtKeyManager keyManager) {
+        this.keyManager = keyManager;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jws<Claims> jws;
+        try {
+            jws = keyManager.parser().parseSignedClaims(token);
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
+            throw new BadJwtException("Token JWT inválido: " + e.getMessage(), e);
+        }
+
+        Claims claims = jws.getPayload();
+        Map<String, Object> body = new HashMap<>(claims);
+        body.remove(Claims.ISSUED_AT);
+        body.remove(Claims.EXPIRATION);
+        body.remove(Claims.NOT_BEFORE);
+
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+                .headers(h -> h.putAll(jws.getHeader()))
+                .claims(c -> c.putAll(body));
+        if (claims.getIssuedAt() != null) {
+            builder.issuedAt(claims.getIssuedAt().toInstant());
+        }
+        if (claims.getExpiration() != null) {
+            builder.expiresAt(claims.getExpiration().toInstant());
+        }
+        if (claims.getNotBefore() != null) {
+            builder.notBefore(claims.getNotBefore().toInstant());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,76 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.entity.auth.DenylistedAccess;
+import co.edu.uniquindio.proyecto.repository.DenylistedAccessRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link DenylistChannel} sobre Mongo: cada entrada se inserta en {@code access_token_denylist} y cada nodo
+ * consulta periódicamente las nuevas. La primera consulta tras el arranque carga todas las vigentes.
+ */
+@Component
+@Slf4j
+public class MongoDenylistChannel implements DenylistChannel {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DenylistedAccessRepository repository;
+    private final long pollOverlapMs;
+    private final List<Consumer<DenylistEntry>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile LocalDateTime lastPoll = EPOCH;
+
+    public MongoDenylistChannel(DenylistedAccessRepository repository,
+                                @Value("${security.denylist.poll-overlap-ms:5000}") long pollOverlapMs) {
+        this.repository = repository;
+        this.pollOverlapMs = pollOverlapMs;
+    }
+
+    @Override
+    public void publish(DenylistEntry entry) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochSecond(entry.expiresAt()), ZoneId.systemDefault());
+        repository.insert(DenylistedAccess.builder()
+                .type(entry.type())
+                .subject(entry.subject())
+                .epochSeconds(entry.epochSeconds())
+                .createdAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    public void subscribe(Consumer<DenylistEntry> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entrega a los suscriptores las entradas publicadas desde la última consulta (con un pequeño
+     * solapamiento para no perder inserciones concurrentes).
+     */
+    @Scheduled(fixedDelayString = "${security.denylist.poll-interval-ms:5000}")
+    public void poll() {
+        LocalDateTime since = lastPoll == EPOCH ? EPOCH : lastPoll.minusNanos(pollOverlapMs * 1_000_000);
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            for (DenylistedAccess access : repository.findByCreatedAtAfter(since)) {
+                DenylistEntry entry = new DenylistEntry(access.getType(), access.getSubject(),
+                        access.getEpochSeconds(), access.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+                listeners.forEach(listener -> listener.accept(entry));
+            }
+            lastPoll = startedAt;
+        } catch (DataAccessException e) {
+            log.warn("No se pudo sincronizar la lista de revocación de access tokens: {}", e.getMessage());
+        }
+    }
+}
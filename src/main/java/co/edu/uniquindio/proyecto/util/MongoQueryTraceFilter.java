@@ -0,0 +1,149 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.annotation.QueryBudget;
+import co.edu.uniquindio.proyecto.dto.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que abre una {@link QueryTrace} por petición y, al terminar, revisa los comandos a Mongo que
+ * lanzó.
+ * <p>
+ * Registra en {@code WARN} las lecturas idénticas repetidas, las formas de lectura que se repiten
+ * {@code mongo.trace.n-plus-one-threshold} veces o más y las peticiones que superan su presupuesto de
+ * comandos: el de {@link QueryBudget} en el endpoint o su controlador, o si no
+ * {@code mongo.trace.default-budget} (0 = sin límite). El resumen de cada petición sale en {@code DEBUG}.
+ * </p>
+ *
+ * <p>Con {@code mongo.trace.fail-on-budget-exceeded=true}, pensado para los tests de integración, la
+ * respuesta se retiene hasta conocer el total y, si se supera el presupuesto, se sustituye por un 500
+ * con código {@code QUERY_BUDGET_EXCEEDED}. Los flujos SSE nunca se retienen.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class MongoQueryTraceFilter extends OncePerRequestFilter {
+
+    private static final int NO_BUDGET = 0;
+
+    private final MongoQueryTracer tracer;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int defaultBudget;
+    private final int nPlusOneThreshold;
+    private final boolean failOnBudgetExceeded;
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+
+    public MongoQueryTraceFilter(MongoQueryTracer tracer,
+                                 ObjectMapper objectMapper,
+                                 @Value("${mongo.trace.enabled:true}") boolean enabled,
+                                 @Value("${mongo.trace.default-budget:0}") int defaultBudget,
+                                 @Value("${mongo.trace.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                                 @Value("${mongo.trace.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded) {
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.defaultBudget = defaultBudget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper held = failOnBudgetExceeded && !isEventStream(request)
+                ? new ContentCachingResponseWrapper(response) : null;
+        QueryTrace trace = tracer.begin();
+        try {
+            filterChain.doFilter(request, held != null ? held : response);
+        } finally {
+            tracer.end();
+        }
+
+        String endpoint = request.getMethod() + " " + request.getRequestURI();
+        int budget = budgetOf(request);
+        report(endpoint, trace, budget);
+
+        if (held != null) {
+            if (budget != NO_BUDGET && trace.commands() > budget && !request.isAsyncStarted()) {
+                held.resetBuffer();
+                reject(request, held, endpoint, trace.commands(), budget);
+            }
+            held.copyBodyToResponse();
+        }
+    }
+
+    private void report(String endpoint, QueryTrace trace, int budget) {
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] {} comandos Mongo ({} ms en Mongo de {} ms)", endpoint, trace.commands(),
+                    TimeUnit.NANOSECONDS.toMillis(trace.mongoNanos()), TimeUnit.NANOSECONDS.toMillis(trace.elapsedNanos()));
+        }
+        trace.repeatedReads().forEach((shape, count) ->
+                log.warn("[{}] Lectura idéntica repetida {} veces: {}", endpoint, count, shape));
+        trace.readsByShape(nPlusOneThreshold).forEach((shape, count) ->
+                log.warn("[{}] Posible N+1: {} lecturas con la forma {}", endpoint, count, shape));
+        if (budget != NO_BUDGET && trace.commands() > budget) {
+            log.warn("[{}] {} comandos Mongo superan el presupuesto de {}", endpoint, trace.commands(), budget);
+        }
+    }
+
+    private int budgetOf(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            return budgets.computeIfAbsent(handler.getMethod(), method -> {
+                QueryBudget annotation = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+                if (annotation == null) {
+                    annotation = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), QueryBudget.class);
+                }
+                return annotation != null ? annotation.value() : defaultBudget;
+            });
+        }
+        return defaultBudget;
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String endpoint, int commands, int budget)
+            throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                "[" + endpoint + "] " + commands + " comandos Mongo superan el presupuesto de " + budget,
+                "QUERY_BUDGET_EXCEEDED",
+                request.getRequestURI(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value()
+        );
+        response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
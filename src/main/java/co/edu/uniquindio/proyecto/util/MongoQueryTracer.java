@@ -0,0 +1,223 @@
+package co.edu.uniquindio.proyecto.util;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener de comandos del driver de Mongo que registra los comandos lentos y, durante una petición
+ * HTTP, cuenta los comandos que lanza.
+ * <p>
+ * De cada comando se calcula su forma: nombre, colección y filtro con los valores sustituidos por
+ * {@code ?} (por ejemplo {@code find reports {_id: ?}}), que identifica la consulta sin volcar datos de
+ * usuario al log. Los que tardan más de {@code mongo.trace.slow-command-ms} (0 lo desactiva) se
+ * registran con esa forma vengan de donde vengan.
+ * </p>
+ *
+ * <p>El driver síncrono avisa a los listeners en el hilo que lanza el comando, así que la traza de la
+ * petición ({@link QueryTrace}) vive en un {@link ThreadLocal} que abre y cierra
+ * {@link MongoQueryTraceFilter}. Los comandos de tareas asíncronas o programadas no se atribuyen a
+ * ninguna petición.</p>
+ */
+@Slf4j
+@Component
+public class MongoQueryTracer implements CommandListener {
+
+    /**
+     * Comandos del propio driver (handshake, autenticación, sesiones) que no cuentan como consultas.
+     */
+    private static final Set<String> IGNORED_COMMANDS = Set.of(
+            "hello", "ismaster", "isMaster", "ping", "buildInfo", "saslStart", "saslContinue",
+            "endSessions", "killCursors");
+    private static final Set<String> READ_COMMANDS = Set.of("find", "count", "distinct", "aggregate");
+
+    private final ThreadLocal<QueryTrace> current = new ThreadLocal<>();
+    private final Map<Integer, String> inFlight = new ConcurrentHashMap<>();
+    private final long slowCommandNanos;
+
+    public MongoQueryTracer(@Value("${mongo.trace.slow-command-ms:200}") long slowCommandMs) {
+        this.slowCommandNanos = TimeUnit.MILLISECONDS.toNanos(slowCommandMs);
+    }
+
+    /**
+     * Empieza a contar los comandos del hilo actual.
+     *
+     * @return Traza de la petición.
+     */
+    public QueryTrace begin() {
+        QueryTrace trace = new QueryTrace();
+        current.set(trace);
+        return trace;
+    }
+
+    /**
+     * Deja de contar los comandos del hilo actual.
+     */
+    public void end() {
+        current.remove();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (IGNORED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        // El documento del comando solo es válido durante la llamada: la forma se calcula ya.
+        BsonDocument command = event.getCommand();
+        String shape = shape(commandName, command);
+        QueryTrace trace = current.get();
+        if (trace != null) {
+            if (READ_COMMANDS.contains(commandName)) {
+                trace.recordRead(shape, readKey(commandName, command));
+            } else {
+                trace.recordCommand();
+            }
+        }
+        inFlight.put(event.getRequestId(), shape);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), null);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), event.getThrowable());
+    }
+
+    private void finished(int requestId, long elapsedNanos, Throwable failure) {
+        String shape = inFlight.remove(requestId);
+        if (shape == null) {
+            return;
+        }
+        QueryTrace trace = current.get();
+        if (trace != null) {
+            trace.recordDuration(elapsedNanos);
+        }
+        if (slowCommandNanos > 0 && elapsedNanos >= slowCommandNanos) {
+            log.warn("Comando Mongo lento ({} ms{}): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    failure == null ? "" : ", fallido: " + failure.getMessage(), shape);
+        }
+    }
+
+    /**
+     * Forma de un comando: nombre, colección y filtro sin valores.
+     *
+     * @param commandName Nombre del comando.
+     * @param command     Documento del comando.
+     * @return Por ejemplo {@code find reports {_id: ?}} o {@code insert comments}.
+     */
+    public static String shape(String commandName, BsonDocument command) {
+        StringBuilder sb = new StringBuilder(64).append(commandName);
+        BsonValue collection = command.get(commandName);
+        if (collection != null && collection.isString()) {
+            sb.append(' ').append(collection.asString().getValue());
+        }
+        BsonValue filter = filterOf(commandName, command);
+        if (filter != null) {
+            sb.append(' ');
+            appendShape(filter, sb);
+        }
+        BsonValue sort = command.get("sort");
+        if (sort != null && sort.isDocument() && !sort.asDocument().isEmpty()) {
+            sb.append(" sort ").append(sort.asDocument().toJson());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Clave de una lectura con sus valores, para detectar lecturas idénticas repetidas.
+     */
+    static String readKey(String commandName, BsonDocument command) {
+        StringBuilder sb = new StringBuilder(96).append(commandName);
+        BsonValue collection = command.get(commandName);
+        if (collection != null && collection.isString()) {
+            sb.append(' ').append(collection.asString().getValue());
+        }
+        BsonValue filter = filterOf(commandName, command);
+        sb.append(' ').append(filter == null ? "{}" : toJson(filter));
+        for (String option : new String[]{"sort", "skip", "limit"}) {
+            BsonValue value = command.get(option);
+            if (value != null) {
+                sb.append(' ').append(option).append('=').append(toJson(value));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static BsonValue filterOf(String commandName, BsonDocument command) {
+        return switch (commandName) {
+            case "find" -> command.get("filter");
+            case "count", "distinct", "findAndModify" -> command.get("query");
+            case "aggregate" -> command.get("pipeline");
+            case "update" -> firstStatementField(command.get("updates"), "q");
+            case "delete" -> firstStatementField(command.get("deletes"), "q");
+            default -> null;
+        };
+    }
+
+    private static BsonValue firstStatementField(BsonValue statements, String field) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get(field) : null;
+    }
+
+    private static void appendShape(BsonValue value, StringBuilder sb) {
+        if (value.isDocument()) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                sb.append(entry.getKey()).append(": ");
+                appendShape(entry.getValue(), sb);
+            }
+            sb.append('}');
+        } else if (value.isArray() && containsDocuments(value.asArray())) {
+            // $and, $or o etapas de un pipeline: la estructura importa; una lista de valores ($in) no.
+            sb.append('[');
+            boolean first = true;
+            for (BsonValue element : value.asArray()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                appendShape(element, sb);
+            }
+            sb.append(']');
+        } else {
+            sb.append('?');
+        }
+    }
+
+    private static boolean containsDocuments(BsonArray array) {
+        for (BsonValue element : array) {
+            if (element.isDocument()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toJson(BsonValue value) {
+        return value.isDocument() ? value.asDocument().toJson() : new BsonDocument("v", value).toJson();
+    }
+}
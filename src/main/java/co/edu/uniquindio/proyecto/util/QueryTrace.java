@@ -0,0 +1,89 @@
+package co.edu.uniquindio.proyecto.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Comandos a Mongo lanzados durante una petición HTTP.
+ * <p>
+ * Lo rellena {@link MongoQueryTracer} desde el hilo de la petición, así que no necesita sincronización.
+ * Además del total guarda cuántas veces se lanzó cada lectura, agrupada de dos formas: por lectura
+ * idéntica (mismo comando, colección y filtro con los mismos valores), que delata comprobaciones de
+ * existencia duplicadas entre capas, y por forma (los mismos campos con cualquier valor), que delata el
+ * patrón N+1 de una consulta por cada elemento de una lista.
+ * </p>
+ */
+public final class QueryTrace {
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> readsByKey = new HashMap<>();
+    private final Map<String, Integer> readsByShape = new LinkedHashMap<>();
+    private final Map<String, Integer> repeatedByShape = new LinkedHashMap<>();
+    private int commands;
+    private long mongoNanos;
+
+    void recordCommand() {
+        commands++;
+    }
+
+    void recordRead(String shape, String readKey) {
+        commands++;
+        readsByShape.merge(shape, 1, Integer::sum);
+        int identical = readsByKey.merge(readKey, 1, Integer::sum);
+        if (identical > 1) {
+            repeatedByShape.merge(shape, identical, Math::max);
+        }
+    }
+
+    void recordDuration(long nanos) {
+        mongoNanos += nanos;
+    }
+
+    /**
+     * @return comandos lanzados hasta ahora.
+     */
+    public int commands() {
+        return commands;
+    }
+
+    /**
+     * @return tiempo acumulado esperando a Mongo, en nanosegundos.
+     */
+    public long mongoNanos() {
+        return mongoNanos;
+    }
+
+    /**
+     * @return tiempo transcurrido desde que empezó la traza, en nanosegundos.
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Lecturas idénticas lanzadas más de una vez.
+     *
+     * @return Mapa de forma de la lectura al mayor número de veces que se repitió con los mismos valores,
+     * en orden de aparición.
+     */
+    public Map<String, Integer> repeatedReads() {
+        return repeatedByShape;
+    }
+
+    /**
+     * Formas de lectura lanzadas al menos {@code threshold} veces, con valores iguales o distintos.
+     *
+     * @param threshold Número mínimo de lecturas.
+     * @return Mapa de forma a número de lecturas, en orden de aparición.
+     */
+    public Map<String, Integer> readsByShape(int threshold) {
+        Map<String, Integer> frequent = new LinkedHashMap<>();
+        readsByShape.forEach((shape, count) -> {
+            if (count >= threshold) {
+                frequent.put(shape, count);
+            }
+        });
+        return frequent;
+    }
+}
@@ -0,0 +1,135 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.dto.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que aplica las {@link RateLimitRule} antes de que la petición llegue a los controladores.
+ * <p>
+ * Se ejecuta después de la autenticación por JWT, para poder contar por usuario, y rechaza con
+ * {@code 429 Too Many Requests} y la cabecera {@code Retry-After} en cuanto una regla agota su cubeta,
+ * sin tocar servicios ni base de datos. Calcular la clave y consultar la cubeta no crea objetos salvo
+ * en las reglas por correo, que leen la variable de ruta.
+ * </p>
+ *
+ * <p>La IP es {@link HttpServletRequest#getRemoteAddr()}; detrás de un proxy debe activarse
+ * {@code server.forward-headers-strategy} para que refleje la del cliente.</p>
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String EMAIL = "email";
+    private static final long IP_SEED = 0x1F3D5B79L;
+    private static final long USER_SEED = 0x2E4C6A88L;
+    private static final long EMAIL_SEED = 0x3A5C7E91L;
+
+    private final List<RateLimitRule> rules;
+    private final RateLimitMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public RateLimitFilter(List<RateLimitRule> rules,
+                           RateLimitMetrics metrics,
+                           ObjectMapper objectMapper,
+                           @Value("${rate-limit.enabled:true}") boolean enabled) {
+        this.rules = rules;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = null;
+        for (RateLimitRule rule : rules) {
+            if (!rule.method().matches(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI());
+            }
+            PathPattern pattern = rule.match(request.getMethod(), path);
+            if (pattern == null) {
+                continue;
+            }
+            long waitNanos = rule.limiter().tryAcquire(key(rule.key(), request, pattern, path));
+            if (waitNanos > 0) {
+                metrics.recordRejected(rule.name());
+                reject(request, response, rule, waitNanos);
+                return;
+            }
+            metrics.recordAllowed(rule.name());
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private long key(RateLimitRule.KeySource source, HttpServletRequest request, PathPattern pattern, PathContainer path) {
+        if (source == RateLimitRule.KeySource.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt
+                    && jwt.getClaims().get(USER_ID_CLAIM) instanceof String userId) {
+                return StringHash.hash64(userId, USER_SEED);
+            }
+        } else if (source == RateLimitRule.KeySource.EMAIL) {
+            String email = request.getParameter(EMAIL);
+            if (email == null) {
+                // Las variables de ruta ya vienen decodificadas (%40 → @).
+                PathPattern.PathMatchInfo info = pattern.matchAndExtract(path);
+                email = info == null ? null : info.getUriVariables().get(EMAIL);
+            }
+            if (email != null && !email.isBlank()) {
+                return StringHash.hash64IgnoreCase(email.trim(), EMAIL_SEED);
+            }
+        }
+        return StringHash.hash64(request.getRemoteAddr(), IP_SEED);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimitRule rule, long waitNanos)
+            throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        String path = request.getRequestURI();
+        log.warn("Límite de tasa '{}' superado en [{} {}] desde {}", rule.name(), request.getMethod(), path,
+                request.getRemoteAddr());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                "Demasiadas solicitudes; intenta de nuevo en " + retryAfter + " segundos",
+                "RATE_LIMITED",
+                path,
+                HttpStatus.TOO_MANY_REQUESTS.value()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
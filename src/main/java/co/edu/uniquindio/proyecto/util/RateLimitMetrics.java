@@ -0,0 +1,72 @@
+package co.edu.uniquindio.proyecto.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria de la limitación de tasa, agrupados por regla.
+ * <p>
+ * Registra las peticiones admitidas y las rechazadas con 429. Los contadores son {@link LongAdder}
+ * para que los hilos de petición no compitan por un mismo valor.
+ * </p>
+ *
+ * <p>Se publican en Micrometer como {@code rate_limit.requests}, etiquetados por regla ({@code rule}) y
+ * resultado ({@code outcome}: {@code allowed} o {@code rejected}). Los contadores de las reglas
+ * configuradas se crean al arrancar, así que cada serie existe (a cero) antes del primer rechazo.</p>
+ */
+@Component
+public class RateLimitMetrics implements MeterBinder {
+
+    private final List<RateLimitRule> rules;
+    private final Map<String, LongAdder> allowed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejected = new ConcurrentHashMap<>();
+
+    public RateLimitMetrics(List<RateLimitRule> rules) {
+        this.rules = rules;
+        for (RateLimitRule rule : rules) {
+            allowed.put(rule.name(), new LongAdder());
+            rejected.put(rule.name(), new LongAdder());
+        }
+    }
+
+    public void recordAllowed(String rule) {
+        allowed.computeIfAbsent(rule, name -> new LongAdder()).increment();
+    }
+
+    public void recordRejected(String rule) {
+        rejected.computeIfAbsent(rule, name -> new LongAdder()).increment();
+    }
+
+    public long allowedCount(String rule) {
+        LongAdder counter = allowed.get(rule);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public long rejectedCount(String rule) {
+        LongAdder counter = rejected.get(rule);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RateLimitRule rule : rules) {
+            FunctionCounter.builder("rate_limit.requests", allowed.get(rule.name()), LongAdder::sum)
+                    .description("Peticiones evaluadas por la limitación de tasa")
+                    .tag("rule", rule.name())
+                    .tag("outcome", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("rate_limit.requests", rejected.get(rule.name()), LongAdder::sum)
+                    .description("Peticiones evaluadas por la limitación de tasa")
+                    .tag("rule", rule.name())
+                    .tag("outcome", "rejected")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package co.edu.uniquindio.proyecto.util;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.List;
+
+/**
+ * Regla de limitación de tasa aplicada por {@link RateLimitFilter}.
+ *
+ * @param name     Nombre de la regla, usado en configuración, logs y métricas.
+ * @param method   Método HTTP al que aplica.
+ * @param patterns Rutas a las que aplica.
+ * @param key      Origen de la clave por la que se cuenta.
+ * @param limiter  Cubetas de la regla.
+ */
+public record RateLimitRule(
+        String name,
+        HttpMethod method,
+        List<PathPattern> patterns,
+        KeySource key,
+        StripedRateLimiter limiter) {
+
+    /**
+     * Origen de la clave de una regla.
+     */
+    public enum KeySource {
+        /** Dirección IP del cliente. */
+        IP,
+        /** Claim {@code userId} del JWT; se usa la IP si la petición es anónima. */
+        USER,
+        /** Parámetro o variable de ruta {@code email}; se usa la IP si no está presente. */
+        EMAIL
+    }
+
+    /**
+     * Busca el patrón de la regla que coincide con la petición.
+     *
+     * @param requestMethod Método de la petición.
+     * @param path          Ruta ya analizada.
+     * @return Patrón coincidente o {@code null} si la regla no aplica.
+     */
+    public PathPattern match(String requestMethod, PathContainer path) {
+        if (!method.matches(requestMethod)) {
+            return null;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+package co.edu.uniquindio.proyecto.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/**
+ * Servidor Reactor Netty que corre junto a Tomcat en la misma aplicación, en su propio puerto.
+ * <p>
+ * La aplicación es servlet, así que Spring Boot no arranca WebFlux por su cuenta: este servidor sirve el
+ * {@link HttpHandler} reactivo (las suscripciones SSE de notificaciones) con un puñado de hilos de event
+ * loop, sin ocupar hilos de Tomcat por conexión. Se arranca con el contexto y se detiene antes que el
+ * cliente de Mongo.
+ * </p>
+ */
+@Slf4j
+public class ReactiveNotificationServer implements SmartLifecycle {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpHandler handler;
+    private final String host;
+    private final int port;
+
+    private volatile DisposableServer server;
+
+    /**
+     * @param handler Manejador reactivo a servir.
+     * @param host    Dirección en la que escuchar.
+     * @param port    Puerto; 0 para uno libre cualquiera.
+     */
+    public ReactiveNotificationServer(HttpHandler handler, String host, int port) {
+        this.handler = handler;
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create()
+                .host(host)
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+        log.info("Servidor SSE reactivo escuchando en {}:{}", host, server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        server = null;
+        if (running != null) {
+            running.disposeNow(SHUTDOWN_TIMEOUT);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Puerto en el que escucha el servidor, útil cuando se configuró el puerto 0.
+     *
+     * @return Puerto local, o -1 si no está arrancado.
+     */
+    public int port() {
+        DisposableServer running = server;
+        return running != null ? running.port() : -1;
+    }
+}
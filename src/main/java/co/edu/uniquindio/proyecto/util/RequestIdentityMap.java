@@ -0,0 +1,122 @@
+package co.edu.uniquindio.proyecto.util;
+
+import co.edu.uniquindio.proyecto.entity.comment.Comment;
+import co.edu.uniquindio.proyecto.entity.image.Image;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.user.User;
+import org.bson.types.ObjectId;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Mapa de identidad de la petición HTTP en curso para las búsquedas por ID de {@link Report},
+ * {@link User}, {@link Comment} e {@link Image}.
+ * <p>
+ * Dentro de una petición, la primera búsqueda de una entidad va a Mongo y las siguientes (el aspecto de
+ * autorización, el servicio, el servicio al que este delega) reciben la misma instancia, así que cada
+ * entidad se lee como mucho una vez. También se recuerda que un ID no existe. Como todos comparten la
+ * instancia, lo que un servicio modifica y guarda es lo que ven los demás. Hay que llamar a
+ * {@link #evict(Class, Object)} tras borrar una entidad y tras cualquier escritura que no pase por esa
+ * instancia: {@code MongoTemplate.update*}, {@code findAndModify} o guardar otra copia de la entidad.
+ * </p>
+ *
+ * <p>El mapa vive en los atributos de la petición y desaparece con ella. Fuera de una petición (tareas
+ * programadas, hilos asíncronos, tests de servicio) cada búsqueda va directamente a Mongo.</p>
+ */
+public final class RequestIdentityMap {
+
+    private static final String ATTRIBUTE = RequestIdentityMap.class.getName();
+    private static final Set<Class<?>> MAPPED_TYPES = Set.of(Report.class, User.class, Comment.class, Image.class);
+
+    private record Key(Class<?> type, Object id) {
+
+        /**
+         * Los IDs en hexadecimal se normalizan a {@link ObjectId} para que una búsqueda con {@code String}
+         * y otra con {@code ObjectId} de la misma entidad compartan entrada.
+         */
+        static Key of(Class<?> type, Object id) {
+            return new Key(type, id instanceof String hex && ObjectId.isValid(hex) ? new ObjectId(hex) : id);
+        }
+    }
+
+    private RequestIdentityMap() {
+    }
+
+    /**
+     * Indica si las búsquedas de un tipo de entidad pasan por el mapa.
+     *
+     * @param type Clase de la entidad.
+     * @return {@code true} para {@link Report}, {@link User}, {@link Comment} e {@link Image}.
+     */
+    public static boolean supports(Class<?> type) {
+        return MAPPED_TYPES.contains(type);
+    }
+
+    /**
+     * Indica si hay una petición en curso cuyo mapa puede usarse.
+     *
+     * @return {@code true} dentro de una petición HTTP.
+     */
+    public static boolean isActive() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    /**
+     * Busca una entidad por ID, leyéndola de Mongo solo si la petición aún no la había cargado.
+     *
+     * @param type   Clase de la entidad.
+     * @param id     ID de la entidad, como {@link ObjectId} o en hexadecimal.
+     * @param loader Búsqueda en Mongo, normalmente {@code repository::findById}.
+     * @param <T>    Tipo de la entidad.
+     * @param <ID>   Tipo del ID que recibe la búsqueda.
+     * @return La entidad, o vacío si no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, ID> Optional<T> findById(Class<T> type, ID id, Function<ID, Optional<T>> loader) {
+        Map<Key, Optional<?>> entities = entities();
+        if (entities == null || !supports(type)) {
+            return loader.apply(id);
+        }
+        Key key = Key.of(type, id);
+        Optional<?> cached = entities.get(key);
+        if (cached == null) {
+            cached = loader.apply(id);
+            entities.put(key, cached);
+        }
+        return (Optional<T>) cached;
+    }
+
+    /**
+     * Olvida una entidad, por ejemplo tras borrarla o actualizarla con {@code MongoTemplate}, para que la
+     * siguiente búsqueda vuelva a Mongo.
+     *
+     * @param type Clase de la entidad.
+     * @param id   ID de la entidad, como {@link ObjectId} o en hexadecimal.
+     */
+    public static void evict(Class<?> type, Object id) {
+        Map<Key, Optional<?>> entities = entities();
+        if (entities != null) {
+            entities.remove(Key.of(type, id));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Optional<?>> entities() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object entities = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entities == null) {
+            entities = new HashMap<Key, Optional<?>>();
+            attributes.setAttribute(ATTRIBUTE, entities, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<Key, Optional<?>>) entities;
+    }
+}
@@ -1,10 +1,11 @@
 package co.edu.uniquindio.proyecto.util;
 
+import co.edu.uniquindio.proyecto.security.CurrentUser;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Utilidad de seguridad para extraer información del contexto de autenticación.
@@ -12,24 +13,38 @@ import org.springframework.stereotype.Component;
  * Proporciona métodos para obtener el ID del usuario actual, verificar si el usuario
  * es el mismo que el solicitado o si posee el rol de administrador, y para validar roles.
  * </p>
+ *
+ * <p>Todos los métodos leen el {@link CurrentUser} que {@link CurrentUserFilter} calcula una vez por
+ * petición. Fuera de una petición HTTP (tareas programadas, hilos asíncronos) o antes de que pase el
+ * filtro, la identidad se calcula en el momento desde el contexto de seguridad.</p>
  */
 @Component
 @Slf4j
 public class SecurityUtils {
 
+    /**
+     * Obtiene la identidad del usuario autenticado en la petición en curso.
+     *
+     * @return Identidad del usuario, o {@link CurrentUser#ANONYMOUS} si no hay autenticación.
+     */
+    public CurrentUser currentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(CurrentUser.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUser user) {
+            return user;
+        }
+        return CurrentUser.from(SecurityContextHolder.getContext().getAuthentication());
+    }
+
     /**
      * Obtiene el identificador del usuario actual a partir del contexto de seguridad.
      *
      * @return El ID del usuario actual o {@code null} si no se encuentra la autenticación.
      */
     public String getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (log.isDebugEnabled()) {
-            log.debug("Obteniendo autenticación actual: {}", authentication);
-        }
-        String userId = extractUserIdFromAuthentication(authentication);
-        if (log.isDebugEnabled()) {
-            log.debug("UserId extraído: {}", userId);
+        String userId = currentUser().id();
+        if (userId == null) {
+            log.warn("No se encontró un usuario autenticado en el contexto de seguridad.");
         }
         return userId;
     }
@@ -42,38 +57,12 @@ public class SecurityUtils {
      * @return {@code true} si el usuario autenticado es el mismo o es administrador; de lo contrario, {@code false}.
      */
     public boolean isSelfOrAdmin(String requestedUserId) {
-        String currentUserId = getCurrentUserId();
-        boolean isAdmin = hasRole("ROLE_ADMIN");
+        CurrentUser user = currentUser();
         if (log.isDebugEnabled()) {
             log.debug("Verificando acceso: requestedUserId={}, currentUserId={}, isAdmin={}",
-                    requestedUserId, currentUserId, isAdmin);
-        }
-        return requestedUserId.equals(currentUserId) || isAdmin;
-    }
-
-    /**
-     * Extrae el ID del usuario a partir de la autenticación actual.
-     * <p>
-     * Se espera que el principal sea una instancia de {@code Jwt} que contenga la reclamación "userId".
-     * </p>
-     *
-     * @param authentication Contexto de autenticación.
-     * @return El ID del usuario si se encuentra; de lo contrario, {@code null}.
-     */
-    private String extractUserIdFromAuthentication(Authentication authentication) {
-        if (authentication == null) {
-            log.warn("No se encontró autenticación en el contexto de seguridad.");
-            return null;
+                    requestedUserId, user.id(), user.isAdmin());
         }
-        if (authentication.getPrincipal() instanceof Jwt jwt) {
-            String userId = jwt.getClaimAsString("userId");
-            if (log.isDebugEnabled()) {
-                log.debug("Extrayendo userId del Jwt: {}", userId);
-            }
-            return userId;
-        }
-        log.warn("El principal de la autenticación no es una instancia de Jwt: {}", authentication.getPrincipal());
-        return null;
+        return requestedUserId.equals(user.id()) || user.isAdmin();
     }
 
     /**
@@ -83,16 +72,10 @@ public class SecurityUtils {
      * @return {@code true} si el rol se encuentra entre las autoridades del usuario; de lo contrario, {@code false}.
      */
     public boolean hasRole(String role) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
-            log.warn("No se encontró autenticación al verificar el rol: {}", role);
-            return false;
-        }
-        boolean hasRole = authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals(role));
+        CurrentUser user = currentUser();
+        boolean hasRole = user.hasRole(role);
         if (log.isDebugEnabled()) {
-            log.debug("El usuario '{}' tiene el rol '{}': {}",
-                    authentication.getName(), role, hasRole);
+            log.debug("El usuario '{}' tiene el rol '{}': {}", user.username(), role, hasRole);
         }
         return hasRole;
     }
@@ -103,23 +86,11 @@ public class SecurityUtils {
      * @return El username extraído del JWT o {@code null} si no se encuentra.
      */
     public String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (log.isDebugEnabled()) {
-            log.debug("Obteniendo autenticación actual para username: {}", authentication);
-        }
-        if (authentication == null) {
-            log.warn("No se encontró autenticación en el contexto de seguridad.");
-            return null;
-        }
-        if (authentication.getPrincipal() instanceof Jwt jwt) {
-            String username = jwt.getSubject(); // El subject generalmente contiene el username
-            if (log.isDebugEnabled()) {
-                log.debug("Username extraído del JWT: {}", username);
-            }
-            return username;
+        String username = currentUser().username();
+        if (username == null) {
+            log.warn("No se encontró un usuario autenticado en el contexto de seguridad.");
         }
-        log.warn("El principal de la autenticación no es una instancia de Jwt: {}", authentication.getPrincipal());
-        return null;
+        return username;
     }
 
 }
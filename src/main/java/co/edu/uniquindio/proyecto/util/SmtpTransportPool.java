@@ -0,0 +1,188 @@
+package co.edu.uniquindio.proyecto.util;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool pequeño de sesiones SMTP ({@link Transport}) ya conectadas y autenticadas.
+ * <p>
+ * {@code JavaMailSender.send(message)} abre una conexión, negocia STARTTLS y se autentica por cada
+ * mensaje. Este pool conserva hasta {@code maxSessions} conexiones abiertas para enviar muchos mensajes
+ * por cada una. Una sesión se recicla (se cierra y se abre otra) al alcanzar
+ * {@code maxMessagesPerSession} envíos, tras quedar inactiva más de {@code idleTimeout} o ante cualquier error.
+ * </p>
+ *
+ * <p>Uso típico:</p>
+ * <pre>
+ *     Lease lease = pool.borrow();
+ *     boolean broken = false;
+ *     try {
+ *         lease.send(message);
+ *     } catch (MessagingException e) {
+ *         broken = true;
+ *     } finally {
+ *         pool.release(lease, broken);
+ *     }
+ * </pre>
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "email.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final int maxSessions;
+    private final int maxMessagesPerSession;
+    private final long idleTimeoutNanos;
+    private final Semaphore permits;
+    private final BlockingQueue<Lease> idle;
+
+    public SmtpTransportPool(JavaMailSender mailSender,
+                             @Value("${email.smtp.pool.max-sessions:3}") int maxSessions,
+                             @Value("${email.smtp.pool.max-messages-per-session:100}") int maxMessagesPerSession,
+                             @Value("${email.smtp.pool.idle-timeout-ms:60000}") long idleTimeoutMs) {
+        if (!(mailSender instanceof JavaMailSenderImpl impl)) {
+            throw new IllegalStateException("SmtpTransportPool requiere un JavaMailSenderImpl configurado");
+        }
+        this.mailSender = impl;
+        this.maxSessions = maxSessions;
+        this.maxMessagesPerSession = maxMessagesPerSession;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.permits = new Semaphore(maxSessions);
+        this.idle = new ArrayBlockingQueue<>(maxSessions);
+    }
+
+    /**
+     * Número máximo de sesiones que el pool mantiene abiertas simultáneamente.
+     *
+     * @return Capacidad del pool.
+     */
+    public int capacity() {
+        return maxSessions;
+    }
+
+    /**
+     * Crea un mensaje MIME asociado a la sesión de correo configurada.
+     *
+     * @return Mensaje vacío listo para rellenar.
+     */
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Obtiene una sesión conectada, reutilizando una inactiva si sigue siendo válida.
+     * Bloquea mientras todas las sesiones estén en uso.
+     *
+     * @return Sesión SMTP lista para enviar.
+     * @throws MessagingException   si no fue posible conectar con el servidor.
+     * @throws InterruptedException si el hilo se interrumpe esperando una sesión libre.
+     */
+    public Lease borrow() throws MessagingException, InterruptedException {
+        permits.acquire();
+        try {
+            Lease lease;
+            while ((lease = idle.poll()) != null) {
+                if (lease.isReusable()) {
+                    return lease;
+                }
+                lease.close();
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve una sesión al pool. Si está rota o agotó su cuota de mensajes, se cierra.
+     *
+     * @param lease  Sesión obtenida con {@link #borrow()}.
+     * @param broken {@code true} si hubo un error de envío con esta sesión.
+     */
+    public void release(Lease lease, boolean broken) {
+        try {
+            if (broken || lease.sent >= maxMessagesPerSession || !idle.offer(lease)) {
+                lease.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Cierra todas las sesiones inactivas al detener la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        Lease lease;
+        while ((lease = idle.poll()) != null) {
+            lease.close();
+        }
+    }
+
+    private Lease connect() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        log.debug("Nueva sesión SMTP abierta con {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new Lease(transport);
+    }
+
+    /**
+     * Sesión SMTP prestada por el pool.
+     */
+    public final class Lease {
+
+        private final Transport transport;
+        private int sent;
+        private long lastUsedNanos = System.nanoTime();
+
+        private Lease(Transport transport) {
+            this.transport = transport;
+        }
+
+        /**
+         * Envía un mensaje por la conexión abierta, sin renegociar ni autenticar.
+         *
+         * @param message Mensaje a enviar.
+         * @throws MessagingException si el servidor rechaza el mensaje o la conexión falla.
+         */
+        public void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            sent++;
+            lastUsedNanos = System.nanoTime();
+        }
+
+        private boolean isReusable() {
+            return System.nanoTime() - lastUsedNanos < idleTimeoutNanos && transport.isConnected();
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Error cerrando sesión SMTP: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.uniquindio.proyecto.util;
+
+/**
+ * Hash de 64 bits de secuencias de caracteres que no crea objetos.
+ * <p>
+ * Recorre los caracteres directamente (sin {@code getBytes} ni copias) y aplica el mezclado final de
+ * MurmurHash3, por lo que la distribución de bits es buena incluso para claves cortas y parecidas como
+ * IPs o correos. No es criptográfico.
+ * </p>
+ */
+public final class StringHash {
+
+    private static final long MULTIPLIER = 0xC6A4A7935BD1E995L;
+
+    private StringHash() {
+    }
+
+    /**
+     * Calcula el hash de una secuencia.
+     *
+     * @param value Secuencia a resumir.
+     * @param seed  Semilla; semillas distintas dan funciones de hash independientes.
+     * @return Hash de 64 bits.
+     */
+    public static long hash64(CharSequence value, long seed) {
+        long h = seed ^ (value.length() * MULTIPLIER);
+        for (int i = 0; i < value.length(); i++) {
+            h = mix(h, value.charAt(i));
+        }
+        return finish(h);
+    }
+
+    /**
+     * Calcula el hash de una secuencia sin distinguir mayúsculas de minúsculas, sin crear la versión
+     * en minúsculas de la cadena.
+     *
+     * @param value Secuencia a resumir.
+     * @param seed  Semilla.
+     * @return Hash de 64 bits, igual para {@code "Ana@Mail.com"} y {@code "ana@mail.com"}.
+     */
+    public static long hash64IgnoreCase(CharSequence value, long seed) {
+        long h = seed ^ (value.length() * MULTIPLIER);
+        for (int i = 0; i < value.length(); i++) {
+            h = mix(h, Character.toLowerCase(value.charAt(i)));
+        }
+        return finish(h);
+    }
+
+    private static long mix(long h, char c) {
+        h ^= c;
+        h *= MULTIPLIER;
+        return Long.rotateLeft(h, 29);
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
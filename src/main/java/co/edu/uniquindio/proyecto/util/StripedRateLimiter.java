@@ -0,0 +1,130 @@
+package co.edu.uniquindio.proyecto.util;
+
+import java.time.Duration;
+
+/**
+ * Limitador de tasa por clave basado en cubetas de tokens, con bloqueo por franjas y sin creación de
+ * objetos por petición.
+ * <p>
+ * Cada cubeta se representa con un único {@code long}: el instante teórico de llegada (TAT) del
+ * algoritmo GCRA, equivalente a una cubeta de tokens con capacidad {@code burst} que se rellena a razón
+ * de {@code limit} tokens por {@code period}. Una petición se admite si el TAT no adelanta al reloj en
+ * más de la tolerancia de ráfaga; al admitirla el TAT avanza un intervalo de emisión.
+ * </p>
+ *
+ * <p>Las claves (hashes de 64 bits, ver {@link StringHash}) y sus TAT viven en dos arreglos planos
+ * repartidos en franjas, cada una con su propio monitor, de modo que peticiones de claves distintas casi
+ * nunca compiten por el mismo bloqueo. Dentro de una franja se usa direccionamiento abierto con un número
+ * fijo de sondeos; si no hay hueco se reemplaza la entrada cuyo TAT es más antiguo. Una entrada con el TAT
+ * en el pasado tiene la cubeta llena, así que descartarla no cambia el resultado; solo con más claves
+ * activas que huecos se descartaría una cubeta parcialmente vacía, lo que favorece al cliente y nunca
+ * rechaza de más.</p>
+ */
+public final class StripedRateLimiter {
+
+    private static final int PROBES = 8;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int stripeMask;
+    private final int slotMask;
+    private final int slotsPerStripe;
+    private final Object[] locks;
+    private final long[] keys;
+    private final long[] tats;
+
+    /**
+     * @param limit          Peticiones permitidas por periodo en régimen sostenido.
+     * @param period         Periodo de la tasa.
+     * @param burst          Peticiones que pueden hacerse seguidas con la cubeta llena.
+     * @param stripes        Número de franjas; se redondea a potencia de dos.
+     * @param slotsPerStripe Claves por franja; se redondea a potencia de dos.
+     */
+    public StripedRateLimiter(int limit, Duration period, int burst, int stripes, int slotsPerStripe) {
+        if (limit <= 0 || burst <= 0 || period.isNegative() || period.isZero() || stripes <= 0 || slotsPerStripe <= 0) {
+            throw new IllegalArgumentException("Parámetros inválidos para el limitador de tasa");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / limit);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        int stripeCount = powerOfTwo(stripes);
+        this.slotsPerStripe = powerOfTwo(Math.max(slotsPerStripe, PROBES));
+        this.stripeMask = stripeCount - 1;
+        this.slotMask = this.slotsPerStripe - 1;
+        this.locks = new Object[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            locks[i] = new Object();
+        }
+        this.keys = new long[stripeCount * this.slotsPerStripe];
+        this.tats = new long[keys.length];
+    }
+
+    /**
+     * Intenta consumir un token de la cubeta de la clave.
+     *
+     * @param key Hash de la clave (IP, usuario, correo…).
+     * @return {@code 0} si la petición se admite; si no, los nanosegundos que faltan para que se admita.
+     */
+    public long tryAcquire(long key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * Variante de {@link #tryAcquire(long)} con el reloj explícito, en nanosegundos monótonos.
+     *
+     * @param key      Hash de la clave.
+     * @param nowNanos Instante actual según {@link System#nanoTime()}.
+     * @return {@code 0} si se admite; si no, los nanosegundos de espera.
+     */
+    public long tryAcquire(long key, long nowNanos) {
+        // 0 marca un hueco libre.
+        long k = key == 0 ? 1 : key;
+        int stripe = (int) (k ^ (k >>> 32)) & stripeMask;
+        int base = stripe * slotsPerStripe;
+        int start = (int) (k >>> 40) & slotMask;
+
+        synchronized (locks[stripe]) {
+            int victim = -1;
+            for (int p = 0; p < PROBES; p++) {
+                int slot = base + ((start + p) & slotMask);
+                long current = keys[slot];
+                if (current == k) {
+                    return admit(slot, nowNanos);
+                }
+                if (current == 0) {
+                    victim = slot;
+                    break;
+                }
+                if (victim < 0 || tats[slot] - tats[victim] < 0) {
+                    victim = slot;
+                }
+            }
+            keys[victim] = k;
+            tats[victim] = nowNanos;
+            return admit(victim, nowNanos);
+        }
+    }
+
+    /**
+     * Tiempo de reposición de un token.
+     *
+     * @return Intervalo de emisión en nanosegundos.
+     */
+    public long emissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    private long admit(int slot, long nowNanos) {
+        long tat = tats[slot] - nowNanos > 0 ? tats[slot] : nowNanos;
+        long ahead = tat - nowNanos;
+        if (ahead > burstToleranceNanos) {
+            return ahead - burstToleranceNanos;
+        }
+        tats[slot] = tat + emissionIntervalNanos;
+        return 0;
+    }
+
+    private static int powerOfTwo(int value) {
+        int capped = Math.min(value, 1 << 20);
+        return capped <= 1 ? 1 : Integer.highestOneBit(capped - 1) << 1;
+    }
+}
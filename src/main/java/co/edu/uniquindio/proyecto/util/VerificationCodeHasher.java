@@ -0,0 +1,87 @@
+package co.edu.uniquindio.proyecto.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Calcula el hash con el que se guardan los códigos de verificación.
+ * <p>
+ * El hash es un HMAC-SHA256 con un secreto del servidor sobre el correo normalizado y el código, de modo
+ * que el correo actúa como sal: el mismo código de seis dígitos produce hashes distintos para usuarios
+ * distintos, y sin el secreto no puede recuperarse el código probando el millón de combinaciones. Al ser
+ * determinista, validar un código es una sola búsqueda por {@code (email, codeHash)} en un índice.
+ * </p>
+ *
+ * <p>El secreto se configura con {@code security.verification.code-secret} (Base64) y es obligatorio: sin
+ * él la aplicación no arranca. Solo con el perfil {@code dev} o {@code test} se admite un secreto aleatorio
+ * por proceso, con el que los códigos pendientes dejan de valer al reiniciar y no se comparten entre
+ * nodos.</p>
+ */
+@Component
+@Slf4j
+public class VerificationCodeHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Profiles RANDOM_SECRET_PROFILES = Profiles.of("dev", "test");
+
+    private final SecretKeySpec key;
+
+    public VerificationCodeHasher(@Value("${security.verification.code-secret:}") String secret,
+                                  Environment environment) {
+        byte[] bytes;
+        if (secret == null || secret.isBlank()) {
+            if (!environment.acceptsProfiles(RANDOM_SECRET_PROFILES)) {
+                throw new IllegalStateException("security.verification.code-secret (VERIFICATION_CODE_SECRET) es "
+                        + "obligatorio: sin él los códigos de verificación no sobreviven a un reinicio ni se "
+                        + "comparten entre nodos. Solo los perfiles dev y test admiten un secreto aleatorio.");
+            }
+            log.warn("security.verification.code-secret no está definido; se usa un secreto aleatorio de proceso");
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = Base64.getDecoder().decode(secret.trim());
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+    }
+
+    /**
+     * Normaliza un correo para usarlo como clave de los códigos.
+     *
+     * @param email Correo tal como lo envió el cliente.
+     * @return Correo sin espacios y en minúsculas.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Calcula el hash de un código para un correo.
+     *
+     * @param email Correo ya normalizado con {@link #normalizeEmail(String)}.
+     * @param code  Código en claro.
+     * @return Hash en hexadecimal.
+     */
+    public String hash(String email, String code) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(email.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(code.trim().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular el hash del código de verificación", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package co.edu.uniquindio.proyecto.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta con JFR los hilos virtuales que quedan anclados a su hilo portador.
+ * <p>
+ * En JDK 21 un hilo virtual que se bloquea (E/S, {@code sleep}, esperar un lock) dentro de un bloque
+ * {@code synchronized} o de un método nativo no libera su portador: con pocos portadores (tantos como
+ * núcleos) unas cuantas esperas así bastan para frenar todas las peticiones. La JVM emite el evento
+ * {@code jdk.VirtualThreadPinned} cuando un anclaje dura más del umbral; aquí se escucha con un
+ * {@link RecordingStream} y cada uno se cuenta en {@code jvm.threads.virtual.pinned}. La primera vez que
+ * aparece una pila se registra en {@code WARN} con sus marcos; las repeticiones solo en {@code DEBUG}.
+ * </p>
+ *
+ * <p>Se activa con {@code diagnostics.virtual-thread-pinning.enabled}, por defecto junto con
+ * {@code spring.threads.virtual.enabled}.</p>
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle, MeterBinder {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "co.edu.uniquindio.proyecto.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final LongAdder pinned = new LongAdder();
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-thread-pinning.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+            @Value("${diagnostics.virtual-thread-pinning.threshold-ms:20}") long thresholdMs) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Detección de anclaje de hilos virtuales activa (umbral {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Publica el total de anclajes detectados como {@code jvm.threads.virtual.pinned}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jvm.threads.virtual.pinned", pinned, LongAdder::sum)
+                .description("Hilos virtuales anclados a su portador más tiempo que el umbral")
+                .register(registry);
+    }
+
+    /**
+     * Anclajes detectados desde el arranque.
+     *
+     * @return Número de eventos {@code jdk.VirtualThreadPinned} recibidos.
+     */
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+        LongAdder count = pinnedBySite.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+
+        if (count.sum() == 1) {
+            log.warn("Hilo virtual anclado a su portador {} ms en {}:\n\t{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::format)
+                            .collect(Collectors.joining("\n\t")));
+        } else if (log.isDebugEnabled()) {
+            log.debug("Hilo virtual anclado {} ms en {} ({} veces)", event.getDuration().toMillis(), site, count.sum());
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    /**
+     * Primer marco de la aplicación en la pila, que es donde suele estar el {@code synchronized} a revisar;
+     * si no hay ninguno, el marco superior.
+     */
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return frames.isEmpty() ? "(sin pila)" : format(frames.get(0));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.proyectoavanzada.benchmark;
+
+import co.edu.uniquindio.proyecto.util.SmtpTransportPool;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el throughput de envío contra un servidor SMTP local (GreenMail) abriendo una conexión
+ * por mensaje ({@code JavaMailSender.send}) frente a reutilizar sesiones del {@link SmtpTransportPool}.
+ * <p>Se ejecuta con {@code ./gradlew benchmarkTest}.</p>
+ */
+@Tag("benchmark")
+class SmtpTransportPoolBenchmarkTest {
+
+    private static final int MESSAGES = 500;
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.setUser("bench@example.com", "bench", "secret");
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("bench");
+        mailSender.setPassword("secret");
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        mailSender.setJavaMailProperties(props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+    }
+
+    @Test
+    @DisplayName("Benchmark: conexión por mensaje vs sesiones SMTP reutilizadas")
+    void benchmarkPerMessageVsPooled() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            mailSender.send(buildMessage(i));
+        }
+        double perMessage = throughput(start);
+
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, 1, 100, 60000);
+        start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            SmtpTransportPool.Lease lease = pool.borrow();
+            boolean broken = false;
+            try {
+                lease.send(buildMessage(i));
+            } catch (Exception e) {
+                broken = true;
+                throw e;
+            } finally {
+                pool.release(lease, broken);
+            }
+        }
+        double pooled = throughput(start);
+        pool.shutdown();
+
+        assertEquals(MESSAGES * 2, greenMail.getReceivedMessages().length);
+        System.out.printf("SMTP conexión por mensaje: %.1f msg/s%n", perMessage);
+        System.out.printf("SMTP sesiones reutilizadas: %.1f msg/s (x%.1f)%n", pooled, pooled / perMessage);
+    }
+
+    private MimeMessage buildMessage(int i) throws Exception {
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+        helper.setFrom("noreply@example.com");
+        helper.setTo("bench@example.com");
+        helper.setSubject("Benchmark " + i);
+        helper.setText("<p>Mensaje " + i + "</p>", true);
+        return mime;
+    }
+
+    private static double throughput(long startNanos) {
+        return MESSAGES / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+}
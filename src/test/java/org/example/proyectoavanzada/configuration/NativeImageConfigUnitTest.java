@@ -0,0 +1,62 @@
+package org.example.proyectoavanzada.configuration;
+
+import co.edu.uniquindio.proyecto.configuration.NativeImageConfig;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.service.implementations.AuthorizationServiceImplements;
+import co.edu.uniquindio.proyecto.service.interfaces.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba en la JVM que las sugerencias de la imagen nativa cubren los recursos y tipos que la
+ * aplicación lee por nombre o por reflexión.
+ */
+class NativeImageConfigUnitTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeImageConfig.Hints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Las claves PEM y las plantillas HTML quedan incluidas como recursos")
+    void testResources() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("keys/public-key.pem").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("keys/private-key.pem").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("templates/verification-email.html").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("templates/report-summary-template.html").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("org/apache/pdfbox/resources/glyphlist/glyphlist.txt").test(hints));
+    }
+
+    @Test
+    @DisplayName("Las entidades y servicios que usa AuthorizationAspect quedan registrados para reflexión")
+    void testAuthorizationAspect() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(ReportService.class).withMemberCategory(MemberCategory.INTROSPECT_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(Report.class).withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(AuthorizationServiceImplements.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+    }
+
+    @Test
+    @DisplayName("Las clases de jjwt y los DTO serializados fuera de los controladores quedan registrados")
+    void testReflectionTypes() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(NotificationDTO.class).test(hints));
+    }
+}
@@ -12,6 +12,7 @@ import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exceptionhandler.auth.SecurityErrorHandler;
 import co.edu.uniquindio.proyecto.service.EmailService;
 import co.edu.uniquindio.proyecto.util.JwtUtils;
+import co.edu.uniquindio.proyecto.util.VerificationCodeHasher;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.bson.types.ObjectId;
 import org.example.proyectoavanzada.util.LoginUtils;
@@ -57,9 +58,13 @@ public class AuthControllerIntegrationTest {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtUtils jwtUtils;
+    @Autowired
+    private VerificationCodeHasher codeHasher;
 
     private List<User> testUsers;
     private List<VerificationCode> testCodes;
+    /** Códigos en claro de {@link #testCodes}, en el mismo orden. */
+    private List<String> plainCodes;
 
     @BeforeEach
     void setUp() {
@@ -83,11 +88,14 @@ public class AuthControllerIntegrationTest {
 
         mongoTemplate.insertAll(testUsers);
 
-        testCodes = testUsers.stream()
-                .map(user -> {
+        plainCodes = testUsers.stream().map(user -> UUID.randomUUID().toString()).toList();
+        testCodes = IntStream.range(0, testUsers.size())
+                .mapToObj(i -> {
+                    User user = testUsers.get(i);
                     VerificationCode code = new VerificationCode();
                     code.setId(new ObjectId());
-                    code.setCode(UUID.randomUUID().toString());
+                    code.setEmail(user.getEmail());
+                    code.setCodeHash(codeHasher.hash(user.getEmail(), plainCodes.get(i)));
                     code.setUserId(user.getId());
                     code.setCreatedAt(LocalDateTime.now());
                     code.setExpiresAt(LocalDateTime.now().plusMinutes(15));
@@ -98,7 +106,8 @@ public class AuthControllerIntegrationTest {
         //Para actualizar Contraseña
         String code = "VALID1234";
         VerificationCode verificationCode = new VerificationCode();
-        verificationCode.setCode(code);
+        verificationCode.setEmail(testUsers.get(1).getEmail());
+        verificationCode.setCodeHash(codeHasher.hash(testUsers.get(1).getEmail(), code));
         verificationCode.setUserId(testUsers.get(1).getId());
         verificationCode.setVerificationCodeType(VerificationCodeType.PASSWORD_RESET);
         verificationCode.setCreatedAt(LocalDateTime.now());
@@ -118,7 +127,7 @@ public class AuthControllerIntegrationTest {
         VerificationCode code = testCodes.get(0);
 
         ResponseEntity<String> response = restTemplate.exchange(
-                "/api/v1/auth/activations?code=" + code.getCode(),
+                "/api/v1/auth/activations?email=" + code.getEmail() + "&code=" + plainCodes.get(0),
                 HttpMethod.PATCH,
                 null,
                 String.class
@@ -132,7 +141,7 @@ public class AuthControllerIntegrationTest {
         assertEquals(AccountStatus.ACTIVATED, user.getAccountStatus());
 
         assertFalse(mongoTemplate.exists(
-                Query.query(Criteria.where("code").is(code.getCode())),
+                Query.query(Criteria.where("codeHash").is(code.getCodeHash())),
                 VerificationCode.class
         ));
     }
@@ -141,7 +150,7 @@ public class AuthControllerIntegrationTest {
     @DisplayName("Código inválido devuelve 400")
     void givenInvalidCode_whenVerifyAccount_thenReturns400() {
         ResponseEntity<String> response = restTemplate.exchange(
-                "/api/v1/auth/activations?code=invalid-code-123",
+                "/api/v1/auth/activations?email=" + testUsers.get(0).getEmail() + "&code=invalid-code-123",
                 HttpMethod.PATCH,
                 null,
                 String.class
@@ -159,7 +168,7 @@ public class AuthControllerIntegrationTest {
         mongoTemplate.save(expired);
 
         ResponseEntity<String> response = restTemplate.exchange(
-                "/api/v1/auth/activations?code=" + expired.getCode(),
+                "/api/v1/auth/activations?email=" + expired.getEmail() + "&code=" + plainCodes.get(1),
                 HttpMethod.PATCH,
                 null,
                 String.class
@@ -169,7 +178,7 @@ public class AuthControllerIntegrationTest {
         assertTrue(response.getBody().contains("expirado"));
 
         boolean stillExists = mongoTemplate.exists(
-                Query.query(Criteria.where("code").is(expired.getCode())),
+                Query.query(Criteria.where("codeHash").is(expired.getCodeHash())),
                 VerificationCode.class
         );
         assertFalse(stillExists);
@@ -334,7 +343,7 @@ public class AuthControllerIntegrationTest {
         String code = "VALID1234";
         String email = testUsers.get(1).getEmail();
 
-        PasswordResetRequest request = new PasswordResetRequest(code, "NewPassword1");
+        PasswordResetRequest request = new PasswordResetRequest(email, code, "NewPassword1");
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -356,7 +365,7 @@ public class AuthControllerIntegrationTest {
     @Test
     @DisplayName("Confirmación con código inválido devuelve 400")
     void givenInvalidCode_whenConfirmReset_thenReturnsBadRequest() {
-        PasswordResetRequest request = new PasswordResetRequest("INVALID_CODE", "NewPassword1");
+        PasswordResetRequest request = new PasswordResetRequest(testUsers.get(1).getEmail(), "INVALID_CODE", "NewPassword1");
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -376,7 +385,7 @@ public class AuthControllerIntegrationTest {
     @Test
     @DisplayName("Confirmación con contraseña inválida devuelve 400 con mensaje de validación")
     void givenInvalidPasswordPattern_whenConfirmReset_thenReturnsValidationError() {
-        PasswordResetRequest request = new PasswordResetRequest("ANYCODE", "short");
+        PasswordResetRequest request = new PasswordResetRequest(testUsers.get(1).getEmail(), "ANYCODE", "short");
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -78,7 +78,8 @@ class AuthControllerUnitTest {
         for (int i = 1; i <= 5; i++) {
             VerificationCode vc = new VerificationCode();
             vc.setId(new ObjectId());
-            vc.setCode("CODE" + i);
+            vc.setEmail(mockUsers.get(i - 1).getEmail());
+            vc.setCodeHash("HASH" + i);
             vc.setUserId(mockUsers.get(i - 1).getId());
             vc.setCreatedAt(LocalDateTime.now().minusMinutes(i));
             vc.setExpiresAt(LocalDateTime.now().plusMinutes(15 - i));
@@ -94,10 +95,11 @@ class AuthControllerUnitTest {
     @Test
     @DisplayName("PATCH /api/v1/auth/activations retorna 200 cuando el código es válido")
     void testVerifyAccount_Success() throws Exception {
-        String code = mockCodes.get(0).getCode();
-        doNothing().when(verificationService).validateCodeActivation(code);
+        String email = mockCodes.get(0).getEmail();
+        String code = "CODE1";
+        doNothing().when(verificationService).validateCodeActivation(email, code);
 
-        mockMvc.perform(patch("/api/v1/auth/activations").param("code", code))
+        mockMvc.perform(patch("/api/v1/auth/activations").param("email", email).param("code", code))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Cuenta verificada exitosamente"));
     }
@@ -105,20 +107,22 @@ class AuthControllerUnitTest {
     @Test
     @DisplayName("PATCH /api/v1/auth/activations retorna 400 cuando el código no existe")
     void testVerifyAccount_InvalidCode() throws Exception {
+        String email = mockCodes.get(0).getEmail();
         String badCode = "BAD";
-        doThrow(new InvalidCodeException("BAD")).when(verificationService).validateCodeActivation(badCode);
+        doThrow(new InvalidCodeException("BAD")).when(verificationService).validateCodeActivation(email, badCode);
 
-        mockMvc.perform(patch("/api/v1/auth/activations").param("code", badCode))
+        mockMvc.perform(patch("/api/v1/auth/activations").param("email", email).param("code", badCode))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
     @DisplayName("PATCH /api/v1/auth/activations retorna 500 cuando el código expiró")
     void testVerifyAccount_CodeExpired() throws Exception {
-        String expired = mockCodes.get(1).getCode();
-        doThrow(new CodeExpiredException("expired")).when(verificationService).validateCodeActivation(expired);
+        String email = mockCodes.get(1).getEmail();
+        String expired = "CODE2";
+        doThrow(new CodeExpiredException("expired")).when(verificationService).validateCodeActivation(email, expired);
 
-        mockMvc.perform(patch("/api/v1/auth/activations").param("code", expired))
+        mockMvc.perform(patch("/api/v1/auth/activations").param("email", email).param("code", expired))
                 .andExpect(status().isBadRequest());
     }
 
@@ -272,8 +276,8 @@ class AuthControllerUnitTest {
     @DisplayName("PATCH /api/v1/auth/users/password retorna 200 cuando el código y contraseña son válidos")
     void testConfirmResetPassword_Success() throws Exception {
         // Arrange
-        PasswordResetRequest request = new PasswordResetRequest("CODE123", "NewPassword123");
-        doNothing().when(verificationService).resetPasswordWithCode(request.code(), request.newPassword());
+        PasswordResetRequest request = new PasswordResetRequest("user1@example.com", "CODE123", "NewPassword123");
+        doNothing().when(verificationService).resetPasswordWithCode(request.email(), request.code(), request.newPassword());
 
         // Act & Assert
         mockMvc.perform(patch("/api/v1/auth/users/password")
@@ -286,9 +290,9 @@ class AuthControllerUnitTest {
     @Test
     @DisplayName("PATCH /api/v1/auth/users/password retorna 400 cuando el código es inválido")
     void testConfirmResetPassword_InvalidCode() throws Exception {
-        PasswordResetRequest request = new PasswordResetRequest("BAD_CODE", "1234");
+        PasswordResetRequest request = new PasswordResetRequest("user1@example.com", "BAD_CODE", "1234");
         doThrow(new InvalidCodeException("Código inválido"))
-                .when(verificationService).resetPasswordWithCode(request.code(), request.newPassword());
+                .when(verificationService).resetPasswordWithCode(request.email(), request.code(), request.newPassword());
 
         mockMvc.perform(patch("/api/v1/auth/users/password")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -299,9 +303,9 @@ class AuthControllerUnitTest {
     @Test
     @DisplayName("PATCH /api/v1/auth/users/password retorna 400 cuando el código expiró")
     void testConfirmResetPassword_ExpiredCode() throws Exception {
-        PasswordResetRequest request = new PasswordResetRequest("EXPIRED_CODE", "1234");
+        PasswordResetRequest request = new PasswordResetRequest("user1@example.com", "EXPIRED_CODE", "1234");
         doThrow(new CodeExpiredException("expirado"))
-                .when(verificationService).resetPasswordWithCode(request.code(), request.newPassword());
+                .when(verificationService).resetPasswordWithCode(request.email(), request.code(), request.newPassword());
 
         mockMvc.perform(patch("/api/v1/auth/users/password")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -312,9 +316,9 @@ class AuthControllerUnitTest {
     @Test
     @DisplayName("PATCH /api/v1/auth/users/password retorna 404 cuando no se encuentra el usuario")
     void testConfirmResetPassword_UserNotFound() throws Exception {
-        PasswordResetRequest request = new PasswordResetRequest("VALID", "1Mn_86g");
+        PasswordResetRequest request = new PasswordResetRequest("user1@example.com", "VALID", "1Mn_86g");
         doThrow(new UserNotFoundException("ID"))
-                .when(verificationService).resetPasswordWithCode(request.code(), request.newPassword());
+                .when(verificationService).resetPasswordWithCode(request.email(), request.code(), request.newPassword());
 
         mockMvc.perform(patch("/api/v1/auth/users/password")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,113 @@
+package org.example.proyectoavanzada.controller.unit;
+
+import co.edu.uniquindio.proyecto.controller.NotificationStreamHandler;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationStreamHub;
+import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamHandlerUnitTest {
+
+    private static final String PATH = "/api/v1/notifications/stream";
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private NotificationMapper notificationMapper;
+
+    private NotificationStreamHub hub;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        hub = new NotificationStreamHub(16);
+        NotificationStreamHandler handler = new NotificationStreamHandler(jwtDecoder, reactiveMongoTemplate,
+                notificationMapper, hub, 3600);
+        client = WebTestClient.bindToRouterFunction(RouterFunctions.route(GET(PATH), handler::stream)).build();
+    }
+
+    private static NotificationDTO dto(String id) {
+        return new NotificationDTO(id, "t", "m", "r1", NotificationType.COMMENT, LocalDateTime.now(), false);
+    }
+
+    private static Jwt jwt(String userId) {
+        return Jwt.withTokenValue("token").header("alg", "RS256").claim("userId", userId).build();
+    }
+
+    @Test
+    @DisplayName("Responde 401 sin token o con un token inválido")
+    void testRejectsMissingOrInvalidToken() {
+        when(jwtDecoder.decode("bad")).thenThrow(new BadJwtException("firma inválida"));
+
+        client.get().uri(PATH).exchange().expectStatus().isUnauthorized();
+        client.get().uri(PATH).header(HttpHeaders.AUTHORIZATION, "Bearer bad")
+                .exchange().expectStatus().isUnauthorized();
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Reenvía las pendientes marcándolas como entregadas y después las nuevas sin duplicados")
+    void testReplaysPendingThenLive() {
+        ObjectId pendingId = new ObjectId();
+        Notification pending = Notification.builder().id(pendingId).userId("user-1").title("t").build();
+        when(jwtDecoder.decode("token")).thenReturn(jwt("user-1"));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Notification.class))).thenReturn(Flux.just(pending));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Notification.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(notificationMapper.toDTO(pending)).thenReturn(dto(pendingId.toHexString()));
+
+        Flux<ServerSentEvent<NotificationDTO>> events = client.get().uri(PATH)
+                .cookie("access_token", "token")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<NotificationDTO>>() { })
+                .getResponseBody();
+
+        StepVerifier.create(events)
+                .expectNextMatches(event -> "new-notification".equals(event.event())
+                        && pendingId.toHexString().equals(event.data().id()))
+                .then(() -> {
+                    hub.publish("user-1", dto(pendingId.toHexString()));
+                    hub.publish("user-1", dto("live-1"));
+                })
+                .expectNextMatches(event -> "live-1".equals(event.data().id()))
+                .thenCancel()
+                .verify();
+
+        verify(reactiveMongoTemplate).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Notification.class));
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.proyectoavanzada.repository;
+
+import co.edu.uniquindio.proyecto.entity.category.CategoryRef;
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatusHistory;
+import co.edu.uniquindio.proyecto.repository.converter.EntityCodecMongoConverter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Los codecs escritos a mano deben producir y leer exactamente los mismos documentos que el mapeo
+ * reflexivo de Spring Data, para que los datos ya guardados sigan siendo válidos.
+ */
+class EntityCodecMongoConverterUnitTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_000_000);
+
+    private MappingMongoConverter reflective;
+    private MappingMongoConverter codecs;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.afterPropertiesSet();
+        reflective = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        reflective.afterPropertiesSet();
+        codecs = new EntityCodecMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        codecs.afterPropertiesSet();
+    }
+
+    private void assertSameMapping(Object entity) {
+        Document expected = new Document();
+        reflective.write(entity, expected);
+        expected.remove("_class");
+        Document actual = new Document();
+        codecs.write(entity, actual);
+
+        assertEquals(expected, actual);
+        assertEquals(entity, codecs.read(entity.getClass(), expected));
+        assertEquals(entity, reflective.read(entity.getClass(), actual));
+    }
+
+    @Test
+    @DisplayName("Report se escribe y se lee igual que con el mapeo reflexivo")
+    void testReport() {
+        CategoryRef category = new CategoryRef("Infraestructura");
+        category.setId(new ObjectId().toHexString());
+        Report report = new Report();
+        report.setId(new ObjectId());
+        report.setTitle("Hueco en la vía");
+        report.setDescription("Frente al parque");
+        report.setCategoryList(List.of(category));
+        report.setLocation(new GeoJsonPoint(-75.68, 4.53));
+        report.setUserEmail("ana@example.com");
+        report.setReportStatus(ReportStatus.VERIFIED);
+        report.setImportantVotes(3);
+        report.setUserId(new ObjectId());
+        report.setCreatedAt(NOW);
+        report.setLikedUserIds(Set.of(new ObjectId()));
+
+        assertSameMapping(report);
+    }
+
+    @Test
+    @DisplayName("Las propiedades nulas se omiten igual que con el mapeo reflexivo")
+    void testReportWithNulls() {
+        Report report = new Report();
+        report.setId(new ObjectId());
+
+        assertSameMapping(report);
+    }
+
+    @Test
+    @DisplayName("Notification se escribe y se lee igual que con el mapeo reflexivo")
+    void testNotification() {
+        Notification notification = Notification.builder()
+                .id(new ObjectId())
+                .userId(new ObjectId().toHexString())
+                .title("Nuevo comentario")
+                .delivered(true)
+                .message("Ana comentó tu reporte")
+                .reportId(new ObjectId().toHexString())
+                .type(NotificationType.COMMENT)
+                .location(new GeoJsonPoint(-75.68, 4.53))
+                .read(true)
+                .readAt(NOW.plusMinutes(5))
+                .createdAt(NOW)
+                .build();
+
+        assertSameMapping(notification);
+    }
+
+    @Test
+    @DisplayName("ReportStatusHistory se escribe y se lee igual que con el mapeo reflexivo")
+    void testReportStatusHistory() {
+        ReportStatusHistory history = new ReportStatusHistory();
+        history.setId(new ObjectId());
+        history.setReportId(new ObjectId());
+        history.setUserId(new ObjectId());
+        history.setPreviousStatus(ReportStatus.PENDING);
+        history.setNewStatus(ReportStatus.RESOLVED);
+        history.setChangedAt(NOW);
+
+        assertSameMapping(history);
+    }
+}
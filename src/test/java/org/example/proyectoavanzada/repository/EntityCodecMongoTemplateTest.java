@@ -0,0 +1,119 @@
+package org.example.proyectoavanzada.repository;
+
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatus;
+import co.edu.uniquindio.proyecto.entity.report.ReportStatusHistory;
+import co.edu.uniquindio.proyecto.repository.converter.EntityCodecMongoConverter;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.model.EntityInstantiator;
+import org.springframework.data.mapping.model.EntityInstantiators;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Las lecturas de listas ({@code MongoTemplate.find}, que también usan las consultas derivadas y paginadas
+ * de los repositorios) deben pasar por los codecs y no por el mapeo reflexivo. Para comprobarlo, el
+ * instanciador reflexivo de las entidades con codec falla si llega a usarse.
+ */
+class EntityCodecMongoTemplateTest {
+
+    private static final String MONGO_URI = "mongodb://localhost:27017/proyecto-test";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 9, 30, 15);
+
+    private SimpleMongoClientDatabaseFactory factory;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.afterPropertiesSet();
+        EntityCodecMongoConverter converter = new EntityCodecMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        EntityInstantiator reflective = new EntityInstantiator() {
+            @Override
+            public <T, E extends PersistentEntity<? extends T, P>, P extends PersistentProperty<P>> T createInstance(
+                    E entity, ParameterValueProvider<P> provider) {
+                throw new AssertionError("Se usó el mapeo reflexivo para " + entity.getType().getSimpleName());
+            }
+        };
+        converter.setInstantiators(new EntityInstantiators(Map.of(
+                Notification.class, reflective,
+                Report.class, reflective,
+                ReportStatusHistory.class, reflective)));
+        converter.afterPropertiesSet();
+
+        factory = new SimpleMongoClientDatabaseFactory(MONGO_URI);
+        mongoTemplate = new MongoTemplate(factory, converter);
+        mongoTemplate.remove(new Query(), Notification.class);
+        mongoTemplate.remove(new Query(), ReportStatusHistory.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        factory.destroy();
+    }
+
+    @Test
+    @DisplayName("find con orden y paginación lee las notificaciones con el codec")
+    void testFindNotificationsUsesCodec() {
+        String userId = new ObjectId().toHexString();
+        List<Notification> saved = IntStream.range(0, 5)
+                .mapToObj(i -> mongoTemplate.insert(Notification.builder()
+                        .userId(userId)
+                        .title("Notificación " + i)
+                        .message("Mensaje " + i)
+                        .reportId(new ObjectId().toHexString())
+                        .type(NotificationType.COMMENT)
+                        .location(new GeoJsonPoint(-75.68, 4.53))
+                        .createdAt(NOW.plusMinutes(i))
+                        .build()))
+                .toList();
+
+        Query page = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .skip(1)
+                .limit(2);
+        List<Notification> found = mongoTemplate.find(page, Notification.class);
+
+        assertEquals(List.of(saved.get(3), saved.get(2)), found);
+    }
+
+    @Test
+    @DisplayName("find lee el historial de estados con el codec")
+    void testFindHistoryUsesCodec() {
+        ObjectId reportId = new ObjectId();
+        ReportStatusHistory history = new ReportStatusHistory();
+        history.setReportId(reportId);
+        history.setUserId(new ObjectId());
+        history.setPreviousStatus(ReportStatus.PENDING);
+        history.setNewStatus(ReportStatus.VERIFIED);
+        history.setChangedAt(NOW);
+        mongoTemplate.insert(history);
+
+        List<ReportStatusHistory> found = mongoTemplate.find(
+                new Query(Criteria.where("reportId").is(reportId)), ReportStatusHistory.class);
+
+        assertEquals(List.of(history), found);
+    }
+}
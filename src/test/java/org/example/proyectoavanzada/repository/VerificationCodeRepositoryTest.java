@@ -44,7 +44,8 @@ class VerificationCodeRepositoryTest {
         // Código 1: Usuario 1, tipo ACTIVATION
         VerificationCode vc1 = new VerificationCode();
         vc1.setId(new ObjectId());
-        vc1.setCode("CODE1");
+        vc1.setEmail("user1@example.com");
+        vc1.setCodeHash("HASH1");
         vc1.setUserId(userId1);
         vc1.setCreatedAt(LocalDateTime.now());
         vc1.setExpiresAt(LocalDateTime.now().plusHours(1));
@@ -54,7 +55,8 @@ class VerificationCodeRepositoryTest {
         // Código 2: Usuario 1, tipo PASSWORD_RESET
         VerificationCode vc2 = new VerificationCode();
         vc2.setId(new ObjectId());
-        vc2.setCode("CODE2");
+        vc2.setEmail("user1@example.com");
+        vc2.setCodeHash("HASH2");
         vc2.setUserId(userId1);
         vc2.setCreatedAt(LocalDateTime.now());
         vc2.setExpiresAt(LocalDateTime.now().plusHours(1));
@@ -64,7 +66,8 @@ class VerificationCodeRepositoryTest {
         // Código 3: Usuario 1, tipo ACTIVATION
         VerificationCode vc3 = new VerificationCode();
         vc3.setId(new ObjectId());
-        vc3.setCode("CODE3");
+        vc3.setEmail("user1@example.com");
+        vc3.setCodeHash("HASH3");
         vc3.setUserId(userId1);
         vc3.setCreatedAt(LocalDateTime.now());
         vc3.setExpiresAt(LocalDateTime.now().plusHours(1));
@@ -74,7 +77,8 @@ class VerificationCodeRepositoryTest {
         // Código 4: Usuario 2, tipo PASSWORD_RESET
         VerificationCode vc4 = new VerificationCode();
         vc4.setId(new ObjectId());
-        vc4.setCode("CODE4");
+        vc4.setEmail("user2@example.com");
+        vc4.setCodeHash("HASH4");
         vc4.setUserId(userId2);
         vc4.setCreatedAt(LocalDateTime.now());
         vc4.setExpiresAt(LocalDateTime.now().plusHours(1));
@@ -84,7 +88,8 @@ class VerificationCodeRepositoryTest {
         // Código 5: Usuario 2, tipo ACTIVATION
         VerificationCode vc5 = new VerificationCode();
         vc5.setId(new ObjectId());
-        vc5.setCode("CODE5");
+        vc5.setEmail("user2@example.com");
+        vc5.setCodeHash("HASH5");
         vc5.setUserId(userId2);
         vc5.setCreatedAt(LocalDateTime.now());
         vc5.setExpiresAt(LocalDateTime.now().plusHours(1));
@@ -96,20 +101,30 @@ class VerificationCodeRepositoryTest {
     }
 
     @Test
-    @DisplayName("Buscar código de verificación existente")
-    void testFindByCodeExists() {
-        // Act: Buscar el código "CODE1"
-        Optional<VerificationCode> result = verificationCodeRepository.findByCode("CODE1");
-        // Assert: Se debe encontrar y el código debe ser "CODE1"
-        assertTrue(result.isPresent(), "El código CODE1 debe existir");
-        assertEquals("CODE1", result.get().getCode());
+    @DisplayName("Buscar código de verificación existente por correo y hash")
+    void testFindByEmailAndCodeHashExists() {
+        // Act: Buscar el hash "HASH1" del usuario 1
+        Optional<VerificationCode> result = verificationCodeRepository.findByEmailAndCodeHash("user1@example.com", "HASH1");
+        // Assert: Se debe encontrar y corresponder al usuario 1
+        assertTrue(result.isPresent(), "El código HASH1 debe existir");
+        assertEquals("HASH1", result.get().getCodeHash());
+        assertEquals(userId1, result.get().getUserId());
+    }
+
+    @Test
+    @DisplayName("Un código de otro correo no se encuentra")
+    void testFindByEmailAndCodeHashOtherEmail() {
+        // Act: Buscar el hash de un código del usuario 2 con el correo del usuario 1
+        Optional<VerificationCode> result = verificationCodeRepository.findByEmailAndCodeHash("user1@example.com", "HASH4");
+        // Assert: El código está ligado a su correo
+        assertFalse(result.isPresent(), "No se debe encontrar el código de otro correo");
     }
 
     @Test
     @DisplayName("Buscar código de verificación inexistente")
     void testFindByCodeNotFound() {
         // Act: Buscar un código que no existe
-        Optional<VerificationCode> result = verificationCodeRepository.findByCode("INVALID_CODE");
+        Optional<VerificationCode> result = verificationCodeRepository.findByEmailAndCodeHash("user1@example.com", "INVALID_CODE");
         // Assert: Se debe retornar un Optional vacío
         assertFalse(result.isPresent(), "No se debe encontrar código para 'INVALID_CODE'");
     }
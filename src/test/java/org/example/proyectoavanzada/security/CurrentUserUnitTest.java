@@ -0,0 +1,105 @@
+package org.example.proyectoavanzada.security;
+
+import co.edu.uniquindio.proyecto.entity.user.Rol;
+import co.edu.uniquindio.proyecto.security.CurrentUser;
+import co.edu.uniquindio.proyecto.util.CurrentUserFilter;
+import co.edu.uniquindio.proyecto.util.SecurityUtils;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentUserUnitTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static JwtAuthenticationToken authentication(String userId, String... roles) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .claim("userId", userId)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of(roles).stream().map(SimpleGrantedAuthority::new).toList());
+    }
+
+    @Test
+    @DisplayName("Construye la identidad con el ID convertido y los roles como bits")
+    void testFromJwtAuthentication() {
+        ObjectId userId = new ObjectId();
+
+        CurrentUser user = CurrentUser.from(authentication(userId.toHexString(), "ROLE_ADMIN"));
+
+        assertEquals(userId.toHexString(), user.id());
+        assertEquals(userId, user.objectId());
+        assertEquals("user@example.com", user.username());
+        assertTrue(user.isAuthenticated());
+        assertTrue(user.isAdmin());
+        assertTrue(user.hasRole("ROLE_ADMIN"));
+        assertFalse(user.hasRole(Rol.USER));
+        assertFalse(user.hasRole("ROLE_ADMINISTRATOR"));
+        assertFalse(user.hasRole("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Sin autenticación o con un ID inválido no falla")
+    void testAnonymousAndInvalidId() {
+        assertSame(CurrentUser.ANONYMOUS, CurrentUser.from(null));
+        assertFalse(CurrentUser.ANONYMOUS.isAuthenticated());
+        assertFalse(CurrentUser.ANONYMOUS.hasRole(Rol.USER));
+
+        CurrentUser user = CurrentUser.from(authentication("no-es-un-objectid", "ROLE_USER"));
+        assertEquals("no-es-un-objectid", user.id());
+        assertNull(user.objectId());
+        assertTrue(user.hasRole(Rol.USER));
+    }
+
+    @Test
+    @DisplayName("El filtro calcula la identidad una vez y SecurityUtils la reutiliza")
+    void testFilterStoresIdentityForSecurityUtils() throws Exception {
+        String userId = new ObjectId().toHexString();
+        SecurityContextHolder.getContext().setAuthentication(authentication(userId, "ROLE_USER"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        new CurrentUserFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        // Cambiar el contexto después del filtro no altera la identidad ya calculada para la petición.
+        SecurityContextHolder.clearContext();
+
+        SecurityUtils securityUtils = new SecurityUtils();
+        CurrentUser user = (CurrentUser) request.getAttribute(CurrentUser.ATTRIBUTE);
+        assertSame(user, securityUtils.currentUser());
+        assertEquals(userId, securityUtils.getCurrentUserId());
+        assertTrue(securityUtils.isSelfOrAdmin(userId));
+        assertFalse(securityUtils.hasRole("ROLE_ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Fuera de una petición SecurityUtils lee el contexto de seguridad")
+    void testSecurityUtilsWithoutRequest() {
+        String userId = new ObjectId().toHexString();
+        SecurityContextHolder.getContext().setAuthentication(authentication(userId, "ROLE_ADMIN"));
+
+        SecurityUtils securityUtils = new SecurityUtils();
+
+        assertEquals(userId, securityUtils.getCurrentUserId());
+        assertEquals("user@example.com", securityUtils.getCurrentUsername());
+        assertTrue(securityUtils.isSelfOrAdmin(new ObjectId().toHexString()));
+    }
+}
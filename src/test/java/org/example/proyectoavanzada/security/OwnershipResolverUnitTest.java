@@ -0,0 +1,108 @@
+package org.example.proyectoavanzada.security;
+
+import co.edu.uniquindio.proyecto.entity.comment.Comment;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.security.OwnershipResolver;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OwnershipResolverUnitTest {
+
+    private MongoTemplate mongoTemplate;
+    private OwnershipResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(Report.class, Comment.class));
+        mappingContext.afterPropertiesSet();
+        mongoTemplate = mock(MongoTemplate.class);
+        resolver = new OwnershipResolver(mongoTemplate, mappingContext);
+        resolver.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Consulta solo el campo userId en la colección de la entidad")
+    void testProjectsOnlyOwnerField() {
+        ObjectId reportId = new ObjectId();
+        ObjectId ownerId = new ObjectId();
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("reports")))
+                .thenReturn(new Document("_id", reportId).append("userId", ownerId));
+
+        Optional<String> owner = resolver.ownerOf(Report.class, reportId.toHexString());
+
+        assertEquals(Optional.of(ownerId.toHexString()), owner);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Document.class), eq("reports"));
+        assertEquals(new Document("userId", 1), query.getValue().getFieldsObject());
+        assertEquals(reportId, query.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    @DisplayName("Devuelve vacío si el recurso no existe")
+    void testMissingResource() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), anyString())).thenReturn(null);
+
+        assertTrue(resolver.ownerOf(Comment.class, new ObjectId().toHexString()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Dentro de una petición carga la entidad una vez y la comparte con el servicio")
+    void testSharesEntityWithinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ObjectId id = new ObjectId();
+        Report report = new Report();
+        report.setId(id);
+        report.setUserId(new ObjectId());
+        when(mongoTemplate.findById(id, Report.class)).thenReturn(report);
+
+        Optional<String> first = resolver.ownerOf(Report.class, id.toHexString());
+        Optional<String> second = resolver.ownerOf(Report.class, id.toHexString());
+        Optional<Report> loadedByService = RequestIdentityMap.findById(Report.class, id, oid -> {
+            throw new AssertionError("El servicio no debería volver a consultar el reporte");
+        });
+
+        assertEquals(Optional.of(report.getUserId()), first);
+        assertEquals(first, second);
+        assertSame(report, loadedByService.orElseThrow());
+        verify(mongoTemplate, times(1)).findById(id, Report.class);
+        verify(mongoTemplate, never()).findOne(any(Query.class), eq(Document.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Fuera de una petición no cachea")
+    void testNoCacheOutsideRequest() {
+        String id = new ObjectId().toHexString();
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("reports")))
+                .thenReturn(new Document("userId", new ObjectId()));
+
+        resolver.ownerOf(Report.class, id);
+        resolver.ownerOf(Report.class, id);
+
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(Document.class), eq("reports"));
+    }
+}
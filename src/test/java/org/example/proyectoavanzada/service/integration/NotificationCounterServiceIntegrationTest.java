@@ -0,0 +1,146 @@
+package org.example.proyectoavanzada.service.integration;
+
+import co.edu.uniquindio.proyecto.ProyectoApplication;
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationCounter;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.repository.NotificationRepository;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationCounterService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+/**
+ * Inicialización del contador de no leídas de un usuario con notificaciones previas mientras se crean
+ * notificaciones nuevas. Cada {@link NotificationCounterService} simula un nodo distinto.
+ */
+@DataMongoTest
+@ContextConfiguration(classes = ProyectoApplication.class)
+class NotificationCounterServiceIntegrationTest {
+
+    private static final String USER_ID = new ObjectId().toHexString();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(Query.query(Criteria.where("userId").is(USER_ID)), Notification.class);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(USER_ID)), NotificationCounter.class);
+    }
+
+    private NotificationCounterService node() {
+        return new NotificationCounterService(mongoTemplate, notificationRepository);
+    }
+
+    private Notification unread() {
+        return Notification.builder()
+                .userId(USER_ID)
+                .title("Nuevo comentario en tu reporte")
+                .message("Ana comentó")
+                .type(NotificationType.COMMENT)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void notify(NotificationCounterService node) {
+        node.update(USER_ID, () -> notificationRepository.save(unread()), n -> 1);
+    }
+
+    @Test
+    @DisplayName("Una notificación creada entre el primer recuento y la inicialización no se pierde")
+    void testNotificationBetweenCountAndInitIsCounted() {
+        for (int i = 0; i < 3; i++) {
+            notificationRepository.save(unread());
+        }
+        NotificationCounterService writer = node();
+        NotificationRepository interleaved = mock(NotificationRepository.class, delegatesTo(notificationRepository));
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(inv -> {
+            long unread = notificationRepository.countUnreadByUserId(USER_ID);
+            if (first.getAndSet(false)) {
+                // Otro nodo crea una notificación justo después del recuento
+                CompletableFuture.runAsync(() -> notify(writer)).join();
+            }
+            return unread;
+        }).when(interleaved).countUnreadByUserId(USER_ID);
+
+        NotificationCounterService reader = new NotificationCounterService(mongoTemplate, interleaved);
+
+        assertEquals(4, reader.unreadCount(USER_ID));
+        assertEquals(4, node().unreadCount(USER_ID));
+        notify(writer);
+        assertEquals(5, node().unreadCount(USER_ID));
+    }
+
+    @Test
+    @DisplayName("Con primeras lecturas y notificaciones concurrentes el contador coincide con el recuento")
+    void testConcurrentFirstReadsAndNotifications() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            notificationRepository.save(unread());
+        }
+        int writers = 8;
+        int perWriter = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            NotificationCounterService node = node();
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    notify(node);
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            NotificationCounterService node = node();
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    node.unreadCount(USER_ID);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        long expected = 5 + (long) writers * perWriter;
+        assertEquals(expected, notificationRepository.countUnreadByUserId(USER_ID));
+        assertEquals(expected, node().unreadCount(USER_ID));
+        NotificationCounter counter = mongoTemplate.findById(USER_ID, NotificationCounter.class);
+        assertNotNull(counter);
+        assertTrue(counter.isInitialized());
+        assertEquals(expected, counter.getUnread());
+    }
+}
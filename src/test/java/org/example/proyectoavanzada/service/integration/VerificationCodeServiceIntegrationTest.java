@@ -13,6 +13,7 @@ import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.repository.VerificationCodeRepository;
 import co.edu.uniquindio.proyecto.service.EmailService;
 import co.edu.uniquindio.proyecto.service.interfaces.VerificationService;
+import co.edu.uniquindio.proyecto.util.VerificationCodeHasher;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -46,10 +47,14 @@ public class VerificationCodeServiceIntegrationTest {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private VerificationService verificationService;
+    @Autowired
+    private VerificationCodeHasher codeHasher;
     @MockitoBean
     private EmailService emailService;
     private List<User> testUsers;
     private List<VerificationCode> testCodes;
+    /** Códigos en claro de {@link #testCodes}, en el mismo orden. */
+    private List<String> plainCodes;
 
     @BeforeEach
     void setUp() {
@@ -67,11 +72,14 @@ public class VerificationCodeServiceIntegrationTest {
                 })
                 .toList();
 
-        testCodes = testUsers.stream()
-                .map(user -> {
+        plainCodes = testUsers.stream().map(user -> UUID.randomUUID().toString()).toList();
+        testCodes = IntStream.range(0, testUsers.size())
+                .mapToObj(i -> {
+                    User user = testUsers.get(i);
                     VerificationCode code = new VerificationCode();
                     code.setId(new ObjectId());
-                    code.setCode(UUID.randomUUID().toString());
+                    code.setEmail(user.getEmail());
+                    code.setCodeHash(codeHasher.hash(user.getEmail(), plainCodes.get(i)));
                     code.setUserId(user.getId());
                     code.setCreatedAt(LocalDateTime.now());
                     code.setExpiresAt(LocalDateTime.now().plusMinutes(15));
@@ -88,10 +96,10 @@ public class VerificationCodeServiceIntegrationTest {
     @Test
     @DisplayName("validateCodeActivation - activa cuenta exitosamente con código válido")
     void validateCodeActivation_ValidCode_ActivatesAccount() {
-        String code = testCodes.get(0).getCode();
+        String code = plainCodes.get(0);
         User user = userRepository.findById(testCodes.get(0).getUserId()).orElseThrow();
 
-        verificationService.validateCodeActivation(code);
+        verificationService.validateCodeActivation(user.getEmail(), code);
 
         User updated = userRepository.findById(user.getId()).orElseThrow();
         assertEquals(AccountStatus.ACTIVATED, updated.getAccountStatus());
@@ -101,7 +109,14 @@ public class VerificationCodeServiceIntegrationTest {
     @DisplayName("validateCodeActivation - lanza excepción si el código no existe")
     void validateCodeActivation_InvalidCode_ThrowsException() {
         assertThrows(InvalidCodeException.class,
-                () -> verificationService.validateCodeActivation("codigo-inexistente"));
+                () -> verificationService.validateCodeActivation(testUsers.get(0).getEmail(), "codigo-inexistente"));
+    }
+
+    @Test
+    @DisplayName("validateCodeActivation - un código válido no sirve con el correo de otro usuario")
+    void validateCodeActivation_CodeOfAnotherEmail_ThrowsException() {
+        assertThrows(InvalidCodeException.class,
+                () -> verificationService.validateCodeActivation(testUsers.get(1).getEmail(), plainCodes.get(0)));
     }
 
     @Test
@@ -112,7 +127,7 @@ public class VerificationCodeServiceIntegrationTest {
         codeRepository.save(expired);
 
         assertThrows(CodeExpiredException.class,
-                () -> verificationService.validateCodeActivation(expired.getCode()));
+                () -> verificationService.validateCodeActivation(expired.getEmail(), plainCodes.get(1)));
     }
 
 
@@ -151,8 +166,8 @@ public class VerificationCodeServiceIntegrationTest {
 
 
     @Test
-    @DisplayName("Reenvío de código: con userId válido elimina códigos anteriores y genera uno nuevo")
-    void givenValidUserId_whenResendCode_thenOldCodesDeletedAndNewCodeGenerated() {
+    @DisplayName("Reenvío de código: con correo válido elimina códigos anteriores y genera uno nuevo")
+    void givenValidEmail_whenResendCode_thenOldCodesDeletedAndNewCodeGenerated() {
         // Arrange
         User user = testUsers.get(0);
         ObjectId userId = user.getId();
@@ -160,7 +175,7 @@ public class VerificationCodeServiceIntegrationTest {
         assertTrue(initialCount > 0, "Debe haber códigos iniciales para el usuario");
 
         // Act
-        verificationService.resendCode(userId.toHexString(), VerificationCodeType.ACTIVATION);
+        verificationService.resendCode(user.getEmail(), VerificationCodeType.ACTIVATION);
 
         // Assert
         List<VerificationCode> after = codeRepository.findAllByUserId(userId);
@@ -168,20 +183,20 @@ public class VerificationCodeServiceIntegrationTest {
         VerificationCode newCode = after.get(0);
         assertEquals(VerificationCodeType.ACTIVATION, newCode.getVerificationCodeType(),
                 "El tipo de código debe ser ACTIVATION");
-        assertNotEquals(testCodes.get(0).getCode(), newCode.getCode(),
+        assertNotEquals(testCodes.get(0).getCodeHash(), newCode.getCodeHash(),
                 "El código generado debe ser distinto al anterior");
     }
 
 
     @Test
-    @DisplayName("Reenvío de código: con userId inválido lanza UserNotFoundException")
-    void givenInvalidUserId_whenResendCode_thenThrowsUserNotFoundException() {
+    @DisplayName("Reenvío de código: con correo inexistente lanza UserNotFoundException")
+    void givenInvalidEmail_whenResendCode_thenThrowsUserNotFoundException() {
         // Arrange
-        String fakeId = new ObjectId().toHexString();
+        String fakeEmail = "noexiste@example.com";
 
         // Act & Assert
         assertThrows(UserNotFoundException.class, () ->
-                        verificationService.resendCode(fakeId, VerificationCodeType.ACTIVATION),
+                        verificationService.resendCode(fakeEmail, VerificationCodeType.ACTIVATION),
                 "Debe lanzarse UserNotFoundException si el usuario no existe"
         );
     }
@@ -207,7 +222,7 @@ public class VerificationCodeServiceIntegrationTest {
         VerificationCode newCode = after.get(0);
         assertEquals(VerificationCodeType.PASSWORD_RESET, newCode.getVerificationCodeType(),
                 "El tipo de código debe ser PASSWORD_RESET");
-        assertNotEquals(testCodes.get(1).getCode(), newCode.getCode(),
+        assertNotEquals(testCodes.get(1).getCodeHash(), newCode.getCodeHash(),
                 "El nuevo código debe ser distinto al anterior");
     }
 
@@ -236,7 +251,7 @@ public class VerificationCodeServiceIntegrationTest {
         String newPassword = "nuevoPassword123";
 
         // Act
-        verificationService.resetPasswordWithCode(code.getCode(), newPassword);
+        verificationService.resetPasswordWithCode(code.getEmail(), plainCodes.get(0), newPassword);
 
         // Assert
         // Verificar que la contraseña fue actualizada
@@ -257,7 +272,7 @@ public class VerificationCodeServiceIntegrationTest {
 
         // Act & Assert
         InvalidCodeException ex = assertThrows(InvalidCodeException.class, () ->
-                verificationService.resetPasswordWithCode(code.getCode(), "otroPass123"));
+                verificationService.resetPasswordWithCode(code.getEmail(), plainCodes.get(1), "otroPass123"));
 
         assertEquals("El código no es válido para recuperar contraseña", ex.getMessage());
     }
@@ -273,7 +288,7 @@ public class VerificationCodeServiceIntegrationTest {
 
         // Act & Assert
         assertThrows(UserNotFoundException.class, () ->
-                verificationService.resetPasswordWithCode(code.getCode(), "fakeUserPass123"));
+                verificationService.resetPasswordWithCode(code.getEmail(), plainCodes.get(2), "fakeUserPass123"));
     }
 
 }
@@ -8,13 +8,16 @@ import co.edu.uniquindio.proyecto.entity.user.AccountStatus;
 import co.edu.uniquindio.proyecto.entity.user.Rol;
 import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.exception.auth.AccountDisabledException;
+import co.edu.uniquindio.proyecto.exception.global.ServiceUnavailableException;
 import co.edu.uniquindio.proyecto.exception.user.InvalidPasswordException;
 import co.edu.uniquindio.proyecto.exception.user.InvalidRefreshTokenException;
 import co.edu.uniquindio.proyecto.exception.user.RefreshTokenExpiredException;
 import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
-import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.implementations.AuthServiceImpl;
+import co.edu.uniquindio.proyecto.service.implementations.RefreshTokenService;
+import co.edu.uniquindio.proyecto.service.implementations.UserDetailsCache;
 import co.edu.uniquindio.proyecto.service.implementations.UserDetailsServiceImplements;
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
 import co.edu.uniquindio.proyecto.util.JwtUtils;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,11 +43,15 @@ class AuthServiceUnitTest {
     @Mock
     private AuthenticationManager authenticationManager;
     @Mock
-    private UserRepository userRepository;
+    private UserDetailsCache userDetailsCache;
     @Mock
     private JwtUtils jwtUtils;
     @Mock
     private UserDetailsServiceImplements userDetailsService;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private AccessTokenDenylist accessTokenDenylist;
 
     @InjectMocks
     private AuthServiceImpl authService;
@@ -98,7 +105,7 @@ class AuthServiceUnitTest {
         String JWT_TOKEN = "generated.jwt.token";
         when(jwtUtils.generateToken(testUser)).thenReturn(JWT_TOKEN);
         String REFRESH_TOKEN = "generated.refresh.token";
-        when(jwtUtils.generateRefreshToken(testUser)).thenReturn(REFRESH_TOKEN);
+        when(refreshTokenService.issue(testUser)).thenReturn(REFRESH_TOKEN);
 
         // Act
         JwtResponse response = authService.authenticate(request);
@@ -178,6 +185,20 @@ class AuthServiceUnitTest {
         });
     }
 
+    @Test
+    @DisplayName("authenticate - Debe propagar ServiceUnavailableException cuando la verificación está saturada")
+    void authenticate_ShouldPropagateServiceUnavailable_WhenPasswordPoolIsFull() {
+        // Arrange
+        LoginRequest request = new LoginRequest(VALID_EMAIL, VALID_PASSWORD);
+
+        when(userDetailsService.loadUserByUsername(VALID_EMAIL)).thenReturn(testUsers.get(0));
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new ServiceUnavailableException("Demasiados inicios de sesión simultáneos"));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> authService.authenticate(request));
+    }
+
     @Test
     @DisplayName("authenticate - Debe lanzar InvalidPasswordException cuando request es inválido")
     void authenticate_ShouldThrowInvalidPassword_WhenRequestIsInvalid() {
@@ -206,9 +227,10 @@ class AuthServiceUnitTest {
         // Configurar mocks para flujo exitoso
         doNothing().when(jwtUtils).validateRefreshToken(VALID_REFRESH_TOKEN);
         when(jwtUtils.extractUserId(VALID_REFRESH_TOKEN)).thenReturn(USER_ID);
-        when(userRepository.findById(new ObjectId(USER_ID))).thenReturn(Optional.of(testUser));
+        when(userDetailsCache.findById(new ObjectId(USER_ID))).thenReturn(Optional.of(testUser));
         String NEW_ACCESS_TOKEN = "new.access.token";
         when(jwtUtils.generateToken(testUser)).thenReturn(NEW_ACCESS_TOKEN);
+        when(refreshTokenService.rotate(VALID_REFRESH_TOKEN, testUser)).thenReturn("rotated.refresh.token");
 
         // Act
         JwtAccessResponse response = authService.refreshAccessToken(VALID_REFRESH_TOKEN);
@@ -216,10 +238,11 @@ class AuthServiceUnitTest {
         // Assert
         assertNotNull(response);
         assertEquals(NEW_ACCESS_TOKEN, response.accessToken());
+        assertEquals("rotated.refresh.token", response.refreshToken());
 
         verify(jwtUtils).validateRefreshToken(VALID_REFRESH_TOKEN);
         verify(jwtUtils).extractUserId(VALID_REFRESH_TOKEN);
-        verify(userRepository).findById(new ObjectId(USER_ID));
+        verify(userDetailsCache).findById(new ObjectId(USER_ID));
         verify(jwtUtils).generateToken(testUser);
     }
 
@@ -236,7 +259,7 @@ class AuthServiceUnitTest {
         });
 
         verify(jwtUtils).validateRefreshToken(EXPIRED_REFRESH_TOKEN);
-        verifyNoInteractions(userRepository);
+        verifyNoInteractions(userDetailsCache);
         verify(jwtUtils, never()).generateToken(any());
     }
 
@@ -253,7 +276,7 @@ class AuthServiceUnitTest {
         });
 
         verify(jwtUtils).validateRefreshToken(INVALID_REFRESH_TOKEN);
-        verifyNoInteractions(userRepository);
+        verifyNoInteractions(userDetailsCache);
         verify(jwtUtils, never()).generateToken(any());
     }
 
@@ -263,14 +286,14 @@ class AuthServiceUnitTest {
         // Arrange
         doNothing().when(jwtUtils).validateRefreshToken(VALID_REFRESH_TOKEN);
         when(jwtUtils.extractUserId(VALID_REFRESH_TOKEN)).thenReturn(USER_ID);
-        when(userRepository.findById(new ObjectId(USER_ID))).thenReturn(Optional.empty());
+        when(userDetailsCache.findById(new ObjectId(USER_ID))).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(UserNotFoundException.class, () -> {
             authService.refreshAccessToken(VALID_REFRESH_TOKEN);
         });
 
-        verify(userRepository).findById(new ObjectId(USER_ID));
+        verify(userDetailsCache).findById(new ObjectId(USER_ID));
         verify(jwtUtils, never()).generateToken(any());
     }
 
@@ -287,7 +310,7 @@ class AuthServiceUnitTest {
             authService.refreshAccessToken(VALID_REFRESH_TOKEN);
         });
 
-        verify(userRepository, never()).findById((ObjectId) any());
+        verify(userDetailsCache, never()).findById((ObjectId) any());
         verify(jwtUtils, never()).generateToken(any());
     }
 
@@ -7,6 +7,7 @@ import co.edu.uniquindio.proyecto.exception.notification.EmailNotificationExcept
 import co.edu.uniquindio.proyecto.exception.notification.WebSocketNotificationException;
 import co.edu.uniquindio.proyecto.service.EmailService;
 import co.edu.uniquindio.proyecto.service.implementations.CommentNotificationService;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationCoalescer;
 import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
 import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
 import org.bson.types.ObjectId;
@@ -28,12 +29,16 @@ class CommentNotificationServiceUnitTest {
     @Mock
     private NotificationMapper notificationMapper;
 
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+
     @InjectMocks
     private CommentNotificationService commentNotificationService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(notificationCoalescer.admit(any())).thenReturn(true);
     }
 
     @Test
@@ -86,6 +91,34 @@ class CommentNotificationServiceUnitTest {
         );
     }
 
+    @Test
+    void noDebeNotificarIndividualmenteSiElComentarioQuedaEnElResumen() {
+        // Arrange
+        Comment comment = new Comment();
+        comment.setUserId(new ObjectId());
+        comment.setComment("Otro comentario");
+
+        Report report = new Report();
+        report.setId(new ObjectId());
+        report.setUserId(new ObjectId());
+        report.setUserEmail("test@example.com");
+        report.setTitle("Título del reporte");
+
+        when(notificationCoalescer.admit(any())).thenReturn(false);
+        NotificationCreateDTO dto = mock(NotificationCreateDTO.class);
+        when(notificationMapper.buildFromComment(comment, report, "Juan")).thenReturn(dto);
+
+        // Act
+        commentNotificationService.notifyOwner(comment, report, "Juan");
+
+        // Assert
+        verify(notificationCoalescer).admit(argThat(item ->
+                item.userId().equals(report.getUserId()) && item.line().equals("Juan: Otro comentario")));
+        verify(notificationService).store(dto);
+        verify(notificationService, never()).notifyUser(any());
+        verify(emailService, never()).sendCommentEmail(anyString(), anyString(), anyString(), anyString());
+    }
+
     @Test
     void debeLanzarExcepcionWebSocketNotificationExceptionSiFallaNotificacionWebSocket() {
         // Arrange
@@ -0,0 +1,173 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxMessage;
+import co.edu.uniquindio.proyecto.entity.email.EmailOutboxStatus;
+import co.edu.uniquindio.proyecto.entity.email.EmailTemplateType;
+import co.edu.uniquindio.proyecto.repository.EmailOutboxRepository;
+import co.edu.uniquindio.proyecto.service.implementations.EmailOutboxDispatcher;
+import co.edu.uniquindio.proyecto.util.EmailOutboxMetrics;
+import co.edu.uniquindio.proyecto.util.SmtpTransportPool;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherUnitTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+    @Mock
+    private SmtpTransportPool transportPool;
+    @Mock
+    private SmtpTransportPool.Lease lease;
+
+    private EmailOutboxMetrics metrics;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new EmailOutboxMetrics();
+        when(transportPool.capacity()).thenReturn(1);
+        dispatcher = new EmailOutboxDispatcher(mongoTemplate, outboxRepository, transportPool, metrics,
+                10, 0, 3, 1000, 60000, 300000);
+    }
+
+    private EmailOutboxMessage pendingMessage(int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(new ObjectId())
+                .toEmail("user@example.com")
+                .subject("Asunto")
+                .html("<p>Hola</p>")
+                .template(EmailTemplateType.COMMENT)
+                .status(EmailOutboxStatus.SENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void claimSequence(EmailOutboxMessage message) throws Exception {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EmailOutboxMessage.class)))
+                .thenReturn(message)
+                .thenReturn(null);
+        when(transportPool.createMimeMessage()).thenAnswer(inv -> new MimeMessage(Session.getInstance(new Properties())));
+        when(transportPool.borrow()).thenReturn(lease);
+    }
+
+    @Test
+    @DisplayName("Marca como enviado el mensaje cuando el SMTP responde correctamente")
+    void testDispatchMarksSent() throws Exception {
+        EmailOutboxMessage message = pendingMessage(0);
+        claimSequence(message);
+
+        dispatcher.dispatchPending();
+
+        verify(lease).send(any(MimeMessage.class));
+        verify(transportPool).release(lease, false);
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals(EmailOutboxStatus.SENT, captor.getValue().getStatus());
+        assertNotNull(captor.getValue().getSentAt());
+        assertEquals(1, metrics.sentCount(EmailTemplateType.COMMENT));
+    }
+
+    @Test
+    @DisplayName("Reprograma con backoff cuando el envío falla y quedan intentos")
+    void testDispatchSchedulesRetry() throws Exception {
+        EmailOutboxMessage message = pendingMessage(0);
+        claimSequence(message);
+        doThrow(new MessagingException("SMTP caído")).when(lease).send(any(MimeMessage.class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchPending();
+
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        EmailOutboxMessage saved = captor.getValue();
+        assertEquals(EmailOutboxStatus.PENDING, saved.getStatus());
+        assertEquals(1, saved.getAttempts());
+        assertTrue(saved.getNextAttemptAt().isAfter(before));
+        assertEquals("SMTP caído", saved.getLastError());
+        assertEquals(1, metrics.retryCount(EmailTemplateType.COMMENT));
+        verify(transportPool).release(lease, true);
+    }
+
+    @Test
+    @DisplayName("Envía el mensaje a la cola de muertos al agotar los intentos")
+    void testDispatchDeadLetters() throws Exception {
+        EmailOutboxMessage message = pendingMessage(2);
+        claimSequence(message);
+        doThrow(new MessagingException("SMTP caído")).when(lease).send(any(MimeMessage.class));
+
+        dispatcher.dispatchPending();
+
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals(EmailOutboxStatus.DEAD, captor.getValue().getStatus());
+        assertEquals(3, captor.getValue().getAttempts());
+        assertEquals(1, metrics.deadCount(EmailTemplateType.COMMENT));
+    }
+
+    @Test
+    @DisplayName("No hace nada cuando no hay mensajes pendientes")
+    void testDispatchNothingPending() throws Exception {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(EmailOutboxMessage.class))).thenReturn(null);
+
+        dispatcher.dispatchPending();
+
+        verify(transportPool, never()).borrow();
+        verifyNoInteractions(lease, outboxRepository);
+    }
+
+    @Test
+    @DisplayName("La tarea programada lanza el ciclo en el hilo del despachador sin esperar a los envíos")
+    void testScheduleDispatchDoesNotBlockScheduler() throws Exception {
+        EmailOutboxMessage message = pendingMessage(0);
+        claimSequence(message);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(lease).send(any(MimeMessage.class));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), dispatcher::scheduleDispatch);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        // Con un ciclo en curso, la siguiente activación no lanza otro
+        assertTimeoutPreemptively(Duration.ofSeconds(1), dispatcher::scheduleDispatch);
+        release.countDown();
+
+        verify(outboxRepository, timeout(5000)).save(any(EmailOutboxMessage.class));
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(EmailOutboxMessage.class));
+        dispatcher.shutdown();
+    }
+}
@@ -5,8 +5,10 @@ import co.edu.uniquindio.proyecto.entity.report.Report;
 import co.edu.uniquindio.proyecto.entity.user.User;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.service.implementations.NearbyNotificationService;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationCoalescer;
 import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
 import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,12 +33,20 @@ class NearbyNotificationServiceUnitTest {
     @Mock
     private NotificationMapper notificationMapper;
 
-    @InjectMocks
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private NearbyNotificationService nearbyNotificationService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(notificationCoalescer.admit(any())).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        nearbyNotificationService = new NearbyNotificationService(userRepository, notificationService,
+                notificationMapper, null, notificationCoalescer, meterRegistry);
     }
 
     // --------------------- Pruebas del método público notifyUsersNearby ---------------------
@@ -80,6 +90,29 @@ class NearbyNotificationServiceUnitTest {
         verify(notificationService, times(1)).notifyUser(dto);
     }
 
+    @Test
+    void debeGuardarEnLaBandejaSinAvisarSiElReporteQuedaEnElResumen() {
+        Report report = new Report();
+        report.setUserId(new ObjectId());
+        report.setLocation(new GeoJsonPoint(-75.0, 6.0));
+        report.setId(new ObjectId());
+
+        User userCercano = new User();
+        userCercano.setId(new ObjectId());
+        userCercano.setLocation(new GeoJsonPoint(-75.001, 6.001));
+        userCercano.setNotificationRadiusKm(5.0);
+
+        when(userRepository.findAll()).thenReturn(List.of(userCercano));
+        when(notificationCoalescer.admit(any())).thenReturn(false);
+        NotificationCreateDTO dto = mock(NotificationCreateDTO.class);
+        when(notificationMapper.buildFromReportForNearbyUser(report, userCercano.getId().toString())).thenReturn(dto);
+
+        nearbyNotificationService.notifyUsersNearby(report);
+
+        verify(notificationService).store(dto);
+        verify(notificationService, never()).notifyUser(any());
+    }
+
     @Test
     void noDebeLanzarExcepcionSiFallaUnaNotificacion() {
         ObjectId authorId = new ObjectId();
@@ -105,6 +138,32 @@ class NearbyNotificationServiceUnitTest {
         verify(notificationService).notifyUser(dto);
     }
 
+    @Test
+    void debeRegistrarTamanoYDuracionDelFanOut() {
+        Report report = new Report();
+        report.setUserId(new ObjectId());
+        report.setLocation(new GeoJsonPoint(-75.0, 6.0));
+        report.setId(new ObjectId());
+
+        User cercano = new User();
+        cercano.setId(new ObjectId());
+        cercano.setLocation(new GeoJsonPoint(-75.001, 6.001));
+        cercano.setNotificationRadiusKm(5.0);
+
+        User lejano = new User();
+        lejano.setId(new ObjectId());
+        lejano.setLocation(new GeoJsonPoint(-76.0, 7.0));
+        lejano.setNotificationRadiusKm(1.0);
+
+        when(userRepository.findAll()).thenReturn(List.of(cercano, lejano));
+
+        nearbyNotificationService.notifyUsersNearby(report);
+
+        assertEquals(1, meterRegistry.get("notification.nearby.fanout").summary().count());
+        assertEquals(1.0, meterRegistry.get("notification.nearby.fanout").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("notification.nearby.duration").timer().count());
+    }
+
     // --------------------- Pruebas del método privado isWithinRadius ---------------------
 
     @Test
@@ -0,0 +1,105 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.dto.notification.NotificationCreateDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDigestItem;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.service.EmailService;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationCoalescer;
+import co.edu.uniquindio.proyecto.service.interfaces.NotificationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCoalescerUnitTest {
+
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private EmailService emailService;
+
+    private NotificationDigestItem comment(String reportId, String line) {
+        return new NotificationDigestItem("user-1", NotificationType.COMMENT, reportId,
+                "owner@example.com", null, line);
+    }
+
+    @Test
+    @DisplayName("Entrega el primer evento y agrupa los siguientes de la misma ventana")
+    void testAdmitFirstAndBufferRest() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationService, emailService, 60000, 20);
+
+        assertTrue(coalescer.admit(comment("r1", "Ana: hola")));
+        assertFalse(coalescer.admit(comment("r1", "Luis: otro")));
+        assertTrue(coalescer.admit(comment("r2", "Ana: en otro reporte")));
+    }
+
+    @Test
+    @DisplayName("Envía un único resumen SSE y por correo al cerrar la ventana")
+    void testFlushSendsSingleDigest() throws InterruptedException {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationService, emailService, 50, 20);
+        coalescer.admit(comment("r1", "Ana: hola"));
+        coalescer.admit(comment("r1", "Luis: otro"));
+        coalescer.admit(comment("r1", "Eva: uno más"));
+
+        Thread.sleep(80);
+        coalescer.flushExpired();
+
+        ArgumentCaptor<NotificationCreateDTO> captor = ArgumentCaptor.forClass(NotificationCreateDTO.class);
+        verify(notificationService).push(captor.capture());
+        assertEquals("user-1", captor.getValue().userId());
+        assertEquals("r1", captor.getValue().reportId());
+        assertEquals("2 nuevos comentarios en tu reporte", captor.getValue().title());
+        verify(emailService).sendDigestEmail("owner@example.com", null, "2 nuevos comentarios en tu reporte",
+                List.of("Luis: otro", "Eva: uno más"));
+    }
+
+    @Test
+    @DisplayName("Al cerrar la aplicación envía los resúmenes pendientes aunque su ventana siga abierta")
+    void testFlushAllOnShutdown() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationService, emailService, 300000, 20);
+        coalescer.admit(comment("r1", "Ana: hola"));
+        coalescer.admit(comment("r1", "Luis: otro"));
+        coalescer.admit(comment("r2", "Eva: sin resumen"));
+
+        coalescer.flushAll();
+
+        ArgumentCaptor<NotificationCreateDTO> captor = ArgumentCaptor.forClass(NotificationCreateDTO.class);
+        verify(notificationService).push(captor.capture());
+        assertEquals("r1", captor.getValue().reportId());
+        assertEquals("1 nuevos comentarios en tu reporte", captor.getValue().title());
+        verify(emailService).sendDigestEmail("owner@example.com", null, "1 nuevos comentarios en tu reporte",
+                List.of("Luis: otro"));
+        verifyNoMoreInteractions(notificationService, emailService);
+    }
+
+    @Test
+    @DisplayName("No envía resumen si la ventana no acumuló eventos")
+    void testFlushWithoutBufferedEvents() throws InterruptedException {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationService, emailService, 50, 20);
+        coalescer.admit(comment("r1", "Ana: hola"));
+
+        Thread.sleep(80);
+        coalescer.flushExpired();
+
+        verifyNoInteractions(notificationService, emailService);
+        assertTrue(coalescer.admit(comment("r1", "Luis: después de la ventana")));
+    }
+
+    @Test
+    @DisplayName("Con ventana cero entrega todos los eventos de inmediato")
+    void testDisabledWindow() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationService, emailService, 0, 20);
+
+        assertTrue(coalescer.admit(comment("r1", "Ana: hola")));
+        assertTrue(coalescer.admit(comment("r1", "Luis: otro")));
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.controller.NotificationSseController;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.dto.notification.NotificationInboxResponse;
+import co.edu.uniquindio.proyecto.entity.notification.Notification;
+import co.edu.uniquindio.proyecto.exception.global.IdInvalidException;
+import co.edu.uniquindio.proyecto.repository.NotificationRepository;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationCounterService;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationServiceImpl;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationStreamHub;
+import co.edu.uniquindio.proyecto.service.mapper.NotificationMapper;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationInboxUnitTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationSseController notificationSseController;
+    @Mock
+    private NotificationStreamHub notificationStreamHub;
+    @Mock
+    private NotificationMapper notificationMapper;
+    @Mock
+    private NotificationCounterService counterService;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private NotificationServiceImpl notificationService;
+
+    private Notification notification(ObjectId id) {
+        return Notification.builder().id(id).userId("user-1").title("t").build();
+    }
+
+    @Test
+    @DisplayName("Devuelve cursor y hasMore cuando hay más elementos que el tamaño de página")
+    void testGetInboxWithMorePages() {
+        ObjectId a = new ObjectId(), b = new ObjectId(), c = new ObjectId();
+        List<Notification> rows = List.of(notification(c), notification(b), notification(a));
+        when(notificationRepository.findByUserIdOrderByIdDesc(eq("user-1"), any(Pageable.class))).thenReturn(rows);
+        when(notificationMapper.toDTOList(rows.subList(0, 2))).thenReturn(List.of(mock(NotificationDTO.class), mock(NotificationDTO.class)));
+
+        NotificationInboxResponse response = notificationService.getInbox("user-1", null, 2);
+
+        assertTrue(response.hasMore());
+        assertEquals(b.toHexString(), response.nextCursor());
+        assertEquals(2, response.content().size());
+        verify(notificationRepository).findByUserIdOrderByIdDesc(eq("user-1"), argThat(p -> p.getPageSize() == 3));
+    }
+
+    @Test
+    @DisplayName("Usa el cursor para pedir las notificaciones anteriores")
+    void testGetInboxWithCursor() {
+        ObjectId cursor = new ObjectId();
+        when(notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(eq("user-1"), eq(cursor), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(notificationMapper.toDTOList(List.of())).thenReturn(List.of());
+
+        NotificationInboxResponse response = notificationService.getInbox("user-1", cursor.toHexString(), 20);
+
+        assertFalse(response.hasMore());
+        assertNull(response.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Rechaza un cursor con formato inválido")
+    void testGetInboxInvalidCursor() {
+        assertThrows(IdInvalidException.class, () -> notificationService.getInbox("user-1", "no-es-id", 20));
+    }
+
+    @Test
+    @DisplayName("Descuenta del contador solo las notificaciones que cambiaron a leídas")
+    void testMarkAsReadDecrementsCounter() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Notification.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+        when(counterService.unreadCount("user-1")).thenReturn(3L);
+        when(counterService.update(eq("user-1"), any(), any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+
+        long unread = notificationService.markAsRead("user-1",
+                List.of(new ObjectId().toHexString(), new ObjectId().toHexString(), new ObjectId().toHexString()));
+
+        assertEquals(3, unread);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ToLongFunction<UpdateResult>> delta = ArgumentCaptor.forClass(ToLongFunction.class);
+        verify(counterService).update(eq("user-1"), any(), delta.capture());
+        assertEquals(-2, delta.getValue().applyAsLong(UpdateResult.acknowledged(2, 2L, null)));
+    }
+}
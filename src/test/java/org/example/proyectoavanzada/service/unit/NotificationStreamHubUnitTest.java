@@ -0,0 +1,55 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.dto.notification.NotificationDTO;
+import co.edu.uniquindio.proyecto.entity.notification.NotificationType;
+import co.edu.uniquindio.proyecto.service.implementations.NotificationStreamHub;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationStreamHubUnitTest {
+
+    private static NotificationDTO notification(String id) {
+        return new NotificationDTO(id, "t", "m", "r1", NotificationType.COMMENT, LocalDateTime.now(), false);
+    }
+
+    @Test
+    @DisplayName("Entrega a todas las conexiones del usuario, incluso antes de que se suscriban")
+    void testPublishToAllConnections() {
+        NotificationStreamHub hub = new NotificationStreamHub(16);
+        NotificationStreamHub.Connection first = hub.register("user-1");
+        NotificationStreamHub.Connection second = hub.register("user-1");
+
+        assertTrue(hub.publish("user-1", notification("n1")));
+        assertFalse(hub.publish("user-2", notification("n2")));
+        first.close();
+
+        StepVerifier.create(first.notifications())
+                .expectNextMatches(dto -> dto.id().equals("n1"))
+                .verifyComplete();
+        StepVerifier.create(second.notifications().take(1))
+                .expectNextMatches(dto -> dto.id().equals("n1"))
+                .verifyComplete();
+        assertEquals(1, hub.openConnections());
+    }
+
+    @Test
+    @DisplayName("No entrega cuando el búfer de la conexión está lleno y deja de entregar tras cerrarla")
+    void testBoundedBufferAndClose() {
+        NotificationStreamHub hub = new NotificationStreamHub(2);
+        NotificationStreamHub.Connection connection = hub.register("user-1");
+
+        assertTrue(hub.publish("user-1", notification("n1")));
+        assertTrue(hub.publish("user-1", notification("n2")));
+        assertFalse(hub.publish("user-1", notification("n3")));
+
+        connection.close();
+        connection.close();
+        assertFalse(hub.publish("user-1", notification("n4")));
+        assertEquals(0, hub.openConnections());
+    }
+}
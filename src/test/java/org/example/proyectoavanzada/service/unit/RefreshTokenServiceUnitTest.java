@@ -0,0 +1,207 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.entity.auth.RefreshToken;
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.exception.user.InvalidRefreshTokenException;
+import co.edu.uniquindio.proyecto.repository.RefreshTokenRepository;
+import co.edu.uniquindio.proyecto.service.implementations.RefreshTokenService;
+import co.edu.uniquindio.proyecto.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceUnitTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private JwtUtils jwtUtils;
+    @Mock
+    private Jws<Claims> jws;
+
+    private RefreshTokenService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(mongoTemplate, refreshTokenRepository, jwtUtils, true);
+        user = new User();
+        user.setId(new ObjectId());
+        user.setEmail("ana@example.com");
+        lenient().when(jwtUtils.refreshTokenLifetime()).thenReturn(Duration.ofDays(30));
+    }
+
+    private void tokenWith(String token, String jti, String familyId) {
+        Claims claims = Jwts.claims().id(jti).add(JwtUtils.FAMILY_CLAIM, familyId).build();
+        when(jwtUtils.parseToken(token)).thenReturn(jws);
+        when(jws.getPayload()).thenReturn(claims);
+    }
+
+    @Test
+    @DisplayName("Un login abre una familia nueva y persiste el token emitido")
+    void testIssueStoresToken() {
+        when(jwtUtils.generateRefreshToken(eq(user), any(), any())).thenReturn("refresh");
+
+        assertEquals("refresh", service.issue(user));
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).insert(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertEquals(user.getId().toHexString(), stored.getUserId());
+        assertNotNull(stored.getFamilyId());
+        assertTrue(stored.getExpiresAt().isAfter(stored.getIssuedAt()));
+        verify(jwtUtils).generateRefreshToken(user, stored.getFamilyId(), stored.getId());
+    }
+
+    @Test
+    @DisplayName("Rotar marca el token como usado y emite otro de la misma familia")
+    void testRotateIssuesTokenInSameFamily() {
+        tokenWith("viejo", "jti-1", "fam-1");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshToken.class))).thenReturn(RefreshToken.builder().id("jti-1").familyId("fam-1").build());
+        when(jwtUtils.generateRefreshToken(eq(user), eq("fam-1"), any())).thenReturn("nuevo");
+
+        assertEquals("nuevo", service.rotate("viejo", user));
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).insert(captor.capture());
+        assertEquals("fam-1", captor.getValue().getFamilyId());
+        assertNotEquals("jti-1", captor.getValue().getId());
+    }
+
+    @Test
+    @DisplayName("Reutilizar un token ya rotado revoca toda la familia")
+    void testReuseRevokesFamily() {
+        tokenWith("viejo", "jti-1", "fam-1");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshToken.class))).thenReturn(null);
+        when(refreshTokenRepository.findById("jti-1"))
+                .thenReturn(Optional.of(RefreshToken.builder().id("jti-1").familyId("fam-1").usedAt(LocalDateTime.now()).build()));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("viejo", user));
+
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+        verify(refreshTokenRepository, never()).insert(any(RefreshToken.class));
+
+        // El siguiente intento con un token de la familia se rechaza como revocado, sin volver a revocarla
+        tokenWith("robado", "jti-2", "fam-1");
+        when(refreshTokenRepository.findById("jti-2"))
+                .thenReturn(Optional.of(RefreshToken.builder().id("jti-2").familyId("fam-1").revokedAt(LocalDateTime.now()).build()));
+        InvalidRefreshTokenException error = assertThrows(InvalidRefreshTokenException.class,
+                () -> service.rotate("robado", user));
+        assertEquals("El refresh token fue revocado", error.getMessage());
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+        verify(refreshTokenRepository, never()).insert(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Rotar un token válido cuesta una sola operación atómica en Mongo")
+    void testRotateIsSingleAtomicOperation() {
+        tokenWith("viejo", "jti-1", "fam-1");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshToken.class))).thenReturn(RefreshToken.builder().id("jti-1").build());
+        when(jwtUtils.generateRefreshToken(eq(user), eq("fam-1"), any())).thenReturn("nuevo");
+
+        service.rotate("viejo", user);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshToken.class));
+        assertTrue(query.getValue().getQueryObject().containsKey("revokedAt"));
+        verify(refreshTokenRepository, never()).findById(any());
+        verify(mongoTemplate, never()).exists(any(Query.class), eq(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Un token desconocido se rechaza sin revocar nada")
+    void testUnknownTokenIsRejected() {
+        tokenWith("inventado", "jti-x", "fam-x");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshToken.class))).thenReturn(null);
+        when(refreshTokenRepository.findById("jti-x")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("inventado", user));
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Un token sin identificador se migra una sola vez; reutilizarlo revoca la familia migrada")
+    void testLegacyTokenIsMigrated() {
+        Map<String, RefreshToken> stored = new HashMap<>();
+        when(refreshTokenRepository.insert(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            if (stored.putIfAbsent(token.getId(), token) != null) {
+                throw new DuplicateKeyException("E11000 duplicate key");
+            }
+            return token;
+        });
+        when(refreshTokenRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        when(jwtUtils.parseToken("legado")).thenReturn(jws);
+        when(jws.getPayload()).thenReturn(Jwts.claims().add("userId", user.getId().toHexString()).build());
+        when(jwtUtils.generateRefreshToken(eq(user), any(), any())).thenReturn("nuevo");
+
+        assertEquals("nuevo", service.rotate("legado", user));
+        RefreshToken marker = stored.values().stream().filter(token -> token.getId().startsWith("legacy-"))
+                .findFirst().orElseThrow();
+        assertNotNull(marker.getUsedAt());
+        assertEquals(2, stored.size());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("legado", user));
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+        verify(jwtUtils, times(1)).generateRefreshToken(eq(user), any(), any());
+    }
+
+    @Test
+    @DisplayName("Cerrar sesión con un token sin identificador ya migrado revoca la familia migrada")
+    void testRevokeLegacyToken() {
+        when(jwtUtils.parseToken("legado")).thenReturn(jws);
+        when(jws.getPayload()).thenReturn(Jwts.claims().add("userId", user.getId().toHexString()).build());
+        when(refreshTokenRepository.findById(any()))
+                .thenReturn(Optional.of(RefreshToken.builder().id("legacy-x").familyId("fam-migrada").build()));
+
+        assertTrue(service.revoke("legado"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(query.capture(), any(Update.class), eq(RefreshToken.class));
+        assertEquals("fam-migrada", query.getValue().getQueryObject().get("familyId"));
+    }
+
+    @Test
+    @DisplayName("Cerrar sesión revoca la familia del token")
+    void testRevokeOnLogout() {
+        tokenWith("actual", "jti-1", "fam-1");
+
+        assertTrue(service.revoke("actual"));
+
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(RefreshToken.class));
+    }
+}
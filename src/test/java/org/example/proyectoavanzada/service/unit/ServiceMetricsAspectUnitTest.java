@@ -0,0 +1,64 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.service.aspect.ServiceMetricsAspect;
+import co.edu.uniquindio.proyecto.service.interfaces.CategoryService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectUnitTest {
+
+    private SimpleMeterRegistry registry;
+    private CategoryService target;
+    private CategoryService proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = mock(CategoryService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setInterfaces(CategoryService.class);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Registra la duración de los métodos de servicio con etiquetas de clase y método")
+    void testRecordsSuccessfulCalls() {
+        when(target.findAllActiveCategories()).thenReturn(List.of());
+
+        proxy.findAllActiveCategories();
+        proxy.findAllActiveCategories();
+
+        Timer timer = registry.get("service.method")
+                .tag("class", "CategoryService")
+                .tag("method", "findAllActiveCategories")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("Las excepciones se propagan sin envolver y se cuentan por tipo")
+    void testRecordsFailuresByExceptionType() {
+        IllegalArgumentException failure = new IllegalArgumentException("ID inválido");
+        when(target.getCategoryById("x")).thenThrow(failure);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> proxy.getCategoryById("x"));
+
+        assertSame(failure, thrown);
+        assertEquals(1, registry.get("service.method")
+                .tag("method", "getCategoryById")
+                .tag("exception", "IllegalArgumentException")
+                .timer().count());
+        assertNull(registry.find("service.method").tag("method", "getCategoryById").tag("exception", "none").timer());
+    }
+}
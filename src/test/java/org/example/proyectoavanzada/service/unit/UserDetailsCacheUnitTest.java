@@ -0,0 +1,86 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.repository.UserRepository;
+import co.edu.uniquindio.proyecto.service.implementations.UserDetailsCache;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache(userRepository, 60000, 100);
+        user = new User();
+        user.setId(new ObjectId());
+        user.setEmail("ana@example.com");
+    }
+
+    @Test
+    @DisplayName("Una lectura por correo sirve también las búsquedas posteriores por ID")
+    void testFindByEmailPopulatesBothKeys() {
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+
+        assertSame(user, cache.findByEmail("ana@example.com").orElseThrow());
+        assertSame(user, cache.findByEmail("ana@example.com").orElseThrow());
+        assertSame(user, cache.findById(user.getId()).orElseThrow());
+
+        verify(userRepository, times(1)).findByEmail("ana@example.com");
+        verify(userRepository, never()).findById(any(ObjectId.class));
+    }
+
+    @Test
+    @DisplayName("Invalidar un usuario obliga a leerlo de nuevo por ID y por correo")
+    void testEvictRemovesBothKeys() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        cache.findById(user.getId());
+
+        cache.evict(user.getId().toHexString(), "ana@example.com");
+        cache.findById(user.getId());
+        cache.findByEmail("ana@example.com");
+
+        verify(userRepository, times(2)).findById(user.getId());
+        verify(userRepository, times(1)).findByEmail("ana@example.com");
+    }
+
+    @Test
+    @DisplayName("No guarda en caché los usuarios inexistentes")
+    void testMissesAreNotCached() {
+        when(userRepository.findByEmail("nadie@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(cache.findByEmail("nadie@example.com").isEmpty());
+        assertTrue(cache.findByEmail("nadie@example.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("nadie@example.com");
+    }
+
+    @Test
+    @DisplayName("Con TTL 0 cada consulta va a Mongo")
+    void testDisabledCache() {
+        UserDetailsCache disabled = new UserDetailsCache(userRepository, 0, 100);
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+
+        disabled.findByEmail("ana@example.com");
+        disabled.findByEmail("ana@example.com");
+
+        verify(userRepository, times(2)).findByEmail("ana@example.com");
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.proyectoavanzada.service.unit;
+
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.repository.UserRepository;
+import co.edu.uniquindio.proyecto.service.implementations.UserDetailsCache;
+import co.edu.uniquindio.proyecto.service.implementations.UserDetailsServiceImplements;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @InjectMocks
+    private UserDetailsServiceImplements userDetailsService;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Guardar el hash recalculado descarta la copia del usuario cargada en la petición")
+    void testUpdatePasswordEvictsRequestIdentityMap() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ObjectId id = new ObjectId();
+        User loadedByRequest = new User();
+        loadedByRequest.setId(id);
+        loadedByRequest.setPassword("$2a$04$hash-antiguo");
+        RequestIdentityMap.findById(User.class, id, oid -> Optional.of(loadedByRequest));
+
+        User cached = new User();
+        cached.setId(id);
+        when(userRepository.save(cached)).thenReturn(cached);
+
+        userDetailsService.updatePassword(cached, "$2a$10$hash-nuevo");
+
+        verify(userDetailsCache).put(cached);
+        User reloaded = RequestIdentityMap.findById(User.class, id, oid -> Optional.of(cached)).orElseThrow();
+        assertSame(cached, reloaded);
+        assertEquals("$2a$10$hash-nuevo", reloaded.getPassword());
+    }
+}
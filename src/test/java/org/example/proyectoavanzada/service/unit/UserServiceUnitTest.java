@@ -15,9 +15,12 @@ import co.edu.uniquindio.proyecto.exception.user.EmailAlreadyExistsException;
 import co.edu.uniquindio.proyecto.exception.user.InvalidPasswordException;
 import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
+import co.edu.uniquindio.proyecto.service.implementations.RefreshTokenService;
+import co.edu.uniquindio.proyecto.service.implementations.UserDetailsCache;
 import co.edu.uniquindio.proyecto.service.implementations.UserServiceImpl;
 import co.edu.uniquindio.proyecto.service.interfaces.VerificationService;
 import co.edu.uniquindio.proyecto.service.mapper.UserMapper;
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -34,6 +37,7 @@ import org.springframework.data.mongodb.UncategorizedMongoDbException;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -52,6 +56,12 @@ class UserServiceUnitTest {
     private VerificationService verificationService;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private AccessTokenDenylist accessTokenDenylist;
     @InjectMocks
     private UserServiceImpl userService;
     private List<User> existingUsers;
@@ -463,6 +473,7 @@ class UserServiceUnitTest {
         verify(userRepository).findById(userId);
         verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(existingUser);
+        verify(userDetailsCache).evict(userId, existingUser.getEmail());
     }
 
     @Test
@@ -533,6 +544,8 @@ class UserServiceUnitTest {
         verify(userRepository).findById(userId);
         verify(userRepository).save(userToDelete);
         verifyNoMoreInteractions(userRepository);
+        verify(accessTokenDenylist).revokeUser(eq(userId), any(Instant.class));
+        verify(refreshTokenService).revokeAllForUser(userId);
     }
 
     @Test
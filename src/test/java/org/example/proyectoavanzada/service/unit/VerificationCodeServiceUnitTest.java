@@ -10,8 +10,10 @@ import co.edu.uniquindio.proyecto.exception.user.UserNotFoundException;
 import co.edu.uniquindio.proyecto.repository.UserRepository;
 import co.edu.uniquindio.proyecto.repository.VerificationCodeRepository;
 import co.edu.uniquindio.proyecto.service.EmailService;
+import co.edu.uniquindio.proyecto.service.implementations.UserDetailsCache;
 import co.edu.uniquindio.proyecto.service.implementations.VerificationServiceImpl;
 import co.edu.uniquindio.proyecto.service.mapper.VerificationCodeMapper;
+import co.edu.uniquindio.proyecto.util.VerificationCodeHasher;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,7 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -46,6 +51,10 @@ class VerificationCodeServiceUnitTest {
     private VerificationCodeMapper verificationCodeMapper;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Spy
+    private VerificationCodeHasher codeHasher = new VerificationCodeHasher("dGVzdC1zZWNyZXQ=", new MockEnvironment());
 
     @InjectMocks
     private VerificationServiceImpl verificationService;
@@ -63,7 +72,8 @@ class VerificationCodeServiceUnitTest {
         codes = new ArrayList<>();
         for (int i = 0; i < 5; i++) {
             VerificationCode code = new VerificationCode();
-            code.setCode("CODE" + i);
+            code.setEmail(testUser.getEmail());
+            code.setCodeHash(codeHasher.hash(testUser.getEmail(), "CODE" + i));
             code.setUserId(testUser.getId());
             code.setCreatedAt(LocalDateTime.now().minusMinutes(i));
             code.setExpiresAt(LocalDateTime.now().plusMinutes(EXPIRATION_MINUTES - i));
@@ -106,6 +116,46 @@ class VerificationCodeServiceUnitTest {
         verify(codeRepository, times(1)).save(expectedCode);
     }
 
+    @Test
+    @DisplayName("generateAndSendCode guarda el hash ligado al correo normalizado y nunca el código en claro")
+    void testGenerateAndSendCode_StoresHashScopedByEmail() {
+        // Arrange
+        testUser.setEmail("Test@Example.com");
+        VerificationCode expectedCode = new VerificationCode();
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        when(verificationCodeMapper.toVerificationCode(hash.capture(), eq(testUser), eq(EXPIRATION_MINUTES)))
+                .thenReturn(expectedCode);
+        ArgumentCaptor<String> sentCode = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        verificationService.generateAndSendCode(testUser, VerificationCodeType.ACTIVATION);
+
+        // Assert
+        verify(emailService).sendVerificationEmail(eq("Test@Example.com"), sentCode.capture());
+        assertEquals("test@example.com", expectedCode.getEmail());
+        assertEquals(codeHasher.hash("test@example.com", sentCode.getValue()), hash.getValue());
+        assertNotEquals(sentCode.getValue(), hash.getValue());
+    }
+
+    @Test
+    @DisplayName("generateAndSendCode genera otro código si el correo ya tiene uno pendiente con el mismo valor")
+    void testGenerateAndSendCode_RetriesOnDuplicate() {
+        // Arrange
+        VerificationCode expectedCode = codes.get(0);
+        when(verificationCodeMapper.toVerificationCode(anyString(), eq(testUser), eq(EXPIRATION_MINUTES)))
+                .thenReturn(expectedCode);
+        when(codeRepository.save(expectedCode))
+                .thenThrow(new DuplicateKeyException("email_code"))
+                .thenReturn(expectedCode);
+
+        // Act
+        verificationService.generateAndSendCode(testUser, VerificationCodeType.ACTIVATION);
+
+        // Assert
+        verify(codeRepository, times(2)).save(expectedCode);
+        verify(emailService, times(1)).sendVerificationEmail(eq(testUser.getEmail()), anyString());
+    }
+
 
     // ------------------------------------------- VALIDATE_CODE -------------------------------------------- //
 
@@ -115,27 +165,28 @@ class VerificationCodeServiceUnitTest {
     void testValidateCodeActivation_Success() {
         // Arrange
         VerificationCode validCode = codes.get(2);
-        when(codeRepository.findByCode("CODE2")).thenReturn(Optional.of(validCode));
+        when(codeRepository.findByEmailAndCodeHash(testUser.getEmail(), validCode.getCodeHash()))
+                .thenReturn(Optional.of(validCode));
         when(userRepository.findById(validCode.getUserId())).thenReturn(Optional.of(testUser));
 
-        // Act & Assert: no debe lanzar excepción
-        assertDoesNotThrow(() -> verificationService.validateCodeActivation("CODE2"));
+        // Act & Assert: no debe lanzar excepción; el correo se normaliza antes de buscar
+        assertDoesNotThrow(() -> verificationService.validateCodeActivation(" TEST@example.com", "CODE2"));
 
-        // Verify behavior: cuenta activada y código eliminado
+        // Verify behavior: cuenta activada y códigos del usuario eliminados
         assertEquals(AccountStatus.ACTIVATED, testUser.getAccountStatus());
         verify(userRepository, times(1)).save(testUser);
-        verify(codeRepository, times(1)).delete(validCode);
+        verify(codeRepository, times(1)).deleteAllByUserId(testUser.getId());
     }
 
     @Test
     @DisplayName("validateCodeActivation should throw InvalidCodeException when code does not exist")
     void testValidateCodeActivation_InvalidCode() {
         // Arrange
-        when(codeRepository.findByCode("INVALID")).thenReturn(Optional.empty());
+        when(codeRepository.findByEmailAndCodeHash(anyString(), anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(InvalidCodeException.class,
-                () -> verificationService.validateCodeActivation("INVALID"));
+                () -> verificationService.validateCodeActivation(testUser.getEmail(), "INVALID"));
     }
 
     @Test
@@ -143,13 +194,15 @@ class VerificationCodeServiceUnitTest {
     void testValidateCodeActivation_ExpiredCode() {
         // Arrange
         VerificationCode expiredCode = new VerificationCode();
-        expiredCode.setCode("EXPIRED");
+        expiredCode.setEmail(testUser.getEmail());
+        expiredCode.setCodeHash(codeHasher.hash(testUser.getEmail(), "EXPIRED"));
         expiredCode.setExpiresAt(LocalDateTime.now().minusMinutes(1));
-        when(codeRepository.findByCode("EXPIRED")).thenReturn(Optional.of(expiredCode));
+        when(codeRepository.findByEmailAndCodeHash(testUser.getEmail(), expiredCode.getCodeHash()))
+                .thenReturn(Optional.of(expiredCode));
 
         // Act & Assert
         assertThrows(CodeExpiredException.class,
-                () -> verificationService.validateCodeActivation("EXPIRED"));
+                () -> verificationService.validateCodeActivation(testUser.getEmail(), "EXPIRED"));
         verify(codeRepository, times(1)).delete(expiredCode);
     }
 
@@ -164,10 +217,10 @@ class VerificationCodeServiceUnitTest {
         VerificationCode expectedCode = codes.get(0);
         when(verificationCodeMapper.toVerificationCode(anyString(), eq(testUser), eq(EXPIRATION_MINUTES)))
                 .thenReturn(expectedCode);
-        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
 
         // Act
-        verificationService.resendCode(testUser.getId().toHexString(), VerificationCodeType.ACTIVATION);
+        verificationService.resendCode(testUser.getEmail(), VerificationCodeType.ACTIVATION);
 
         // Assert
         verify(codeRepository, times(1)).deleteAllByUserId(eq(testUser.getId()));
@@ -178,11 +231,11 @@ class VerificationCodeServiceUnitTest {
     @DisplayName("resendCode debería lanzar UserNotFoundException cuando el usuario no existe")
     void testResendCode_UserNotFound() {
         // Arrange
-        when(userRepository.findById(any(ObjectId.class))).thenReturn(Optional.empty());
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(UserNotFoundException.class,
-                () -> verificationService.resendCode(testUser.getId().toHexString(), VerificationCodeType.ACTIVATION));
+                () -> verificationService.resendCode(testUser.getEmail(), VerificationCodeType.ACTIVATION));
     }
 
 
@@ -226,18 +279,19 @@ class VerificationCodeServiceUnitTest {
     void testResetPasswordWithCode_Success() {
         // Arrange
         VerificationCode vcode = new VerificationCode();
-        vcode.setCode("RESET");
+        vcode.setEmail(testUser.getEmail());
+        vcode.setCodeHash(codeHasher.hash(testUser.getEmail(), "RESET"));
         vcode.setUserId(testUser.getId());
         vcode.setVerificationCodeType(VerificationCodeType.PASSWORD_RESET);
         vcode.setCreatedAt(LocalDateTime.now().minusMinutes(1));
         vcode.setExpiresAt(LocalDateTime.now().plusMinutes(10));
 
-        when(codeRepository.findByCode("RESET")).thenReturn(Optional.of(vcode));
+        when(codeRepository.findByEmailAndCodeHash(testUser.getEmail(), vcode.getCodeHash())).thenReturn(Optional.of(vcode));
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
         when(passwordEncoder.encode("newPass")).thenReturn("ENCODED");
 
         // Act
-        verificationService.resetPasswordWithCode("RESET", "newPass");
+        verificationService.resetPasswordWithCode(testUser.getEmail(), "RESET", "newPass");
 
         // Assert
         assertEquals("ENCODED", testUser.getPassword());
@@ -248,38 +302,39 @@ class VerificationCodeServiceUnitTest {
     @Test
     @DisplayName("resetPasswordWithCode: lanza InvalidCodeException si el código no existe")
     void testResetPasswordWithCode_CodeNotFound() {
-        when(codeRepository.findByCode("INVALID")).thenReturn(Optional.empty());
+        when(codeRepository.findByEmailAndCodeHash(anyString(), anyString())).thenReturn(Optional.empty());
 
         assertThrows(InvalidCodeException.class,
-                () -> verificationService.resetPasswordWithCode("INVALID", "pass"));
+                () -> verificationService.resetPasswordWithCode(testUser.getEmail(), "INVALID", "pass"));
     }
 
     @Test
     @DisplayName("resetPasswordWithCode: lanza InvalidCodeException si el tipo no es PASSWORD_RESET")
     void testResetPasswordWithCode_WrongType() {
         VerificationCode wrongTypeCode = codes.get(0); // ACTIVATION
-        wrongTypeCode.setCode("CODE0");
 
-        when(codeRepository.findByCode("CODE0")).thenReturn(Optional.of(wrongTypeCode));
+        when(codeRepository.findByEmailAndCodeHash(testUser.getEmail(), wrongTypeCode.getCodeHash()))
+                .thenReturn(Optional.of(wrongTypeCode));
 
         assertThrows(InvalidCodeException.class,
-                () -> verificationService.resetPasswordWithCode("CODE0", "pass"));
+                () -> verificationService.resetPasswordWithCode(testUser.getEmail(), "CODE0", "pass"));
     }
 
     @Test
     @DisplayName("resetPasswordWithCode: lanza UserNotFoundException si el usuario no existe")
     void testResetPasswordWithCode_UserNotFound() {
         VerificationCode vcode = new VerificationCode();
-        vcode.setCode("RESET");
+        vcode.setEmail(testUser.getEmail());
+        vcode.setCodeHash(codeHasher.hash(testUser.getEmail(), "RESET"));
         vcode.setUserId(testUser.getId());
         vcode.setVerificationCodeType(VerificationCodeType.PASSWORD_RESET);
         vcode.setExpiresAt(LocalDateTime.now().plusMinutes(10));
 
-        when(codeRepository.findByCode("RESET")).thenReturn(Optional.of(vcode));
+        when(codeRepository.findByEmailAndCodeHash(testUser.getEmail(), vcode.getCodeHash())).thenReturn(Optional.of(vcode));
         when(userRepository.findById(testUser.getId())).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,
-                () -> verificationService.resetPasswordWithCode("RESET", "pass"));
+                () -> verificationService.resetPasswordWithCode(testUser.getEmail(), "RESET", "pass"));
     }
 
 }
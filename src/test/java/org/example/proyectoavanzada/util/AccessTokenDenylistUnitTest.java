@@ -0,0 +1,111 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
+import co.edu.uniquindio.proyecto.util.DenylistChannel;
+import co.edu.uniquindio.proyecto.util.DenylistEntry;
+import co.edu.uniquindio.proyecto.util.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccessTokenDenylistUnitTest {
+
+    /** Canal en memoria que entrega lo publicado a todos los suscriptores, como haría otro nodo. */
+    private static class InMemoryChannel implements DenylistChannel {
+        final List<DenylistEntry> published = new ArrayList<>();
+        final List<Consumer<DenylistEntry>> listeners = new ArrayList<>();
+
+        @Override
+        public void publish(DenylistEntry entry) {
+            published.add(entry);
+        }
+
+        @Override
+        public void subscribe(Consumer<DenylistEntry> listener) {
+            listeners.add(listener);
+        }
+
+        void deliver(DenylistEntry entry) {
+            listeners.forEach(listener -> listener.accept(entry));
+        }
+    }
+
+    private InMemoryChannel channel;
+    private AccessTokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.accessTokenLifetime()).thenReturn(Duration.ofHours(1));
+        channel = new InMemoryChannel();
+        denylist = new AccessTokenDenylist(channel, jwtUtils);
+    }
+
+    private Jwt token(String jti, String userId, Instant issuedAt) {
+        return Jwt.withTokenValue("t")
+                .header("alg", "ES256")
+                .jti(jti)
+                .claim("userId", userId)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Revoca un token concreto por su jti y lo publica")
+    void testRevokeToken() {
+        Jwt jwt = token("jti-1", "user-1", Instant.now());
+
+        assertFalse(denylist.isRevoked(jwt));
+        denylist.revokeToken("jti-1", jwt.getExpiresAt());
+
+        assertTrue(denylist.isRevoked(jwt));
+        assertFalse(denylist.isRevoked(token("jti-2", "user-1", Instant.now())));
+        assertEquals(1, channel.published.size());
+    }
+
+    @Test
+    @DisplayName("Revoca los tokens de un usuario emitidos antes del corte, no los posteriores")
+    void testRevokeUser() {
+        Instant cutoff = Instant.now();
+        denylist.revokeUser("user-1", cutoff);
+
+        assertTrue(denylist.isRevoked(token("a", "user-1", cutoff.minusSeconds(60))));
+        assertFalse(denylist.isRevoked(token("b", "user-1", cutoff.plusSeconds(5))));
+        assertFalse(denylist.isRevoked(token("c", "user-2", cutoff.minusSeconds(60))));
+    }
+
+    @Test
+    @DisplayName("Aplica las revocaciones recibidas de otros nodos")
+    void testAppliesReplicatedEntries() {
+        long exp = Instant.now().plusSeconds(600).getEpochSecond();
+        channel.deliver(new DenylistEntry(DenylistEntry.Type.TOKEN, "remoto", exp, exp));
+
+        assertTrue(denylist.isRevoked(token("remoto", "user-1", Instant.now())));
+    }
+
+    @Test
+    @DisplayName("Ignora entradas vencidas y purga las que vencen")
+    void testPurgeExpired() throws InterruptedException {
+        long past = Instant.now().minusSeconds(10).getEpochSecond();
+        channel.deliver(new DenylistEntry(DenylistEntry.Type.TOKEN, "vencido", past, past));
+        assertEquals(0, denylist.size());
+
+        denylist.revokeToken("jti-1", Instant.now().plusSeconds(1));
+        assertEquals(1, denylist.size());
+
+        Thread.sleep(2100);
+        denylist.purgeExpired();
+        assertEquals(0, denylist.size());
+    }
+}
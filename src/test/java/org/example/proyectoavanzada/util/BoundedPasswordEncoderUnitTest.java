@@ -0,0 +1,115 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.exception.global.ServiceUnavailableException;
+import co.edu.uniquindio.proyecto.util.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    private long hashCount(String operation) {
+        return registry.get("security.password.hash").tag("operation", operation).timer().count();
+    }
+
+    @Test
+    @DisplayName("Codifica y verifica contraseñas compatibles con BCrypt estándar")
+    void testEncodeAndMatches() {
+        encoder = new BoundedPasswordEncoder(4, 250, 2, 8, Duration.ofSeconds(5), registry);
+
+        String hash = encoder.encode("Secreta123*");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("Secreta123*", hash));
+        assertFalse(encoder.matches("otra", hash));
+        assertTrue(encoder.matches("Secreta123*", new BCryptPasswordEncoder(4).encode("Secreta123*")));
+        assertEquals(1, hashCount("encode"));
+        assertEquals(3, hashCount("match"));
+        assertEquals(0, registry.get("security.password.hash.queued").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Pide recalcular el hash cuando el coste almacenado difiere del configurado")
+    void testUpgradeEncodingWithExplicitCost() {
+        encoder = new BoundedPasswordEncoder(5, 250, 1, 1, Duration.ofSeconds(5), registry);
+
+        assertTrue(encoder.upgradeEncoding("$2a$04$abcdefghijklmnopqrstuu"));
+        assertTrue(encoder.upgradeEncoding("$2a$10$abcdefghijklmnopqrstuu"));
+        assertFalse(encoder.upgradeEncoding("$2a$05$abcdefghijklmnopqrstuu"));
+        assertFalse(encoder.upgradeEncoding("no-es-bcrypt"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    @DisplayName("Con coste calibrado solo pide recalcular hashes más débiles")
+    void testUpgradeEncodingWithCalibratedCost() {
+        encoder = new BoundedPasswordEncoder(0, 1, 1, 1, Duration.ofSeconds(5), registry);
+
+        assertEquals(10, encoder.cost());
+        assertTrue(encoder.upgradeEncoding("$2a$08$abcdefghijklmnopqrstuu"));
+        assertFalse(encoder.upgradeEncoding("$2a$10$abcdefghijklmnopqrstuu"));
+        assertFalse(encoder.upgradeEncoding("$2a$12$abcdefghijklmnopqrstuu"));
+    }
+
+    @Test
+    @DisplayName("Rechaza con 503 cuando el pool y su cola están llenos")
+    void testRejectsWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(12, 250, 1, 1, Duration.ofSeconds(30), registry);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                calls.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                        encoder.encode("Secreta123*");
+                    } catch (ServiceUnavailableException e) {
+                        rejected.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, callers));
+            }
+            start.countDown();
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(rejected.get() >= 1, "Al menos una petición debía rechazarse");
+        assertTrue(hashCount("encode") <= 3);
+    }
+
+    @Test
+    @DisplayName("Rechaza con 503 cuando el hash supera el tiempo de espera")
+    void testTimeout() {
+        encoder = new BoundedPasswordEncoder(12, 250, 1, 1, Duration.ofMillis(1), registry);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("Secreta123*"));
+    }
+}
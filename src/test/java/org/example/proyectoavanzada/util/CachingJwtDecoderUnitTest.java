@@ -0,0 +1,92 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.AccessTokenDenylist;
+import co.edu.uniquindio.proyecto.util.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private Jwt jwtExpiringAt(Instant exp) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("userId", "user-1")
+                .issuedAt(Instant.now().minusSeconds(10))
+                .expiresAt(exp)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Verifica la firma una sola vez para el mismo token")
+    void testDecodeCachesVerifiedToken() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        Jwt jwt = jwtExpiringAt(Instant.now().plusSeconds(3600));
+        when(delegate.decode("token")).thenReturn(jwt);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofHours(1), registry);
+
+        assertSame(jwt, decoder.decode("token"));
+        assertSame(jwt, decoder.decode("token"));
+
+        verify(delegate, times(1)).decode("token");
+        assertEquals(1, registry.get("cache.gets").tags("cache", "jwt-decoder", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("security.jwt.verification").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("No reutiliza un token cuyo exp ya pasó")
+    void testDecodeDoesNotServeExpiredToken() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        Jwt expired = jwtExpiringAt(Instant.now().minusSeconds(1));
+        when(delegate.decode("token")).thenReturn(expired);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofHours(1), registry);
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    @DisplayName("No cachea tokens inválidos")
+    void testDecodeDoesNotCacheFailures() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        when(delegate.decode("malo")).thenThrow(new BadJwtException("firma inválida"));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofHours(1), registry);
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("malo"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("malo"));
+
+        verify(delegate, times(2)).decode("malo");
+        assertEquals(0, registry.get("cache.size").tag("cache", "jwt-decoder").gauge().value());
+        assertEquals(2, registry.get("security.jwt.verification").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("Rechaza un token revocado aunque esté en caché")
+    void testDecodeRejectsRevokedCachedToken() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        AccessTokenDenylist denylist = mock(AccessTokenDenylist.class);
+        Jwt jwt = jwtExpiringAt(Instant.now().plusSeconds(3600));
+        when(delegate.decode("token")).thenReturn(jwt);
+        when(denylist.isRevoked(jwt)).thenReturn(false, true);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofHours(1), denylist, registry);
+
+        assertSame(jwt, decoder.decode("token"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("token"));
+
+        verify(delegate, times(1)).decode("token");
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.HtmlTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HtmlTemplateUnitTest {
+
+    @Test
+    @DisplayName("Reemplaza marcadores {{}} y ${} en el orden declarado")
+    void testRenderReplacesPlaceholders() {
+        HtmlTemplate template = HtmlTemplate.compile(
+                "<p>{{email}}</p><code>{{code}}</code><span>${email}</span>", "email", "code");
+
+        assertEquals("<p>a@b.co</p><code>123456</code><span>a@b.co</span>", template.render("a@b.co", "123456"));
+    }
+
+    @Test
+    @DisplayName("Escapa los valores para evitar inyección de HTML")
+    void testRenderEscapesValues() {
+        HtmlTemplate template = HtmlTemplate.compile("<div>${commentContent}</div>", "commentContent");
+
+        assertEquals("<div>&lt;script&gt;alert(&#x27;x&#x27;)&lt;/script&gt; &amp; &quot;</div>",
+                template.render("<script>alert('x')</script> & \""));
+    }
+
+    @Test
+    @DisplayName("Inserta sin escapar los marcadores de triple llave")
+    void testRenderRawPlaceholder() {
+        HtmlTemplate template = HtmlTemplate.compile("<h1>${title}</h1><ul>{{{items}}}</ul>", "title", "items");
+
+        assertEquals("<h1>a &amp; b</h1><ul><li>uno</li></ul>", template.render("a & b", "<li>uno</li>"));
+    }
+
+    @Test
+    @DisplayName("Renderiza null como cadena vacía")
+    void testRenderNullValue() {
+        HtmlTemplate template = HtmlTemplate.compile("[${a}]", "a");
+
+        assertEquals("[]", template.render((Object) null));
+    }
+
+    @Test
+    @DisplayName("Rechaza marcadores no declarados al compilar")
+    void testCompileUndeclaredPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> HtmlTemplate.compile("${otro}", "a"));
+    }
+
+    @Test
+    @DisplayName("Rechaza un número incorrecto de valores al renderizar")
+    void testRenderWrongArity() {
+        HtmlTemplate template = HtmlTemplate.compile("${a}${b}", "a", "b");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("solo uno"));
+    }
+}
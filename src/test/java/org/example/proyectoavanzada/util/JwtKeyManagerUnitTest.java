@@ -0,0 +1,194 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.entity.auth.JwtSigningKey;
+import co.edu.uniquindio.proyecto.repository.JwtSigningKeyRepository;
+import co.edu.uniquindio.proyecto.util.JwtAlgorithm;
+import co.edu.uniquindio.proyecto.util.JwtKeyManager;
+import co.edu.uniquindio.proyecto.util.JwtKeyWrapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtKeyManagerUnitTest {
+
+    private static final String WRAPPING_KEY = "dGVzdC13cmFwcGluZy1rZXktZm9yLWp3dC1rZXlzISE=";
+
+    private final List<JwtSigningKey> stored = new ArrayList<>();
+
+    private JwtKeyManager keyManager(JwtAlgorithm algorithm) {
+        return keyManager(algorithm, repository());
+    }
+
+    private JwtKeyManager keyManager(JwtAlgorithm algorithm, JwtSigningKeyRepository repository) {
+        return keyManager(algorithm, repository, WRAPPING_KEY);
+    }
+
+    private JwtKeyManager keyManager(JwtAlgorithm algorithm, JwtSigningKeyRepository repository, String wrappingKey) {
+        JwtKeyWrapper keyWrapper = new JwtKeyWrapper(wrappingKey, new MockEnvironment());
+        JwtKeyManager manager = new JwtKeyManager(repository, keyWrapper, algorithm, 30, 65, 60_000);
+        manager.refresh();
+        return manager;
+    }
+
+    /**
+     * Repositorio sobre la lista compartida {@code stored}: varios gestores con su propio repositorio
+     * simulan instancias que comparten la colección de claves.
+     */
+    private JwtSigningKeyRepository repository() {
+        JwtSigningKeyRepository repository = mock(JwtSigningKeyRepository.class);
+        when(repository.findAll()).thenAnswer(inv -> new ArrayList<>(stored));
+        when(repository.save(any(JwtSigningKey.class))).thenAnswer(inv -> {
+            JwtSigningKey saved = inv.getArgument(0);
+            stored.removeIf(k -> k.getKid().equals(saved.getKid()));
+            stored.add(saved);
+            return saved;
+        });
+        return repository;
+    }
+
+    private String sign(JwtKeyManager manager) {
+        JwtKeyManager.ActiveKey key = manager.activeKey();
+        return Jwts.builder()
+                .header().keyId(key.kid()).and()
+                .subject("user@example.com")
+                .claim("userId", "user-1")
+                .signWith(key.privateKey(), key.algorithm().signatureAlgorithm())
+                .compact();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    @DisplayName("Firma con kid y verifica con el parser compartido")
+    void testSignAndVerify(JwtAlgorithm algorithm) {
+        JwtKeyManager manager = keyManager(algorithm);
+
+        String token = sign(manager);
+
+        var jws = manager.parser().parseSignedClaims(token);
+        assertEquals(manager.activeKey().kid(), jws.getHeader().getKeyId());
+        assertEquals("user-1", jws.getPayload().get("userId", String.class));
+    }
+
+    @Test
+    @DisplayName("Tras rotar, los tokens firmados con la clave anterior siguen siendo válidos")
+    void testRotateKeepsPreviousKeys() {
+        JwtKeyManager manager = keyManager(JwtAlgorithm.ES256);
+        String oldToken = sign(manager);
+        String oldKid = manager.activeKey().kid();
+
+        manager.rotate();
+
+        assertNotEquals(oldKid, manager.activeKey().kid());
+        assertDoesNotThrow(() -> manager.parser().parseSignedClaims(oldToken));
+        assertDoesNotThrow(() -> manager.parser().parseSignedClaims(sign(manager)));
+    }
+
+    @Test
+    @DisplayName("Rechaza tokens con un kid desconocido")
+    void testUnknownKid() {
+        JwtKeyManager manager = keyManager(JwtAlgorithm.ES256);
+        JwtKeyManager.ActiveKey key = manager.activeKey();
+        String token = Jwts.builder()
+                .header().keyId("otro").and()
+                .subject("x")
+                .signWith(key.privateKey(), key.algorithm().signatureAlgorithm())
+                .compact();
+
+        assertThrows(UnsupportedJwtException.class, () -> manager.parser().parseSignedClaims(token));
+    }
+
+    @Test
+    @DisplayName("Un kid desconocido recarga las claves una vez y acepta la clave que acaba de rotar otra instancia")
+    void testUnknownKidReloadsKeysFromStore() {
+        JwtSigningKeyRepository repositoryA = repository();
+        JwtSigningKeyRepository repositoryB = repository();
+        JwtKeyManager nodeA = keyManager(JwtAlgorithm.ES256, repositoryA);
+        JwtKeyManager nodeB = keyManager(JwtAlgorithm.ES256, repositoryB);
+
+        nodeA.rotate();
+        String token = sign(nodeA);
+        clearInvocations(repositoryB);
+
+        assertDoesNotThrow(() -> nodeB.parser().parseSignedClaims(token));
+        verify(repositoryB, times(1)).findAll();
+
+        // Dentro del intervalo, otro kid desconocido no vuelve a consultar Mongo
+        JwtKeyManager.ActiveKey key = nodeA.activeKey();
+        String forged = Jwts.builder()
+                .header().keyId("otro").and()
+                .subject("x")
+                .signWith(key.privateKey(), key.algorithm().signatureAlgorithm())
+                .compact();
+        assertThrows(UnsupportedJwtException.class, () -> nodeB.parser().parseSignedClaims(forged));
+        verify(repositoryB, times(1)).findAll();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    @DisplayName("El documento guardado no contiene la clave privada en PKCS#8 utilizable")
+    void testStoredDocumentHasNoUsablePrivateKey(JwtAlgorithm algorithm) {
+        JwtKeyManager manager = keyManager(algorithm);
+        byte[] pkcs8 = manager.activeKey().privateKey().getEncoded();
+
+        JwtSigningKey document = stored.get(0);
+        assertNull(document.getPrivateKey());
+        assertNotNull(document.getWrappedPrivateKey());
+        byte[] wrapped = Base64.getDecoder().decode(document.getWrappedPrivateKey());
+        assertThrows(GeneralSecurityException.class, () -> algorithm.decodePrivateKey(wrapped));
+        String raw = document.toString();
+        assertFalse(raw.contains(Base64.getEncoder().encodeToString(pkcs8)));
+        assertFalse(new String(wrapped, StandardCharsets.ISO_8859_1).contains(new String(pkcs8, StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    @DisplayName("Una clave privada guardada en claro se cifra al cargarla y sigue firmando")
+    void testPlaintextKeyIsWrappedOnLoad() throws Exception {
+        KeyPair pair = JwtAlgorithm.ES256.generateKeyPair();
+        stored.add(JwtSigningKey.builder()
+                .kid("es256-antigua")
+                .algorithm(JwtAlgorithm.ES256)
+                .publicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()))
+                .privateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()))
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        JwtKeyManager manager = keyManager(JwtAlgorithm.ES256);
+
+        assertEquals("es256-antigua", manager.activeKey().kid());
+        assertEquals(1, stored.size());
+        assertNull(stored.get(0).getPrivateKey());
+        assertNotNull(stored.get(0).getWrappedPrivateKey());
+        assertDoesNotThrow(() -> manager.parser().parseSignedClaims(sign(manager)));
+    }
+
+    @Test
+    @DisplayName("Con otra clave de envoltura no se usa la clave guardada: se genera una nueva y las anteriores siguen verificando")
+    void testOtherWrappingKeyCannotUseStoredKey() {
+        JwtKeyManager first = keyManager(JwtAlgorithm.ES256);
+        String oldToken = sign(first);
+        String otherWrappingKey = Base64.getEncoder()
+                .encodeToString("otra-clave-de-envoltura-32-bytes".getBytes(StandardCharsets.UTF_8));
+
+        JwtKeyManager second = keyManager(JwtAlgorithm.ES256, repository(), otherWrappingKey);
+
+        assertNotEquals(first.activeKey().kid(), second.activeKey().kid());
+        assertEquals(2, stored.size());
+        assertDoesNotThrow(() -> second.parser().parseSignedClaims(oldToken));
+    }
+}
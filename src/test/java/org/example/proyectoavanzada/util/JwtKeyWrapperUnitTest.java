@@ -0,0 +1,50 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.JwtKeyWrapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyWrapperUnitTest {
+
+    private static final String WRAPPING_KEY = "dGVzdC13cmFwcGluZy1rZXktZm9yLWp3dC1rZXlzISE=";
+    private static final byte[] SECRET = "clave-privada".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Sin clave de envoltura no arranca fuera de los perfiles dev y test")
+    void testBlankKeyFailsWithoutDevProfile() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyWrapper("", production));
+        assertThrows(IllegalStateException.class, () -> new JwtKeyWrapper(" ", new MockEnvironment()));
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+        assertDoesNotThrow(() -> new JwtKeyWrapper("", dev));
+    }
+
+    @Test
+    @DisplayName("Rechaza claves de envoltura que no son de 256 bits")
+    void testRejectsShortKey() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyWrapper("dGVzdA==", new MockEnvironment()));
+    }
+
+    @Test
+    @DisplayName("Descifra con la misma clave y el mismo kid, y falla con otro kid o con el contenido alterado")
+    void testWrapAndUnwrap() throws Exception {
+        JwtKeyWrapper wrapper = new JwtKeyWrapper(WRAPPING_KEY, new MockEnvironment());
+        String wrapped = wrapper.wrap("es256-1", SECRET);
+
+        assertArrayEquals(SECRET, new JwtKeyWrapper(WRAPPING_KEY, new MockEnvironment()).unwrap("es256-1", wrapped));
+        assertNotEquals(wrapped, wrapper.wrap("es256-1", SECRET));
+        assertThrows(GeneralSecurityException.class, () -> wrapper.unwrap("es256-2", wrapped));
+        String tampered = (wrapped.charAt(20) == 'A' ? "B" : "A");
+        assertThrows(GeneralSecurityException.class,
+                () -> wrapper.unwrap("es256-1", wrapped.substring(0, 20) + tampered + wrapped.substring(21)));
+    }
+}
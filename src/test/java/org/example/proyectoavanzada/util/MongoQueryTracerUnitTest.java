@@ -0,0 +1,137 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.annotation.QueryBudget;
+import co.edu.uniquindio.proyecto.util.MongoQueryTraceFilter;
+import co.edu.uniquindio.proyecto.util.MongoQueryTracer;
+import co.edu.uniquindio.proyecto.util.QueryTrace;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.event.CommandStartedEvent;
+import jakarta.servlet.FilterChain;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoQueryTracerUnitTest {
+
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private MongoQueryTracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        tracer = new MongoQueryTracer(200);
+    }
+
+    private CommandStartedEvent started(String commandName, String json) {
+        CommandStartedEvent event = mock(CommandStartedEvent.class);
+        when(event.getRequestId()).thenReturn(requestIds.incrementAndGet());
+        when(event.getCommandName()).thenReturn(commandName);
+        when(event.getCommand()).thenReturn(BsonDocument.parse(json));
+        return event;
+    }
+
+    private CommandStartedEvent findReport(ObjectId id) {
+        return started("find", "{find: 'reports', filter: {_id: {$oid: '" + id.toHexString() + "'}}, limit: 2, $db: 'test'}");
+    }
+
+    @Test
+    @DisplayName("La forma de un comando sustituye los valores del filtro por ?")
+    void testShapeHidesValues() {
+        BsonDocument command = BsonDocument.parse("{find: 'reports', filter: {userId: {$oid: '" + new ObjectId().toHexString()
+                + "'}, reportStatus: {$in: ['OPEN', 'VERIFIED']}, $or: [{title: 'a'}, {description: 'b'}]},"
+                + " sort: {createdAt: -1}, $db: 'test'}");
+
+        assertEquals("find reports {userId: ?, reportStatus: {$in: ?}, $or: [{title: ?}, {description: ?}]}"
+                + " sort {\"createdAt\": -1}", MongoQueryTracer.shape("find", command));
+        assertEquals("insert comments", MongoQueryTracer.shape("insert",
+                BsonDocument.parse("{insert: 'comments', ordered: true, $db: 'test'}")));
+    }
+
+    @Test
+    @DisplayName("Cuenta los comandos de la traza e ignora los del propio driver")
+    void testCountsCommandsOfTrace() {
+        QueryTrace trace = tracer.begin();
+        tracer.commandStarted(findReport(new ObjectId()));
+        tracer.commandStarted(started("insert", "{insert: 'comments', $db: 'test'}"));
+        tracer.commandStarted(started("hello", "{hello: 1, $db: 'admin'}"));
+        tracer.end();
+        tracer.commandStarted(findReport(new ObjectId()));
+
+        assertEquals(2, trace.commands());
+        assertTrue(trace.repeatedReads().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Detecta lecturas idénticas repetidas y formas repetidas con valores distintos")
+    void testDetectsRepeatedReads() {
+        ObjectId reportId = new ObjectId();
+        QueryTrace trace = tracer.begin();
+        tracer.commandStarted(findReport(reportId));
+        tracer.commandStarted(findReport(reportId));
+        for (int i = 0; i < 3; i++) {
+            tracer.commandStarted(started("find",
+                    "{find: 'users', filter: {_id: {$oid: '" + new ObjectId().toHexString() + "'}}, $db: 'test'}"));
+        }
+        tracer.end();
+
+        assertEquals(Map.of("find reports {_id: ?}", 2), trace.repeatedReads());
+        assertEquals(Map.of("find users {_id: ?}", 3), trace.readsByShape(3));
+    }
+
+    static class TracedController {
+        @QueryBudget(1)
+        public void getReport() {
+        }
+    }
+
+    private MockHttpServletResponse send(boolean strict, int commands) throws Exception {
+        MongoQueryTraceFilter filter = new MongoQueryTraceFilter(tracer, new ObjectMapper().findAndRegisterModules(),
+                true, 0, 5, strict);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reports/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new TracedController(), TracedController.class.getMethod("getReport")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            for (int i = 0; i < commands; i++) {
+                tracer.commandStarted(findReport(new ObjectId()));
+            }
+            res.getWriter().write("ok");
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("En modo estricto responde 500 si el endpoint supera su presupuesto")
+    void testStrictModeRejectsOverBudget() throws Exception {
+        MockHttpServletResponse within = send(true, 1);
+        assertEquals(200, within.getStatus());
+        assertEquals("ok", within.getContentAsString());
+
+        MockHttpServletResponse exceeded = send(true, 2);
+        assertEquals(500, exceeded.getStatus());
+        assertTrue(exceeded.getContentAsString().contains("QUERY_BUDGET_EXCEEDED"));
+        assertFalse(exceeded.getContentAsString().startsWith("ok"));
+    }
+
+    @Test
+    @DisplayName("Fuera del modo estricto solo avisa y deja pasar la respuesta")
+    void testLenientModeOnlyWarns() throws Exception {
+        MockHttpServletResponse response = send(false, 3);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("ok", response.getContentAsString());
+    }
+}
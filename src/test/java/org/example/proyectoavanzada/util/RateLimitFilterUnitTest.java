@@ -0,0 +1,120 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.RateLimitFilter;
+import co.edu.uniquindio.proyecto.util.RateLimitMetrics;
+import co.edu.uniquindio.proyecto.util.RateLimitRule;
+import co.edu.uniquindio.proyecto.util.StripedRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterUnitTest {
+
+    private RateLimitMetrics metrics;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        List<RateLimitRule> rules = List.of(
+                rule("login", HttpMethod.POST, RateLimitRule.KeySource.IP, "/api/v1/auth/sessions"),
+                rule("codes", HttpMethod.POST, RateLimitRule.KeySource.EMAIL,
+                        "/api/v1/auth/activations/{email}", "/api/v1/auth/passwordCodes"));
+        metrics = new RateLimitMetrics(rules);
+        filter = new RateLimitFilter(rules, metrics, new ObjectMapper().findAndRegisterModules(), true);
+    }
+
+    private static RateLimitRule rule(String name, HttpMethod method, RateLimitRule.KeySource key, String... paths) {
+        return new RateLimitRule(name, method,
+                Arrays.stream(paths).map(PathPatternParser.defaultInstance::parse).toList(),
+                key, new StripedRateLimiter(1, Duration.ofMinutes(1), 1, 4, 16));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Rechaza con 429 y Retry-After al agotar la cubeta de la IP")
+    void testRejectsWithRetryAfter() throws Exception {
+        assertEquals(200, send(request("POST", "/api/v1/auth/sessions", "10.0.0.1")).getStatus());
+
+        MockHttpServletResponse rejected = send(request("POST", "/api/v1/auth/sessions", "10.0.0.1"));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("60", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("RATE_LIMITED"));
+        assertEquals(1, metrics.allowedCount("login"));
+        assertEquals(1, metrics.rejectedCount("login"));
+    }
+
+    @Test
+    @DisplayName("Cuenta por separado cada IP y no limita rutas sin regla")
+    void testOtherIpsAndRoutesUnaffected() throws Exception {
+        send(request("POST", "/api/v1/auth/sessions", "10.0.0.1"));
+
+        assertEquals(200, send(request("POST", "/api/v1/auth/sessions", "10.0.0.2")).getStatus());
+        assertEquals(200, send(request("GET", "/api/v1/auth/sessions", "10.0.0.1")).getStatus());
+        assertEquals(200, send(request("POST", "/api/v1/reports", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Las reglas por correo comparten cubeta entre ruta y parámetro sin distinguir mayúsculas")
+    void testEmailKeyFromPathAndParameter() throws Exception {
+        assertEquals(200, send(request("POST", "/api/v1/auth/activations/Ana%40Mail.com", "10.0.0.1")).getStatus());
+
+        MockHttpServletRequest byParam = request("POST", "/api/v1/auth/passwordCodes", "10.0.0.9");
+        byParam.setParameter("email", "ana@mail.com");
+
+        assertEquals(429, send(byParam).getStatus());
+    }
+
+    @Test
+    @DisplayName("Desactivado no limita ninguna petición")
+    void testDisabled() throws Exception {
+        filter = new RateLimitFilter(List.of(rule("login", HttpMethod.POST, RateLimitRule.KeySource.IP,
+                "/api/v1/auth/sessions")), metrics, new ObjectMapper().findAndRegisterModules(), false);
+
+        send(request("POST", "/api/v1/auth/sessions", "10.0.0.1"));
+
+        assertEquals(200, send(request("POST", "/api/v1/auth/sessions", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Publica admitidas y rechazadas por regla en Micrometer")
+    void testMetricsArePublished() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+        assertEquals(0, registry.get("rate_limit.requests").tags("rule", "codes", "outcome", "rejected")
+                .functionCounter().count());
+
+        send(request("POST", "/api/v1/auth/sessions", "10.0.0.9"));
+        send(request("POST", "/api/v1/auth/sessions", "10.0.0.9"));
+
+        assertEquals(1, registry.get("rate_limit.requests").tags("rule", "login", "outcome", "allowed")
+                .functionCounter().count());
+        assertEquals(1, registry.get("rate_limit.requests").tags("rule", "login", "outcome", "rejected")
+                .functionCounter().count());
+    }
+}
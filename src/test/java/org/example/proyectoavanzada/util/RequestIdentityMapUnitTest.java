@@ -0,0 +1,84 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.entity.category.Category;
+import co.edu.uniquindio.proyecto.entity.report.Report;
+import co.edu.uniquindio.proyecto.entity.user.User;
+import co.edu.uniquindio.proyecto.util.RequestIdentityMap;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdentityMapUnitTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private <T, ID> Function<ID, Optional<T>> loader(T entity) {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(entity);
+        };
+    }
+
+    @Test
+    @DisplayName("Dentro de una petición lee cada entidad una vez, con el ID como ObjectId o en hexadecimal")
+    void testLoadsOncePerRequest() {
+        startRequest();
+        ObjectId id = new ObjectId();
+        User user = new User();
+
+        Optional<User> byObjectId = RequestIdentityMap.findById(User.class, id, loader(user));
+        Optional<User> byHex = RequestIdentityMap.findById(User.class, id.toHexString(), loader(user));
+
+        assertSame(user, byObjectId.orElseThrow());
+        assertSame(user, byHex.orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Recuerda que una entidad no existe y vuelve a leerla tras evict")
+    void testRemembersMissingAndEvicts() {
+        startRequest();
+        ObjectId id = new ObjectId();
+
+        assertTrue(RequestIdentityMap.findById(Report.class, id, loader(null)).isEmpty());
+        assertTrue(RequestIdentityMap.findById(Report.class, id, loader(null)).isEmpty());
+        assertEquals(1, loads.get());
+
+        RequestIdentityMap.evict(Report.class, id);
+        RequestIdentityMap.findById(Report.class, id, loader(new Report()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Fuera de una petición o para tipos no mapeados siempre consulta")
+    void testNoCacheOutsideRequestOrForOtherTypes() {
+        ObjectId id = new ObjectId();
+        RequestIdentityMap.findById(Report.class, id, loader(new Report()));
+        RequestIdentityMap.findById(Report.class, id, loader(new Report()));
+        assertEquals(2, loads.get());
+
+        startRequest();
+        RequestIdentityMap.findById(Category.class, id, loader(new Category()));
+        RequestIdentityMap.findById(Category.class, id, loader(new Category()));
+        assertEquals(4, loads.get());
+    }
+}
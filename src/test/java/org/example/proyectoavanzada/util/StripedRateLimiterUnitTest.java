@@ -0,0 +1,74 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.StringHash;
+import co.edu.uniquindio.proyecto.util.StripedRateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedRateLimiterUnitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Admite la ráfaga completa y rechaza la siguiente petición indicando la espera")
+    void testBurstThenReject() {
+        StripedRateLimiter limiter = new StripedRateLimiter(10, Duration.ofSeconds(10), 3, 4, 16);
+        long key = StringHash.hash64("10.0.0.1", 0L);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire(key, now));
+        assertEquals(0, limiter.tryAcquire(key, now));
+        assertEquals(0, limiter.tryAcquire(key, now));
+        long wait = limiter.tryAcquire(key, now);
+
+        assertEquals(SECOND, wait);
+    }
+
+    @Test
+    @DisplayName("Repone un token por cada intervalo de emisión")
+    void testRefill() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, Duration.ofSeconds(1), 1, 4, 16);
+        long key = 42L;
+        long now = 5 * SECOND;
+
+        assertEquals(0, limiter.tryAcquire(key, now));
+        assertTrue(limiter.tryAcquire(key, now + SECOND / 2) > 0);
+        assertEquals(0, limiter.tryAcquire(key, now + SECOND));
+    }
+
+    @Test
+    @DisplayName("Cuenta cada clave por separado")
+    void testIndependentKeys() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, Duration.ofMinutes(1), 1, 4, 16);
+        long now = SECOND;
+
+        assertEquals(0, limiter.tryAcquire(StringHash.hash64("a@mail.com", 0L), now));
+        assertEquals(0, limiter.tryAcquire(StringHash.hash64("b@mail.com", 0L), now));
+        assertTrue(limiter.tryAcquire(StringHash.hash64("a@mail.com", 0L), now) > 0);
+    }
+
+    @Test
+    @DisplayName("Con más claves que huecos sigue limitando las claves activas")
+    void testEvictionKeepsLimiting() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, Duration.ofMinutes(1), 1, 1, 8);
+        long now = SECOND;
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals(0, limiter.tryAcquire(key * 0x9E3779B97F4A7C15L, now));
+        }
+        long hot = StringHash.hash64("atacante", 0L);
+        assertEquals(0, limiter.tryAcquire(hot, now + 1));
+        assertTrue(limiter.tryAcquire(hot, now + 2) > 0);
+    }
+
+    @Test
+    @DisplayName("El hash sin distinción de mayúsculas coincide para correos equivalentes")
+    void testIgnoreCaseHash() {
+        assertEquals(StringHash.hash64IgnoreCase("Ana@Mail.com", 7L), StringHash.hash64IgnoreCase("ana@mail.com", 7L));
+        assertNotEquals(StringHash.hash64("Ana@Mail.com", 7L), StringHash.hash64("ana@mail.com", 7L));
+    }
+}
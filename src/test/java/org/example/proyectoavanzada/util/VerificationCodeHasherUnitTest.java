@@ -0,0 +1,42 @@
+package org.example.proyectoavanzada.util;
+
+import co.edu.uniquindio.proyecto.util.VerificationCodeHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificationCodeHasherUnitTest {
+
+    @Test
+    @DisplayName("Sin secreto configurado no arranca fuera de los perfiles dev y test")
+    void testBlankSecretFailsWithoutDevProfile() {
+        MockEnvironment production = new MockEnvironment();
+        production.setActiveProfiles("prod");
+
+        assertThrows(IllegalStateException.class, () -> new VerificationCodeHasher("", production));
+        assertThrows(IllegalStateException.class, () -> new VerificationCodeHasher(" ", new MockEnvironment()));
+    }
+
+    @Test
+    @DisplayName("Con el perfil dev se admite un secreto aleatorio por proceso")
+    void testBlankSecretAllowedInDev() {
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+
+        VerificationCodeHasher hasher = new VerificationCodeHasher("", dev);
+
+        assertEquals(hasher.hash("ana@example.com", "123456"), hasher.hash("ana@example.com", "123456"));
+    }
+
+    @Test
+    @DisplayName("Con el mismo secreto, instancias distintas calculan el mismo hash")
+    void testConfiguredSecretIsStable() {
+        VerificationCodeHasher first = new VerificationCodeHasher("dGVzdC1zZWNyZXQ=", new MockEnvironment());
+        VerificationCodeHasher second = new VerificationCodeHasher("dGVzdC1zZWNyZXQ=", new MockEnvironment());
+
+        assertEquals(first.hash("ana@example.com", "123456"), second.hash("ana@example.com", "123456"));
+        assertNotEquals(first.hash("ana@example.com", "123456"), first.hash("luis@example.com", "123456"));
+    }
+}